@@ -0,0 +1,214 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * <p>
+ * This benchmark measures the cost of applying an {@link Advice} to a large method with many branches. The benchmark compares
+ * Byte Buddy's default approach of translating the existing stack map frames of the instrumented method around the inlined advice
+ * code to recomputing all stack map frames by ASM's {@link ClassWriter#COMPUTE_FRAMES} option. The latter requires resolving the
+ * common super class of any two types that are merged within a frame by describing those types via a {@link TypePool}. As agents
+ * typically use a fresh type pool per class file transformation, each iteration uses a new type pool.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdviceFrameBenchmark {
+
+    /**
+     * The name of the instrumented type.
+     */
+    private static final String NAME = "sample.LargeMethod";
+
+    /**
+     * The name of the instrumented method.
+     */
+    private static final String METHOD = "run";
+
+    /**
+     * Pairs of types that are merged within the instrumented method's frames.
+     */
+    private static final Class<?>[][] TYPES = new Class<?>[][]{
+            {ArrayList.class, LinkedList.class},
+            {HashMap.class, TreeMap.class},
+            {ArrayList.class, HashMap.class}
+    };
+
+    /**
+     * The number of branches within the instrumented method.
+     */
+    @Param({"250"})
+    public int branches;
+
+    /**
+     * The class file locator to use which is able to locate the instrumented type.
+     */
+    private ClassFileLocator classFileLocator;
+
+    /**
+     * A description of the instrumented type.
+     */
+    private TypeDescription typeDescription;
+
+    /**
+     * Sets up this benchmark by generating the instrumented type.
+     */
+    @Setup
+    public void setUp() {
+        classFileLocator = new ClassFileLocator.Compound(ClassFileLocator.Simple.of(NAME, make(branches)), ClassFileLocator.ForClassLoader.ofSystemLoader());
+        typeDescription = TypePool.Default.of(classFileLocator).describe(NAME).resolve();
+    }
+
+    /**
+     * Creates the instrumented type with a single method that defines the given number of branches.
+     *
+     * @param branches The number of branches within the instrumented method.
+     * @return The class file of the instrumented type.
+     */
+    private static byte[] make(int branches) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, NAME.replace('.', '/'), null, Type.getInternalName(Object.class), null);
+        MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, METHOD, "(I)Ljava/lang/Object;", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+        methodVisitor.visitVarInsn(Opcodes.ASTORE, 2);
+        for (int index = 0; index < branches; index++) {
+            Class<?>[] types = TYPES[index % TYPES.length];
+            Label otherwise = new Label(), end = new Label();
+            methodVisitor.visitVarInsn(Opcodes.ILOAD, 1);
+            methodVisitor.visitLdcInsn(index);
+            methodVisitor.visitJumpInsn(Opcodes.IF_ICMPNE, otherwise);
+            methodVisitor.visitTypeInsn(Opcodes.NEW, Type.getInternalName(types[0]));
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(types[0]), "<init>", "()V", false);
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, end);
+            methodVisitor.visitLabel(otherwise);
+            methodVisitor.visitTypeInsn(Opcodes.NEW, Type.getInternalName(types[1]));
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(types[1]), "<init>", "()V", false);
+            methodVisitor.visitLabel(end);
+            methodVisitor.visitVarInsn(Opcodes.ASTORE, 2);
+        }
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 2);
+        methodVisitor.visitInsn(Opcodes.ARETURN);
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Applies an advice by translating the instrumented method's existing stack map frames.
+     *
+     * @return The instrumented class file.
+     */
+    @Benchmark
+    public byte[] benchmarkFrameTranslation() {
+        return new ByteBuddy()
+                .redefine(typeDescription, classFileLocator)
+                .visit(Advice.to(FrameAdvice.class).on(named(METHOD)))
+                .make(TypePool.Default.of(classFileLocator))
+                .getBytes();
+    }
+
+    /**
+     * Applies an advice by recomputing all of the instrumented method's stack map frames.
+     *
+     * @return The instrumented class file.
+     */
+    @Benchmark
+    public byte[] benchmarkFrameComputation() {
+        return new ByteBuddy()
+                .redefine(typeDescription, classFileLocator)
+                .visit(Advice.to(FrameAdvice.class).on(named(METHOD)))
+                .visit(new AsmVisitorWrapper.ForDeclaredMethods().writerFlags(ClassWriter.COMPUTE_FRAMES))
+                .make(TypePool.Default.of(classFileLocator))
+                .getBytes();
+    }
+
+    /**
+     * An advice that contains branches and that is applied to the instrumented method.
+     */
+    public static class FrameAdvice {
+
+        /**
+         * Invoked upon entering the instrumented method.
+         *
+         * @param value The instrumented method's argument.
+         * @return A time stamp or {@code 0} if the argument is negative.
+         */
+        @Advice.OnMethodEnter
+        public static long enter(@Advice.Argument(0) int value) {
+            return value < 0
+                    ? 0L
+                    : System.nanoTime();
+        }
+
+        /**
+         * Invoked upon exiting the instrumented method.
+         *
+         * @param started  The time stamp that was returned by the enter advice.
+         * @param returned The value that is returned by the instrumented method.
+         */
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter long started, @Advice.Return Object returned) {
+            if (started != 0L && returned instanceof AbstractMap<?, ?>) {
+                ((AbstractMap<?, ?>) returned).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+
+/**
+ * <p>
+ * This benchmark measures the invocation of a method that is intercepted by a {@link MethodDelegation} where all
+ * arguments are bound to an array by the {@link AllArguments} annotation. The benchmark compares allocating a new
+ * array for every invocation to reusing an array per thread by setting {@link AllArguments#reuse()}. To make
+ * the allocation visible, escape analysis is disabled for the benchmark's fork. This option does not apply if the
+ * benchmark is not forked, as by the {@link net.bytebuddy.benchmark.runner.QuickRunner}. The allocation rate of both
+ * approaches can be compared by running the benchmark in a fork with JMH's {@code -prof gc} option, for example
+ * {@code -f 1 -prof gc}, where the reusing variant should report a normalized allocation rate of zero bytes per operation.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+public class AllArgumentsBenchmark {
+
+    /**
+     * A first argument to pass to the intercepted methods.
+     */
+    private String first = "foo";
+
+    /**
+     * A second argument to pass to the intercepted methods.
+     */
+    private String second = "bar";
+
+    /**
+     * A third argument to pass to the intercepted methods.
+     */
+    private String third = "qux";
+
+    /**
+     * An instance where all arguments are bound to a newly allocated array.
+     */
+    private Target allocating;
+
+    /**
+     * An instance where all arguments are bound to a reused array.
+     */
+    private Target reusing;
+
+    /**
+     * Sets up this benchmark by generating the intercepted types.
+     *
+     * @throws Exception If the intercepted types cannot be created.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        allocating = new ByteBuddy()
+                .subclass(Target.class)
+                .method(isDeclaredBy(Target.class))
+                .intercept(MethodDelegation.to(AllocatingInterceptor.class))
+                .make()
+                .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        reusing = new ByteBuddy()
+                .subclass(Target.class)
+                .method(isDeclaredBy(Target.class))
+                .intercept(MethodDelegation.to(ReusingInterceptor.class))
+                .make()
+                .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+    }
+
+    /**
+     * Invokes a method where all arguments are bound to a newly allocated array.
+     *
+     * @return The intercepted method's return value.
+     */
+    @Benchmark
+    public int benchmarkAllocatingArray() {
+        return allocating.run(first, second, third);
+    }
+
+    /**
+     * Invokes a method where all arguments are bound to a reused array.
+     *
+     * @return The intercepted method's return value.
+     */
+    @Benchmark
+    public int benchmarkReusingArray() {
+        return reusing.run(first, second, third);
+    }
+
+    /**
+     * A type whose method is intercepted.
+     */
+    public static class Target {
+
+        /**
+         * A method that is intercepted.
+         *
+         * @param first  The first argument.
+         * @param second The second argument.
+         * @param third  The third argument.
+         * @return A value that is computed from the supplied arguments.
+         */
+        public int run(String first, String second, String third) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * An interceptor that binds all arguments to a newly allocated array.
+     */
+    public static class AllocatingInterceptor {
+
+        /**
+         * Intercepts a method.
+         *
+         * @param argument The intercepted method's arguments.
+         * @return The combined length of all arguments.
+         */
+        public static int intercept(@AllArguments String[] argument) {
+            return length(argument);
+        }
+    }
+
+    /**
+     * An interceptor that binds all arguments to a reused array.
+     */
+    public static class ReusingInterceptor {
+
+        /**
+         * Intercepts a method.
+         *
+         * @param argument The intercepted method's arguments.
+         * @return The combined length of all arguments.
+         */
+        public static int intercept(@AllArguments(reuse = true) String[] argument) {
+            return length(argument);
+        }
+    }
+
+    /**
+     * Computes the combined length of all arguments.
+     *
+     * @param argument The arguments to consider.
+     * @return The combined length of all arguments.
+     */
+    private static int length(String[] argument) {
+        int length = 0;
+        for (String value : argument) {
+            length += value.length();
+        }
+        return length;
+    }
+}
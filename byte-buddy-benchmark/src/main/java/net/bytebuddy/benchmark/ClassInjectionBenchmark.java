@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * This benchmark measures the cost of injecting a package of helper classes into a fresh class loader by the different
+ * {@link ClassInjector} strategies. The injected classes form a hierarchy where each class extends its predecessor and
+ * are handed to the injectors in reverse order such that the injectors need to define the classes in dependency order.
+ * As a baseline, the benchmark measures the injection of each class by an individual call to a {@link ClassInjector}.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClassInjectionBenchmark {
+
+    /**
+     * The package of the injected classes.
+     */
+    private static final String PACKAGE = "sample";
+
+    /**
+     * The number of classes to inject.
+     */
+    @Param({"100"})
+    public int count;
+
+    /**
+     * The binary representations of the injected classes in reverse dependency order.
+     */
+    private Map<String, byte[]> types;
+
+    /**
+     * The binary representations of the injected classes in dependency order.
+     */
+    private List<Map<String, byte[]>> singleTypes;
+
+    /**
+     * The binary representation of an anchor class that is used for resolving a method handle lookup.
+     */
+    private Map<String, byte[]> anchor;
+
+    /**
+     * A method handle lookup of this class or {@code null} if method handle lookups are not supported.
+     */
+    private Object lookup;
+
+    /**
+     * Sets up this benchmark by creating the injected classes.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        singleTypes = new ArrayList<Map<String, byte[]>>(count);
+        TypeDescription superClass = TypeDescription.ForLoadedType.of(Object.class);
+        for (int index = 0; index < count; index++) {
+            DynamicType.Unloaded<?> dynamicType = new ByteBuddy()
+                    .subclass(superClass)
+                    .name(PACKAGE + ".Type" + index)
+                    .make();
+            singleTypes.add(Collections.singletonMap(dynamicType.getTypeDescription().getName(), dynamicType.getBytes()));
+            superClass = dynamicType.getTypeDescription();
+        }
+        types = new LinkedHashMap<String, byte[]>();
+        for (int index = count - 1; index >= 0; index--) {
+            types.putAll(singleTypes.get(index));
+        }
+        anchor = Collections.singletonMap(PACKAGE + ".Anchor", new ByteBuddy()
+                .subclass(Object.class)
+                .name(PACKAGE + ".Anchor")
+                .make()
+                .getBytes());
+        if (ClassInjector.UsingLookup.isAvailable()) {
+            lookup = Class.forName("java.lang.invoke.MethodHandles").getMethod("lookup").invoke(null);
+        }
+    }
+
+    /**
+     * Creates a fresh class loader to inject classes into.
+     *
+     * @return A fresh class loader.
+     */
+    private static ClassLoader newClassLoader() {
+        return new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+    }
+
+    /**
+     * Injects all classes by a single call to a reflection-based class injector.
+     *
+     * @return The injected classes.
+     */
+    @Benchmark
+    public Map<String, Class<?>> benchmarkReflection() {
+        return new ClassInjector.UsingReflection(newClassLoader()).injectRaw(types);
+    }
+
+    /**
+     * Injects each class by an individual call to a reflection-based class injector.
+     *
+     * @return The last injected class.
+     */
+    @Benchmark
+    public Map<String, Class<?>> benchmarkReflectionPerClass() {
+        ClassInjector classInjector = new ClassInjector.UsingReflection(newClassLoader());
+        Map<String, Class<?>> result = null;
+        for (Map<String, byte[]> type : singleTypes) {
+            result = classInjector.injectRaw(type);
+        }
+        return result;
+    }
+
+    /**
+     * Injects all classes by a single call to an {@code Unsafe}-based class injector.
+     *
+     * @return The injected classes.
+     */
+    @Benchmark
+    public Map<String, Class<?>> benchmarkUnsafe() {
+        return new ClassInjector.UsingUnsafe(newClassLoader()).injectRaw(types);
+    }
+
+    /**
+     * Injects all classes by a single call to a method handle lookup-based class injector. The lookup is resolved by
+     * injecting an anchor class into the target package what is included in the measurement. If method handle lookups
+     * are not supported, no classes are injected.
+     *
+     * @return The injected classes.
+     */
+    @Benchmark
+    public Map<String, Class<?>> benchmarkLookup() {
+        if (lookup == null) {
+            return Collections.emptyMap();
+        }
+        Class<?> type = new ClassInjector.UsingReflection(newClassLoader()).injectRaw(anchor).values().iterator().next();
+        return ClassInjector.UsingLookup.of(lookup).in(type).injectRaw(types);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.utility.dispatcher.JavaDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * This benchmark measures the cost of creating a {@link JavaDispatcher} for a proxy type that was just loaded, as it
+ * happens when Byte Buddy is started. Every invocation defines the proxy type in a new class loader such that no
+ * dispatcher class can be reused. The benchmark compares a dispatcher that is based on a {@link java.lang.reflect.Proxy}
+ * with a dispatcher that is generated at runtime. As the dispatcher's configuration is read from system properties once,
+ * each variant is run in a fork with its own properties. The {@link net.bytebuddy.benchmark.runner.QuickRunner} does not
+ * fork and therefore does not include this benchmark. As a baseline, the benchmark measures loading the proxy type
+ * without creating a dispatcher.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JavaDispatcherStartupBenchmark {
+
+    /**
+     * The class loader that is the parent of the class loaders that load the proxy type.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * The name of the proxy type.
+     */
+    private String name;
+
+    /**
+     * The binary representation of the proxy type.
+     */
+    private byte[] binaryRepresentation;
+
+    /**
+     * Sets up this benchmark.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        classLoader = JavaDispatcherStartupBenchmark.class.getClassLoader();
+        name = Sample.class.getName();
+        binaryRepresentation = ClassFileLocator.ForClassLoader.read(Sample.class);
+    }
+
+    /**
+     * Loads the proxy type in a new class loader.
+     *
+     * @return The loaded proxy type.
+     * @throws Exception If the proxy type cannot be loaded.
+     */
+    private Class<?> load() throws Exception {
+        return Class.forName(name, false, new ChildFirstClassLoader(classLoader, name, binaryRepresentation));
+    }
+
+    /**
+     * Creates a dispatcher that is based on a {@link java.lang.reflect.Proxy}.
+     *
+     * @return The created dispatcher.
+     * @throws Exception If the dispatcher cannot be created.
+     */
+    @Benchmark
+    public Object benchmarkProxy() throws Exception {
+        return JavaDispatcher.of(load()).run();
+    }
+
+    /**
+     * Creates a dispatcher that is generated at runtime.
+     *
+     * @return The created dispatcher.
+     * @throws Exception If the dispatcher cannot be created.
+     */
+    @Benchmark
+    @Fork(jvmArgsAppend = "-D" + JavaDispatcher.GENERATE_PROPERTY + "=true")
+    public Object benchmarkGenerated() throws Exception {
+        return JavaDispatcher.of(load()).run();
+    }
+
+    /**
+     * Loads the proxy type without creating a dispatcher.
+     *
+     * @return The loaded proxy type.
+     * @throws Exception If the proxy type cannot be loaded.
+     */
+    @Benchmark
+    public Object baseline() throws Exception {
+        return load();
+    }
+
+    /**
+     * A class loader that defines a single type before delegating to its parent, as the benchmark's class loader is
+     * also able to load the proxy type.
+     */
+    private static class ChildFirstClassLoader extends ClassLoader {
+
+        /**
+         * The name of the type that is defined before delegating to the parent.
+         */
+        private final String name;
+
+        /**
+         * The binary representation of the type that is defined before delegating to the parent.
+         */
+        private final byte[] binaryRepresentation;
+
+        /**
+         * Creates a new child-first class loader.
+         *
+         * @param parent               The parent class loader.
+         * @param name                 The name of the type that is defined before delegating to the parent.
+         * @param binaryRepresentation The binary representation of the type that is defined before delegating to the parent.
+         */
+        private ChildFirstClassLoader(ClassLoader parent, String name, byte[] binaryRepresentation) {
+            super(parent);
+            this.name = name;
+            this.binaryRepresentation = binaryRepresentation;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!this.name.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (this) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    type = defineClass(name, binaryRepresentation, 0, binaryRepresentation.length);
+                }
+                if (resolve) {
+                    resolveClass(type);
+                }
+                return type;
+            }
+        }
+    }
+
+    /**
+     * A proxy type for methods of {@link String}.
+     */
+    @JavaDispatcher.Proxied("java.lang.String")
+    public interface Sample {
+
+        /**
+         * Resolves {@link String#length()}.
+         *
+         * @param value The string to resolve the length of.
+         * @return The string's length.
+         */
+        int length(String value);
+
+        /**
+         * Resolves {@link String#charAt(int)}.
+         *
+         * @param value The string to resolve a character of.
+         * @param index The index of the character.
+         * @return The character at the given index.
+         */
+        char charAt(String value, int index);
+
+        /**
+         * Resolves {@link String#trim()}.
+         *
+         * @param value The string to trim.
+         * @return The trimmed string.
+         */
+        String trim(String value);
+
+        /**
+         * Resolves {@link String#concat(String)}.
+         *
+         * @param value  The string to concatenate to.
+         * @param suffix The string to append.
+         * @return The concatenated string.
+         */
+        String concat(String value, String suffix);
+
+        /**
+         * Resolves {@link String#valueOf(int)}.
+         *
+         * @param value The value to represent.
+         * @return The value's string representation.
+         */
+        @JavaDispatcher.IsStatic
+        String valueOf(int value);
+
+        /**
+         * Resolves {@link String#valueOf(long)}.
+         *
+         * @param value The value to represent.
+         * @return The value's string representation.
+         */
+        @JavaDispatcher.IsStatic
+        String valueOf(long value);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.Nexus;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * This benchmark measures the latency of registering a {@link LoadedTypeInitializer} in the {@link Nexus} and of initializing
+ * the registered type thereafter when several threads initialize types concurrently. The benchmark compares the registration
+ * of a plain initializer which requires the nexus to resolve the initializer's method reflectively upon each initialization
+ * with the registration of an initializer together with its resolved method. As a baseline, the benchmark measures the direct
+ * invocation of the initializer.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NexusInitializationBenchmark {
+
+    /**
+     * A counter for assigning a unique identification to each benchmark thread.
+     */
+    private static final AtomicInteger IDENTIFICATION = new AtomicInteger();
+
+    /**
+     * The type that is initialized.
+     */
+    private Class<?> type;
+
+    /**
+     * The name of the type that is initialized.
+     */
+    private String name;
+
+    /**
+     * The class loader of the type that is initialized.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * The identification of this benchmark thread's initializer.
+     */
+    private int identification;
+
+    /**
+     * The initializer to register.
+     */
+    private LoadedTypeInitializer loadedTypeInitializer;
+
+    /**
+     * The {@link LoadedTypeInitializer#onLoad(Class)} method.
+     */
+    private Method onLoad;
+
+    /**
+     * Sets up this benchmark.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        type = NexusInitializationBenchmark.class;
+        name = type.getName();
+        classLoader = type.getClassLoader();
+        identification = IDENTIFICATION.incrementAndGet();
+        loadedTypeInitializer = LoadedTypeInitializer.NoOp.INSTANCE;
+        onLoad = LoadedTypeInitializer.class.getMethod("onLoad", Class.class);
+    }
+
+    /**
+     * Registers a plain initializer and initializes the registered type.
+     *
+     * @throws Exception If the initialization fails.
+     */
+    @Benchmark
+    public void benchmarkInitializer() throws Exception {
+        Nexus.register(name, classLoader, null, identification, loadedTypeInitializer);
+        Nexus.initialize(type, identification);
+    }
+
+    /**
+     * Registers an initializer together with its resolved method and initializes the registered type.
+     *
+     * @throws Exception If the initialization fails.
+     */
+    @Benchmark
+    public void benchmarkResolvedInitializer() throws Exception {
+        Nexus.register(name, classLoader, null, identification, loadedTypeInitializer, onLoad);
+        Nexus.initialize(type, identification);
+    }
+
+    /**
+     * Invokes the initializer directly.
+     */
+    @Benchmark
+    public void baseline() {
+        loadedTypeInitializer.onLoad(type);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.InterceptorRegistry;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+
+/**
+ * <p>
+ * This benchmark measures the invocation of a method that is intercepted by an interceptor that is chosen at runtime.
+ * The benchmark compares a delegation to an interceptor that is fixed when creating the intercepted type to a delegation
+ * to an interceptor that is registered in the {@link InterceptorRegistry} and to an {@link InvocationHandler} that
+ * dispatches the interceptor reflectively.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegisteredInterceptorBenchmark {
+
+    /**
+     * The key of the registered interceptor.
+     */
+    private static final String KEY = RegisteredInterceptorBenchmark.class.getName();
+
+    /**
+     * The argument to pass to the intercepted methods.
+     */
+    private int value = 42;
+
+    /**
+     * An instance that delegates to a fixed interceptor.
+     */
+    private Target fixed;
+
+    /**
+     * An instance that delegates to a registered interceptor.
+     */
+    private Target registered;
+
+    /**
+     * An instance that dispatches its interceptor reflectively.
+     */
+    private Target reflective;
+
+    /**
+     * Sets up this benchmark by generating the intercepted types and by registering the interceptor.
+     *
+     * @throws Exception If the intercepted types cannot be created.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Interceptor interceptor = new Interceptor();
+        InterceptorRegistry.register(KEY, interceptor);
+        fixed = new ByteBuddy()
+                .subclass(Target.class)
+                .method(isDeclaredBy(Target.class))
+                .intercept(MethodDelegation.to(interceptor))
+                .make()
+                .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        registered = new ByteBuddy()
+                .subclass(Target.class)
+                .method(isDeclaredBy(Target.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, KEY))
+                .make()
+                .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        reflective = new ByteBuddy()
+                .subclass(Target.class)
+                .method(isDeclaredBy(Target.class))
+                .intercept(InvocationHandlerAdapter.of(new ReflectiveHandler(KEY)))
+                .make()
+                .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+    }
+
+    /**
+     * Unregisters the interceptor of this benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        InterceptorRegistry.unregister(KEY);
+    }
+
+    /**
+     * Invokes a method that delegates to a fixed interceptor.
+     *
+     * @return The intercepted method's return value.
+     */
+    @Benchmark
+    public int benchmarkFixedInterceptor() {
+        return fixed.run(value);
+    }
+
+    /**
+     * Invokes a method that delegates to a registered interceptor.
+     *
+     * @return The intercepted method's return value.
+     */
+    @Benchmark
+    public int benchmarkRegisteredInterceptor() {
+        return registered.run(value);
+    }
+
+    /**
+     * Invokes a method that dispatches its interceptor reflectively.
+     *
+     * @return The intercepted method's return value.
+     */
+    @Benchmark
+    public int benchmarkReflectiveInterceptor() {
+        return reflective.run(value);
+    }
+
+    /**
+     * A type whose method is intercepted.
+     */
+    public static class Target {
+
+        /**
+         * A method that is intercepted.
+         *
+         * @param value The method's argument.
+         * @return A value that is computed from the supplied argument.
+         */
+        public int run(int value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * An interceptor that is invoked by the intercepted methods.
+     */
+    public static class Interceptor {
+
+        /**
+         * Intercepts a method.
+         *
+         * @param value The intercepted method's argument.
+         * @return The incremented argument.
+         */
+        public int intercept(@Argument(0) int value) {
+            return value + 1;
+        }
+    }
+
+    /**
+     * An invocation handler that resolves the registered interceptor on every invocation and that invokes it reflectively.
+     */
+    public static class ReflectiveHandler implements InvocationHandler {
+
+        /**
+         * The key of the registered interceptor.
+         */
+        private final String key;
+
+        /**
+         * Creates a new reflective handler.
+         *
+         * @param key The key of the registered interceptor.
+         */
+        public ReflectiveHandler(String key) {
+            this.key = key;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object invoke(Object proxy, Method method, Object[] argument) throws Throwable {
+            Object interceptor = InterceptorRegistry.getInterceptor(key);
+            return interceptor.getClass().getMethod("intercept", int.class).invoke(interceptor, argument);
+        }
+    }
+}
@@ -15,8 +15,14 @@
  */
 package net.bytebuddy.benchmark.runner;
 
+import net.bytebuddy.benchmark.AdviceFrameBenchmark;
+import net.bytebuddy.benchmark.AgentBuilderTransformationBenchmark;
+import net.bytebuddy.benchmark.AllArgumentsBenchmark;
 import net.bytebuddy.benchmark.ClassByExtensionBenchmark;
+import net.bytebuddy.benchmark.ClassInjectionBenchmark;
 import net.bytebuddy.benchmark.ClassByImplementationBenchmark;
+import net.bytebuddy.benchmark.NexusInitializationBenchmark;
+import net.bytebuddy.benchmark.RegisteredInterceptorBenchmark;
 import net.bytebuddy.benchmark.StubInvocationBenchmark;
 import net.bytebuddy.benchmark.SuperClassInvocationBenchmark;
 import net.bytebuddy.benchmark.TrivialClassCreationBenchmark;
@@ -56,6 +62,12 @@ public class QuickRunner {
                 .include(WILDCARD + ClassByImplementationBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + ClassByExtensionBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + TrivialClassCreationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AgentBuilderTransformationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AdviceFrameBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + ClassInjectionBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + NexusInitializationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AllArgumentsBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + RegisteredInterceptorBenchmark.class.getSimpleName() + WILDCARD)
                 .forks(0) // Should rather be 1 but there seems to be a bug in JMH.
                 .build()).run();
     }
@@ -0,0 +1,47 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdviceFrameBenchmarkTest {
+
+    private static final int BRANCHES = 10;
+
+    private AdviceFrameBenchmark benchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        benchmark = new AdviceFrameBenchmark();
+        benchmark.branches = BRANCHES;
+        benchmark.setUp();
+    }
+
+    @Test
+    public void testFrameTranslation() throws Exception {
+        assertValid(benchmark.benchmarkFrameTranslation());
+    }
+
+    @Test
+    public void testFrameComputation() throws Exception {
+        assertValid(benchmark.benchmarkFrameComputation());
+    }
+
+    private static void assertValid(byte[] binaryRepresentation) throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                Collections.singletonMap("sample.LargeMethod", binaryRepresentation),
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        Class<?> type = classLoader.loadClass("sample.LargeMethod");
+        Object instance = type.getConstructor().newInstance();
+        assertThat(type.getMethod("run", int.class).invoke(instance, BRANCHES - 1), instanceOf(ArrayList.class));
+        assertThat(type.getMethod("run", int.class).invoke(instance, BRANCHES), instanceOf(LinkedList.class));
+    }
+}
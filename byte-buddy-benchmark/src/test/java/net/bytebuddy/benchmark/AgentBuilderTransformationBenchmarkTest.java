@@ -0,0 +1,65 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Parameterized.class)
+public class AgentBuilderTransformationBenchmarkTest {
+
+    private static final int SIZE = 10, BATCH_SIZE = 3;
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<Object[]>();
+        for (AgentBuilderTransformationBenchmark.PoolStrategyType poolStrategy : AgentBuilderTransformationBenchmark.PoolStrategyType.values()) {
+            for (AgentBuilder.DescriptionStrategy.Default descriptionStrategy : AgentBuilder.DescriptionStrategy.Default.values()) {
+                data.add(new Object[]{poolStrategy, descriptionStrategy});
+            }
+        }
+        return data;
+    }
+
+    private final AgentBuilderTransformationBenchmark.PoolStrategyType poolStrategy;
+
+    private final AgentBuilder.DescriptionStrategy.Default descriptionStrategy;
+
+    public AgentBuilderTransformationBenchmarkTest(AgentBuilderTransformationBenchmark.PoolStrategyType poolStrategy,
+                                                   AgentBuilder.DescriptionStrategy.Default descriptionStrategy) {
+        this.poolStrategy = poolStrategy;
+        this.descriptionStrategy = descriptionStrategy;
+    }
+
+    private AgentBuilderTransformationBenchmark benchmark() {
+        AgentBuilderTransformationBenchmark benchmark = new AgentBuilderTransformationBenchmark();
+        benchmark.batchSize = BATCH_SIZE;
+        benchmark.poolStrategy = poolStrategy;
+        benchmark.descriptionStrategy = descriptionStrategy;
+        benchmark.setUp(SIZE);
+        return benchmark;
+    }
+
+    @Test
+    public void testTransformation() throws Exception {
+        assertThat(benchmark().benchmarkTransformation(), not(is(0)));
+    }
+
+    @Test
+    public void testMatching() throws Exception {
+        assertThat(benchmark().benchmarkMatching(), is(0));
+    }
+
+    @Test
+    public void testRetransformation() throws Exception {
+        assertThat(benchmark().benchmarkRetransformation(), is(SIZE));
+    }
+}
@@ -0,0 +1,59 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class AllArgumentsBenchmarkTest {
+
+    private static final int LENGTH = 9, ITERATIONS = 10000;
+
+    private AllArgumentsBenchmark benchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        benchmark = new AllArgumentsBenchmark();
+        benchmark.setUp();
+    }
+
+    @Test
+    public void testAllocatingArray() throws Exception {
+        assertThat(benchmark.benchmarkAllocatingArray(), is(LENGTH));
+        assertThat(benchmark.benchmarkAllocatingArray(), is(LENGTH));
+    }
+
+    @Test
+    public void testReusingArray() throws Exception {
+        assertThat(benchmark.benchmarkReusingArray(), is(LENGTH));
+        assertThat(benchmark.benchmarkReusingArray(), is(LENGTH));
+    }
+
+    @Test
+    public void testReusingArrayDoesNotAllocate() throws Exception {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+        assertThat(benchmark.benchmarkReusingArray(), is(LENGTH));
+        assertThat(benchmark.benchmarkAllocatingArray(), is(LENGTH));
+        long start = allocations.getThreadAllocatedBytes(threadId);
+        for (int index = 0; index < ITERATIONS; index++) {
+            benchmark.benchmarkReusingArray();
+        }
+        long reusing = allocations.getThreadAllocatedBytes(threadId) - start;
+        start = allocations.getThreadAllocatedBytes(threadId);
+        for (int index = 0; index < ITERATIONS; index++) {
+            benchmark.benchmarkAllocatingArray();
+        }
+        long allocating = allocations.getThreadAllocatedBytes(threadId) - start;
+        assertThat("Reusing allocated " + reusing + " bytes", reusing < ITERATIONS, is(true));
+        assertThat("Allocating allocated " + allocating + " bytes", allocating >= ITERATIONS * 16L, is(true));
+    }
+}
@@ -0,0 +1,59 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassInjectionBenchmarkTest {
+
+    private static final int COUNT = 10;
+
+    private ClassInjectionBenchmark classInjectionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        classInjectionBenchmark = new ClassInjectionBenchmark();
+        classInjectionBenchmark.count = COUNT;
+        classInjectionBenchmark.setUp();
+    }
+
+    @Test
+    public void testReflection() throws Exception {
+        if (ClassInjector.UsingReflection.isAvailable()) {
+            assertHierarchy(classInjectionBenchmark.benchmarkReflection());
+        }
+    }
+
+    @Test
+    public void testReflectionPerClass() throws Exception {
+        if (ClassInjector.UsingReflection.isAvailable()) {
+            assertThat(classInjectionBenchmark.benchmarkReflectionPerClass().size(), is(1));
+        }
+    }
+
+    @Test
+    public void testUnsafe() throws Exception {
+        if (ClassInjector.UsingUnsafe.isAvailable()) {
+            assertHierarchy(classInjectionBenchmark.benchmarkUnsafe());
+        }
+    }
+
+    @Test
+    public void testLookup() throws Exception {
+        if (ClassInjector.UsingLookup.isAvailable() && ClassInjector.UsingReflection.isAvailable()) {
+            assertHierarchy(classInjectionBenchmark.benchmarkLookup());
+        }
+    }
+
+    private static void assertHierarchy(Map<String, Class<?>> types) {
+        assertThat(types.size(), is(COUNT));
+        for (int index = 1; index < COUNT; index++) {
+            assertThat(types.get("sample.Type" + index).getSuperclass(), is((Object) types.get("sample.Type" + (index - 1))));
+        }
+    }
+}
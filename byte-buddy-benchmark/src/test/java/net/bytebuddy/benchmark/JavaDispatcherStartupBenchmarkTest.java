@@ -0,0 +1,33 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JavaDispatcherStartupBenchmarkTest {
+
+    private JavaDispatcherStartupBenchmark javaDispatcherStartupBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        javaDispatcherStartupBenchmark = new JavaDispatcherStartupBenchmark();
+        javaDispatcherStartupBenchmark.setUp();
+    }
+
+    @Test
+    public void testProxy() throws Exception {
+        assertThat(javaDispatcherStartupBenchmark.benchmarkProxy(), notNullValue());
+    }
+
+    @Test
+    public void testGenerated() throws Exception {
+        assertThat(javaDispatcherStartupBenchmark.benchmarkGenerated(), notNullValue());
+    }
+
+    @Test
+    public void testBaseline() throws Exception {
+        assertThat(javaDispatcherStartupBenchmark.baseline(), notNullValue());
+    }
+}
@@ -0,0 +1,30 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class NexusInitializationBenchmarkTest {
+
+    private NexusInitializationBenchmark nexusInitializationBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        nexusInitializationBenchmark = new NexusInitializationBenchmark();
+        nexusInitializationBenchmark.setUp();
+    }
+
+    @Test
+    public void testInitializer() throws Exception {
+        nexusInitializationBenchmark.benchmarkInitializer();
+    }
+
+    @Test
+    public void testResolvedInitializer() throws Exception {
+        nexusInitializationBenchmark.benchmarkResolvedInitializer();
+    }
+
+    @Test
+    public void testBaseline() throws Exception {
+        nexusInitializationBenchmark.baseline();
+    }
+}
@@ -0,0 +1,41 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RegisteredInterceptorBenchmarkTest {
+
+    private static final int VALUE = 43;
+
+    private RegisteredInterceptorBenchmark benchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        benchmark = new RegisteredInterceptorBenchmark();
+        benchmark.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        benchmark.tearDown();
+    }
+
+    @Test
+    public void testFixedInterceptor() throws Exception {
+        assertThat(benchmark.benchmarkFixedInterceptor(), is(VALUE));
+    }
+
+    @Test
+    public void testRegisteredInterceptor() throws Exception {
+        assertThat(benchmark.benchmarkRegisteredInterceptor(), is(VALUE));
+    }
+
+    @Test
+    public void testReflectiveInterceptor() throws Exception {
+        assertThat(benchmark.benchmarkReflectiveInterceptor(), is(VALUE));
+    }
+}
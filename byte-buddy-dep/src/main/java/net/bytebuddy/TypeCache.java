@@ -33,6 +33,8 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>
@@ -418,6 +420,333 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
         }
     }
 
+    /**
+     * <p>
+     * An implementation of a {@link TypeCache} that creates types without holding a lock that is shared between keys. If a type is
+     * requested concurrently for the same key, only a single thread creates the type while other threads await its creation. Types for
+     * different keys are created in parallel. Any monitor that is supplied to
+     * {@link TypeCache#findOrInsert(ClassLoader, Object, Callable, Object)} is therefore ignored by this cache. Obsolete class loader
+     * references are cleared upon any call and the cache records statistics on its use.
+     * </p>
+     * <p>
+     * <b>Note</b>: A type creation must not request a type for the same class loader and key from this cache as this would not
+     * terminate. Such a circular request is rejected by an {@link IllegalStateException}.
+     * </p>
+     *
+     * @param <S> The type of the key that is used for identifying stored classes per class loader. Such keys must not strongly reference any
+     *            types or class loaders without potentially corrupting the garbage eligibility of stored classes. As the storage is segmented
+     *            by class loader, it is normally sufficient to store types by their name.
+     * @see TypeCache
+     */
+    public static class WithConcurrentComputation<S> extends TypeCache<S> {
+
+        /**
+         * The amount of lookups that were resolved from this cache.
+         */
+        private final AtomicLong hits;
+
+        /**
+         * The amount of lookups that could not be resolved from this cache.
+         */
+        private final AtomicLong misses;
+
+        /**
+         * Creates a new type cache with concurrent computation and strong references to the stored types.
+         */
+        public WithConcurrentComputation() {
+            this(Sort.STRONG);
+        }
+
+        /**
+         * Creates a new type cache with concurrent computation.
+         *
+         * @param sort The default reference type to use for stored types.
+         */
+        public WithConcurrentComputation(Sort sort) {
+            super(sort);
+            hits = new AtomicLong();
+            misses = new AtomicLong();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @MaybeNull
+        @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Cross-comparison is intended.")
+        public Class<?> find(@MaybeNull ClassLoader classLoader, S key) {
+            expungeStaleEntries();
+            ConcurrentMap<S, Object> storage = cache.get(new LookupKey(classLoader));
+            Class<?> type = storage == null
+                    ? NOT_FOUND
+                    : unwrap(storage.get(key));
+            (type == null ? misses : hits).incrementAndGet();
+            return type;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> insert(@MaybeNull ClassLoader classLoader, S key, Class<?> type) {
+            return insert(classLoader, key, type, sort);
+        }
+
+        /**
+         * Inserts a new type into the cache. If a type with the same class loader and key was inserted previously, the cache is not updated.
+         * If a type for the same class loader and key is currently created, this method awaits its creation.
+         *
+         * @param classLoader The class loader for which this type is stored or {@code null} for the bootstrap loader.
+         * @param key         The key for the type in question.
+         * @param type        The type to insert of no previous type was stored in the cache.
+         * @param sort        The reference type to use for the inserted type.
+         * @return The supplied type or a previously submitted type for the same class loader and key combination.
+         */
+        public Class<?> insert(@MaybeNull ClassLoader classLoader, S key, Class<?> type, Sort sort) {
+            expungeStaleEntries();
+            ConcurrentMap<S, Object> storage = storage(classLoader);
+            Object value = sort.wrap(type);
+            while (true) {
+                Object previous = storage.putIfAbsent(key, value);
+                if (previous == null) {
+                    return type;
+                }
+                Class<?> previousType = previous instanceof Computation
+                        ? ((Computation) previous).await()
+                        : unwrap(previous);
+                if (previousType != null) {
+                    return previousType;
+                } else if (!(previous instanceof Computation) && storage.replace(key, previous, value)) {
+                    return type;
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> findOrInsert(@MaybeNull ClassLoader classLoader, S key, Callable<Class<?>> lazy) {
+            return findOrInsert(classLoader, key, lazy, sort);
+        }
+
+        /**
+         * Finds an existing type or inserts a new one if the previous type was not found. The monitor is ignored as types are
+         * created under a lock that is specific to the class loader and key.
+         *
+         * @param classLoader The class loader for which this type is stored or {@code null} for the bootstrap loader.
+         * @param key         The key for the type in question.
+         * @param lazy        A lazy creator for the type to insert of no previous type was stored in the cache.
+         * @param monitor     A monitor that is ignored by this cache.
+         * @return The lazily created type or a previously submitted type for the same class loader and key combination.
+         */
+        public Class<?> findOrInsert(@MaybeNull ClassLoader classLoader, S key, Callable<Class<?>> lazy, Object monitor) {
+            return findOrInsert(classLoader, key, lazy, sort);
+        }
+
+        /**
+         * Finds an existing type or inserts a new one if the previous type was not found. If a type for the same class loader and key is
+         * currently created, this method awaits its creation.
+         *
+         * @param classLoader The class loader for which this type is stored or {@code null} for the bootstrap loader.
+         * @param key         The key for the type in question.
+         * @param lazy        A lazy creator for the type to insert of no previous type was stored in the cache.
+         * @param sort        The reference type to use for a created type.
+         * @return The lazily created type or a previously submitted type for the same class loader and key combination.
+         */
+        public Class<?> findOrInsert(@MaybeNull ClassLoader classLoader, S key, Callable<Class<?>> lazy, Sort sort) {
+            expungeStaleEntries();
+            ConcurrentMap<S, Object> storage = storage(classLoader);
+            Computation computation = null;
+            while (true) {
+                Object previous = storage.get(key);
+                if (previous == null) {
+                    if (computation == null) {
+                        computation = new Computation();
+                    }
+                    previous = storage.putIfAbsent(key, computation);
+                    if (previous == null) {
+                        misses.incrementAndGet();
+                        return computation.apply(storage, key, lazy, sort);
+                    }
+                }
+                Class<?> type = previous instanceof Computation
+                        ? ((Computation) previous).await()
+                        : unwrap(previous);
+                if (type != null) {
+                    hits.incrementAndGet();
+                    return type;
+                } else if (!(previous instanceof Computation)) {
+                    if (computation == null) {
+                        computation = new Computation();
+                    }
+                    if (storage.replace(key, previous, computation)) {
+                        misses.incrementAndGet();
+                        return computation.apply(storage, key, lazy, sort);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the amount of types that are currently stored by this cache, excluding types that are currently created or that
+         * were already collected by the garbage collector.
+         *
+         * @return The amount of types that are currently stored by this cache.
+         */
+        public int size() {
+            expungeStaleEntries();
+            int size = 0;
+            for (ConcurrentMap<S, Object> storage : cache.values()) {
+                for (Object value : storage.values()) {
+                    if (unwrap(value) != null) {
+                        size += 1;
+                    }
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Returns the amount of lookups that were resolved from this cache.
+         *
+         * @return The amount of lookups that were resolved from this cache.
+         */
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        /**
+         * Returns the amount of lookups that could not be resolved from this cache.
+         *
+         * @return The amount of lookups that could not be resolved from this cache.
+         */
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        /**
+         * Resets the hit and miss counts of this cache.
+         */
+        public void resetStatistics() {
+            hits.set(0L);
+            misses.set(0L);
+        }
+
+        /**
+         * Returns the storage for the supplied class loader, creating it if it does not yet exist.
+         *
+         * @param classLoader The class loader for which this type is stored or {@code null} for the bootstrap loader.
+         * @return The storage for the supplied class loader.
+         */
+        private ConcurrentMap<S, Object> storage(@MaybeNull ClassLoader classLoader) {
+            ConcurrentMap<S, Object> storage = cache.get(new LookupKey(classLoader));
+            if (storage == null) {
+                storage = new ConcurrentHashMap<S, Object>();
+                ConcurrentMap<S, Object> previous = cache.putIfAbsent(new StorageKey(classLoader, this), storage);
+                if (previous != null) {
+                    storage = previous;
+                }
+            }
+            return storage;
+        }
+
+        /**
+         * Unwraps a stored value.
+         *
+         * @param value The stored value or {@code null}.
+         * @return The represented type or {@code null} if no type is available.
+         */
+        @MaybeNull
+        private static Class<?> unwrap(@MaybeNull Object value) {
+            if (value == null || value instanceof Computation) {
+                return NOT_FOUND;
+            } else if (value instanceof Reference<?>) {
+                return (Class<?>) ((Reference<?>) value).get();
+            } else {
+                return (Class<?>) value;
+            }
+        }
+
+        /**
+         * A placeholder for a type that is currently created.
+         */
+        protected static class Computation {
+
+            /**
+             * The thread that creates the type.
+             */
+            private final Thread thread;
+
+            /**
+             * A latch that is released once the type creation is complete.
+             */
+            private final CountDownLatch latch;
+
+            /**
+             * The created type or {@code null} if the type is not yet created or if its creation failed.
+             */
+            @MaybeNull
+            private volatile Class<?> type;
+
+            /**
+             * Creates a new computation for the current thread.
+             */
+            protected Computation() {
+                thread = Thread.currentThread();
+                latch = new CountDownLatch(1);
+            }
+
+            /**
+             * Creates the type and replaces this placeholder with the created type.
+             *
+             * @param storage The storage that contains this placeholder.
+             * @param key     The key of this placeholder.
+             * @param lazy    A lazy creator for the type.
+             * @param sort    The reference type to use for the created type.
+             * @param <U>     The type of the key.
+             * @return The created type.
+             */
+            protected <U> Class<?> apply(ConcurrentMap<U, Object> storage, U key, Callable<Class<?>> lazy, Sort sort) {
+                try {
+                    Class<?> type = lazy.call();
+                    storage.replace(key, this, sort.wrap(type));
+                    this.type = type;
+                    return type;
+                } catch (Throwable throwable) {
+                    storage.remove(key, this);
+                    throw new IllegalArgumentException("Could not create type", throwable);
+                } finally {
+                    latch.countDown();
+                }
+            }
+
+            /**
+             * Awaits the creation of the type.
+             *
+             * @return The created type or {@code null} if the creation failed.
+             */
+            @MaybeNull
+            protected Class<?> await() {
+                if (thread == Thread.currentThread()) {
+                    throw new IllegalStateException("Circular type creation by " + thread);
+                }
+                boolean interrupted = false;
+                try {
+                    while (true) {
+                        try {
+                            latch.await();
+                            return type;
+                        } catch (InterruptedException ignored) {
+                            interrupted = true;
+                        }
+                    }
+                } finally {
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * A simple key based on a collection of types where no type is strongly referenced.
      */
@@ -36,6 +36,7 @@ import net.bytebuddy.description.modifier.TypeManifestation;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.NexusAccessor;
@@ -70,6 +71,7 @@ import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.matcher.LatentMatcher;
+import net.bytebuddy.matcher.NameIndex;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
 import net.bytebuddy.utility.JavaConstant;
@@ -92,6 +94,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
 import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
@@ -109,6 +112,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -119,6 +123,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -126,10 +132,14 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -189,6 +199,17 @@ public interface AgentBuilder {
      */
     AgentBuilder with(Listener listener);
 
+    /**
+     * Defines the given {@link net.bytebuddy.agent.builder.AgentBuilder.PhaseListener} to be notified about the time
+     * that is spent within each phase of a transformation. The given phase listener is notified after any other phase
+     * listener that is already registered.
+     *
+     * @param phaseListener The phase listener to be notified.
+     * @return A new instance of this agent builder which creates an agent that informs the given phase listener about
+     * the timings of transformations.
+     */
+    AgentBuilder with(PhaseListener phaseListener);
+
     /**
      * Defines a circularity lock that is acquired upon executing code that potentially loads new classes. While the
      * lock is acquired, any class file transformer refrains from transforming any classes. By default, all created
@@ -208,6 +229,16 @@ public interface AgentBuilder {
      */
     AgentBuilder with(PoolStrategy poolStrategy);
 
+    /**
+     * Defines a prefilter that is applied to the binary representation of any class file before the type's
+     * {@link TypeDescription} is resolved and before any matcher is applied. A prefilter allows for cheaply rejecting
+     * types that are never transformed. Any previously defined prefilter is replaced.
+     *
+     * @param prefilter The prefilter to apply.
+     * @return A new instance of this agent builder which applies the given prefilter.
+     */
+    AgentBuilder with(Prefilter prefilter);
+
     /**
      * Defines the use of the given location strategy for locating binary data to given class names.
      *
@@ -992,6 +1023,23 @@ public interface AgentBuilder {
          */
         RedefinitionListenable with(RedefinitionStrategy.Listener redefinitionListener);
 
+        /**
+         * <p>
+         * Specifies a precomputation that allows for computing the transformed class files of types that are redefined in upcoming
+         * batches while the current batch is redefined, for example by an {@link java.util.concurrent.ExecutorService}. Any previously
+         * defined precomputation is replaced.
+         * </p>
+         * <p>
+         * <b>Important</b>: A precomputation is only applied for {@link RedefinitionStrategy#REDEFINITION} where Byte Buddy supplies
+         * the redefined class files itself. When retransforming, the JVM supplies the class files to the transformer what makes
+         * precomputed class files inapplicable.
+         * </p>
+         *
+         * @param redefinitionPrecomputation The precomputation to apply.
+         * @return A new instance of this agent builder which applies the specified precomputation upon type redefinitions.
+         */
+        RedefinitionListenable with(RedefinitionStrategy.Precomputation redefinitionPrecomputation);
+
         /**
          * Specifies resubmission for given unloaded types or types that fail upon an exception during instrumentation.
          *
@@ -1977,6 +2025,464 @@ public interface AgentBuilder {
         }
     }
 
+    /**
+     * <p>
+     * A prefilter is applied to the binary representation of a class file before the instrumented type's
+     * {@link TypeDescription} is resolved. A prefilter allows to cheaply reject types that are never transformed such
+     * that neither a type description is created nor any {@link RawMatcher} is applied. A prefilter is only allowed to
+     * reject types that would not otherwise be matched by the agent builder's matchers, it should therefore reflect a
+     * necessary condition for a type to be matched.
+     * </p>
+     * <p>
+     * <b>Important</b>: Types that are rejected by a prefilter are not reported to a {@link Listener}.
+     * </p>
+     */
+    interface Prefilter {
+
+        /**
+         * Determines if a type is a candidate for a transformation.
+         *
+         * @param typeName             The binary name of the instrumented type.
+         * @param classLoader          The class loader which is loading this type or {@code null} if loaded by the boots loader.
+         * @param module               The instrumented type's module or {@code null} if the current VM does not support modules.
+         * @param classBeingRedefined  The class being redefined which is only not {@code null} if a retransformation
+         *                             is applied.
+         * @param binaryRepresentation The class file of the instrumented type in its current state.
+         * @return {@code true} if the type is a candidate for a transformation and should be processed by the agent builder's matchers.
+         */
+        boolean isCandidate(String typeName,
+                            @MaybeNull ClassLoader classLoader,
+                            @MaybeNull JavaModule module,
+                            @MaybeNull Class<?> classBeingRedefined,
+                            byte[] binaryRepresentation);
+
+        /**
+         * A non-operational prefilter that considers any type as a candidate.
+         */
+        enum NoOp implements Prefilter {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isCandidate(String typeName,
+                                       @MaybeNull ClassLoader classLoader,
+                                       @MaybeNull JavaModule module,
+                                       @MaybeNull Class<?> classBeingRedefined,
+                                       byte[] binaryRepresentation) {
+                return true;
+            }
+        }
+
+        /**
+         * A prefilter that only considers types as candidates if their binary name starts with any of the given prefixes.
+         * The prefixes are compiled into a trie such that the cost of a lookup only depends on the length of the type's name.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForNamePrefixes implements Prefilter {
+
+            /**
+             * The root node of the trie that represents all prefixes.
+             */
+            private final Node root;
+
+            /**
+             * Creates a prefilter for the given name prefixes.
+             *
+             * @param prefix The prefixes of the binary names of types to consider as candidates.
+             */
+            public ForNamePrefixes(String... prefix) {
+                this(Arrays.asList(prefix));
+            }
+
+            /**
+             * Creates a prefilter for the given name prefixes.
+             *
+             * @param prefixes The prefixes of the binary names of types to consider as candidates.
+             */
+            public ForNamePrefixes(Collection<String> prefixes) {
+                root = Node.of(new TreeSet<String>(prefixes), 0);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isCandidate(String typeName,
+                                       @MaybeNull ClassLoader classLoader,
+                                       @MaybeNull JavaModule module,
+                                       @MaybeNull Class<?> classBeingRedefined,
+                                       byte[] binaryRepresentation) {
+                Node node = root;
+                for (int index = 0; !node.terminal; index++) {
+                    if (index == typeName.length() || (node = node.resolve(typeName.charAt(index))) == null) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            /**
+             * A node of a trie that represents a set of prefixes.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Node {
+
+                /**
+                 * {@code true} if this node represents the end of a prefix.
+                 */
+                private final boolean terminal;
+
+                /**
+                 * The characters that lead to this node's children in ascending order.
+                 */
+                private final char[] characters;
+
+                /**
+                 * The children of this node in the order of their characters.
+                 */
+                private final Node[] children;
+
+                /**
+                 * Creates a new node.
+                 *
+                 * @param terminal   {@code true} if this node represents the end of a prefix.
+                 * @param characters The characters that lead to this node's children in ascending order.
+                 * @param children   The children of this node in the order of their characters.
+                 */
+                protected Node(boolean terminal, char[] characters, Node[] children) {
+                    this.terminal = terminal;
+                    this.characters = characters;
+                    this.children = children;
+                }
+
+                /**
+                 * Creates a node for a sorted set of prefixes that share the characters up to the given depth.
+                 *
+                 * @param prefixes The prefixes to represent in their natural order.
+                 * @param depth    The number of characters that are shared by all prefixes.
+                 * @return A node representing the supplied prefixes.
+                 */
+                protected static Node of(SortedSet<String> prefixes, int depth) {
+                    Map<Character, SortedSet<String>> groups = new LinkedHashMap<Character, SortedSet<String>>();
+                    for (String prefix : prefixes) {
+                        if (prefix.length() == depth) {
+                            return new Node(true, new char[0], new Node[0]);
+                        }
+                        SortedSet<String> group = groups.get(prefix.charAt(depth));
+                        if (group == null) {
+                            group = new TreeSet<String>();
+                            groups.put(prefix.charAt(depth), group);
+                        }
+                        group.add(prefix);
+                    }
+                    char[] characters = new char[groups.size()];
+                    Node[] children = new Node[groups.size()];
+                    int index = 0;
+                    for (Map.Entry<Character, SortedSet<String>> entry : groups.entrySet()) {
+                        characters[index] = entry.getKey();
+                        children[index++] = of(entry.getValue(), depth + 1);
+                    }
+                    return new Node(false, characters, children);
+                }
+
+                /**
+                 * Resolves the child node for a given character.
+                 *
+                 * @param character The character to resolve.
+                 * @return The child node for the supplied character or {@code null} if no such child exists.
+                 */
+                @MaybeNull
+                protected Node resolve(char character) {
+                    int index = Arrays.binarySearch(characters, character);
+                    return index < 0
+                            ? null
+                            : children[index];
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A prefilter that only considers types as candidates if their class file's constant pool contains the
+         * descriptor of any of the given annotation types. As annotations that are declared by a type, its fields or
+         * methods are referenced from the constant pool by their descriptor, this check is a necessary condition for
+         * any such annotation to be present. The constant pool is scanned without parsing the remainder of the class file.
+         * </p>
+         * <p>
+         * <b>Important</b>: Annotations that are inherited from a super class are not declared by the class file of a type
+         * and cannot be discovered by this prefilter. If the class file cannot be parsed, a type is considered a candidate.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForDeclaredAnnotations implements Prefilter {
+
+            /**
+             * The magic number of a class file.
+             */
+            private static final int MAGIC = 0xCAFEBABE;
+
+            /**
+             * The offset of the constant pool count within a class file.
+             */
+            private static final int CONSTANT_POOL_OFFSET = 8;
+
+            /**
+             * The descriptors of the annotation types to look for.
+             */
+            private final List<String> descriptors;
+
+            /**
+             * The UTF-8 encoded descriptors of the annotation types to look for, as derived from the descriptors.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final List<byte[]> encodedDescriptors;
+
+            /**
+             * Creates a prefilter for the given annotation types.
+             *
+             * @param annotationType The annotation types of which at least one must be referenced by a candidate type.
+             */
+            public ForDeclaredAnnotations(Class<?>... annotationType) {
+                this(new TypeList.ForLoadedTypes(annotationType));
+            }
+
+            /**
+             * Creates a prefilter for the given annotation types.
+             *
+             * @param annotationTypes The annotation types of which at least one must be referenced by a candidate type.
+             */
+            public ForDeclaredAnnotations(List<? extends TypeDescription> annotationTypes) {
+                descriptors = new ArrayList<String>(annotationTypes.size());
+                encodedDescriptors = new ArrayList<byte[]>(annotationTypes.size());
+                for (TypeDescription annotationType : annotationTypes) {
+                    descriptors.add(annotationType.getDescriptor());
+                    try {
+                        encodedDescriptors.add(annotationType.getDescriptor().getBytes("UTF-8"));
+                    } catch (UnsupportedEncodingException exception) {
+                        throw new IllegalStateException("Failed to encode " + annotationType, exception);
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isCandidate(String typeName,
+                                       @MaybeNull ClassLoader classLoader,
+                                       @MaybeNull JavaModule module,
+                                       @MaybeNull Class<?> classBeingRedefined,
+                                       byte[] binaryRepresentation) {
+                if (binaryRepresentation.length < CONSTANT_POOL_OFFSET + 2 || toInteger(binaryRepresentation, 0) != MAGIC) {
+                    return true;
+                }
+                int count = toUnsignedShort(binaryRepresentation, CONSTANT_POOL_OFFSET), offset = CONSTANT_POOL_OFFSET + 2;
+                for (int index = 1; index < count; index++) {
+                    if (offset >= binaryRepresentation.length) {
+                        return true;
+                    }
+                    switch (binaryRepresentation[offset]) {
+                        case 1: // UTF-8
+                            if (offset + 3 > binaryRepresentation.length) {
+                                return true;
+                            }
+                            int length = toUnsignedShort(binaryRepresentation, offset + 1);
+                            if (isDescriptor(binaryRepresentation, offset + 3, length)) {
+                                return true;
+                            }
+                            offset += 3 + length;
+                            break;
+                        case 7: // Class
+                        case 8: // String
+                        case 16: // Method type
+                        case 19: // Module
+                        case 20: // Package
+                            offset += 3;
+                            break;
+                        case 15: // Method handle
+                            offset += 4;
+                            break;
+                        case 3: // Integer
+                        case 4: // Float
+                        case 9: // Field reference
+                        case 10: // Method reference
+                        case 11: // Interface method reference
+                        case 12: // Name and type
+                        case 17: // Dynamic
+                        case 18: // Invoke dynamic
+                            offset += 5;
+                            break;
+                        case 5: // Long
+                        case 6: // Double
+                            offset += 9;
+                            index++;
+                            break;
+                        default:
+                            return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Determines if the given region of a class file represents any of the annotation descriptors.
+             *
+             * @param binaryRepresentation The class file.
+             * @param offset               The offset of the region.
+             * @param length               The length of the region.
+             * @return {@code true} if the region represents any of the annotation descriptors.
+             */
+            private boolean isDescriptor(byte[] binaryRepresentation, int offset, int length) {
+                if (length < 3 || offset + length > binaryRepresentation.length || binaryRepresentation[offset] != 'L') {
+                    return false;
+                }
+                for (byte[] descriptor : encodedDescriptors) {
+                    if (descriptor.length == length) {
+                        int index = 1;
+                        while (index < length && descriptor[index] == binaryRepresentation[offset + index]) {
+                            index++;
+                        }
+                        if (index == length) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Reads an unsigned short value from a class file.
+             *
+             * @param binaryRepresentation The class file.
+             * @param offset               The offset of the value.
+             * @return The value.
+             */
+            private static int toUnsignedShort(byte[] binaryRepresentation, int offset) {
+                return (binaryRepresentation[offset] & 0xFF) << 8 | binaryRepresentation[offset + 1] & 0xFF;
+            }
+
+            /**
+             * Reads an integer value from a class file.
+             *
+             * @param binaryRepresentation The class file.
+             * @param offset               The offset of the value.
+             * @return The value.
+             */
+            private static int toInteger(byte[] binaryRepresentation, int offset) {
+                return toUnsignedShort(binaryRepresentation, offset) << 16 | toUnsignedShort(binaryRepresentation, offset + 2);
+            }
+        }
+
+        /**
+         * A prefilter that considers a type as a candidate if all of its prefilters consider the type a candidate.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Conjunction implements Prefilter {
+
+            /**
+             * The prefilters to apply.
+             */
+            private final List<Prefilter> prefilters;
+
+            /**
+             * Creates a new conjunction of prefilters.
+             *
+             * @param prefilter The prefilters to apply.
+             */
+            public Conjunction(Prefilter... prefilter) {
+                this(Arrays.asList(prefilter));
+            }
+
+            /**
+             * Creates a new conjunction of prefilters.
+             *
+             * @param prefilters The prefilters to apply.
+             */
+            public Conjunction(List<? extends Prefilter> prefilters) {
+                this.prefilters = new ArrayList<Prefilter>(prefilters.size());
+                for (Prefilter prefilter : prefilters) {
+                    if (prefilter instanceof Conjunction) {
+                        this.prefilters.addAll(((Conjunction) prefilter).prefilters);
+                    } else if (!(prefilter instanceof NoOp)) {
+                        this.prefilters.add(prefilter);
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isCandidate(String typeName,
+                                       @MaybeNull ClassLoader classLoader,
+                                       @MaybeNull JavaModule module,
+                                       @MaybeNull Class<?> classBeingRedefined,
+                                       byte[] binaryRepresentation) {
+                for (Prefilter prefilter : prefilters) {
+                    if (!prefilter.isCandidate(typeName, classLoader, module, classBeingRedefined, binaryRepresentation)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+
+        /**
+         * A prefilter that considers a type as a candidate if any of its prefilters considers the type a candidate.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Disjunction implements Prefilter {
+
+            /**
+             * The prefilters to apply.
+             */
+            private final List<Prefilter> prefilters;
+
+            /**
+             * Creates a new disjunction of prefilters.
+             *
+             * @param prefilter The prefilters to apply.
+             */
+            public Disjunction(Prefilter... prefilter) {
+                this(Arrays.asList(prefilter));
+            }
+
+            /**
+             * Creates a new disjunction of prefilters.
+             *
+             * @param prefilters The prefilters to apply.
+             */
+            public Disjunction(List<? extends Prefilter> prefilters) {
+                this.prefilters = new ArrayList<Prefilter>(prefilters.size());
+                for (Prefilter prefilter : prefilters) {
+                    if (prefilter instanceof Disjunction) {
+                        this.prefilters.addAll(((Disjunction) prefilter).prefilters);
+                    } else {
+                        this.prefilters.add(prefilter);
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isCandidate(String typeName,
+                                       @MaybeNull ClassLoader classLoader,
+                                       @MaybeNull JavaModule module,
+                                       @MaybeNull Class<?> classBeingRedefined,
+                                       byte[] binaryRepresentation) {
+                for (Prefilter prefilter : prefilters) {
+                    if (prefilter.isCandidate(typeName, classLoader, module, classBeingRedefined, binaryRepresentation)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+
     /**
      * A listener that is informed about events that occur during an instrumentation process.
      */
@@ -2528,8 +3034,411 @@ public interface AgentBuilder {
     }
 
     /**
-     * A circularity lock is responsible for preventing that a {@link ClassFileLocator} is used recursively.
-     * This can happen when a class file transformation causes another class to be loaded. Without avoiding
+     * A listener that is notified about the time that was spent within the different phases of a transformation that is
+     * applied by a class file transformer that is created by an agent builder. Unlike a {@link Listener}, a phase listener
+     * is not notified about the outcome of a transformation but only receives timings that are measured in nanoseconds.
+     * Note that a phase listener is notified from any thread that loads or retransforms a class and that it must
+     * therefore be thread-safe.
+     */
+    interface PhaseListener {
+
+        /**
+         * Invoked after a phase of a transformation was completed, independently of the phase's outcome.
+         *
+         * @param phase       The phase that was completed.
+         * @param typeName    The binary name of the instrumented type.
+         * @param classLoader The class loader which is loading this type or {@code null} if loaded by the boots loader.
+         * @param module      The instrumented type's module or {@code null} if the current VM does not support modules.
+         * @param loaded      {@code true} if the type is already loaded.
+         * @param nanoseconds The time that was spent within the phase in nanoseconds.
+         */
+        void onPhase(Phase phase, String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, boolean loaded, long nanoseconds);
+
+        /**
+         * Describes a phase of a transformation.
+         */
+        enum Phase {
+
+            /**
+             * Applies the {@link Prefilter} to the instrumented type's class file.
+             */
+            PREFILTERING,
+
+            /**
+             * Resolves the {@link TypeDescription} of the instrumented type by applying the {@link DescriptionStrategy}. Note
+             * that a lazy {@link PoolStrategy} might defer parsing the class file until the type description is matched.
+             */
+            TYPE_RESOLUTION,
+
+            /**
+             * Applies the agent builder's ignore matcher.
+             */
+            IGNORE_MATCHING,
+
+            /**
+             * Applies the matchers of all registered transformations.
+             */
+            TYPE_MATCHING,
+
+            /**
+             * Creates a builder for the instrumented type and applies all matched {@link Transformer}s to it.
+             */
+            TRANSFORMER_APPLICATION,
+
+            /**
+             * Creates the transformed class file from the builder, including the creation of its byte array representation.
+             */
+            TYPE_CREATION,
+
+            /**
+             * Registers the transformed type with the {@link InitializationStrategy} what might include the injection of
+             * auxiliary types.
+             */
+            TYPE_REGISTRATION
+        }
+
+        /**
+         * A non-operational phase listener.
+         */
+        enum NoOp implements PhaseListener {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onPhase(Phase phase, String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, boolean loaded, long nanoseconds) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * <p>
+         * A phase listener that records the timings of all phases in histograms with exponentially growing buckets where
+         * the bucket with index {@code n > 0} counts all timings within {@code [2^(n-1), 2^n)} nanoseconds. Recording a
+         * timing does not require any locking, such that this listener can be used concurrently by any number of threads.
+         * </p>
+         * <p>
+         * <b>Important</b>: The recorded values can be read by {@link Recording#snapshot()}. As recording is not synchronized,
+         * a snapshot might not reflect timings that are recorded concurrently to its creation.
+         * </p>
+         */
+        class Recording implements PhaseListener {
+
+            /**
+             * The number of buckets of each histogram.
+             */
+            private static final int BUCKETS = Long.SIZE;
+
+            /**
+             * The histograms of each phase, indexed by the phase's ordinal.
+             */
+            private final Histogram[] histograms;
+
+            /**
+             * Creates a new recording phase listener.
+             */
+            public Recording() {
+                histograms = new Histogram[Phase.values().length];
+                for (int index = 0; index < histograms.length; index++) {
+                    histograms[index] = new Histogram();
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onPhase(Phase phase, String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, boolean loaded, long nanoseconds) {
+                histograms[phase.ordinal()].record(nanoseconds);
+            }
+
+            /**
+             * Creates a snapshot of the timings that were recorded for a given phase.
+             *
+             * @param phase The phase for which to create a snapshot.
+             * @return A snapshot of the timings that were recorded for the supplied phase.
+             */
+            public Snapshot snapshot(Phase phase) {
+                return histograms[phase.ordinal()].snapshot();
+            }
+
+            /**
+             * Creates a snapshot of the timings that were recorded for all phases.
+             *
+             * @return A map of all phases to a snapshot of their recorded timings.
+             */
+            public Map<Phase, Snapshot> snapshot() {
+                Map<Phase, Snapshot> snapshots = new EnumMap<Phase, Snapshot>(Phase.class);
+                for (Phase phase : Phase.values()) {
+                    snapshots.put(phase, snapshot(phase));
+                }
+                return snapshots;
+            }
+
+            /**
+             * Resets all recorded timings.
+             */
+            public void reset() {
+                for (Histogram histogram : histograms) {
+                    histogram.reset();
+                }
+            }
+
+            /**
+             * Resolves the index of the bucket that counts a given timing.
+             *
+             * @param nanoseconds The timing in nanoseconds.
+             * @return The index of the bucket that counts the supplied timing.
+             */
+            protected static int toBucket(long nanoseconds) {
+                return nanoseconds < 0L
+                        ? 0
+                        : Long.SIZE - Long.numberOfLeadingZeros(nanoseconds);
+            }
+
+            /**
+             * A lock-free histogram of the timings of a single phase.
+             */
+            protected static class Histogram {
+
+                /**
+                 * The number of timings per bucket.
+                 */
+                private final AtomicLongArray buckets;
+
+                /**
+                 * The sum of all recorded timings.
+                 */
+                private final AtomicLong total;
+
+                /**
+                 * The longest recorded timing.
+                 */
+                private final AtomicLong maximum;
+
+                /**
+                 * Creates a new histogram.
+                 */
+                protected Histogram() {
+                    buckets = new AtomicLongArray(BUCKETS);
+                    total = new AtomicLong();
+                    maximum = new AtomicLong();
+                }
+
+                /**
+                 * Records a timing.
+                 *
+                 * @param nanoseconds The timing to record in nanoseconds.
+                 */
+                protected void record(long nanoseconds) {
+                    buckets.incrementAndGet(toBucket(nanoseconds));
+                    total.addAndGet(nanoseconds);
+                    long current;
+                    do {
+                        current = maximum.get();
+                    } while (nanoseconds > current && !maximum.compareAndSet(current, nanoseconds));
+                }
+
+                /**
+                 * Creates a snapshot of this histogram.
+                 *
+                 * @return A snapshot of this histogram.
+                 */
+                protected Snapshot snapshot() {
+                    long[] buckets = new long[BUCKETS];
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets[index] = this.buckets.get(index);
+                    }
+                    return new Snapshot(buckets, total.get(), maximum.get());
+                }
+
+                /**
+                 * Resets this histogram.
+                 */
+                protected void reset() {
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets.set(index, 0L);
+                    }
+                    total.set(0L);
+                    maximum.set(0L);
+                }
+            }
+
+            /**
+             * An immutable snapshot of the timings that were recorded for a phase.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Snapshot {
+
+                /**
+                 * The number of timings per bucket.
+                 */
+                private final long[] buckets;
+
+                /**
+                 * The sum of all recorded timings in nanoseconds.
+                 */
+                private final long total;
+
+                /**
+                 * The longest recorded timing in nanoseconds.
+                 */
+                private final long maximum;
+
+                /**
+                 * Creates a new snapshot.
+                 *
+                 * @param buckets The number of timings per bucket.
+                 * @param total   The sum of all recorded timings in nanoseconds.
+                 * @param maximum The longest recorded timing in nanoseconds.
+                 */
+                protected Snapshot(long[] buckets, long total, long maximum) {
+                    this.buckets = buckets;
+                    this.total = total;
+                    this.maximum = maximum;
+                }
+
+                /**
+                 * Returns the number of recorded timings.
+                 *
+                 * @return The number of recorded timings.
+                 */
+                public long getCount() {
+                    long count = 0L;
+                    for (long bucket : buckets) {
+                        count += bucket;
+                    }
+                    return count;
+                }
+
+                /**
+                 * Returns the sum of all recorded timings in nanoseconds.
+                 *
+                 * @return The sum of all recorded timings in nanoseconds.
+                 */
+                public long getTotal() {
+                    return total;
+                }
+
+                /**
+                 * Returns the longest recorded timing in nanoseconds.
+                 *
+                 * @return The longest recorded timing in nanoseconds.
+                 */
+                public long getMaximum() {
+                    return maximum;
+                }
+
+                /**
+                 * Returns the mean of all recorded timings in nanoseconds or {@code 0} if no timing was recorded.
+                 *
+                 * @return The mean of all recorded timings in nanoseconds.
+                 */
+                public double getMean() {
+                    long count = getCount();
+                    return count == 0L
+                            ? 0d
+                            : (double) total / count;
+                }
+
+                /**
+                 * Returns an upper bound for the given percentile of all recorded timings in nanoseconds. The returned value
+                 * is the exclusive upper bound of the bucket that contains the percentile but never exceeds the longest
+                 * recorded timing.
+                 *
+                 * @param percentile The percentile to resolve, a value between {@code 0} and {@code 100}.
+                 * @return An upper bound for the given percentile of all recorded timings in nanoseconds.
+                 */
+                public long getPercentile(double percentile) {
+                    if (percentile < 0d || percentile > 100d) {
+                        throw new IllegalArgumentException("Percentile must be in the range of 0 to 100: " + percentile);
+                    }
+                    long count = getCount(), threshold = (long) Math.ceil(count * percentile / 100d), accumulated = 0L;
+                    for (int index = 0; index < buckets.length; index++) {
+                        accumulated += buckets[index];
+                        if (accumulated >= threshold && accumulated > 0L) {
+                            return index == buckets.length - 1
+                                    ? maximum
+                                    : Math.min(1L << index, maximum);
+                        }
+                    }
+                    return 0L;
+                }
+
+                /**
+                 * Returns the number of timings per bucket where the bucket with index {@code n > 0} counts all timings within
+                 * {@code [2^(n-1), 2^n)} nanoseconds and where the bucket with index {@code 0} counts all timings of zero.
+                 *
+                 * @return The number of timings per bucket.
+                 */
+                public long[] getBuckets() {
+                    return buckets.clone();
+                }
+            }
+        }
+
+        /**
+         * A compound phase listener that allows to group several phase listeners in one instance.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Compound implements PhaseListener {
+
+            /**
+             * The phase listeners that are represented by this compound phase listener in their application order.
+             */
+            private final List<PhaseListener> phaseListeners;
+
+            /**
+             * Creates a new compound phase listener.
+             *
+             * @param phaseListener The phase listeners to apply in their application order.
+             */
+            public Compound(PhaseListener... phaseListener) {
+                this(Arrays.asList(phaseListener));
+            }
+
+            /**
+             * Creates a new compound phase listener.
+             *
+             * @param phaseListeners The phase listeners to apply in their application order.
+             */
+            public Compound(List<? extends PhaseListener> phaseListeners) {
+                this.phaseListeners = new ArrayList<PhaseListener>();
+                for (PhaseListener phaseListener : phaseListeners) {
+                    if (phaseListener instanceof Compound) {
+                        this.phaseListeners.addAll(((Compound) phaseListener).phaseListeners);
+                    } else if (!(phaseListener instanceof NoOp)) {
+                        this.phaseListeners.add(phaseListener);
+                    }
+                }
+            }
+
+            /**
+             * Returns {@code true} if this compound phase listener does not notify any phase listener.
+             *
+             * @return {@code true} if this compound phase listener does not notify any phase listener.
+             */
+            protected boolean isEmpty() {
+                return phaseListeners.isEmpty();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onPhase(Phase phase, String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, boolean loaded, long nanoseconds) {
+                for (PhaseListener phaseListener : phaseListeners) {
+                    phaseListener.onPhase(phase, typeName, classLoader, module, loaded, nanoseconds);
+                }
+            }
+        }
+    }
+
+    /**
+     * A circularity lock is responsible for preventing that a {@link ClassFileLocator} is used recursively.
+     * This can happen when a class file transformation causes another class to be loaded. Without avoiding
      * such circularities, a class loading is aborted by a {@link ClassCircularityError} which causes the
      * class loading to fail.
      */
@@ -3664,14 +4573,17 @@ public interface AgentBuilder {
 
         /**
          * <p>
-         * A type locator that resolves all type descriptions eagerly.
+         * A type locator that behaves as {@link ExtraLazy} but that additionally answers queries for a type's declared
+         * annotations by only reading the class file's header and class-level attributes, without parsing any field
+         * or method. This is meant for matchers that only consider a type's name, hierarchy and annotations where
+         * most types are never matched. Any other property triggers a full parse of the class file.
          * </p>
          * <p>
          * The returned type pool uses a {@link net.bytebuddy.pool.TypePool.CacheProvider.Simple} and the
          * {@link ClassFileLocator} that is provided by the builder's {@link LocationStrategy}.
          * </p>
          */
-        enum Eager implements PoolStrategy {
+        enum HeaderFirst implements PoolStrategy {
 
             /**
              * A type locator that parses the code segment of each method for extracting information about parameter
@@ -3699,7 +4611,7 @@ public interface AgentBuilder {
              *
              * @param readerMode The reader mode to apply by this type locator.
              */
-            Eager(TypePool.Default.ReaderMode readerMode) {
+            HeaderFirst(TypePool.Default.ReaderMode readerMode) {
                 this.readerMode = readerMode;
             }
 
@@ -3707,7 +4619,10 @@ public interface AgentBuilder {
              * {@inheritDoc}
              */
             public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader) {
-                return new TypePool.Default(TypePool.CacheProvider.Simple.withObjectType(), classFileLocator, readerMode);
+                return new TypePool.LazyFacade(new TypePool.Default.WithLazyResolution(TypePool.CacheProvider.Simple.withObjectType(),
+                        classFileLocator,
+                        readerMode,
+                        TypePool.Default.WithLazyResolution.LazinessMode.HEADER));
             }
 
             /**
@@ -3720,15 +4635,14 @@ public interface AgentBuilder {
 
         /**
          * <p>
-         * A type locator that attempts loading a type if it cannot be located by the underlying lazy type pool.
+         * A type locator that resolves all type descriptions eagerly.
          * </p>
          * <p>
          * The returned type pool uses a {@link net.bytebuddy.pool.TypePool.CacheProvider.Simple} and the
-         * {@link ClassFileLocator} that is provided by the builder's {@link LocationStrategy}. Any types
-         * are loaded via the instrumented type's {@link ClassLoader}.
+         * {@link ClassFileLocator} that is provided by the builder's {@link LocationStrategy}.
          * </p>
          */
-        enum ClassLoading implements PoolStrategy {
+        enum Eager implements PoolStrategy {
 
             /**
              * A type locator that parses the code segment of each method for extracting information about parameter
@@ -3756,7 +4670,7 @@ public interface AgentBuilder {
              *
              * @param readerMode The reader mode to apply by this type locator.
              */
-            ClassLoading(TypePool.Default.ReaderMode readerMode) {
+            Eager(TypePool.Default.ReaderMode readerMode) {
                 this.readerMode = readerMode;
             }
 
@@ -3764,7 +4678,7 @@ public interface AgentBuilder {
              * {@inheritDoc}
              */
             public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader) {
-                return TypePool.ClassLoading.of(classLoader, new TypePool.Default.WithLazyResolution(TypePool.CacheProvider.Simple.withObjectType(), classFileLocator, readerMode));
+                return new TypePool.Default(TypePool.CacheProvider.Simple.withObjectType(), classFileLocator, readerMode);
             }
 
             /**
@@ -3777,27 +4691,84 @@ public interface AgentBuilder {
 
         /**
          * <p>
-         * A type locator that uses type pools but allows for the configuration of a custom cache provider by class loader. Note that a
-         * {@link TypePool} can grow in size and that a static reference is kept to this pool by Byte Buddy's registration of a
-         * {@link ClassFileTransformer} what can cause a memory leak if the supplied caches are not cleared on a regular basis. Also note
-         * that a cache provider can be accessed concurrently by multiple {@link ClassLoader}s.
+         * A type locator that attempts loading a type if it cannot be located by the underlying lazy type pool.
          * </p>
          * <p>
-         * All types that are returned by the locator's type pool are resolved lazily.
+         * The returned type pool uses a {@link net.bytebuddy.pool.TypePool.CacheProvider.Simple} and the
+         * {@link ClassFileLocator} that is provided by the builder's {@link LocationStrategy}. Any types
+         * are loaded via the instrumented type's {@link ClassLoader}.
          * </p>
          */
-        @HashCodeAndEqualsPlugin.Enhance
-        abstract class WithTypePoolCache implements PoolStrategy {
+        enum ClassLoading implements PoolStrategy {
 
             /**
-             * The reader mode to use for parsing a class file.
+             * A type locator that parses the code segment of each method for extracting information about parameter
+             * names even if they are not explicitly included in a class file.
+             *
+             * @see net.bytebuddy.pool.TypePool.Default.ReaderMode#EXTENDED
              */
-            protected final TypePool.Default.ReaderMode readerMode;
+            EXTENDED(TypePool.Default.ReaderMode.EXTENDED),
 
             /**
-             * The laziness mode to use for when to parse a class file.
-             */
-            protected final TypePool.Default.WithLazyResolution.LazinessMode lazinessMode;
+             * A type locator that skips the code segment of each method and does therefore not extract information
+             * about parameter names. Parameter names are still included if they are explicitly included in a class file.
+             *
+             * @see net.bytebuddy.pool.TypePool.Default.ReaderMode#FAST
+             */
+            FAST(TypePool.Default.ReaderMode.FAST);
+
+            /**
+             * The reader mode to apply by this type locator.
+             */
+            private final TypePool.Default.ReaderMode readerMode;
+
+            /**
+             * Creates a new type locator.
+             *
+             * @param readerMode The reader mode to apply by this type locator.
+             */
+            ClassLoading(TypePool.Default.ReaderMode readerMode) {
+                this.readerMode = readerMode;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader) {
+                return TypePool.ClassLoading.of(classLoader, new TypePool.Default.WithLazyResolution(TypePool.CacheProvider.Simple.withObjectType(), classFileLocator, readerMode));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader, String name) {
+                return typePool(classFileLocator, classLoader);
+            }
+        }
+
+        /**
+         * <p>
+         * A type locator that uses type pools but allows for the configuration of a custom cache provider by class loader. Note that a
+         * {@link TypePool} can grow in size and that a static reference is kept to this pool by Byte Buddy's registration of a
+         * {@link ClassFileTransformer} what can cause a memory leak if the supplied caches are not cleared on a regular basis. Also note
+         * that a cache provider can be accessed concurrently by multiple {@link ClassLoader}s.
+         * </p>
+         * <p>
+         * All types that are returned by the locator's type pool are resolved lazily.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        abstract class WithTypePoolCache implements PoolStrategy {
+
+            /**
+             * The reader mode to use for parsing a class file.
+             */
+            protected final TypePool.Default.ReaderMode readerMode;
+
+            /**
+             * The laziness mode to use for when to parse a class file.
+             */
+            protected final TypePool.Default.WithLazyResolution.LazinessMode lazinessMode;
 
             /**
              * Creates a new type locator that creates {@link TypePool}s but provides a custom {@link net.bytebuddy.pool.TypePool.CacheProvider}.
@@ -3911,7 +4882,7 @@ public interface AgentBuilder {
                     classLoader = classLoader == null ? getBootstrapMarkerLoader() : classLoader;
                     TypePool.CacheProvider cacheProvider = cacheProviders.get(classLoader);
                     while (cacheProvider == null) {
-                        cacheProvider = TypePool.CacheProvider.Simple.withObjectType();
+                        cacheProvider = make();
                         TypePool.CacheProvider previous = cacheProviders.putIfAbsent(classLoader, cacheProvider);
                         if (previous != null) {
                             cacheProvider = previous;
@@ -3920,6 +4891,15 @@ public interface AgentBuilder {
                     return cacheProvider;
                 }
 
+                /**
+                 * Creates a new cache provider for a class loader that is not yet represented by this pool strategy.
+                 *
+                 * @return A new cache provider.
+                 */
+                protected TypePool.CacheProvider make() {
+                    return TypePool.CacheProvider.Simple.withObjectType();
+                }
+
                 /**
                  * <p>
                  * Returns the class loader to serve as a cache key if a cache provider for the bootstrap class loader is requested.
@@ -3954,6 +4934,67 @@ public interface AgentBuilder {
                     }
                 }
             }
+
+            /**
+             * An implementation of a type locator {@link WithTypePoolCache} (note documentation of the linked class) that is based on a
+             * {@link ConcurrentMap} where each class loader's cache retains a bounded number of resolutions. This avoids that a cache
+             * grows without bounds, but it is still the responsibility of the type locator's user to remove caches of class loaders
+             * that are no longer in use.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Bounded extends Simple {
+
+                /**
+                 * The maximum number of resolutions to retain per class loader.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * Creates a new type locator that caches a bounded cache provider per class loader in a concurrent map. The type
+                 * locator uses a fast {@link net.bytebuddy.pool.TypePool.Default.ReaderMode}.
+                 *
+                 * @param maximumSize    The maximum number of resolutions to retain per class loader.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(int maximumSize, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    this(TypePool.Default.ReaderMode.FAST, maximumSize, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that caches a bounded cache provider per class loader in a concurrent map.
+                 *
+                 * @param readerMode     The reader mode to use for parsing a class file.
+                 * @param maximumSize    The maximum number of resolutions to retain per class loader.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(TypePool.Default.ReaderMode readerMode, int maximumSize, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    this(readerMode, TypePool.Default.WithLazyResolution.LazinessMode.NAME, maximumSize, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that caches a bounded cache provider per class loader in a concurrent map.
+                 *
+                 * @param readerMode     The reader mode to use for parsing a class file.
+                 * @param lazinessMode   The laziness mode to use for when to parse a class file.
+                 * @param maximumSize    The maximum number of resolutions to retain per class loader.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(TypePool.Default.ReaderMode readerMode,
+                               TypePool.Default.WithLazyResolution.LazinessMode lazinessMode,
+                               int maximumSize,
+                               ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    super(readerMode, lazinessMode, cacheProviders);
+                    if (maximumSize < 1) {
+                        throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                    }
+                    this.maximumSize = maximumSize;
+                }
+
+                @Override
+                protected TypePool.CacheProvider make() {
+                    return TypePool.CacheProvider.Bounded.withObjectType(maximumSize);
+                }
+            }
         }
     }
 
@@ -5994,7 +7035,8 @@ public interface AgentBuilder {
             @Override
             public void apply(Instrumentation instrumentation,
                               PoolStrategy poolStrategy, LocationStrategy locationStrategy, DescriptionStrategy descriptionStrategy, FallbackStrategy fallbackStrategy, DiscoveryStrategy discoveryStrategy, LambdaInstrumentationStrategy lambdaInstrumentationStrategy, AgentBuilder.Listener listener,
-                              Listener redefinitionListener, RawMatcher matcher, BatchAllocator redefinitionBatchAllocator, CircularityLock circularityLock) {
+                              Listener redefinitionListener, RawMatcher matcher, BatchAllocator redefinitionBatchAllocator, CircularityLock circularityLock,
+                              Precomputation.Dispatcher precomputationDispatcher) {
                 /* do nothing */
             }
 
@@ -6188,6 +7230,7 @@ public interface AgentBuilder {
          * @param matcher                       The matcher to identify what types to redefine.
          * @param redefinitionBatchAllocator    The batch allocator for the redefinition strategy to apply.
          * @param circularityLock               The circularity lock to use.
+         * @param precomputationDispatcher      The dispatcher for precomputing transformed class files.
          */
         protected void apply(Instrumentation instrumentation,
                              PoolStrategy poolStrategy,
@@ -6200,7 +7243,8 @@ public interface AgentBuilder {
                              Listener redefinitionListener,
                              RawMatcher matcher,
                              BatchAllocator redefinitionBatchAllocator,
-                             CircularityLock circularityLock) {
+                             CircularityLock circularityLock,
+                             Precomputation.Dispatcher precomputationDispatcher) {
             check(instrumentation);
             int batch = RedefinitionStrategy.BatchAllocator.FIRST_BATCH;
             for (Iterable<Class<?>> types : redefinitionDiscoveryStrategy.resolve(instrumentation)) {
@@ -6217,7 +7261,7 @@ public interface AgentBuilder {
                     }
                     collector.consider(type, DISPATCHER.isModifiableClass(instrumentation, type) || ClassFileVersion.ofThisVm(ClassFileVersion.JAVA_V5).isAtMost(ClassFileVersion.JAVA_V5));
                 }
-                batch = collector.apply(instrumentation, redefinitionBatchAllocator, redefinitionListener, batch);
+                batch = collector.apply(instrumentation, redefinitionBatchAllocator, redefinitionListener, precomputationDispatcher, batch);
             }
         }
 
@@ -6664,186 +7708,509 @@ public interface AgentBuilder {
                     }
                 }
             }
-        }
-
-        /**
-         * A listener to be applied during a redefinition.
-         */
-        public interface Listener {
-
-            /**
-             * Invoked before applying a batch.
-             *
-             * @param index A running index of the batch starting at {@code 0}.
-             * @param batch The types included in this batch.
-             * @param types All types included in the redefinition.
-             */
-            void onBatch(int index, List<Class<?>> batch, List<Class<?>> types);
 
             /**
-             * Invoked upon an error during a batch. This method is not invoked if the failure handler handled this error.
-             *
-             * @param index     A running index of the batch starting at {@code 0}.
-             * @param batch     The types included in this batch.
-             * @param throwable The throwable that caused this invocation.
-             * @param types     All types included in the redefinition.
-             * @return A set of classes which should be attempted to be redefined. Typically, this should be a subset of the classes
-             * contained in {@code batch} but not all classes.
+             * <p>
+             * A batch allocator that adapts the size of each batch such that the application of a batch does not exceed a given time
+             * budget. To measure the duration of each batch, the allocator's {@link ForTimeBudget#getListener() listener} must be
+             * registered as a {@link Listener} of the same redefinition. If other listeners that delay a batch, for example a
+             * {@link Listener.Pausing} listener, are registered, the allocator's listener should be registered as the last one.
+             * </p>
+             * <p>
+             * The allocator derives an estimate of the time that is required for applying a single type from the durations of all
+             * previous batches, where recent batches are weighted higher. Every subsequent batch is sized such that it is expected to
+             * complete within the time budget, within the given minimum and maximum size. As the estimate is retained, the allocator
+             * should be reused for subsequent redefinitions within the same JVM. A batch allocator of this type is not thread-safe
+             * and must only be used for a single redefinition at a time.
+             * </p>
              */
-            Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types);
+            class ForTimeBudget implements BatchAllocator {
 
-            /**
-             * Invoked upon completion of all batches.
-             *
-             * @param amount   The total amount of batches that were executed.
-             * @param types    All types included in the redefinition.
-             * @param failures A mapping of batch types to their unhandled failures.
-             */
-            void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures);
+                /**
+                 * The default size of a batch for as long as no duration was measured.
+                 */
+                private static final int DEFAULT_INITIAL_SIZE = 10;
 
-            /**
-             * A non-operational listener.
-             */
-            enum NoOp implements Listener {
+                /**
+                 * Indicates that no batch is currently measured.
+                 */
+                private static final int NO_MEASUREMENT = -1;
 
                 /**
-                 * The singleton instance.
+                 * The time budget for each batch in nanoseconds.
                  */
-                INSTANCE;
+                private final long budget;
 
                 /**
-                 * {@inheritDoc}
+                 * The minimum size of a batch.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    /* do nothing */
-                }
+                private final int minimum;
 
                 /**
-                 * {@inheritDoc}
+                 * The maximum size of a batch.
                  */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return Collections.emptyList();
-                }
+                private final int maximum;
 
                 /**
-                 * {@inheritDoc}
+                 * The current size of a batch.
                  */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    /* do nothing */
-                }
-            }
+                private volatile int size;
 
-            /**
-             * A listener that invokes {@link Thread#yield()} prior to every batch but the first batch.
-             */
-            enum Yielding implements Listener {
+                /**
+                 * The current estimate of the time that is required to apply a single type in nanoseconds or {@code 0} if no estimate exists.
+                 */
+                private volatile double estimate;
 
                 /**
-                 * The singleton instance.
+                 * The time stamp of the currently applied batch's start in nanoseconds.
                  */
-                INSTANCE;
+                private long started;
 
                 /**
-                 * {@inheritDoc}
+                 * The size of the currently applied batch or {@link ForTimeBudget#NO_MEASUREMENT} if no batch is currently applied.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    if (index > 0) {
-                        Thread.yield();
-                    }
-                }
+                private int measured;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new batch allocator for a time budget.
+                 *
+                 * @param budget  The time budget for each batch in nanoseconds.
+                 * @param initial The size of a batch for as long as no duration was measured.
+                 * @param minimum The minimum size of a batch.
+                 * @param maximum The maximum size of a batch.
                  */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return Collections.emptyList();
+                protected ForTimeBudget(long budget, int initial, int minimum, int maximum) {
+                    this.budget = budget;
+                    this.minimum = minimum;
+                    this.maximum = maximum;
+                    size = initial;
+                    measured = NO_MEASUREMENT;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a batch allocator that sizes batches such that each batch is applied within the given time budget.
+                 *
+                 * @param budget   The time budget for each batch.
+                 * @param timeUnit The time unit of {@code budget}.
+                 * @return An appropriate batch allocator.
                  */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    /* do nothing */
+                public static ForTimeBudget of(long budget, TimeUnit timeUnit) {
+                    return of(budget, timeUnit, DEFAULT_INITIAL_SIZE, 1, Integer.MAX_VALUE);
                 }
-            }
-
-            /**
-             * A listener that halts a retransformation process upon an exception.
-             */
-            enum ErrorEscalating implements Listener {
 
                 /**
-                 * A listener that fails the retransformation upon the first failed retransformation of a batch.
+                 * Creates a batch allocator that sizes batches such that each batch is applied within the given time budget.
+                 *
+                 * @param budget   The time budget for each batch.
+                 * @param timeUnit The time unit of {@code budget}.
+                 * @param initial  The size of a batch for as long as no duration was measured.
+                 * @param minimum  The minimum size of a batch.
+                 * @param maximum  The maximum size of a batch.
+                 * @return An appropriate batch allocator.
                  */
-                FAIL_FAST {
-                    /** {@inheritDoc} */
-                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                        throw new IllegalStateException("Could not transform any of " + batch, throwable);
-                    }
-
-                    /** {@inheritDoc} */
-                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                        /* do nothing */
+                public static ForTimeBudget of(long budget, TimeUnit timeUnit, int initial, int minimum, int maximum) {
+                    if (budget <= 0L) {
+                        throw new IllegalArgumentException("Time budget must be a positive number: " + budget);
+                    } else if (minimum <= 0) {
+                        throw new IllegalArgumentException("Minimum must be a positive number: " + minimum);
+                    } else if (minimum > maximum) {
+                        throw new IllegalArgumentException("Minimum must not be bigger than maximum: " + minimum + " >" + maximum);
+                    } else if (initial < minimum || initial > maximum) {
+                        throw new IllegalArgumentException("Initial size must be within " + minimum + " and " + maximum + ": " + initial);
                     }
-                },
+                    return new ForTimeBudget(timeUnit.toNanos(budget), initial, minimum, maximum);
+                }
 
                 /**
-                 * A listener that fails the retransformation after all batches were executed if any error occurred.
+                 * Returns the listener that measures the duration of each batch. This listener must be registered for any redefinition
+                 * that uses this batch allocator.
+                 *
+                 * @return The listener that measures the duration of each batch.
                  */
-                FAIL_LAST {
-                    /** {@inheritDoc} */
-                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                        return Collections.emptyList();
-                    }
-
-                    /** {@inheritDoc} */
-                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                        if (!failures.isEmpty()) {
-                            throw new IllegalStateException("Could not transform any of " + failures);
-                        }
-                    }
-                };
+                public Listener getListener() {
+                    return new Measuring(this);
+                }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the size of the next batch.
+                 *
+                 * @return The size of the next batch.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    /* do nothing */
+                public int getSize() {
+                    return size;
                 }
-            }
 
-            /**
-             * A listener adapter that offers non-operational implementations of all listener methods.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            abstract class Adapter implements Listener {
+                /**
+                 * Returns the current estimate of the time that is required to apply a single type.
+                 *
+                 * @param timeUnit The time unit of the returned value.
+                 * @return The current estimate of the time that is required to apply a single type or {@code 0} if no estimate exists.
+                 */
+                public long getEstimate(TimeUnit timeUnit) {
+                    return timeUnit.convert((long) estimate, TimeUnit.NANOSECONDS);
+                }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    /* do nothing */
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    return types.isEmpty()
+                            ? Collections.<List<Class<?>>>emptyList()
+                            : new AdaptiveIterable(this, types);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Records the start of a batch.
+                 *
+                 * @param size The size of the batch.
                  */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return Collections.emptyList();
+                protected void onStart(int size) {
+                    onEnd();
+                    measured = size;
+                    started = System.nanoTime();
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Records the end of the currently applied batch, if any.
                  */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    /* do nothing */
+                protected void onEnd() {
+                    if (measured != NO_MEASUREMENT) {
+                        onMeasurement(measured, System.nanoTime() - started);
+                        measured = NO_MEASUREMENT;
+                    }
                 }
-            }
 
-            /**
-             * <p>
-             * A batch reallocator allows to split up a failed retransformation into additional batches which are reenqueed to the
-             * current retransformation process. To do so, any batch with at least to classes is rerouted through a {@link BatchAllocator}
+                /**
+                 * Adjusts the size of subsequent batches to a measured duration of a batch.
+                 *
+                 * @param size     The size of the measured batch.
+                 * @param duration The duration of the measured batch in nanoseconds.
+                 */
+                protected void onMeasurement(int size, long duration) {
+                    if (size > 0) {
+                        double estimate = (double) Math.max(duration, 0L) / size;
+                        this.estimate = this.estimate == 0d
+                                ? estimate
+                                : (this.estimate + estimate) / 2;
+                        this.size = this.estimate == 0d
+                                ? maximum
+                                : (int) Math.max(minimum, Math.min(maximum, budget / this.estimate));
+                    }
+                }
+
+                /**
+                 * A listener that measures the duration of each batch for a {@link ForTimeBudget} batch allocator.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Measuring extends Listener.Adapter {
+
+                    /**
+                     * The batch allocator to report measurements to.
+                     */
+                    private final ForTimeBudget batchAllocator;
+
+                    /**
+                     * Creates a new measuring listener.
+                     *
+                     * @param batchAllocator The batch allocator to report measurements to.
+                     */
+                    protected Measuring(ForTimeBudget batchAllocator) {
+                        this.batchAllocator = batchAllocator;
+                    }
+
+                    @Override
+                    public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                        batchAllocator.onStart(batch.size());
+                    }
+
+                    @Override
+                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                        batchAllocator.onEnd();
+                        return Collections.emptyList();
+                    }
+
+                    @Override
+                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                        batchAllocator.onEnd();
+                    }
+                }
+
+                /**
+                 * An iterable that creates batches of the size that is currently suggested by a {@link ForTimeBudget} batch allocator.
+                 */
+                protected static class AdaptiveIterable implements Iterable<List<Class<?>>> {
+
+                    /**
+                     * The batch allocator that determines the size of each batch.
+                     */
+                    private final ForTimeBudget batchAllocator;
+
+                    /**
+                     * The types to allocate.
+                     */
+                    private final List<Class<?>> types;
+
+                    /**
+                     * Creates a new adaptive iterable.
+                     *
+                     * @param batchAllocator The batch allocator that determines the size of each batch.
+                     * @param types          The types to allocate.
+                     */
+                    protected AdaptiveIterable(ForTimeBudget batchAllocator, List<Class<?>> types) {
+                        this.batchAllocator = batchAllocator;
+                        this.types = types;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<List<Class<?>>> iterator() {
+                        return new AdaptiveIterator(batchAllocator, types);
+                    }
+
+                    /**
+                     * An iterator that creates batches of the size that is currently suggested by a {@link ForTimeBudget} batch allocator.
+                     */
+                    protected static class AdaptiveIterator implements Iterator<List<Class<?>>> {
+
+                        /**
+                         * The batch allocator that determines the size of each batch.
+                         */
+                        private final ForTimeBudget batchAllocator;
+
+                        /**
+                         * The types to allocate.
+                         */
+                        private final List<Class<?>> types;
+
+                        /**
+                         * The index of the first type of the next batch.
+                         */
+                        private int index;
+
+                        /**
+                         * Creates a new adaptive iterator.
+                         *
+                         * @param batchAllocator The batch allocator that determines the size of each batch.
+                         * @param types          The types to allocate.
+                         */
+                        protected AdaptiveIterator(ForTimeBudget batchAllocator, List<Class<?>> types) {
+                            this.batchAllocator = batchAllocator;
+                            this.types = types;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            return index < types.size();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public List<Class<?>> next() {
+                            if (index >= types.size()) {
+                                throw new NoSuchElementException();
+                            }
+                            batchAllocator.onEnd();
+                            int size = Math.min(types.size() - index, batchAllocator.getSize());
+                            try {
+                                return new ArrayList<Class<?>>(types.subList(index, index + size));
+                            } finally {
+                                index += size;
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * A listener to be applied during a redefinition.
+         */
+        public interface Listener {
+
+            /**
+             * Invoked before applying a batch.
+             *
+             * @param index A running index of the batch starting at {@code 0}.
+             * @param batch The types included in this batch.
+             * @param types All types included in the redefinition.
+             */
+            void onBatch(int index, List<Class<?>> batch, List<Class<?>> types);
+
+            /**
+             * Invoked upon an error during a batch. This method is not invoked if the failure handler handled this error.
+             *
+             * @param index     A running index of the batch starting at {@code 0}.
+             * @param batch     The types included in this batch.
+             * @param throwable The throwable that caused this invocation.
+             * @param types     All types included in the redefinition.
+             * @return A set of classes which should be attempted to be redefined. Typically, this should be a subset of the classes
+             * contained in {@code batch} but not all classes.
+             */
+            Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types);
+
+            /**
+             * Invoked upon completion of all batches.
+             *
+             * @param amount   The total amount of batches that were executed.
+             * @param types    All types included in the redefinition.
+             * @param failures A mapping of batch types to their unhandled failures.
+             */
+            void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures);
+
+            /**
+             * A non-operational listener.
+             */
+            enum NoOp implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener that invokes {@link Thread#yield()} prior to every batch but the first batch.
+             */
+            enum Yielding implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    if (index > 0) {
+                        Thread.yield();
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener that halts a retransformation process upon an exception.
+             */
+            enum ErrorEscalating implements Listener {
+
+                /**
+                 * A listener that fails the retransformation upon the first failed retransformation of a batch.
+                 */
+                FAIL_FAST {
+                    /** {@inheritDoc} */
+                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                        throw new IllegalStateException("Could not transform any of " + batch, throwable);
+                    }
+
+                    /** {@inheritDoc} */
+                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                        /* do nothing */
+                    }
+                },
+
+                /**
+                 * A listener that fails the retransformation after all batches were executed if any error occurred.
+                 */
+                FAIL_LAST {
+                    /** {@inheritDoc} */
+                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                        return Collections.emptyList();
+                    }
+
+                    /** {@inheritDoc} */
+                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                        if (!failures.isEmpty()) {
+                            throw new IllegalStateException("Could not transform any of " + failures);
+                        }
+                    }
+                };
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener adapter that offers non-operational implementations of all listener methods.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            abstract class Adapter implements Listener {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * <p>
+             * A batch reallocator allows to split up a failed retransformation into additional batches which are reenqueed to the
+             * current retransformation process. To do so, any batch with at least to classes is rerouted through a {@link BatchAllocator}
              * which is responsible for regrouping the classes that failed to be retransformed into new batches.
              * </p>
              * <p>
@@ -6852,656 +8219,1272 @@ public interface AgentBuilder {
              * </p>
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class BatchReallocator extends Adapter {
+            class BatchReallocator extends Adapter {
+
+                /**
+                 * The batch allocator to use for reallocating failed batches.
+                 */
+                private final BatchAllocator batchAllocator;
+
+                /**
+                 * Creates a new batch reallocator.
+                 *
+                 * @param batchAllocator The batch allocator to use for reallocating failed batches.
+                 */
+                public BatchReallocator(BatchAllocator batchAllocator) {
+                    this.batchAllocator = batchAllocator;
+                }
+
+                /**
+                 * Creates a batch allocator that splits any batch into two parts and resubmits these parts as two batches.
+                 *
+                 * @return A batch reallocating batch listener that splits failed batches into two parts for resubmission.
+                 */
+                public static Listener splitting() {
+                    return new BatchReallocator(new BatchAllocator.Partitioning(2));
+                }
+
+                @Override
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return batch.size() < 2
+                            ? Collections.<List<Class<?>>>emptyList()
+                            : batchAllocator.batch(batch);
+                }
+            }
+
+            /**
+             * A listener that invokes {@link Thread#sleep(long)} prior to every batch but the first batch.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Pausing extends Adapter {
+
+                /**
+                 * The time to sleep in milliseconds between every two batches.
+                 */
+                private final long value;
+
+                /**
+                 * Creates a new pausing listener.
+                 *
+                 * @param value The time to sleep in milliseconds between every two batches.
+                 */
+                protected Pausing(long value) {
+                    this.value = value;
+                }
+
+                /**
+                 * Creates a listener that pauses for the specified amount of time. If the specified value is {@code 0}, a
+                 * non-operational listener is returned.
+                 *
+                 * @param value    The amount of time to pause between redefinition batches.
+                 * @param timeUnit The time unit of {@code value}.
+                 * @return An appropriate listener.
+                 */
+                public static Listener of(long value, TimeUnit timeUnit) {
+                    if (value > 0L) {
+                        return new Pausing(timeUnit.toMillis(value));
+                    } else if (value == 0L) {
+                        return NoOp.INSTANCE;
+                    } else {
+                        throw new IllegalArgumentException("Cannot sleep for a non-positive amount of time: " + value);
+                    }
+                }
+
+                @Override
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    if (index > 0) {
+                        try {
+                            Thread.sleep(value);
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException(exception);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * A listener that writes events to a {@link PrintStream}.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class StreamWriting implements Listener {
+
+                /**
+                 * The print stream to write any events to.
+                 */
+                private final PrintStream printStream;
+
+                /**
+                 * Creates a new stream writing listener.
+                 *
+                 * @param printStream The print stream to write any events to.
+                 */
+                public StreamWriting(PrintStream printStream) {
+                    this.printStream = printStream;
+                }
+
+                /**
+                 * Writes the stream result to {@link System#out}.
+                 *
+                 * @return An appropriate listener.
+                 */
+                public static Listener toSystemOut() {
+                    return new StreamWriting(System.out);
+                }
+
+                /**
+                 * Writes the stream result to {@link System#err}.
+                 *
+                 * @return An appropriate listener.
+                 */
+                public static Listener toSystemError() {
+                    return new StreamWriting(System.err);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE BATCH #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    synchronized (printStream) {
+                        printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE ERROR #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
+                        throwable.printStackTrace(printStream);
+                    }
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE COMPLETE %d batch(es) containing %d types [%d failed batch(es)]%n", amount, types.size(), failures.size());
+                }
+            }
+
+            /**
+             * A compound listener that delegates events to several listeners.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Compound implements Listener {
+
+                /**
+                 * The listeners to invoke.
+                 */
+                private final List<Listener> listeners;
+
+                /**
+                 * Creates a new compound listener.
+                 *
+                 * @param listener The listeners to invoke.
+                 */
+                public Compound(Listener... listener) {
+                    this(Arrays.asList(listener));
+                }
+
+                /**
+                 * Creates a new compound listener.
+                 *
+                 * @param listeners The listeners to invoke.
+                 */
+                public Compound(List<? extends Listener> listeners) {
+                    this.listeners = new ArrayList<Listener>();
+                    for (Listener listener : listeners) {
+                        if (listener instanceof Compound) {
+                            this.listeners.addAll(((Compound) listener).listeners);
+                        } else if (!(listener instanceof NoOp)) {
+                            this.listeners.add(listener);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    for (Listener listener : listeners) {
+                        listener.onBatch(index, batch, types);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    List<Iterable<? extends List<Class<?>>>> reattempts = new ArrayList<Iterable<? extends List<Class<?>>>>();
+                    for (Listener listener : listeners) {
+                        reattempts.add(listener.onError(index, batch, throwable, types));
+                    }
+                    return new CompoundIterable(reattempts);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    for (Listener listener : listeners) {
+                        listener.onComplete(amount, types, failures);
+                    }
+                }
+
+                /**
+                 * A compound iterable.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class CompoundIterable implements Iterable<List<Class<?>>> {
+
+                    /**
+                     * The iterables to consider.
+                     */
+                    private final List<Iterable<? extends List<Class<?>>>> iterables;
+
+                    /**
+                     * Creates a compound iterable.
+                     *
+                     * @param iterables The iterables to consider.
+                     */
+                    protected CompoundIterable(List<Iterable<? extends List<Class<?>>>> iterables) {
+                        this.iterables = iterables;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<List<Class<?>>> iterator() {
+                        return new CompoundIterator(new ArrayList<Iterable<? extends List<Class<?>>>>(iterables));
+                    }
+
+                    /**
+                     * A compound iterator that combines several iterables.
+                     */
+                    protected static class CompoundIterator implements Iterator<List<Class<?>>> {
+
+                        /**
+                         * The current iterator or {@code null} if no such iterator is defined.
+                         */
+                        @MaybeNull
+                        private Iterator<? extends List<Class<?>>> current;
+
+                        /**
+                         * A backlog of iterables to still consider.
+                         */
+                        private final List<Iterable<? extends List<Class<?>>>> backlog;
+
+                        /**
+                         * Creates a compound iterator.
+                         *
+                         * @param iterables The iterables to consider.
+                         */
+                        protected CompoundIterator(List<Iterable<? extends List<Class<?>>>> iterables) {
+                            backlog = iterables;
+                            forward();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            return current != null && current.hasNext();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public List<Class<?>> next() {
+                            try {
+                                if (current != null) {
+                                    return current.next();
+                                } else {
+                                    throw new NoSuchElementException();
+                                }
+                            } finally {
+                                forward();
+                            }
+                        }
+
+                        /**
+                         * Forwards the iterator to the next relevant iterable.
+                         */
+                        private void forward() {
+                            while ((current == null || !current.hasNext()) && !backlog.isEmpty()) {
+                                current = backlog.remove(0).iterator();
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * A strategy for discovering types to redefine.
+         */
+        public interface DiscoveryStrategy {
+
+            /**
+             * Resolves an iterable of types to retransform. Types might be loaded during a previous retransformation which might require
+             * multiple passes for a retransformation.
+             *
+             * @param instrumentation The instrumentation instance used for the redefinition.
+             * @return An iterable of types to consider for retransformation.
+             */
+            Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation);
+
+            /**
+             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}.
+             */
+            enum SinglePass implements DiscoveryStrategy {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                    return Collections.<Iterable<Class<?>>>singleton(Arrays.<Class<?>>asList(instrumentation.getAllLoadedClasses()));
+                }
+            }
+
+            /**
+             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}. For each reiteration,
+             * this strategy checks if additional types were loaded after the previously supplied types. Doing so, types that were loaded during
+             * instrumentations can be retransformed as such types are not passed to any class file transformer.
+             */
+            enum Reiterating implements DiscoveryStrategy {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                    return new ReiteratingIterable(instrumentation);
+                }
+
+                /**
+                 * An iterable that returns any loaded types and checks if any additional types were loaded during the last instrumentation.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class ReiteratingIterable implements Iterable<Iterable<Class<?>>> {
+
+                    /**
+                     * The instrumentation instance to use.
+                     */
+                    private final Instrumentation instrumentation;
+
+                    /**
+                     * Creates a new reiterating iterable.
+                     *
+                     * @param instrumentation The instrumentation instance to use.
+                     */
+                    protected ReiteratingIterable(Instrumentation instrumentation) {
+                        this.instrumentation = instrumentation;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<Iterable<Class<?>>> iterator() {
+                        return new ReiteratingIterator(instrumentation);
+                    }
+                }
+
+                /**
+                 * A reiterating iterator that considers types that were loaded during an instrumentation.
+                 */
+                protected static class ReiteratingIterator implements Iterator<Iterable<Class<?>>> {
+
+                    /**
+                     * The instrumentation instance to use.
+                     */
+                    private final Instrumentation instrumentation;
+
+                    /**
+                     * A set containing all previously discovered types.
+                     */
+                    private final Set<Class<?>> processed;
+
+                    /**
+                     * The current list of types or {@code null} if the current list of types is not prepared.
+                     */
+                    @MaybeNull
+                    private List<Class<?>> types;
+
+                    /**
+                     * Creates a new reiterating iterator.
+                     *
+                     * @param instrumentation The instrumentation instance to use.
+                     */
+                    protected ReiteratingIterator(Instrumentation instrumentation) {
+                        this.instrumentation = instrumentation;
+                        processed = new HashSet<Class<?>>();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        if (types == null) {
+                            types = new ArrayList<Class<?>>();
+                            for (Class<?> type : instrumentation.getAllLoadedClasses()) {
+                                if (type != null && processed.add(type)) {
+                                    types.add(type);
+                                }
+                            }
+                        }
+                        return !types.isEmpty();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterable<Class<?>> next() {
+                        if (hasNext()) {
+                            try {
+                                return types;
+                            } finally {
+                                types = null;
+                            }
+                        } else {
+                            throw new NoSuchElementException();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                }
+
+                /**
+                 * <p>
+                 * A discovery strategy that simplifies the application of {@link Reiterating} by assuming that the
+                 * loaded classes that are returned by {@link Instrumentation#getAllLoadedClasses()} are always
+                 * returned in the same order.
+                 * </p>
+                 * <p>
+                 * <b>Important</b>: While this increases the performance of reiteration, it relies on an implementation
+                 * detail of the JVM. Also, this strategy does not consider the possibility of classes being unloaded
+                 * during reiteration. For these reasons, this strategy has to be used with care!
+                 * </p>
+                 */
+                public enum WithSortOrderAssumption implements DiscoveryStrategy {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                        return new OrderedReiteratingIterable(instrumentation);
+                    }
+
+                    /**
+                     * An iterable that reiterates over an array of loaded classes by the previously observed length.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    protected static class OrderedReiteratingIterable implements Iterable<Iterable<Class<?>>> {
+
+                        /**
+                         * The instrumentation instance to use.
+                         */
+                        private final Instrumentation instrumentation;
+
+                        /**
+                         * Creates a new reiterating iterable.
+                         *
+                         * @param instrumentation The instrumentation instance to use.
+                         */
+                        protected OrderedReiteratingIterable(Instrumentation instrumentation) {
+                            this.instrumentation = instrumentation;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Iterator<Iterable<Class<?>>> iterator() {
+                            return new OrderedReiteratingIterator(instrumentation);
+                        }
+                    }
+
+                    /**
+                     * An iterator that reiterates over an array of loaded classes by the previously observed length.
+                     */
+                    protected static class OrderedReiteratingIterator implements Iterator<Iterable<Class<?>>> {
+
+                        /**
+                         * The instrumentation instance to use.
+                         */
+                        private final Instrumentation instrumentation;
+
+                        /**
+                         * The length of the last known array of known classes.
+                         */
+                        private int index;
+
+                        /**
+                         * The current list of types or {@code null} if the current list of types is not prepared.
+                         */
+                        @MaybeNull
+                        private List<Class<?>> types;
+
+                        /**
+                         * Creates a new reiterating iterator.
+                         *
+                         * @param instrumentation The instrumentation instance to use.
+                         */
+                        protected OrderedReiteratingIterator(Instrumentation instrumentation) {
+                            this.instrumentation = instrumentation;
+                            index = 0;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            if (types == null) {
+                                Class<?>[] type = instrumentation.getAllLoadedClasses();
+                                types = new ArrayList<Class<?>>(Arrays.asList(type).subList(index, type.length));
+                                index = type.length;
+                            }
+                            return !types.isEmpty();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Iterable<Class<?>> next() {
+                            if (hasNext()) {
+                                try {
+                                    return types;
+                                } finally {
+                                    types = null;
+                                }
+                            } else {
+                                throw new NoSuchElementException();
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
+                }
+            }
+
+            /**
+             * An explicit discovery strategy that only attempts the redefinition of specific types.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Explicit implements DiscoveryStrategy {
 
                 /**
-                 * The batch allocator to use for reallocating failed batches.
+                 * The types to redefine.
                  */
-                private final BatchAllocator batchAllocator;
+                private final Set<Class<?>> types;
 
                 /**
-                 * Creates a new batch reallocator.
+                 * Creates a new explicit discovery strategy.
                  *
-                 * @param batchAllocator The batch allocator to use for reallocating failed batches.
+                 * @param type The types to redefine.
                  */
-                public BatchReallocator(BatchAllocator batchAllocator) {
-                    this.batchAllocator = batchAllocator;
+                public Explicit(Class<?>... type) {
+                    this(new LinkedHashSet<Class<?>>(Arrays.asList(type)));
                 }
 
                 /**
-                 * Creates a batch allocator that splits any batch into two parts and resubmits these parts as two batches.
+                 * Creates a new explicit discovery strategy.
                  *
-                 * @return A batch reallocating batch listener that splits failed batches into two parts for resubmission.
+                 * @param types The types to redefine.
                  */
-                public static Listener splitting() {
-                    return new BatchReallocator(new BatchAllocator.Partitioning(2));
+                public Explicit(Set<Class<?>> types) {
+                    this.types = types;
                 }
 
-                @Override
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return batch.size() < 2
-                            ? Collections.<List<Class<?>>>emptyList()
-                            : batchAllocator.batch(batch);
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                    return Collections.<Iterable<Class<?>>>singleton(types);
                 }
             }
+        }
+
+        /**
+         * A resubmission scheduler is responsible for scheduling a job that is resubmitting unloaded types that failed during retransformation.
+         */
+        public interface ResubmissionScheduler {
 
             /**
-             * A listener that invokes {@link Thread#sleep(long)} prior to every batch but the first batch.
+             * Checks if this scheduler is currently available.
+             *
+             * @return {@code true} if this scheduler is alive.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Pausing extends Adapter {
+            boolean isAlive();
+
+            /**
+             * Schedules a resubmission job for regular application.
+             *
+             * @param job The job to schedule.
+             * @return A cancelable that is canceled upon resetting the corresponding class file transformer.
+             */
+            Cancelable schedule(Runnable job);
+
+            /**
+             * A cancelable allows to discontinue a resubmission job.
+             */
+            interface Cancelable {
 
                 /**
-                 * The time to sleep in milliseconds between every two batches.
+                 * Cancels this resubmission job.
                  */
-                private final long value;
+                void cancel();
 
                 /**
-                 * Creates a new pausing listener.
-                 *
-                 * @param value The time to sleep in milliseconds between every two batches.
+                 * A non-operational cancelable.
                  */
-                protected Pausing(long value) {
-                    this.value = value;
+                enum NoOp implements Cancelable {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void cancel() {
+                        /* do nothing */
+                    }
                 }
 
                 /**
-                 * Creates a listener that pauses for the specified amount of time. If the specified value is {@code 0}, a
-                 * non-operational listener is returned.
-                 *
-                 * @param value    The amount of time to pause between redefinition batches.
-                 * @param timeUnit The time unit of {@code value}.
-                 * @return An appropriate listener.
+                 * A cancelable for a {@link Future}.
                  */
-                public static Listener of(long value, TimeUnit timeUnit) {
-                    if (value > 0L) {
-                        return new Pausing(timeUnit.toMillis(value));
-                    } else if (value == 0L) {
-                        return NoOp.INSTANCE;
-                    } else {
-                        throw new IllegalArgumentException("Cannot sleep for a non-positive amount of time: " + value);
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForFuture implements Cancelable {
+
+                    /**
+                     * The future to cancel upon cancellation of this instance.
+                     */
+                    private final Future<?> future;
+
+                    /**
+                     * Creates a cancelable for a future.
+                     *
+                     * @param future The future to cancel upon cancellation of this instance.
+                     */
+                    public ForFuture(Future<?> future) {
+                        this.future = future;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void cancel() {
+                        future.cancel(true);
                     }
                 }
+            }
+
+            /**
+             * A resubmission scheduler that does not apply any scheduling.
+             */
+            enum NoOp implements ResubmissionScheduler {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return false;
+                }
 
-                @Override
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    if (index > 0) {
-                        try {
-                            Thread.sleep(value);
-                        } catch (InterruptedException exception) {
-                            Thread.currentThread().interrupt();
-                            throw new IllegalStateException(exception);
-                        }
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public Cancelable schedule(Runnable job) {
+                    return Cancelable.NoOp.INSTANCE;
                 }
             }
 
             /**
-             * A listener that writes events to a {@link PrintStream}.
+             * A resubmission scheduler that schedules jobs at a fixed rate.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class StreamWriting implements Listener {
+            class AtFixedRate implements ResubmissionScheduler {
 
                 /**
-                 * The print stream to write any events to.
+                 * The executor service to schedule to.
                  */
-                private final PrintStream printStream;
+                private final ScheduledExecutorService scheduledExecutorService;
 
                 /**
-                 * Creates a new stream writing listener.
-                 *
-                 * @param printStream The print stream to write any events to.
+                 * The time interval between schedulings.
                  */
-                public StreamWriting(PrintStream printStream) {
-                    this.printStream = printStream;
-                }
+                private final long time;
 
                 /**
-                 * Writes the stream result to {@link System#out}.
-                 *
-                 * @return An appropriate listener.
+                 * The time's time unit.
                  */
-                public static Listener toSystemOut() {
-                    return new StreamWriting(System.out);
-                }
+                private final TimeUnit timeUnit;
 
                 /**
-                 * Writes the stream result to {@link System#err}.
+                 * Creates a new resubmission scheduler which schedules executions at a fixed rate.
                  *
-                 * @return An appropriate listener.
-                 */
-                public static Listener toSystemError() {
-                    return new StreamWriting(System.err);
-                }
-
-                /**
-                 * {@inheritDoc}
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param time                     The time interval between schedulings.
+                 * @param timeUnit                 The time's time unit.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE BATCH #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
+                public AtFixedRate(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
+                    this.scheduledExecutorService = scheduledExecutorService;
+                    this.time = time;
+                    this.timeUnit = timeUnit;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    synchronized (printStream) {
-                        printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE ERROR #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
-                        throwable.printStackTrace(printStream);
-                    }
-                    return Collections.emptyList();
+                public boolean isAlive() {
+                    return !scheduledExecutorService.isShutdown();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE COMPLETE %d batch(es) containing %d types [%d failed batch(es)]%n", amount, types.size(), failures.size());
+                public Cancelable schedule(Runnable job) {
+                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleAtFixedRate(job, time, time, timeUnit));
                 }
             }
 
             /**
-             * A compound listener that delegates events to several listeners.
+             * A resubmission scheduler that schedules jobs with a fixed delay.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class Compound implements Listener {
+            class WithFixedDelay implements ResubmissionScheduler {
 
                 /**
-                 * The listeners to invoke.
+                 * The executor service to schedule to.
                  */
-                private final List<Listener> listeners;
+                private final ScheduledExecutorService scheduledExecutorService;
 
                 /**
-                 * Creates a new compound listener.
-                 *
-                 * @param listener The listeners to invoke.
+                 * The time interval to pause between completed jobs.
                  */
-                public Compound(Listener... listener) {
-                    this(Arrays.asList(listener));
-                }
+                private final long time;
 
                 /**
-                 * Creates a new compound listener.
-                 *
-                 * @param listeners The listeners to invoke.
+                 * The time's time unit.
                  */
-                public Compound(List<? extends Listener> listeners) {
-                    this.listeners = new ArrayList<Listener>();
-                    for (Listener listener : listeners) {
-                        if (listener instanceof Compound) {
-                            this.listeners.addAll(((Compound) listener).listeners);
-                        } else if (!(listener instanceof NoOp)) {
-                            this.listeners.add(listener);
-                        }
-                    }
-                }
+                private final TimeUnit timeUnit;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new resubmission scheduler with a fixed delay between job executions.
+                 *
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param time                     The time interval to pause between completed jobs.
+                 * @param timeUnit                 The time's time unit.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    for (Listener listener : listeners) {
-                        listener.onBatch(index, batch, types);
-                    }
+                public WithFixedDelay(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
+                    this.scheduledExecutorService = scheduledExecutorService;
+                    this.time = time;
+                    this.timeUnit = timeUnit;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    List<Iterable<? extends List<Class<?>>>> reattempts = new ArrayList<Iterable<? extends List<Class<?>>>>();
-                    for (Listener listener : listeners) {
-                        reattempts.add(listener.onError(index, batch, throwable, types));
-                    }
-                    return new CompoundIterable(reattempts);
+                public boolean isAlive() {
+                    return !scheduledExecutorService.isShutdown();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    for (Listener listener : listeners) {
-                        listener.onComplete(amount, types, failures);
-                    }
+                public Cancelable schedule(Runnable job) {
+                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleWithFixedDelay(job, time, time, timeUnit));
                 }
+            }
+
+            /**
+             * <p>
+             * A resubmission scheduler that adapts the delay between resubmissions to the current workload. If no types are queued
+             * for resubmission, the delay is doubled after each execution until reaching a maximum delay. If types are queued or if
+             * a burst of class loading is discovered, the delay is reset to its minimum such that types that fail during a burst
+             * are resubmitted shortly after being queued.
+             * </p>
+             * <p>
+             * The workload is only observable for jobs that implement {@link Job}. Any other job is executed on each scheduling while
+             * backing off exponentially. This scheduler also records counters for the depth of the resubmission queue and the latency
+             * of resubmissions which is measured as the time between the previous execution and the completion of the execution that
+             * resubmits the queued types. This is an upper bound for the time any queued type awaited its resubmission.
+             * </p>
+             */
+            class Adaptive implements ResubmissionScheduler {
 
                 /**
-                 * A compound iterable.
+                 * The default number of discovered types per second that is considered a class loading burst.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class CompoundIterable implements Iterable<List<Class<?>>> {
-
-                    /**
-                     * The iterables to consider.
-                     */
-                    private final List<Iterable<? extends List<Class<?>>>> iterables;
-
-                    /**
-                     * Creates a compound iterable.
-                     *
-                     * @param iterables The iterables to consider.
-                     */
-                    protected CompoundIterable(List<Iterable<? extends List<Class<?>>>> iterables) {
-                        this.iterables = iterables;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Iterator<List<Class<?>>> iterator() {
-                        return new CompoundIterator(new ArrayList<Iterable<? extends List<Class<?>>>>(iterables));
-                    }
-
-                    /**
-                     * A compound iterator that combines several iterables.
-                     */
-                    protected static class CompoundIterator implements Iterator<List<Class<?>>> {
+                public static final long DEFAULT_BURST_RATE = 100L;
 
-                        /**
-                         * The current iterator or {@code null} if no such iterator is defined.
-                         */
-                        @MaybeNull
-                        private Iterator<? extends List<Class<?>>> current;
+                /**
+                 * The executor service to schedule to.
+                 */
+                private final ScheduledExecutorService scheduledExecutorService;
 
-                        /**
-                         * A backlog of iterables to still consider.
-                         */
-                        private final List<Iterable<? extends List<Class<?>>>> backlog;
+                /**
+                 * The minimum delay between two executions in nanoseconds.
+                 */
+                private final long minimum;
 
-                        /**
-                         * Creates a compound iterator.
-                         *
-                         * @param iterables The iterables to consider.
-                         */
-                        protected CompoundIterator(List<Iterable<? extends List<Class<?>>>> iterables) {
-                            backlog = iterables;
-                            forward();
-                        }
+                /**
+                 * The maximum delay between two executions in nanoseconds.
+                 */
+                private final long maximum;
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean hasNext() {
-                            return current != null && current.hasNext();
-                        }
+                /**
+                 * The number of discovered types per second that is considered a class loading burst.
+                 */
+                private final long burstRate;
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public List<Class<?>> next() {
-                            try {
-                                if (current != null) {
-                                    return current.next();
-                                } else {
-                                    throw new NoSuchElementException();
-                                }
-                            } finally {
-                                forward();
-                            }
-                        }
+                /**
+                 * The number of types that were queued for resubmission when last observed.
+                 */
+                private final AtomicInteger queueDepth;
 
-                        /**
-                         * Forwards the iterator to the next relevant iterable.
-                         */
-                        private void forward() {
-                            while ((current == null || !current.hasNext()) && !backlog.isEmpty()) {
-                                current = backlog.remove(0).iterator();
-                            }
-                        }
+                /**
+                 * The number of executions that resubmitted queued types.
+                 */
+                private final AtomicLong resubmissions;
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void remove() {
-                            throw new UnsupportedOperationException("remove");
-                        }
-                    }
-                }
-            }
-        }
+                /**
+                 * The latency of the last resubmission in nanoseconds.
+                 */
+                private final AtomicLong latency;
 
-        /**
-         * A strategy for discovering types to redefine.
-         */
-        public interface DiscoveryStrategy {
+                /**
+                 * The maximum latency of any resubmission in nanoseconds.
+                 */
+                private final AtomicLong maximumLatency;
 
-            /**
-             * Resolves an iterable of types to retransform. Types might be loaded during a previous retransformation which might require
-             * multiple passes for a retransformation.
-             *
-             * @param instrumentation The instrumentation instance used for the redefinition.
-             * @return An iterable of types to consider for retransformation.
-             */
-            Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation);
+                /**
+                 * Creates a new adaptive resubmission scheduler using the default burst rate.
+                 *
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param minimum                  The minimum delay between two executions.
+                 * @param maximum                  The maximum delay between two executions.
+                 * @param timeUnit                 The time unit of the minimum and maximum delay.
+                 */
+                public Adaptive(ScheduledExecutorService scheduledExecutorService, long minimum, long maximum, TimeUnit timeUnit) {
+                    this(scheduledExecutorService, minimum, maximum, timeUnit, DEFAULT_BURST_RATE);
+                }
 
-            /**
-             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}.
-             */
-            enum SinglePass implements DiscoveryStrategy {
+                /**
+                 * Creates a new adaptive resubmission scheduler.
+                 *
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param minimum                  The minimum delay between two executions.
+                 * @param maximum                  The maximum delay between two executions.
+                 * @param timeUnit                 The time unit of the minimum and maximum delay.
+                 * @param burstRate                The number of discovered types per second that is considered a class loading burst.
+                 */
+                public Adaptive(ScheduledExecutorService scheduledExecutorService, long minimum, long maximum, TimeUnit timeUnit, long burstRate) {
+                    if (minimum < 1) {
+                        throw new IllegalArgumentException("Minimum delay must be positive: " + minimum);
+                    } else if (maximum < minimum) {
+                        throw new IllegalArgumentException("Maximum delay must not be smaller than minimum delay: " + maximum);
+                    } else if (burstRate < 1) {
+                        throw new IllegalArgumentException("Burst rate must be positive: " + burstRate);
+                    }
+                    this.scheduledExecutorService = scheduledExecutorService;
+                    this.minimum = timeUnit.toNanos(minimum);
+                    this.maximum = timeUnit.toNanos(maximum);
+                    this.burstRate = burstRate;
+                    queueDepth = new AtomicInteger();
+                    resubmissions = new AtomicLong();
+                    latency = new AtomicLong();
+                    maximumLatency = new AtomicLong();
+                }
 
                 /**
-                 * The singleton instance.
+                 * {@inheritDoc}
                  */
-                INSTANCE;
+                public boolean isAlive() {
+                    return !scheduledExecutorService.isShutdown();
+                }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                    return Collections.<Iterable<Class<?>>>singleton(Arrays.<Class<?>>asList(instrumentation.getAllLoadedClasses()));
+                public Cancelable schedule(Runnable job) {
+                    Execution execution = new Execution(job);
+                    execution.schedule();
+                    return execution;
                 }
-            }
 
-            /**
-             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}. For each reiteration,
-             * this strategy checks if additional types were loaded after the previously supplied types. Doing so, types that were loaded during
-             * instrumentations can be retransformed as such types are not passed to any class file transformer.
-             */
-            enum Reiterating implements DiscoveryStrategy {
+                /**
+                 * Returns the number of types that were queued for resubmission when last observed.
+                 *
+                 * @return The number of types that were queued for resubmission when last observed.
+                 */
+                public int getQueueDepth() {
+                    return queueDepth.get();
+                }
 
                 /**
-                 * The singleton instance.
+                 * Returns the number of executions that resubmitted queued types.
+                 *
+                 * @return The number of executions that resubmitted queued types.
                  */
-                INSTANCE;
+                public long getResubmissions() {
+                    return resubmissions.get();
+                }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the latency of the last resubmission.
+                 *
+                 * @param timeUnit The time unit to return the latency in.
+                 * @return The latency of the last resubmission or {@code 0} if no types were resubmitted.
                  */
-                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                    return new ReiteratingIterable(instrumentation);
+                public long getLatency(TimeUnit timeUnit) {
+                    return timeUnit.convert(latency.get(), TimeUnit.NANOSECONDS);
                 }
 
                 /**
-                 * An iterable that returns any loaded types and checks if any additional types were loaded during the last instrumentation.
+                 * Returns the maximum latency of any resubmission.
+                 *
+                 * @param timeUnit The time unit to return the latency in.
+                 * @return The maximum latency of any resubmission or {@code 0} if no types were resubmitted.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class ReiteratingIterable implements Iterable<Iterable<Class<?>>> {
+                public long getMaximumLatency(TimeUnit timeUnit) {
+                    return timeUnit.convert(maximumLatency.get(), TimeUnit.NANOSECONDS);
+                }
+
+                /**
+                 * Records the latency of a resubmission.
+                 *
+                 * @param latency The latency of the resubmission in nanoseconds.
+                 */
+                protected void onResubmission(long latency) {
+                    resubmissions.incrementAndGet();
+                    this.latency.set(latency);
+                    long maximumLatency;
+                    do {
+                        maximumLatency = this.maximumLatency.get();
+                    } while (latency > maximumLatency && !this.maximumLatency.compareAndSet(maximumLatency, latency));
+                }
+
+                /**
+                 * An execution of a job that reschedules itself with a delay that depends on the job's workload.
+                 */
+                protected class Execution implements Runnable, Cancelable {
 
                     /**
-                     * The instrumentation instance to use.
+                     * The job to execute.
                      */
-                    private final Instrumentation instrumentation;
+                    private final Runnable job;
 
                     /**
-                     * Creates a new reiterating iterable.
-                     *
-                     * @param instrumentation The instrumentation instance to use.
+                     * The current delay in nanoseconds.
                      */
-                    protected ReiteratingIterable(Instrumentation instrumentation) {
-                        this.instrumentation = instrumentation;
-                    }
+                    private long delay;
 
                     /**
-                     * {@inheritDoc}
+                     * The time stamp of the previous execution in nanoseconds.
                      */
-                    public Iterator<Iterable<Class<?>>> iterator() {
-                        return new ReiteratingIterator(instrumentation);
-                    }
-                }
+                    private long previous;
 
-                /**
-                 * A reiterating iterator that considers types that were loaded during an instrumentation.
-                 */
-                protected static class ReiteratingIterator implements Iterator<Iterable<Class<?>>> {
+                    /**
+                     * The number of discovered types when last observed.
+                     */
+                    private long discoveries;
 
                     /**
-                     * The instrumentation instance to use.
+                     * The future of the next execution or {@code null} if no execution is scheduled.
                      */
-                    private final Instrumentation instrumentation;
+                    @MaybeNull
+                    private volatile Future<?> future;
 
                     /**
-                     * A set containing all previously discovered types.
+                     * {@code true} if this execution was canceled.
                      */
-                    private final Set<Class<?>> processed;
+                    private volatile boolean canceled;
 
                     /**
-                     * The current list of types or {@code null} if the current list of types is not prepared.
+                     * Creates a new execution.
+                     *
+                     * @param job The job to execute.
                      */
-                    @MaybeNull
-                    private List<Class<?>> types;
+                    protected Execution(Runnable job) {
+                        this.job = job;
+                        delay = minimum;
+                        previous = System.nanoTime();
+                        discoveries = job instanceof Job
+                                ? ((Job) job).getDiscoveries()
+                                : 0L;
+                    }
 
                     /**
-                     * Creates a new reiterating iterator.
+                     * Returns the current delay.
                      *
-                     * @param instrumentation The instrumentation instance to use.
+                     * @param timeUnit The time unit to return the delay in.
+                     * @return The current delay.
                      */
-                    protected ReiteratingIterator(Instrumentation instrumentation) {
-                        this.instrumentation = instrumentation;
-                        processed = new HashSet<Class<?>>();
+                    protected long getDelay(TimeUnit timeUnit) {
+                        return timeUnit.convert(delay, TimeUnit.NANOSECONDS);
                     }
 
                     /**
-                     * {@inheritDoc}
+                     * Schedules the next execution using the current delay.
                      */
-                    public boolean hasNext() {
-                        if (types == null) {
-                            types = new ArrayList<Class<?>>();
-                            for (Class<?> type : instrumentation.getAllLoadedClasses()) {
-                                if (type != null && processed.add(type)) {
-                                    types.add(type);
-                                }
+                    protected void schedule() {
+                        if (!canceled) {
+                            future = scheduledExecutorService.schedule(this, delay, TimeUnit.NANOSECONDS);
+                            if (canceled) {
+                                cancel();
                             }
                         }
-                        return !types.isEmpty();
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public Iterable<Class<?>> next() {
-                        if (hasNext()) {
+                    public void run() {
+                        if (canceled) {
+                            return;
+                        }
+                        long started = System.nanoTime();
+                        try {
+                            if (job instanceof Job) {
+                                long discoveries = ((Job) job).getDiscoveries();
+                                int queueDepth = ((Job) job).getQueueDepth();
+                                Adaptive.this.queueDepth.set(queueDepth);
+                                if (queueDepth > 0) {
+                                    job.run();
+                                    onResubmission(System.nanoTime() - previous);
+                                    Adaptive.this.queueDepth.set(((Job) job).getQueueDepth());
+                                    delay = minimum;
+                                } else if ((discoveries - this.discoveries) * TimeUnit.SECONDS.toNanos(1) >= burstRate * Math.max(1L, started - previous)) {
+                                    delay = minimum;
+                                } else {
+                                    delay = Math.min(maximum, delay * 2);
+                                }
+                                this.discoveries = discoveries;
+                            } else {
+                                job.run();
+                                delay = Math.min(maximum, delay * 2);
+                            }
+                        } finally {
+                            previous = started;
                             try {
-                                return types;
-                            } finally {
-                                types = null;
+                                schedule();
+                            } catch (RejectedExecutionException ignored) {
+                                /* the executor service was shut down */
                             }
-                        } else {
-                            throw new NoSuchElementException();
                         }
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void remove() {
-                        throw new UnsupportedOperationException("remove");
+                    public void cancel() {
+                        canceled = true;
+                        Future<?> future = this.future;
+                        if (future != null) {
+                            future.cancel(true);
+                        }
                     }
                 }
+            }
+
+            /**
+             * A resubmission job that exposes its workload to a resubmission scheduler which allows the scheduler to adapt
+             * the frequency of resubmissions.
+             */
+            interface Job extends Runnable {
 
                 /**
-                 * <p>
-                 * A discovery strategy that simplifies the application of {@link Reiterating} by assuming that the
-                 * loaded classes that are returned by {@link Instrumentation#getAllLoadedClasses()} are always
-                 * returned in the same order.
-                 * </p>
-                 * <p>
-                 * <b>Important</b>: While this increases the performance of reiteration, it relies on an implementation
-                 * detail of the JVM. Also, this strategy does not consider the possibility of classes being unloaded
-                 * during reiteration. For these reasons, this strategy has to be used with care!
-                 * </p>
+                 * Returns the number of types that are currently queued for resubmission.
+                 *
+                 * @return The number of types that are currently queued for resubmission.
                  */
-                public enum WithSortOrderAssumption implements DiscoveryStrategy {
-
-                    /**
-                     * The singleton instance.
-                     */
-                    INSTANCE;
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                        return new OrderedReiteratingIterable(instrumentation);
-                    }
-
-                    /**
-                     * An iterable that reiterates over an array of loaded classes by the previously observed length.
-                     */
-                    @HashCodeAndEqualsPlugin.Enhance
-                    protected static class OrderedReiteratingIterable implements Iterable<Iterable<Class<?>>> {
-
-                        /**
-                         * The instrumentation instance to use.
-                         */
-                        private final Instrumentation instrumentation;
-
-                        /**
-                         * Creates a new reiterating iterable.
-                         *
-                         * @param instrumentation The instrumentation instance to use.
-                         */
-                        protected OrderedReiteratingIterable(Instrumentation instrumentation) {
-                            this.instrumentation = instrumentation;
-                        }
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Iterator<Iterable<Class<?>>> iterator() {
-                            return new OrderedReiteratingIterator(instrumentation);
-                        }
-                    }
-
-                    /**
-                     * An iterator that reiterates over an array of loaded classes by the previously observed length.
-                     */
-                    protected static class OrderedReiteratingIterator implements Iterator<Iterable<Class<?>>> {
-
-                        /**
-                         * The instrumentation instance to use.
-                         */
-                        private final Instrumentation instrumentation;
+                int getQueueDepth();
 
-                        /**
-                         * The length of the last known array of known classes.
-                         */
-                        private int index;
+                /**
+                 * Returns the total number of types that were discovered upon being loaded what reflects the current
+                 * class loading rate.
+                 *
+                 * @return The total number of types that were discovered upon being loaded.
+                 */
+                long getDiscoveries();
+            }
+        }
 
-                        /**
-                         * The current list of types or {@code null} if the current list of types is not prepared.
-                         */
-                        @MaybeNull
-                        private List<Class<?>> types;
+        /**
+         * <p>
+         * A precomputation allows for computing the transformed class files of types that are redefined in upcoming batches while
+         * the current batch is redefined. Resolving type descriptions and applying transformations does not depend on the actual
+         * redefinition such that this work can be distributed onto other threads while the redefining thread waits for the JVM.
+         * </p>
+         * <p>
+         * <b>Important</b>: A precomputation is only applied for {@link RedefinitionStrategy#REDEFINITION} where Byte Buddy supplies the
+         * class files of redefined types. A precomputed class file is only used if the JVM supplies the identical class file to the class
+         * file transformer. Listeners are notified on transformations of precomputed types from the precomputing thread and before the
+         * batch of the precomputed type is redefined.
+         * </p>
+         */
+        public interface Precomputation {
 
-                        /**
-                         * Creates a new reiterating iterator.
-                         *
-                         * @param instrumentation The instrumentation instance to use.
-                         */
-                        protected OrderedReiteratingIterator(Instrumentation instrumentation) {
-                            this.instrumentation = instrumentation;
-                            index = 0;
-                        }
+            /**
+             * Creates a dispatcher for the given target.
+             *
+             * @param target The target that computes and retains transformed class files.
+             * @return An appropriate dispatcher.
+             */
+            Dispatcher make(Target target);
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean hasNext() {
-                            if (types == null) {
-                                Class<?>[] type = instrumentation.getAllLoadedClasses();
-                                types = new ArrayList<Class<?>>(Arrays.asList(type).subList(index, type.length));
-                                index = type.length;
-                            }
-                            return !types.isEmpty();
-                        }
+            /**
+             * A disabled precomputation where all transformations are applied by the redefining thread.
+             */
+            enum Disabled implements Precomputation {
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Iterable<Class<?>> next() {
-                            if (hasNext()) {
-                                try {
-                                    return types;
-                                } finally {
-                                    types = null;
-                                }
-                            } else {
-                                throw new NoSuchElementException();
-                            }
-                        }
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void remove() {
-                            throw new UnsupportedOperationException("remove");
-                        }
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public Dispatcher make(Target target) {
+                    return Dispatcher.Disabled.INSTANCE;
                 }
             }
 
             /**
-             * An explicit discovery strategy that only attempts the redefinition of specific types.
+             * A precomputation that computes transformed class files using an executor service. Only a limited number of types
+             * beyond the type that is currently redefined is computed ahead in order to limit the memory that is retained by
+             * precomputed class files. If a type's precomputation is not yet started when it is redefined, it is computed by
+             * the redefining thread.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class Explicit implements DiscoveryStrategy {
+            class ForExecutorService implements Precomputation {
+
+                /**
+                 * The default number of types that are precomputed ahead.
+                 */
+                public static final int DEFAULT_LOOKAHEAD = 100;
 
                 /**
-                 * The types to redefine.
+                 * The executor service to use for precomputing class files.
                  */
-                private final Set<Class<?>> types;
+                private final ExecutorService executorService;
 
                 /**
-                 * Creates a new explicit discovery strategy.
+                 * The maximum number of types that are precomputed ahead.
+                 */
+                private final int lookahead;
+
+                /**
+                 * Creates a new precomputation for an executor service using the default lookahead.
                  *
-                 * @param type The types to redefine.
+                 * @param executorService The executor service to use for precomputing class files.
                  */
-                public Explicit(Class<?>... type) {
-                    this(new LinkedHashSet<Class<?>>(Arrays.asList(type)));
+                public ForExecutorService(ExecutorService executorService) {
+                    this(executorService, DEFAULT_LOOKAHEAD);
                 }
 
                 /**
-                 * Creates a new explicit discovery strategy.
+                 * Creates a new precomputation for an executor service.
                  *
-                 * @param types The types to redefine.
+                 * @param executorService The executor service to use for precomputing class files.
+                 * @param lookahead       The maximum number of types that are precomputed ahead.
                  */
-                public Explicit(Set<Class<?>> types) {
-                    this.types = types;
+                public ForExecutorService(ExecutorService executorService, int lookahead) {
+                    if (lookahead < 1) {
+                        throw new IllegalArgumentException("Lookahead must be positive: " + lookahead);
+                    }
+                    this.executorService = executorService;
+                    this.lookahead = lookahead;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                    return Collections.<Iterable<Class<?>>>singleton(types);
+                public Dispatcher make(Target target) {
+                    return new Dispatcher.ForExecutorService(executorService, lookahead, target);
                 }
             }
-        }
-
-        /**
-         * A resubmission scheduler is responsible for scheduling a job that is resubmitting unloaded types that failed during retransformation.
-         */
-        public interface ResubmissionScheduler {
 
             /**
-             * Checks if this scheduler is currently available.
-             *
-             * @return {@code true} if this scheduler is alive.
+             * A target for a precomputation that computes and retains transformed class files until a type is redefined.
              */
-            boolean isAlive();
+            interface Target {
 
-            /**
-             * Schedules a resubmission job for regular application.
-             *
-             * @param job The job to schedule.
-             * @return A cancelable that is canceled upon resetting the corresponding class file transformer.
-             */
-            Cancelable schedule(Runnable job);
+                /**
+                 * Computes the transformed class file of a loaded type and retains it until the type is redefined
+                 * using the given class file.
+                 *
+                 * @param type                 The type to precompute.
+                 * @param binaryRepresentation The class file that is supplied when the type is redefined.
+                 */
+                void precompute(Class<?> type, byte[] binaryRepresentation);
+
+                /**
+                 * Discards any precomputed class file of a type.
+                 *
+                 * @param type The type for which to discard a precomputed class file.
+                 */
+                void discard(Class<?> type);
+            }
 
             /**
-             * A cancelable allows to discontinue a resubmission job.
+             * A dispatcher that is bound to a target and that creates handlers for the types of a redefinition.
              */
-            interface Cancelable {
+            interface Dispatcher {
 
                 /**
-                 * Cancels this resubmission job.
+                 * Creates a handler for the types of a redefinition.
+                 *
+                 * @param locationStrategy The location strategy to use for locating class files.
+                 * @param types            The types being redefined in their redefinition order.
+                 * @return An appropriate handler.
                  */
-                void cancel();
+                Handler make(LocationStrategy locationStrategy, List<Class<?>> types);
 
                 /**
-                 * A non-operational cancelable.
+                 * A dispatcher for a disabled precomputation.
                  */
-                enum NoOp implements Cancelable {
+                enum Disabled implements Dispatcher {
 
                     /**
                      * The singleton instance.
@@ -7511,160 +9494,267 @@ public interface AgentBuilder {
                     /**
                      * {@inheritDoc}
                      */
-                    public void cancel() {
-                        /* do nothing */
+                    public Handler make(LocationStrategy locationStrategy, List<Class<?>> types) {
+                        return new Handler.Simple(locationStrategy);
                     }
                 }
 
                 /**
-                 * A cancelable for a {@link Future}.
+                 * A dispatcher that precomputes class files using an executor service.
                  */
                 @HashCodeAndEqualsPlugin.Enhance
-                class ForFuture implements Cancelable {
+                class ForExecutorService implements Dispatcher {
 
                     /**
-                     * The future to cancel upon cancellation of this instance.
+                     * The executor service to use for precomputing class files.
                      */
-                    private final Future<?> future;
+                    private final ExecutorService executorService;
 
                     /**
-                     * Creates a cancelable for a future.
+                     * The maximum number of types that are precomputed ahead.
+                     */
+                    private final int lookahead;
+
+                    /**
+                     * The target that computes and retains transformed class files.
+                     */
+                    private final Target target;
+
+                    /**
+                     * Creates a new dispatcher for an executor service.
                      *
-                     * @param future The future to cancel upon cancellation of this instance.
+                     * @param executorService The executor service to use for precomputing class files.
+                     * @param lookahead       The maximum number of types that are precomputed ahead.
+                     * @param target          The target that computes and retains transformed class files.
                      */
-                    public ForFuture(Future<?> future) {
-                        this.future = future;
+                    protected ForExecutorService(ExecutorService executorService, int lookahead, Target target) {
+                        this.executorService = executorService;
+                        this.lookahead = lookahead;
+                        this.target = target;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void cancel() {
-                        future.cancel(true);
+                    public Handler make(LocationStrategy locationStrategy, List<Class<?>> types) {
+                        return new Handler.ForExecutorService(executorService, lookahead, target, new Handler.Simple(locationStrategy), types);
                     }
                 }
             }
 
             /**
-             * A resubmission scheduler that does not apply any scheduling.
+             * A handler that resolves the class files of the types of a redefinition.
              */
-            enum NoOp implements ResubmissionScheduler {
+            interface Handler {
 
                 /**
-                 * The singleton instance.
+                 * Resolves the class file of a type that is about to be redefined.
+                 *
+                 * @param type The type being redefined.
+                 * @return The class file of the type being redefined.
+                 * @throws IOException If the class file cannot be located.
                  */
-                INSTANCE;
+                byte[] resolve(Class<?> type) throws IOException;
 
                 /**
-                 * {@inheritDoc}
+                 * Completes this handler after all types were redefined. Any precomputation that is not yet started is
+                 * cancelled and all precomputed class files that were not consumed are discarded.
                  */
-                public boolean isAlive() {
-                    return false;
-                }
+                void complete();
 
                 /**
-                 * {@inheritDoc}
+                 * A handler that locates class files without precomputing any transformation.
                  */
-                public Cancelable schedule(Runnable job) {
-                    return Cancelable.NoOp.INSTANCE;
-                }
-            }
-
-            /**
-             * A resubmission scheduler that schedules jobs at a fixed rate.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class AtFixedRate implements ResubmissionScheduler {
+                @HashCodeAndEqualsPlugin.Enhance
+                class Simple implements Handler {
 
-                /**
-                 * The executor service to schedule to.
-                 */
-                private final ScheduledExecutorService scheduledExecutorService;
+                    /**
+                     * The location strategy to use for locating class files.
+                     */
+                    private final LocationStrategy locationStrategy;
 
-                /**
-                 * The time interval between schedulings.
-                 */
-                private final long time;
+                    /**
+                     * Creates a new simple handler.
+                     *
+                     * @param locationStrategy The location strategy to use for locating class files.
+                     */
+                    protected Simple(LocationStrategy locationStrategy) {
+                        this.locationStrategy = locationStrategy;
+                    }
 
-                /**
-                 * The time's time unit.
-                 */
-                private final TimeUnit timeUnit;
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public byte[] resolve(Class<?> type) throws IOException {
+                        return locationStrategy.classFileLocator(type.getClassLoader(), JavaModule.ofType(type))
+                                .locate(TypeDescription.ForLoadedType.getName(type))
+                                .resolve();
+                    }
 
-                /**
-                 * Creates a new resubmission scheduler which schedules executions at a fixed rate.
-                 *
-                 * @param scheduledExecutorService The executor service to schedule to.
-                 * @param time                     The time interval between schedulings.
-                 * @param timeUnit                 The time's time unit.
-                 */
-                public AtFixedRate(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
-                    this.scheduledExecutorService = scheduledExecutorService;
-                    this.time = time;
-                    this.timeUnit = timeUnit;
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void complete() {
+                        /* do nothing */
+                    }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * A handler that precomputes the transformed class files of upcoming types using an executor service.
                  */
-                public boolean isAlive() {
-                    return !scheduledExecutorService.isShutdown();
-                }
+                class ForExecutorService implements Handler {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Cancelable schedule(Runnable job) {
-                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleAtFixedRate(job, time, time, timeUnit));
-                }
-            }
+                    /**
+                     * The executor service to use for precomputing class files.
+                     */
+                    private final ExecutorService executorService;
 
-            /**
-             * A resubmission scheduler that schedules jobs with a fixed delay.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class WithFixedDelay implements ResubmissionScheduler {
+                    /**
+                     * The maximum number of types that are precomputed ahead.
+                     */
+                    private final int lookahead;
 
-                /**
-                 * The executor service to schedule to.
-                 */
-                private final ScheduledExecutorService scheduledExecutorService;
+                    /**
+                     * The target that computes and retains transformed class files.
+                     */
+                    private final Target target;
 
-                /**
-                 * The time interval to pause between completed jobs.
-                 */
-                private final long time;
+                    /**
+                     * The handler to use for locating class files.
+                     */
+                    private final Handler delegate;
 
-                /**
-                 * The time's time unit.
-                 */
-                private final TimeUnit timeUnit;
+                    /**
+                     * An iterator over the types that are not yet scheduled for precomputation.
+                     */
+                    private final Iterator<Class<?>> types;
 
-                /**
-                 * Creates a new resubmission scheduler with a fixed delay between job executions.
-                 *
-                 * @param scheduledExecutorService The executor service to schedule to.
-                 * @param time                     The time interval to pause between completed jobs.
-                 * @param timeUnit                 The time's time unit.
-                 */
-                public WithFixedDelay(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
-                    this.scheduledExecutorService = scheduledExecutorService;
-                    this.time = time;
-                    this.timeUnit = timeUnit;
-                }
+                    /**
+                     * The precomputations that are scheduled but whose class files were not yet resolved.
+                     */
+                    private final Map<Class<?>, FutureTask<byte[]>> tasks;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean isAlive() {
-                    return !scheduledExecutorService.isShutdown();
-                }
+                    /**
+                     * All types that were scheduled for precomputation.
+                     */
+                    private final List<Class<?>> scheduled;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Cancelable schedule(Runnable job) {
-                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleWithFixedDelay(job, time, time, timeUnit));
+                    /**
+                     * The number of class files that were resolved.
+                     */
+                    private int resolved;
+
+                    /**
+                     * {@code true} if this handler is completed.
+                     */
+                    private volatile boolean completed;
+
+                    /**
+                     * Creates a new handler for an executor service.
+                     *
+                     * @param executorService The executor service to use for precomputing class files.
+                     * @param lookahead       The maximum number of types that are precomputed ahead.
+                     * @param target          The target that computes and retains transformed class files.
+                     * @param delegate        The handler to use for locating class files.
+                     * @param types           The types being redefined in their redefinition order.
+                     */
+                    protected ForExecutorService(ExecutorService executorService, int lookahead, Target target, Handler delegate, List<Class<?>> types) {
+                        this.executorService = executorService;
+                        this.lookahead = lookahead;
+                        this.target = target;
+                        this.delegate = delegate;
+                        this.types = types.iterator();
+                        tasks = new HashMap<Class<?>, FutureTask<byte[]>>();
+                        scheduled = new ArrayList<Class<?>>();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public byte[] resolve(Class<?> type) throws IOException {
+                        resolved += 1;
+                        while (scheduled.size() < resolved + lookahead && types.hasNext()) {
+                            Class<?> next = types.next();
+                            FutureTask<byte[]> task = new FutureTask<byte[]>(new Precomputing(next));
+                            tasks.put(next, task);
+                            scheduled.add(next);
+                            try {
+                                executorService.execute(task);
+                            } catch (RejectedExecutionException ignored) {
+                                /* the precomputation is applied by the redefining thread */
+                            }
+                        }
+                        FutureTask<byte[]> task = tasks.remove(type);
+                        if (task == null) {
+                            return delegate.resolve(type);
+                        }
+                        task.run();
+                        try {
+                            return task.get();
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Interrupted while awaiting precomputation of " + type.getName(), exception);
+                        } catch (ExecutionException exception) {
+                            Throwable cause = exception.getCause();
+                            if (cause instanceof IOException) {
+                                throw (IOException) cause;
+                            } else if (cause instanceof RuntimeException) {
+                                throw (RuntimeException) cause;
+                            } else if (cause instanceof Error) {
+                                throw (Error) cause;
+                            } else {
+                                throw new IllegalStateException("Failed to precompute " + type.getName(), cause);
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void complete() {
+                        completed = true;
+                        for (FutureTask<byte[]> task : tasks.values()) {
+                            task.cancel(false);
+                        }
+                        tasks.clear();
+                        for (Class<?> type : scheduled) {
+                            target.discard(type);
+                        }
+                    }
+
+                    /**
+                     * A precomputation of a single type's class file.
+                     */
+                    protected class Precomputing implements Callable<byte[]> {
+
+                        /**
+                         * The type to precompute.
+                         */
+                        private final Class<?> type;
+
+                        /**
+                         * Creates a new precomputation.
+                         *
+                         * @param type The type to precompute.
+                         */
+                        protected Precomputing(Class<?> type) {
+                            this.type = type;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public byte[] call() throws IOException {
+                            byte[] binaryRepresentation = delegate.resolve(type);
+                            if (!completed) {
+                                target.precompute(type, binaryRepresentation);
+                                if (completed) {
+                                    target.discard(type);
+                                }
+                            }
+                            return binaryRepresentation;
+                        }
+                    }
                 }
             }
         }
@@ -7786,7 +9876,8 @@ public interface AgentBuilder {
                                           RedefinitionStrategy.Listener redefinitionBatchListener) {
                     if (resubmissionScheduler.isAlive()) {
                         ConcurrentMap<StorageKey, Set<String>> types = new ConcurrentHashMap<StorageKey, Set<String>>();
-                        Resubmitter resubmitter = new Resubmitter(resubmissionOnErrorMatcher, resubmissionImmediateMatcher, types);
+                        AtomicLong discoveries = new AtomicLong();
+                        Resubmitter resubmitter = new Resubmitter(resubmissionOnErrorMatcher, resubmissionImmediateMatcher, types, discoveries);
                         return new Installation(new AgentBuilder.Listener.Compound(resubmitter, listener),
                                 new InstallationListener.Compound(new ResubmissionInstallationListener(instrumentation,
                                         resubmissionScheduler,
@@ -7800,7 +9891,8 @@ public interface AgentBuilder {
                                         redefinitionStrategy,
                                         redefinitionBatchAllocator,
                                         redefinitionBatchListener,
-                                        types), installationListener),
+                                        types,
+                                        discoveries), installationListener),
                                 resubmitter);
                     } else {
                         throw new IllegalStateException("Resubmission scheduler " + resubmissionScheduler + " is not alive");
@@ -7825,7 +9917,12 @@ public interface AgentBuilder {
                     /**
                      * A map of class loaders to their types to resubmit.
                      */
-                    private final ConcurrentMap<StorageKey, Set<String>> types;
+                    private final ConcurrentMap<StorageKey, Set<String>> types;
+
+                    /**
+                     * A counter of types that were discovered upon being loaded.
+                     */
+                    private final AtomicLong discoveries;
 
                     /**
                      * Creates a new resubmitter.
@@ -7833,13 +9930,23 @@ public interface AgentBuilder {
                      * @param resubmissionOnErrorMatcher   A matcher to determine resubmissions on errors.
                      * @param resubmissionImmediateMatcher A matcher to determine resubmissions without errors.
                      * @param types                        A map of class loaders to their types to resubmit.
+                     * @param discoveries                  A counter of types that were discovered upon being loaded.
                      */
                     protected Resubmitter(RedefinitionListenable.ResubmissionOnErrorMatcher resubmissionOnErrorMatcher,
                                           RedefinitionListenable.ResubmissionImmediateMatcher resubmissionImmediateMatcher,
-                                          ConcurrentMap<StorageKey, Set<String>> types) {
+                                          ConcurrentMap<StorageKey, Set<String>> types,
+                                          AtomicLong discoveries) {
                         this.resubmissionOnErrorMatcher = resubmissionOnErrorMatcher;
                         this.resubmissionImmediateMatcher = resubmissionImmediateMatcher;
                         this.types = types;
+                        this.discoveries = discoveries;
+                    }
+
+                    @Override
+                    public void onDiscovery(String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, boolean loaded) {
+                        if (!loaded) {
+                            discoveries.incrementAndGet();
+                        }
                     }
 
                     /**
@@ -7929,7 +10036,7 @@ public interface AgentBuilder {
                 /**
                  * A job that resubmits any matched type that previously failed during transformation.
                  */
-                protected static class ResubmissionInstallationListener extends AgentBuilder.InstallationListener.Adapter implements Runnable {
+                protected static class ResubmissionInstallationListener extends AgentBuilder.InstallationListener.Adapter implements ResubmissionScheduler.Job {
 
                     /**
                      * The instrumentation instance to use.
@@ -7996,6 +10103,11 @@ public interface AgentBuilder {
                      */
                     private final ConcurrentMap<StorageKey, Set<String>> types;
 
+                    /**
+                     * A counter of types that were discovered upon being loaded.
+                     */
+                    private final AtomicLong discoveries;
+
                     /**
                      * This scheduler's cancelable or {@code null} if no cancelable was registered.
                      */
@@ -8018,6 +10130,7 @@ public interface AgentBuilder {
                      * @param redefinitionBatchAllocator The batch allocator to use.
                      * @param redefinitionBatchListener  The batch listener to notify.
                      * @param types                      A map of class loaders to their types to resubmit.
+                     * @param discoveries                A counter of types that were discovered upon being loaded.
                      */
                     protected ResubmissionInstallationListener(Instrumentation instrumentation,
                                                                ResubmissionScheduler resubmissionScheduler,
@@ -8031,7 +10144,8 @@ public interface AgentBuilder {
                                                                RedefinitionStrategy redefinitionStrategy,
                                                                BatchAllocator redefinitionBatchAllocator,
                                                                Listener redefinitionBatchListener,
-                                                               ConcurrentMap<StorageKey, Set<String>> types) {
+                                                               ConcurrentMap<StorageKey, Set<String>> types,
+                                                               AtomicLong discoveries) {
                         this.instrumentation = instrumentation;
                         this.resubmissionScheduler = resubmissionScheduler;
                         this.poolStrategy = poolStrategy;
@@ -8045,6 +10159,25 @@ public interface AgentBuilder {
                         this.redefinitionBatchAllocator = redefinitionBatchAllocator;
                         this.redefinitionBatchListener = redefinitionBatchListener;
                         this.types = types;
+                        this.discoveries = discoveries;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public int getQueueDepth() {
+                        int queueDepth = 0;
+                        for (Set<String> types : this.types.values()) {
+                            queueDepth += types.size();
+                        }
+                        return queueDepth;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public long getDiscoveries() {
+                        return discoveries.get();
                     }
 
                     @Override
@@ -8105,6 +10238,7 @@ public interface AgentBuilder {
                             collector.apply(instrumentation,
                                     redefinitionBatchAllocator,
                                     redefinitionBatchListener,
+                                    Precomputation.Dispatcher.Disabled.INSTANCE,
                                     BatchAllocator.FIRST_BATCH);
                         } finally {
                             if (release) {
@@ -8508,25 +10642,32 @@ public interface AgentBuilder {
              * @param instrumentation            The instrumentation instance to apply changes to.
              * @param redefinitionBatchAllocator The redefinition batch allocator to use.
              * @param redefinitionListener       The redefinition listener to use.
+             * @param precomputationDispatcher   The dispatcher for precomputing transformed class files.
              * @param batch                      The next batch's index.
              * @return The next batch's index after this application.
              */
             protected int apply(Instrumentation instrumentation,
                                 BatchAllocator redefinitionBatchAllocator,
                                 Listener redefinitionListener,
+                                Precomputation.Dispatcher precomputationDispatcher,
                                 int batch) {
                 Map<List<Class<?>>, Throwable> failures = new HashMap<List<Class<?>>, Throwable>();
                 PrependableIterator prependableIterator = new PrependableIterator(redefinitionBatchAllocator.batch(this.types));
-                while (prependableIterator.hasNext()) {
-                    List<Class<?>> types = prependableIterator.next();
-                    redefinitionListener.onBatch(batch, types, this.types);
-                    try {
-                        doApply(instrumentation, types);
-                    } catch (Throwable throwable) {
-                        prependableIterator.prepend(redefinitionListener.onError(batch, types, throwable, this.types));
-                        failures.put(types, throwable);
+                Precomputation.Handler handler = precomputationDispatcher.make(locationStrategy, this.types);
+                try {
+                    while (prependableIterator.hasNext()) {
+                        List<Class<?>> types = prependableIterator.next();
+                        redefinitionListener.onBatch(batch, types, this.types);
+                        try {
+                            doApply(instrumentation, types, handler);
+                        } catch (Throwable throwable) {
+                            prependableIterator.prepend(redefinitionListener.onError(batch, types, throwable, this.types));
+                            failures.put(types, throwable);
+                        }
+                        batch += 1;
                     }
-                    batch += 1;
+                } finally {
+                    handler.complete();
                 }
                 redefinitionListener.onComplete(batch, types, failures);
                 return batch;
@@ -8537,11 +10678,13 @@ public interface AgentBuilder {
              *
              * @param instrumentation The instrumentation instance to apply the transformation for.
              * @param types           The types of the current patch to transform.
+             * @param handler         The handler for resolving class files of redefined types.
              * @throws UnmodifiableClassException If a class is not modifiable.
              * @throws ClassNotFoundException     If a class could not be found.
              */
             protected abstract void doApply(Instrumentation instrumentation,
-                                            List<Class<?>> types) throws UnmodifiableClassException, ClassNotFoundException;
+                                            List<Class<?>> types,
+                                            Precomputation.Handler handler) throws UnmodifiableClassException, ClassNotFoundException;
 
             /**
              * An iterator that allows prepending of iterables to be applied previous to another iterator.
@@ -8639,14 +10782,13 @@ public interface AgentBuilder {
 
                 @Override
                 protected void doApply(Instrumentation instrumentation,
-                                       List<Class<?>> types) throws UnmodifiableClassException, ClassNotFoundException {
+                                       List<Class<?>> types,
+                                       Precomputation.Handler handler) throws UnmodifiableClassException, ClassNotFoundException {
                     List<ClassDefinition> classDefinitions = new ArrayList<ClassDefinition>(types.size());
                     for (Class<?> type : types) {
                         try {
                             try {
-                                classDefinitions.add(new ClassDefinition(type, locationStrategy.classFileLocator(type.getClassLoader(), JavaModule.ofType(type))
-                                        .locate(TypeDescription.ForLoadedType.getName(type))
-                                        .resolve()));
+                                classDefinitions.add(new ClassDefinition(type, handler.resolve(type)));
                             } catch (Throwable throwable) {
                                 JavaModule module = JavaModule.ofType(type);
                                 try {
@@ -8702,7 +10844,8 @@ public interface AgentBuilder {
 
                 @Override
                 protected void doApply(Instrumentation instrumentation,
-                                       List<Class<?>> types) throws UnmodifiableClassException {
+                                       List<Class<?>> types,
+                                       Precomputation.Handler handler) throws UnmodifiableClassException {
                     if (!types.isEmpty()) {
                         circularityLock.release();
                         try {
@@ -10605,6 +12748,11 @@ public interface AgentBuilder {
          */
         protected final Listener listener;
 
+        /**
+         * The phase listener to notify about the timings of transformations.
+         */
+        protected final PhaseListener phaseListener;
+
         /**
          * The circularity lock to use.
          */
@@ -10675,6 +12823,11 @@ public interface AgentBuilder {
          */
         protected final RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy;
 
+        /**
+         * The precomputation to apply for redefinitions.
+         */
+        protected final RedefinitionStrategy.Precomputation redefinitionPrecomputation;
+
         /**
          * The injection strategy for injecting classes into a class loader.
          */
@@ -10706,6 +12859,11 @@ public interface AgentBuilder {
          */
         protected final InstallationListener installationListener;
 
+        /**
+         * The prefilter to apply before resolving an instrumented type's description.
+         */
+        protected final Prefilter prefilter;
+
         /**
          * Identifies types that should not be instrumented.
          */
@@ -10734,6 +12892,7 @@ public interface AgentBuilder {
         public Default(ByteBuddy byteBuddy) {
             this(byteBuddy,
                     Listener.NoOp.INSTANCE,
+                    PhaseListener.NoOp.INSTANCE,
                     DEFAULT_LOCK,
                     PoolStrategy.Default.FAST,
                     TypeStrategy.Default.REBASE,
@@ -10748,12 +12907,14 @@ public interface AgentBuilder {
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
+                    RedefinitionStrategy.Precomputation.Disabled.INSTANCE,
                     InjectionStrategy.UsingReflection.INSTANCE,
                     LambdaInstrumentationStrategy.DISABLED,
                     DescriptionStrategy.Default.HYBRID,
                     FallbackStrategy.ByThrowableType.ofOptionalTypes(),
                     ClassFileBufferStrategy.Default.RETAINING,
                     InstallationListener.NoOp.INSTANCE,
+                    Prefilter.NoOp.INSTANCE,
                     new RawMatcher.Disjunction(
                             new RawMatcher.ForElementMatchers(any(), isBootstrapClassLoader().or(isExtensionClassLoader())),
                             new RawMatcher.ForElementMatchers(nameStartsWith("net.bytebuddy.")
@@ -10768,6 +12929,7 @@ public interface AgentBuilder {
          *
          * @param byteBuddy                        The Byte Buddy instance to be used.
          * @param listener                         The listener to notify on transformations.
+         * @param phaseListener                    The phase listener to notify about the timings of transformations.
          * @param circularityLock                  The circularity lock to use.
          * @param poolStrategy                     The pool strategy to use.
          * @param typeStrategy                     The definition handler to use.
@@ -10782,6 +12944,7 @@ public interface AgentBuilder {
          * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
          * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
          * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
+         * @param redefinitionPrecomputation       The precomputation to apply for redefinitions.
          * @param injectionStrategy                The injection strategy for injecting classes into a class loader.
          * @param lambdaInstrumentationStrategy    A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
          *                                         instrumentation of classes that represent lambda expressions.
@@ -10789,11 +12952,13 @@ public interface AgentBuilder {
          * @param fallbackStrategy                 The fallback strategy to apply.
          * @param classFileBufferStrategy          The class file buffer strategy to use.
          * @param installationListener             The installation listener to notify.
+         * @param prefilter                        The prefilter to apply before resolving an instrumented type's description.
          * @param ignoreMatcher                    Identifies types that should not be instrumented.
          * @param transformations                  The transformations to apply for any non-ignored type.
          */
         protected Default(ByteBuddy byteBuddy,
                           Listener listener,
+                          PhaseListener phaseListener,
                           CircularityLock circularityLock,
                           PoolStrategy poolStrategy,
                           TypeStrategy typeStrategy,
@@ -10808,16 +12973,19 @@ public interface AgentBuilder {
                           RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                           RedefinitionStrategy.Listener redefinitionListener,
                           RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
+                          RedefinitionStrategy.Precomputation redefinitionPrecomputation,
                           InjectionStrategy injectionStrategy,
                           LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
                           DescriptionStrategy descriptionStrategy,
                           FallbackStrategy fallbackStrategy,
                           ClassFileBufferStrategy classFileBufferStrategy,
                           InstallationListener installationListener,
+                          Prefilter prefilter,
                           RawMatcher ignoreMatcher,
                           List<Transformation> transformations) {
             this.byteBuddy = byteBuddy;
             this.listener = listener;
+            this.phaseListener = phaseListener;
             this.circularityLock = circularityLock;
             this.poolStrategy = poolStrategy;
             this.typeStrategy = typeStrategy;
@@ -10832,12 +13000,14 @@ public interface AgentBuilder {
             this.redefinitionBatchAllocator = redefinitionBatchAllocator;
             this.redefinitionListener = redefinitionListener;
             this.redefinitionResubmissionStrategy = redefinitionResubmissionStrategy;
+            this.redefinitionPrecomputation = redefinitionPrecomputation;
             this.injectionStrategy = injectionStrategy;
             this.lambdaInstrumentationStrategy = lambdaInstrumentationStrategy;
             this.descriptionStrategy = descriptionStrategy;
             this.fallbackStrategy = fallbackStrategy;
             this.classFileBufferStrategy = classFileBufferStrategy;
             this.installationListener = installationListener;
+            this.prefilter = prefilter;
             this.ignoreMatcher = ignoreMatcher;
             this.transformations = transformations;
         }
@@ -10952,6 +13122,7 @@ public interface AgentBuilder {
         public AgentBuilder with(ByteBuddy byteBuddy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -10966,12 +13137,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -10982,6 +13155,40 @@ public interface AgentBuilder {
         public AgentBuilder with(Listener listener) {
             return new Default(byteBuddy,
                     new Listener.Compound(this.listener, listener),
+                    phaseListener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    classFileLocator,
+                    nativeMethodStrategy,
+                    warmupStrategy,
+                    transformerDecorator,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
+                    injectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    installationListener,
+                    prefilter,
+                    ignoreMatcher,
+                    transformations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(PhaseListener phaseListener) {
+            return new Default(byteBuddy,
+                    listener,
+                    new PhaseListener.Compound(this.phaseListener, phaseListener),
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -10996,12 +13203,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11012,6 +13221,7 @@ public interface AgentBuilder {
         public AgentBuilder with(CircularityLock circularityLock) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11026,12 +13236,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11042,6 +13254,7 @@ public interface AgentBuilder {
         public AgentBuilder with(TypeStrategy typeStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11056,12 +13269,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11072,6 +13287,7 @@ public interface AgentBuilder {
         public AgentBuilder with(PoolStrategy poolStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11086,12 +13302,47 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
+                    ignoreMatcher,
+                    transformations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(Prefilter prefilter) {
+            return new Default(byteBuddy,
+                    listener,
+                    phaseListener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    classFileLocator,
+                    nativeMethodStrategy,
+                    warmupStrategy,
+                    transformerDecorator,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
+                    injectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11102,6 +13353,7 @@ public interface AgentBuilder {
         public AgentBuilder with(LocationStrategy locationStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11116,12 +13368,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11132,6 +13386,7 @@ public interface AgentBuilder {
         public AgentBuilder with(ClassFileLocator classFileLocator) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11146,12 +13401,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11162,6 +13419,7 @@ public interface AgentBuilder {
         public AgentBuilder enableNativeMethodPrefix(String prefix) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11176,12 +13434,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11192,6 +13452,7 @@ public interface AgentBuilder {
         public AgentBuilder disableNativeMethodPrefix() {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11206,12 +13467,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11237,6 +13500,7 @@ public interface AgentBuilder {
             }
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11251,12 +13515,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11267,6 +13533,7 @@ public interface AgentBuilder {
         public AgentBuilder with(TransformerDecorator transformerDecorator) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11281,12 +13548,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11297,6 +13566,7 @@ public interface AgentBuilder {
         public RedefinitionListenable.WithoutBatchStrategy with(RedefinitionStrategy redefinitionStrategy) {
             return new Redefining(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11311,12 +13581,14 @@ public interface AgentBuilder {
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
+                    RedefinitionStrategy.Precomputation.Disabled.INSTANCE,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11327,6 +13599,7 @@ public interface AgentBuilder {
         public AgentBuilder with(InitializationStrategy initializationStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11341,12 +13614,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11357,6 +13632,7 @@ public interface AgentBuilder {
         public AgentBuilder with(LambdaInstrumentationStrategy lambdaInstrumentationStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11371,12 +13647,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11387,6 +13665,7 @@ public interface AgentBuilder {
         public AgentBuilder with(DescriptionStrategy descriptionStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11401,12 +13680,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11417,6 +13698,7 @@ public interface AgentBuilder {
         public AgentBuilder with(FallbackStrategy fallbackStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11431,12 +13713,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11447,6 +13731,7 @@ public interface AgentBuilder {
         public AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11461,12 +13746,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11477,6 +13764,7 @@ public interface AgentBuilder {
         public AgentBuilder with(InstallationListener installationListener) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11491,12 +13779,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     new InstallationListener.Compound(this.installationListener, installationListener),
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11507,6 +13797,7 @@ public interface AgentBuilder {
         public AgentBuilder with(InjectionStrategy injectionStrategy) {
             return new Default(byteBuddy,
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy,
@@ -11521,12 +13812,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11537,6 +13830,7 @@ public interface AgentBuilder {
         public AgentBuilder disableClassFormatChanges() {
             return new Default(byteBuddy.with(Implementation.Context.Disabled.Factory.INSTANCE),
                     listener,
+                    phaseListener,
                     circularityLock,
                     poolStrategy,
                     typeStrategy == TypeStrategy.Default.DECORATE
@@ -11553,12 +13847,14 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionPrecomputation,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    prefilter,
                     ignoreMatcher,
                     transformations);
         }
@@ -11689,6 +13985,7 @@ public interface AgentBuilder {
                                                        RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer) {
             return ExecutingTransformer.FACTORY.make(byteBuddy,
                     listener,
+                    phaseListener,
                     poolStrategy,
                     typeStrategy,
                     locationStrategy,
@@ -11702,6 +13999,7 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
+                    prefilter,
                     resubmissionEnforcer,
                     transformations,
                     circularityLock);
@@ -11811,9 +14109,10 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener);
-                ResettableClassFileTransformer classFileTransformer = transformerDecorator.decorate(makeRaw(installation.getListener(),
+                ResettableClassFileTransformer transformer = makeRaw(installation.getListener(),
                         installation.getInstallationListener(),
-                        installation.getResubmissionEnforcer()));
+                        installation.getResubmissionEnforcer());
+                ResettableClassFileTransformer classFileTransformer = transformerDecorator.decorate(transformer);
                 installation.getInstallationListener().onBeforeInstall(instrumentation, classFileTransformer);
                 try {
                     warmupStrategy.apply(classFileTransformer,
@@ -11843,7 +14142,10 @@ public interface AgentBuilder {
                             redefinitionListener,
                             matcher,
                             redefinitionBatchAllocator,
-                            circularityLock);
+                            circularityLock,
+                            transformer instanceof RedefinitionStrategy.Precomputation.Target
+                                    ? redefinitionPrecomputation.make((RedefinitionStrategy.Precomputation.Target) transformer)
+                                    : RedefinitionStrategy.Precomputation.Dispatcher.Disabled.INSTANCE);
                 } catch (@MaybeNull Throwable throwable) {
                     throwable = installation.getInstallationListener().onError(instrumentation, classFileTransformer, throwable);
                     if (throwable != null) {
@@ -12246,6 +14548,48 @@ public interface AgentBuilder {
                 return terminal;
             }
 
+            /**
+             * Creates an index of the supplied transformations by the names of the types that they might match. Transformations
+             * that match types by their exact name or a name prefix are only resolved for types that fulfil this requirement. Any
+             * other transformation is resolved for any type.
+             *
+             * @param transformations The transformations to index.
+             * @return An index of the supplied transformations.
+             */
+            protected static NameIndex<Transformation> index(List<Transformation> transformations) {
+                List<ElementMatcher<? super TypeDescription>> matchers = new ArrayList<ElementMatcher<? super TypeDescription>>(transformations.size());
+                for (Transformation transformation : transformations) {
+                    matchers.add(toTypeMatcher(transformation.getMatcher()));
+                }
+                return NameIndex.of(transformations, matchers);
+            }
+
+            /**
+             * Resolves a type matcher that is implied by a raw matcher, if possible.
+             *
+             * @param matcher The raw matcher to resolve.
+             * @return A type matcher that matches any type that might be matched by the supplied raw matcher.
+             */
+            private static ElementMatcher<? super TypeDescription> toTypeMatcher(RawMatcher matcher) {
+                if (matcher instanceof RawMatcher.ForElementMatchers) {
+                    return ((RawMatcher.ForElementMatchers) matcher).typeMatcher;
+                } else if (matcher instanceof RawMatcher.Conjunction) {
+                    List<ElementMatcher<? super TypeDescription>> matchers = new ArrayList<ElementMatcher<? super TypeDescription>>();
+                    for (RawMatcher child : ((RawMatcher.Conjunction) matcher).matchers) {
+                        matchers.add(toTypeMatcher(child));
+                    }
+                    return new ElementMatcher.Junction.Conjunction<TypeDescription>(matchers);
+                } else if (matcher instanceof RawMatcher.Disjunction) {
+                    List<ElementMatcher<? super TypeDescription>> matchers = new ArrayList<ElementMatcher<? super TypeDescription>>();
+                    for (RawMatcher child : ((RawMatcher.Disjunction) matcher).matchers) {
+                        matchers.add(toTypeMatcher(child));
+                    }
+                    return new ElementMatcher.Junction.Disjunction<TypeDescription>(matchers);
+                } else {
+                    return any();
+                }
+            }
+
             /**
              * A matcher that matches any type that is touched by a transformer without being ignored.
              */
@@ -12465,7 +14809,7 @@ public interface AgentBuilder {
          * A {@link java.lang.instrument.ClassFileTransformer} that implements the enclosing agent builder's
          * configuration.
          */
-        protected static class ExecutingTransformer extends ResettableClassFileTransformer.AbstractBase {
+        protected static class ExecutingTransformer extends ResettableClassFileTransformer.AbstractBase implements RedefinitionStrategy.Precomputation.Target {
 
             /**
              * A factory for creating a {@link ClassFileTransformer} that supports the features of the current VM.
@@ -12492,6 +14836,16 @@ public interface AgentBuilder {
              */
             private final Listener listener;
 
+            /**
+             * The phase listener to notify about the timings of transformations.
+             */
+            private final PhaseListener phaseListener;
+
+            /**
+             * {@code true} if the phase listener is notified such that phases must be timed.
+             */
+            private final boolean timed;
+
             /**
              * The native method strategy to apply.
              */
@@ -12542,6 +14896,11 @@ public interface AgentBuilder {
              */
             private final InstallationListener installationListener;
 
+            /**
+             * The prefilter to apply before resolving an instrumented type's description.
+             */
+            private final Prefilter prefilter;
+
             /**
              * Identifies types that should not be instrumented.
              */
@@ -12557,6 +14916,11 @@ public interface AgentBuilder {
              */
             private final List<Transformation> transformations;
 
+            /**
+             * An index of the transformations by the names of the types that they might match.
+             */
+            private final NameIndex<Transformation> index;
+
             /**
              * A lock that prevents circular class transformations.
              */
@@ -12569,11 +14933,17 @@ public interface AgentBuilder {
             @MaybeNull
             private final Object accessControlContext;
 
+            /**
+             * A mapping of types that are about to be redefined to their precomputed class files.
+             */
+            private final ConcurrentMap<Class<?>, Precomputed> precomputed;
+
             /**
              * Creates a new class file transformer.
              *
              * @param byteBuddy                     The Byte Buddy instance to be used.
              * @param listener                      The listener to notify on transformations.
+             * @param phaseListener                 The phase listener to notify about the timings of transformations.
              * @param poolStrategy                  The pool strategy to use.
              * @param typeStrategy                  The definition handler to use.
              * @param locationStrategy              The location strategy to use.
@@ -12587,12 +14957,14 @@ public interface AgentBuilder {
              * @param installationListener          The installation listener to notify.
              * @param classFileBufferStrategy       The class file buffer strategy to use.
              * @param ignoreMatcher                 Identifies types that should not be instrumented.
+             * @param prefilter                     The prefilter to apply before resolving an instrumented type's description.
              * @param resubmissionEnforcer          The resubmission enforcer to use.
              * @param transformations               The transformations to apply on non-ignored types.
              * @param circularityLock               The circularity lock to use.
              */
             public ExecutingTransformer(ByteBuddy byteBuddy,
                                         Listener listener,
+                                        PhaseListener phaseListener,
                                         PoolStrategy poolStrategy,
                                         TypeStrategy typeStrategy,
                                         LocationStrategy locationStrategy,
@@ -12606,6 +14978,7 @@ public interface AgentBuilder {
                                         ClassFileBufferStrategy classFileBufferStrategy,
                                         InstallationListener installationListener,
                                         RawMatcher ignoreMatcher,
+                                        Prefilter prefilter,
                                         RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
                                         List<Transformation> transformations,
                                         CircularityLock circularityLock) {
@@ -12615,6 +14988,9 @@ public interface AgentBuilder {
                 this.locationStrategy = locationStrategy;
                 this.classFileLocator = classFileLocator;
                 this.listener = listener;
+                this.phaseListener = phaseListener;
+                timed = !(phaseListener instanceof PhaseListener.NoOp)
+                        && !(phaseListener instanceof PhaseListener.Compound && ((PhaseListener.Compound) phaseListener).isEmpty());
                 this.nativeMethodStrategy = nativeMethodStrategy;
                 this.initializationStrategy = initializationStrategy;
                 this.injectionStrategy = injectionStrategy;
@@ -12623,11 +14999,14 @@ public interface AgentBuilder {
                 this.fallbackStrategy = fallbackStrategy;
                 this.classFileBufferStrategy = classFileBufferStrategy;
                 this.installationListener = installationListener;
+                this.prefilter = prefilter;
                 this.ignoreMatcher = ignoreMatcher;
                 this.resubmissionEnforcer = resubmissionEnforcer;
                 this.transformations = transformations;
                 this.circularityLock = circularityLock;
+                index = Transformation.index(transformations);
                 accessControlContext = getContext();
+                precomputed = new ConcurrentHashMap<Class<?>, Precomputed>();
             }
 
             /**
@@ -12678,6 +15057,34 @@ public interface AgentBuilder {
                 }
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public void precompute(Class<?> type, byte[] binaryRepresentation) {
+                if (!circularityLock.acquire()) {
+                    return; // The type is transformed by the redefining thread if no result is precomputed.
+                }
+                byte[] transformed;
+                try {
+                    JavaModule module = JavaModule.ofType(type);
+                    transformed = doPrivileged(module == null
+                            ? new LegacyVmDispatcher(type.getClassLoader(), Type.getInternalName(type), type, type.getProtectionDomain(), binaryRepresentation)
+                            : new Java9CapableVmDispatcher(module.unwrap(), type.getClassLoader(), Type.getInternalName(type), type, type.getProtectionDomain(), binaryRepresentation), accessControlContext);
+                } catch (Throwable ignored) {
+                    transformed = NO_TRANSFORMATION; // The error was already reported to the listener what is equal to an exception that is discarded by the JVM.
+                } finally {
+                    circularityLock.release();
+                }
+                precomputed.put(type, new Precomputed(binaryRepresentation, transformed));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void discard(Class<?> type) {
+                precomputed.remove(type);
+            }
+
             /**
              * Applies a transformation for a class that was captured by this {@link ClassFileTransformer}. Invoking this method
              * allows to process module information which is available since Java 9.
@@ -12733,10 +15140,16 @@ public interface AgentBuilder {
                                      byte[] binaryRepresentation) {
                 if (internalName == null || !lambdaInstrumentationStrategy.isInstrumented(classBeingRedefined)) {
                     return NO_TRANSFORMATION;
+                } else if (classBeingRedefined != null && !precomputed.isEmpty()) {
+                    Precomputed precomputed = this.precomputed.remove(classBeingRedefined);
+                    if (precomputed != null && precomputed.isApplicable(binaryRepresentation)) {
+                        return precomputed.getTransformed();
+                    }
                 }
                 String name = internalName.replace('/', '.');
                 try {
-                    if (resubmissionEnforcer.isEnforced(name, classLoader, module, classBeingRedefined)) {
+                    if (!isCandidate(module, classLoader, name, classBeingRedefined, binaryRepresentation)
+                            || resubmissionEnforcer.isEnforced(name, classLoader, module, classBeingRedefined)) {
                         return NO_TRANSFORMATION;
                     }
                 } catch (Throwable throwable) {
@@ -12772,6 +15185,33 @@ public interface AgentBuilder {
                 }
             }
 
+            /**
+             * Applies the prefilter to determine if a class is a candidate for a transformation. The prefilter is only
+             * timed if a phase listener is registered.
+             *
+             * @param module               The instrumented class's Java module in its wrapped form or {@code null} if the current VM does not support modules.
+             * @param classLoader          The instrumented class's class loader.
+             * @param name                 The binary name of the instrumented class.
+             * @param classBeingRedefined  The loaded {@link Class} being redefined or {@code null} if no such class exists.
+             * @param binaryRepresentation The class file of the instrumented class in its current state.
+             * @return {@code true} if the instrumented class is a candidate for a transformation.
+             */
+            private boolean isCandidate(@MaybeNull JavaModule module,
+                                        @MaybeNull ClassLoader classLoader,
+                                        String name,
+                                        @MaybeNull Class<?> classBeingRedefined,
+                                        byte[] binaryRepresentation) {
+                if (!timed) {
+                    return prefilter.isCandidate(name, classLoader, module, classBeingRedefined, binaryRepresentation);
+                }
+                long time = System.nanoTime();
+                try {
+                    return prefilter.isCandidate(name, classLoader, module, classBeingRedefined, binaryRepresentation);
+                } finally {
+                    onPhase(PhaseListener.Phase.PREFILTERING, name, classLoader, module, classBeingRedefined != null, time);
+                }
+            }
+
             /**
              * Applies a transformation for a class that was captured by this {@link ClassFileTransformer}.
              *
@@ -12794,39 +15234,95 @@ public interface AgentBuilder {
                                        @MaybeNull ProtectionDomain protectionDomain,
                                        TypePool typePool,
                                        ClassFileLocator classFileLocator) {
-                TypeDescription typeDescription = descriptionStrategy.apply(name, classBeingRedefined, typePool, circularityLock, classLoader, module);
+                long time = timed ? System.nanoTime() : 0L;
+                TypeDescription typeDescription;
+                try {
+                    typeDescription = descriptionStrategy.apply(name, classBeingRedefined, typePool, circularityLock, classLoader, module);
+                } finally {
+                    time = onPhase(PhaseListener.Phase.TYPE_RESOLUTION, name, classLoader, module, loaded, time);
+                }
                 List<Transformer> transformers = new ArrayList<Transformer>();
-                if (!ignoreMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
-                    for (Transformation transformation : transformations) {
-                        if (transformation.getMatcher().matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
-                            transformers.addAll(transformation.getTransformers());
-                            if (transformation.isTerminal()) {
-                                break;
+                boolean ignored;
+                try {
+                    ignored = ignoreMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+                } finally {
+                    time = onPhase(PhaseListener.Phase.IGNORE_MATCHING, name, classLoader, module, loaded, time);
+                }
+                if (!ignored) {
+                    try {
+                        for (Transformation transformation : index.resolve(typeDescription.getActualName())) {
+                            if (transformation.getMatcher().matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
+                                transformers.addAll(transformation.getTransformers());
+                                if (transformation.isTerminal()) {
+                                    break;
+                                }
                             }
                         }
+                    } finally {
+                        time = onPhase(PhaseListener.Phase.TYPE_MATCHING, name, classLoader, module, loaded, time);
                     }
                 }
                 if (transformers.isEmpty()) {
                     listener.onIgnored(typeDescription, classLoader, module, loaded);
                     return Transformation.NONE;
                 }
-                DynamicType.Builder<?> builder = typeStrategy.builder(typeDescription,
-                        byteBuddy,
-                        classFileLocator,
-                        nativeMethodStrategy.resolve(),
-                        classLoader,
-                        module,
-                        protectionDomain);
                 InitializationStrategy.Dispatcher dispatcher = initializationStrategy.dispatcher();
-                for (Transformer transformer : transformers) {
-                    builder = transformer.transform(builder, typeDescription, classLoader, module, protectionDomain);
+                DynamicType.Builder<?> builder;
+                try {
+                    builder = typeStrategy.builder(typeDescription,
+                            byteBuddy,
+                            classFileLocator,
+                            nativeMethodStrategy.resolve(),
+                            classLoader,
+                            module,
+                            protectionDomain);
+                    for (Transformer transformer : transformers) {
+                        builder = transformer.transform(builder, typeDescription, classLoader, module, protectionDomain);
+                    }
+                } finally {
+                    time = onPhase(PhaseListener.Phase.TRANSFORMER_APPLICATION, name, classLoader, module, loaded, time);
+                }
+                DynamicType.Unloaded<?> dynamicType;
+                try {
+                    dynamicType = dispatcher.apply(builder).make(TypeResolutionStrategy.Disabled.INSTANCE, typePool);
+                } finally {
+                    time = onPhase(PhaseListener.Phase.TYPE_CREATION, name, classLoader, module, loaded, time);
+                }
+                try {
+                    dispatcher.register(dynamicType, classLoader, protectionDomain, injectionStrategy);
+                } finally {
+                    onPhase(PhaseListener.Phase.TYPE_REGISTRATION, name, classLoader, module, loaded, time);
                 }
-                DynamicType.Unloaded<?> dynamicType = dispatcher.apply(builder).make(TypeResolutionStrategy.Disabled.INSTANCE, typePool);
-                dispatcher.register(dynamicType, classLoader, protectionDomain, injectionStrategy);
                 listener.onTransformation(typeDescription, classLoader, module, loaded, dynamicType);
                 return dynamicType.getBytes();
             }
 
+            /**
+             * Notifies the phase listener about the completion of a phase. If no phase listener is registered, the
+             * phase is not timed and the supplied time is returned unchanged.
+             *
+             * @param phase       The phase that was completed.
+             * @param name        The binary name of the instrumented class.
+             * @param classLoader The instrumented class's class loader.
+             * @param module      The instrumented class's Java module in its wrapped form or {@code null} if the current VM does not support modules.
+             * @param loaded      {@code true} if the instrumented type is loaded.
+             * @param time        The value of {@link System#nanoTime()} when the phase was started.
+             * @return The value of {@link System#nanoTime()} when the phase was completed.
+             */
+            private long onPhase(PhaseListener.Phase phase,
+                                 String name,
+                                 @MaybeNull ClassLoader classLoader,
+                                 @MaybeNull JavaModule module,
+                                 boolean loaded,
+                                 long time) {
+                if (!timed) {
+                    return time;
+                }
+                long completed = System.nanoTime();
+                phaseListener.onPhase(phase, name, classLoader, module, loaded, completed - time);
+                return completed;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -12837,7 +15333,7 @@ public interface AgentBuilder {
                                                   @MaybeNull ProtectionDomain protectionDomain) {
                 return ignoreMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)
                         ? Collections.<Transformer>emptySet().iterator()
-                        : new Transformation.TransformerIterator(typeDescription, classLoader, module, classBeingRedefined, protectionDomain, transformations);
+                        : new Transformation.TransformerIterator(typeDescription, classLoader, module, classBeingRedefined, protectionDomain, index.resolve(typeDescription.getActualName()));
             }
 
             /**
@@ -12861,7 +15357,8 @@ public interface AgentBuilder {
                             redefinitionListener,
                             new Transformation.SimpleMatcher(ignoreMatcher, transformations),
                             redefinitionBatchAllocator,
-                            CircularityLock.Inactive.INSTANCE);
+                            CircularityLock.Inactive.INSTANCE,
+                            RedefinitionStrategy.Precomputation.Dispatcher.Disabled.INSTANCE);
                     installationListener.onReset(instrumentation, classFileTransformer);
                     return true;
                 } else {
@@ -12871,6 +15368,56 @@ public interface AgentBuilder {
 
             /* does not implement hashCode and equals in order to align with identity treatment of the JVM */
 
+            /**
+             * A precomputed class file of a type that is about to be redefined.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Precomputed {
+
+                /**
+                 * The class file that is expected to be supplied when the type is redefined.
+                 */
+                private final byte[] binaryRepresentation;
+
+                /**
+                 * The transformed class file or {@code null} if the type is not transformed.
+                 */
+                @MaybeNull
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.REVERSE_NULLABILITY)
+                private final byte[] transformed;
+
+                /**
+                 * Creates a new precomputed class file.
+                 *
+                 * @param binaryRepresentation The class file that is expected to be supplied when the type is redefined.
+                 * @param transformed          The transformed class file or {@code null} if the type is not transformed.
+                 */
+                protected Precomputed(byte[] binaryRepresentation, @MaybeNull byte[] transformed) {
+                    this.binaryRepresentation = binaryRepresentation;
+                    this.transformed = transformed;
+                }
+
+                /**
+                 * Determines if this precomputed class file is applicable for the supplied class file.
+                 *
+                 * @param binaryRepresentation The class file that is supplied to the class file transformer.
+                 * @return {@code true} if this precomputed class file was computed from an identical class file.
+                 */
+                protected boolean isApplicable(byte[] binaryRepresentation) {
+                    return Arrays.equals(this.binaryRepresentation, binaryRepresentation);
+                }
+
+                /**
+                 * Returns the transformed class file.
+                 *
+                 * @return The transformed class file or {@code null} if the type is not transformed.
+                 */
+                @MaybeNull
+                protected byte[] getTransformed() {
+                    return transformed;
+                }
+            }
+
             /**
              * A factory for creating a {@link ClassFileTransformer} for the current VM.
              */
@@ -12881,6 +15428,7 @@ public interface AgentBuilder {
                  *
                  * @param byteBuddy                     The Byte Buddy instance to be used.
                  * @param listener                      The listener to notify on transformations.
+                 * @param phaseListener                 The phase listener to notify about the timings of transformations.
                  * @param poolStrategy                  The pool strategy to use.
                  * @param typeStrategy                  The definition handler to use.
                  * @param locationStrategy              The location strategy to use.
@@ -12894,6 +15442,7 @@ public interface AgentBuilder {
                  * @param classFileBufferStrategy       The class file buffer strategy to use.
                  * @param installationListener          The installation listener to notify.
                  * @param ignoreMatcher                 Identifies types that should not be instrumented.
+                 * @param prefilter                     The prefilter to apply before resolving an instrumented type's description.
                  * @param resubmissionEnforcer          The resubmission enforcer to use.
                  * @param transformations               The transformations to apply on non-ignored types.
                  * @param circularityLock               The circularity lock to use.
@@ -12901,6 +15450,7 @@ public interface AgentBuilder {
                  */
                 ResettableClassFileTransformer make(ByteBuddy byteBuddy,
                                                     Listener listener,
+                                                    PhaseListener phaseListener,
                                                     PoolStrategy poolStrategy,
                                                     TypeStrategy typeStrategy,
                                                     LocationStrategy locationStrategy,
@@ -12914,6 +15464,7 @@ public interface AgentBuilder {
                                                     ClassFileBufferStrategy classFileBufferStrategy,
                                                     InstallationListener installationListener,
                                                     RawMatcher ignoreMatcher,
+                                                    Prefilter prefilter,
                                                     RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
                                                     List<Transformation> transformations,
                                                     CircularityLock circularityLock);
@@ -12952,6 +15503,7 @@ public interface AgentBuilder {
                                     .getLoaded()
                                     .getDeclaredConstructor(ByteBuddy.class,
                                             Listener.class,
+                                            PhaseListener.class,
                                             PoolStrategy.class,
                                             TypeStrategy.class,
                                             LocationStrategy.class,
@@ -12965,6 +15517,7 @@ public interface AgentBuilder {
                                             ClassFileBufferStrategy.class,
                                             InstallationListener.class,
                                             RawMatcher.class,
+                                            Prefilter.class,
                                             RedefinitionStrategy.ResubmissionEnforcer.class,
                                             List.class,
                                             CircularityLock.class));
@@ -13002,6 +15555,7 @@ public interface AgentBuilder {
                      */
                     public ResettableClassFileTransformer make(ByteBuddy byteBuddy,
                                                                Listener listener,
+                                                               PhaseListener phaseListener,
                                                                PoolStrategy poolStrategy,
                                                                TypeStrategy typeStrategy,
                                                                LocationStrategy locationStrategy,
@@ -13015,12 +15569,14 @@ public interface AgentBuilder {
                                                                ClassFileBufferStrategy classFileBufferStrategy,
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoreMatcher,
+                                                               Prefilter prefilter,
                                                                RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
                                                                List<Transformation> transformations,
                                                                CircularityLock circularityLock) {
                         try {
                             return executingTransformer.newInstance(byteBuddy,
                                     listener,
+                                    phaseListener,
                                     poolStrategy,
                                     typeStrategy,
                                     locationStrategy,
@@ -13034,6 +15590,7 @@ public interface AgentBuilder {
                                     classFileBufferStrategy,
                                     installationListener,
                                     ignoreMatcher,
+                                    prefilter,
                                     resubmissionEnforcer,
                                     transformations,
                                     circularityLock);
@@ -13062,6 +15619,7 @@ public interface AgentBuilder {
                      */
                     public ResettableClassFileTransformer make(ByteBuddy byteBuddy,
                                                                Listener listener,
+                                                               PhaseListener phaseListener,
                                                                PoolStrategy poolStrategy,
                                                                TypeStrategy typeStrategy,
                                                                LocationStrategy locationStrategy,
@@ -13075,11 +15633,13 @@ public interface AgentBuilder {
                                                                ClassFileBufferStrategy classFileBufferStrategy,
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoreMatcher,
+                                                               Prefilter prefilter,
                                                                RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
                                                                List<Transformation> transformations,
                                                                CircularityLock circularityLock) {
                         return new ExecutingTransformer(byteBuddy,
                                 listener,
+                                phaseListener,
                                 poolStrategy,
                                 typeStrategy,
                                 locationStrategy,
@@ -13093,6 +15653,7 @@ public interface AgentBuilder {
                                 classFileBufferStrategy,
                                 installationListener,
                                 ignoreMatcher,
+                                prefilter,
                                 resubmissionEnforcer,
                                 transformations,
                                 circularityLock);
@@ -13283,6 +15844,13 @@ public interface AgentBuilder {
                 return materialize().with(listener);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(PhaseListener phaseListener) {
+                return materialize().with(phaseListener);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -13304,6 +15872,13 @@ public interface AgentBuilder {
                 return materialize().with(poolStrategy);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(Prefilter prefilter) {
+                return materialize().with(prefilter);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -13660,6 +16235,7 @@ public interface AgentBuilder {
             protected AgentBuilder materialize() {
                 return new Default(byteBuddy,
                         listener,
+                        phaseListener,
                         circularityLock,
                         poolStrategy,
                         typeStrategy,
@@ -13674,12 +16250,14 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        prefilter,
                         rawMatcher,
                         transformations);
             }
@@ -13739,6 +16317,7 @@ public interface AgentBuilder {
             protected AgentBuilder materialize() {
                 return new Default(byteBuddy,
                         listener,
+                        phaseListener,
                         circularityLock,
                         poolStrategy,
                         typeStrategy,
@@ -13753,12 +16332,14 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        prefilter,
                         ignoreMatcher,
                         CompoundList.of(transformations, new Transformation(rawMatcher, transformers, terminal)));
             }
@@ -13802,6 +16383,7 @@ public interface AgentBuilder {
              *
              * @param byteBuddy                        The Byte Buddy instance to be used.
              * @param listener                         The listener to notify on transformations.
+             * @param phaseListener                    The phase listener to notify about the timings of transformations.
              * @param circularityLock                  The circularity lock to use.
              * @param poolStrategy                     The pool strategy to use.
              * @param typeStrategy                     The definition handler to use.
@@ -13816,6 +16398,7 @@ public interface AgentBuilder {
              * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
              * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
              * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
+             * @param redefinitionPrecomputation       The precomputation to apply for redefinitions.
              * @param injectionStrategy                The injection strategy to use.
              * @param lambdaInstrumentationStrategy    A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
              *                                         instrumentation of classes that represent lambda expressions.
@@ -13823,11 +16406,13 @@ public interface AgentBuilder {
              * @param fallbackStrategy                 The fallback strategy to apply.
              * @param classFileBufferStrategy          The class file buffer strategy to use.
              * @param installationListener             The installation listener to notify.
+             * @param prefilter                        The prefilter to apply before resolving an instrumented type's description.
              * @param ignoreMatcher                    Identifies types that should not be instrumented.
              * @param transformations                  The transformations to apply on non-ignored types.
              */
             protected Redefining(ByteBuddy byteBuddy,
                                  Listener listener,
+                                 PhaseListener phaseListener,
                                  CircularityLock circularityLock,
                                  PoolStrategy poolStrategy,
                                  TypeStrategy typeStrategy,
@@ -13842,16 +16427,19 @@ public interface AgentBuilder {
                                  RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                                  RedefinitionStrategy.Listener redefinitionListener,
                                  RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
+                                 RedefinitionStrategy.Precomputation redefinitionPrecomputation,
                                  InjectionStrategy injectionStrategy,
                                  LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
                                  DescriptionStrategy descriptionStrategy,
                                  FallbackStrategy fallbackStrategy,
                                  ClassFileBufferStrategy classFileBufferStrategy,
                                  InstallationListener installationListener,
+                                 Prefilter prefilter,
                                  RawMatcher ignoreMatcher,
                                  List<Transformation> transformations) {
                 super(byteBuddy,
                         listener,
+                        phaseListener,
                         circularityLock,
                         poolStrategy,
                         typeStrategy,
@@ -13866,12 +16454,14 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        prefilter,
                         ignoreMatcher,
                         transformations);
             }
@@ -13885,6 +16475,7 @@ public interface AgentBuilder {
                 }
                 return new Redefining(byteBuddy,
                         listener,
+                        phaseListener,
                         circularityLock,
                         poolStrategy,
                         typeStrategy,
@@ -13899,12 +16490,14 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        prefilter,
                         ignoreMatcher,
                         transformations);
             }
@@ -13925,6 +16518,7 @@ public interface AgentBuilder {
                 }
                 return new Redefining(byteBuddy,
                         listener,
+                        phaseListener,
                         circularityLock,
                         poolStrategy,
                         typeStrategy,
@@ -13939,12 +16533,14 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        prefilter,
                         ignoreMatcher,
                         transformations);
             }
@@ -13958,6 +16554,7 @@ public interface AgentBuilder {
                 }
                 return new Redefining(byteBuddy,
                         listener,
+                        phaseListener,
                         circularityLock,
                         poolStrategy,
                         typeStrategy,
@@ -13972,12 +16569,50 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         new RedefinitionStrategy.Listener.Compound(this.redefinitionListener, redefinitionListener),
                         redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
+                        injectionStrategy,
+                        lambdaInstrumentationStrategy,
+                        descriptionStrategy,
+                        fallbackStrategy,
+                        classFileBufferStrategy,
+                        installationListener,
+                        prefilter,
+                        ignoreMatcher,
+                        transformations);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public RedefinitionListenable with(RedefinitionStrategy.Precomputation redefinitionPrecomputation) {
+                if (!redefinitionStrategy.isEnabled()) {
+                    throw new IllegalStateException("Cannot set redefinition precomputation when redefinition is disabled");
+                }
+                return new Redefining(byteBuddy,
+                        listener,
+                        phaseListener,
+                        circularityLock,
+                        poolStrategy,
+                        typeStrategy,
+                        locationStrategy,
+                        classFileLocator,
+                        nativeMethodStrategy,
+                        warmupStrategy,
+                        transformerDecorator,
+                        initializationStrategy,
+                        redefinitionStrategy,
+                        redefinitionDiscoveryStrategy,
+                        redefinitionBatchAllocator,
+                        redefinitionListener,
+                        redefinitionResubmissionStrategy,
+                        redefinitionPrecomputation,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        prefilter,
                         ignoreMatcher,
                         transformations);
             }
@@ -14033,6 +16668,7 @@ public interface AgentBuilder {
                 protected AgentBuilder materialize() {
                     return new Default(byteBuddy,
                             listener,
+                            phaseListener,
                             circularityLock,
                             poolStrategy,
                             typeStrategy,
@@ -14047,12 +16683,14 @@ public interface AgentBuilder {
                             redefinitionBatchAllocator,
                             redefinitionListener,
                             new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, resubmissionOnErrorMatcher, resubmissionImmediateMatcher),
+                            redefinitionPrecomputation,
                             injectionStrategy,
                             lambdaInstrumentationStrategy,
                             descriptionStrategy,
                             fallbackStrategy,
                             classFileBufferStrategy,
                             installationListener,
+                            prefilter,
                             ignoreMatcher,
                             transformations);
                 }
@@ -20,40 +20,59 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.modifier.FieldManifestation;
 import net.bytebuddy.description.modifier.FieldPersistence;
 import net.bytebuddy.description.modifier.Ownership;
 import net.bytebuddy.description.modifier.SyntheticState;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.TypeValidation;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.StackSize;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.ClassConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.JavaType;
 import net.bytebuddy.utility.RandomString;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
+import java.io.IOException;
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static net.bytebuddy.matcher.ElementMatchers.declaresMethod;
 import static net.bytebuddy.matcher.ElementMatchers.is;
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
 import static net.bytebuddy.matcher.ElementMatchers.isBridge;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 /**
  * A plugin that caches the return value of a method in a synthetic field. The caching mechanism is not thread-safe but can be used in a
@@ -61,7 +80,10 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
  * the method is executed multiple times by different threads but at the same time, this approach avoids a {@code volatile} field
  * declaration. For methods with a primitive return type, the type's default value is used to indicate that a method was not yet invoked.
  * For methods that return a reference type, {@code null} is used as an indicator. If a method returns such a value, this mechanism will
- * not work. This plugin does not need to be closed.
+ * not work. If a method is cached in a thread-safe manner, the cached value is stored in a {@code volatile} field, or by an
+ * {@link AtomicReference} for a static method, and a value of a reference type is published by a compare-and-swap operation such that
+ * all threads observe the same value, even if the method might be executed concurrently by different threads. This plugin does not
+ * need to be closed.
  */
 @HashCodeAndEqualsPlugin.Enhance
 public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plugin.Factory {
@@ -71,13 +93,29 @@ public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plug
      */
     private static final String NAME_INFIX = "_";
 
+    /**
+     * The suffix of a field that stores the updater of a field that is cached in a thread-safe manner.
+     */
+    private static final String UPDATER_SUFFIX = "_updater";
+
     /**
      * A description of the {@link Enhance#value()} method.
      */
-    private static final MethodDescription.InDefinedShape ENHANCE_VALUE = TypeDescription.ForLoadedType.of(Enhance.class)
-            .getDeclaredMethods()
-            .filter(named("value"))
-            .getOnly();
+    private static final MethodDescription.InDefinedShape ENHANCE_VALUE;
+
+    /**
+     * A description of the {@link Enhance#threadSafe()} method.
+     */
+    private static final MethodDescription.InDefinedShape ENHANCE_THREAD_SAFE;
+
+    /*
+     * Resolves the annotation properties.
+     */
+    static {
+        MethodList<MethodDescription.InDefinedShape> methods = TypeDescription.ForLoadedType.of(Enhance.class).getDeclaredMethods();
+        ENHANCE_VALUE = methods.filter(named("value")).getOnly();
+        ENHANCE_THREAD_SAFE = methods.filter(named("threadSafe")).getOnly();
+    }
 
     /**
      * {@code true} if existing fields should be ignored if the field name was explicitly given.
@@ -129,14 +167,61 @@ public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plug
             } else if (methodDescription.getReturnType().represents(void.class)) {
                 throw new IllegalStateException("Cannot cache void result for " + methodDescription);
             }
-            String name = methodDescription.getDeclaredAnnotations().ofType(Enhance.class)
-                    .getValue(ENHANCE_VALUE)
-                    .resolve(String.class);
+            AnnotationDescription annotation = methodDescription.getDeclaredAnnotations().ofType(Enhance.class);
+            String name = annotation.getValue(ENHANCE_VALUE).resolve(String.class);
             if (name.length() == 0) {
                 name = methodDescription.getName() + NAME_INFIX + randomString.nextString();
             } else if (ignoreExistingFields && !typeDescription.getDeclaredFields().filter(named(name)).isEmpty()) {
                 return builder;
             }
+            if (annotation.getValue(ENHANCE_THREAD_SAFE).resolve(Boolean.class)) {
+                if (methodDescription.isStatic() && !methodDescription.getReturnType().isPrimitive()) {
+                    FieldDescription fieldDescription = new FieldDescription.Latent(typeDescription,
+                            name,
+                            (typeDescription.isInterface() ? Opcodes.ACC_PUBLIC : Opcodes.ACC_PRIVATE) | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                            TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(AtomicReference.class),
+                            Collections.<AnnotationDescription>emptyList());
+                    builder = builder
+                            .defineField(name, AtomicReference.class, typeDescription.isInterface()
+                                    ? Visibility.PUBLIC
+                                    : Visibility.PRIVATE, Ownership.STATIC, FieldManifestation.FINAL, SyntheticState.SYNTHETIC)
+                            .initializer(new ByteCodeAppender.Simple(new StackManipulation.Compound(TypeCreation.of(fieldDescription.getType().asErasure()),
+                                    Duplication.SINGLE,
+                                    MethodInvocation.invoke(fieldDescription.getType().getDeclaredMethods().filter(isConstructor().and(takesArguments(0))).getOnly()),
+                                    FieldAccess.forField(fieldDescription).write())))
+                            .visit(StaticPublicationResolver.INSTANCE.toAdvice(name).on(is(methodDescription)));
+                } else if (methodDescription.isStatic()) {
+                    builder = builder
+                            .defineField(name, methodDescription.getReturnType().asErasure(), Ownership.STATIC, FieldManifestation.VOLATILE, Visibility.PRIVATE, SyntheticState.SYNTHETIC)
+                            .visit(AdviceResolver
+                                    .of(methodDescription.getReturnType())
+                                    .toAdvice(name).on(is(methodDescription)));
+                } else if (methodDescription.getReturnType().isPrimitive()) {
+                    builder = builder
+                            .defineField(name, methodDescription.getReturnType().asErasure(), FieldPersistence.TRANSIENT, FieldManifestation.VOLATILE, Visibility.PRIVATE, SyntheticState.SYNTHETIC)
+                            .visit(AdviceResolver
+                                    .of(methodDescription.getReturnType())
+                                    .toAdvice(name).on(is(methodDescription)));
+                } else {
+                    PublicationResolver publicationResolver = PublicationResolver.of(classFileVersionOf(typeDescription, classFileLocator));
+                    FieldDescription fieldDescription = new FieldDescription.Latent(typeDescription,
+                            name,
+                            Opcodes.ACC_PRIVATE | Opcodes.ACC_TRANSIENT | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC,
+                            methodDescription.getReturnType().asErasure().asGenericType(),
+                            Collections.<AnnotationDescription>emptyList());
+                    builder = builder
+                            .defineField(name, methodDescription.getReturnType().asErasure(), FieldPersistence.TRANSIENT, FieldManifestation.VOLATILE, Visibility.PRIVATE, SyntheticState.SYNTHETIC)
+                            .defineField(name + UPDATER_SUFFIX, publicationResolver.getFieldType(), Ownership.STATIC, FieldManifestation.FINAL, Visibility.PRIVATE, SyntheticState.SYNTHETIC)
+                            .initializer(new ByteCodeAppender.Simple(new StackManipulation.Compound(publicationResolver.toUpdater(fieldDescription),
+                                    FieldAccess.forField(new FieldDescription.Latent(typeDescription,
+                                            name + UPDATER_SUFFIX,
+                                            Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                                            publicationResolver.getFieldType().asGenericType(),
+                                            Collections.<AnnotationDescription>emptyList())).write())))
+                            .visit(publicationResolver.toAdvice(name, name + UPDATER_SUFFIX).on(is(methodDescription)));
+                }
+                continue;
+            }
             builder = builder
                     .defineField(name, methodDescription.getReturnType().asErasure(), methodDescription.isStatic()
                             ? Ownership.STATIC
@@ -150,6 +235,21 @@ public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plug
         return builder;
     }
 
+    /**
+     * Resolves the class file version of an instrumented type.
+     *
+     * @param typeDescription  The instrumented type.
+     * @param classFileLocator A class file locator for the instrumented type.
+     * @return The instrumented type's class file version or {@link ClassFileVersion#JAVA_V5} if it cannot be located.
+     */
+    private static ClassFileVersion classFileVersionOf(TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+        try {
+            return ClassFileVersion.of(typeDescription, classFileLocator);
+        } catch (IOException ignored) {
+            return ClassFileVersion.JAVA_V5;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -173,6 +273,17 @@ public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plug
          * @return The fields name or an empty string if the name should be generated randomly.
          */
         String value() default "";
+
+        /**
+         * Determines if the value should be cached in a thread-safe manner. The value is stored in a {@code volatile} field and a
+         * value of a reference type is published by a compare-and-swap operation. For a static method that returns a reference type,
+         * the value is stored by an {@link AtomicReference} in a static field. As a result, all threads observe the same value, even
+         * if the method is executed concurrently. If the method throws an exception, no value is cached and the method is executed
+         * again on its next invocation.
+         *
+         * @return {@code true} if the value should be cached in a thread-safe manner.
+         */
+        boolean threadSafe() default false;
     }
 
     /**
@@ -422,4 +533,307 @@ public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plug
             return new Target.ForField.ReadWrite(instrumentedType.getDeclaredFields().filter(named(name)).getOnly());
         }
     }
+
+    /**
+     * Indicates the field that stores the updater of a cached value.
+     */
+    @Target(ElementType.PARAMETER)
+    @Retention(RetentionPolicy.RUNTIME)
+    protected @interface CacheUpdater {
+        /* empty */
+    }
+
+    /**
+     * A resolver for {@link Advice} that publishes a method's return value of a reference type by a compare-and-swap operation.
+     */
+    protected enum PublicationResolver {
+
+        /**
+         * A resolver that uses a {@code java.lang.invoke.VarHandle} which is available from Java 9 on. As the type might not
+         * be available when applying the plugin, the updater is stored in a field of type {@link Object}.
+         */
+        VAR_HANDLE(TypeDescription.ForLoadedType.of(Object.class), JavaType.VAR_HANDLE.getTypeStub()) {
+            @Override
+            protected StackManipulation toUpdater(FieldDescription fieldDescription) {
+                return new StackManipulation.Compound(MethodInvocation.lookup(),
+                        ClassConstant.of(fieldDescription.getDeclaringType().asErasure()),
+                        new TextConstant(fieldDescription.getName()),
+                        ClassConstant.of(fieldDescription.getType().asErasure()),
+                        MethodInvocation.invoke(new MethodDescription.Latent(JavaType.METHOD_HANDLES_LOOKUP.getTypeStub(), new MethodDescription.Token("findVarHandle",
+                                Opcodes.ACC_PUBLIC,
+                                JavaType.VAR_HANDLE.getTypeStub().asGenericType(),
+                                new TypeList.Generic.Explicit(TypeDefinition.Sort.describe(Class.class),
+                                        TypeDefinition.Sort.describe(String.class),
+                                        TypeDefinition.Sort.describe(Class.class))))));
+            }
+        },
+
+        /**
+         * A resolver that uses an {@link AtomicReferenceFieldUpdater}.
+         */
+        FIELD_UPDATER(TypeDescription.ForLoadedType.of(AtomicReferenceFieldUpdater.class), TypeDescription.ForLoadedType.of(AtomicReferenceFieldUpdater.class)) {
+            @Override
+            protected StackManipulation toUpdater(FieldDescription fieldDescription) {
+                try {
+                    return new StackManipulation.Compound(ClassConstant.of(fieldDescription.getDeclaringType().asErasure()),
+                            ClassConstant.of(fieldDescription.getType().asErasure()),
+                            new TextConstant(fieldDescription.getName()),
+                            MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(AtomicReferenceFieldUpdater.class.getMethod("newUpdater",
+                                    Class.class,
+                                    Class.class,
+                                    String.class))));
+                } catch (NoSuchMethodException exception) {
+                    throw new IllegalStateException("Cannot resolve " + AtomicReferenceFieldUpdater.class.getName() + "#newUpdater", exception);
+                }
+            }
+        };
+
+        /**
+         * The type of the field that stores the updater.
+         */
+        private final TypeDescription fieldType;
+
+        /**
+         * The created dynamic type to use for advice.
+         */
+        private final DynamicType dynamicType;
+
+        /**
+         * Creates a publication resolver.
+         *
+         * @param fieldType   The type of the field that stores the updater.
+         * @param updaterType The type of the updater.
+         */
+        PublicationResolver(TypeDescription fieldType, TypeDescription updaterType) {
+            this.fieldType = fieldType;
+            dynamicType = new ByteBuddy(ClassFileVersion.JAVA_V6)
+                    .with(TypeValidation.DISABLED)
+                    .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                    .name(CachedReturnPlugin.class.getName() + "$Advice$" + this)
+                    .defineMethod("enter", Object.class, Ownership.STATIC)
+                    .withParameter(Object.class)
+                    .annotateParameter(AnnotationDescription.Builder.ofType(CachedReturnPlugin.CacheField.class).build())
+                    .intercept(new Implementation.Simple(
+                            MethodVariableAccess.REFERENCE.loadFrom(0),
+                            MethodReturn.REFERENCE
+                    ))
+                    .annotateMethod(AnnotationDescription.Builder.ofType(Advice.OnMethodEnter.class)
+                            .define("skipOn", Advice.OnNonDefaultValue.class)
+                            .build())
+                    .defineMethod("exit", void.class, Ownership.STATIC)
+                    .withParameter(Object.class)
+                    .annotateParameter(AnnotationDescription.Builder.ofType(Advice.Return.class)
+                            .define("readOnly", false)
+                            .define("typing", Assigner.Typing.DYNAMIC)
+                            .build())
+                    .withParameter(Object.class)
+                    .annotateParameter(AnnotationDescription.Builder.ofType(CachedReturnPlugin.CacheField.class).build())
+                    .withParameter(Object.class)
+                    .annotateParameter(AnnotationDescription.Builder.ofType(Advice.This.class).build())
+                    .withParameter(Object.class)
+                    .annotateParameter(AnnotationDescription.Builder.ofType(CachedReturnPlugin.CacheUpdater.class).build())
+                    .intercept(new Implementation.Simple(new ExitAdviceByteCodeAppender(updaterType.getInternalName())))
+                    .annotateMethod(AnnotationDescription.Builder.ofType(Advice.OnMethodExit.class).build())
+                    .make();
+        }
+
+        /**
+         * Resolves a publication resolver for a given class file version.
+         *
+         * @param classFileVersion The class file version of the instrumented type.
+         * @return An appropriate publication resolver.
+         */
+        protected static PublicationResolver of(ClassFileVersion classFileVersion) {
+            return classFileVersion.isAtLeast(ClassFileVersion.JAVA_V9)
+                    ? VAR_HANDLE
+                    : FIELD_UPDATER;
+        }
+
+        /**
+         * Returns the type of the field that stores the updater.
+         *
+         * @return The type of the field that stores the updater.
+         */
+        protected TypeDescription getFieldType() {
+            return fieldType;
+        }
+
+        /**
+         * Creates a stack manipulation that creates an updater for a given field.
+         *
+         * @param fieldDescription The field to update.
+         * @return A stack manipulation that creates an updater for the supplied field.
+         */
+        protected abstract StackManipulation toUpdater(FieldDescription fieldDescription);
+
+        /**
+         * Resolve advice for a given field name.
+         *
+         * @param name    The name of the field to resolve the advice for.
+         * @param updater The name of the field that stores the updater.
+         * @return An appropriate advice.
+         */
+        protected Advice toAdvice(String name, String updater) {
+            return Advice.withCustomMapping()
+                    .bind(CacheField.class, new CacheFieldOffsetMapping(name))
+                    .bind(CacheUpdater.class, new CacheFieldOffsetMapping(updater))
+                    .to(dynamicType.getTypeDescription(), dynamicType);
+        }
+
+        /**
+         * A byte code appender for the exit advice that publishes a value by a compare-and-swap operation.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class ExitAdviceByteCodeAppender implements ByteCodeAppender {
+
+            /**
+             * The internal name of the updater type.
+             */
+            private final String updater;
+
+            /**
+             * Creates a byte code appender for exit advice that publishes a value by a compare-and-swap operation.
+             *
+             * @param updater The internal name of the updater type.
+             */
+            protected ExitAdviceByteCodeAppender(String updater) {
+                this.updater = updater;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                Label complete = new Label(), uncached = new Label();
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                methodVisitor.visitJumpInsn(Opcodes.IFNULL, uncached);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, 0);
+                methodVisitor.visitJumpInsn(Opcodes.GOTO, complete);
+                methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                methodVisitor.visitLabel(uncached);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 3);
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, updater);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 2);
+                methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                        updater,
+                        "compareAndSet",
+                        Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class), Type.getType(Object.class), Type.getType(Object.class)),
+                        false);
+                methodVisitor.visitJumpInsn(Opcodes.IFNE, complete);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, 0);
+                methodVisitor.visitLabel(complete);
+                methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                methodVisitor.visitInsn(Opcodes.RETURN);
+                return new Size(4, instrumentedMethod.getStackSize());
+            }
+        }
+    }
+
+    /**
+     * A resolver for {@link Advice} that publishes the return value of a static method of a reference type by a
+     * compare-and-swap operation on an {@link AtomicReference} that is stored in a static field.
+     */
+    protected enum StaticPublicationResolver {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * The created dynamic type to use for advice.
+         */
+        private final DynamicType dynamicType;
+
+        /**
+         * Creates a static publication resolver.
+         */
+        StaticPublicationResolver() {
+            try {
+                dynamicType = new ByteBuddy(ClassFileVersion.JAVA_V6)
+                        .with(TypeValidation.DISABLED)
+                        .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                        .name(CachedReturnPlugin.class.getName() + "$Advice$Static")
+                        .defineMethod("enter", Object.class, Ownership.STATIC)
+                        .withParameter(AtomicReference.class)
+                        .annotateParameter(AnnotationDescription.Builder.ofType(CachedReturnPlugin.CacheField.class).build())
+                        .intercept(new Implementation.Simple(
+                                MethodVariableAccess.REFERENCE.loadFrom(0),
+                                MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(AtomicReference.class.getMethod("get"))),
+                                MethodReturn.REFERENCE
+                        ))
+                        .annotateMethod(AnnotationDescription.Builder.ofType(Advice.OnMethodEnter.class)
+                                .define("skipOn", Advice.OnNonDefaultValue.class)
+                                .build())
+                        .defineMethod("exit", void.class, Ownership.STATIC)
+                        .withParameter(Object.class)
+                        .annotateParameter(AnnotationDescription.Builder.ofType(Advice.Return.class)
+                                .define("readOnly", false)
+                                .define("typing", Assigner.Typing.DYNAMIC)
+                                .build())
+                        .withParameter(AtomicReference.class)
+                        .annotateParameter(AnnotationDescription.Builder.ofType(CachedReturnPlugin.CacheField.class).build())
+                        .intercept(new Implementation.Simple(ExitAdviceByteCodeAppender.INSTANCE))
+                        .annotateMethod(AnnotationDescription.Builder.ofType(Advice.OnMethodExit.class).build())
+                        .make();
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalStateException("Cannot resolve " + AtomicReference.class.getName() + "#get", exception);
+            }
+        }
+
+        /**
+         * Resolve advice for a given field name.
+         *
+         * @param name The name of the field that stores the {@link AtomicReference} to resolve the advice for.
+         * @return An appropriate advice.
+         */
+        protected Advice toAdvice(String name) {
+            return Advice.withCustomMapping()
+                    .bind(CacheField.class, new CacheFieldOffsetMapping(name))
+                    .to(dynamicType.getTypeDescription(), dynamicType);
+        }
+
+        /**
+         * A byte code appender for the exit advice that publishes a value by a compare-and-swap operation. If a value was
+         * already published, the compare-and-swap operation fails and the published value is returned instead.
+         */
+        protected enum ExitAdviceByteCodeAppender implements ByteCodeAppender {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                Label complete = new Label();
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                        Type.getInternalName(AtomicReference.class),
+                        "compareAndSet",
+                        Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class), Type.getType(Object.class)),
+                        false);
+                methodVisitor.visitJumpInsn(Opcodes.IFNE, complete);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                        Type.getInternalName(AtomicReference.class),
+                        "get",
+                        Type.getMethodDescriptor(Type.getType(Object.class)),
+                        false);
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, 0);
+                methodVisitor.visitLabel(complete);
+                methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                methodVisitor.visitInsn(Opcodes.RETURN);
+                return new Size(3, instrumentedMethod.getStackSize());
+            }
+        }
+    }
 }
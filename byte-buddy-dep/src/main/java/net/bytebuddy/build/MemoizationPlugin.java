@@ -0,0 +1,661 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.modifier.FieldPersistence;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.SyntheticState;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.RandomString;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static net.bytebuddy.matcher.ElementMatchers.declaresMethod;
+import static net.bytebuddy.matcher.ElementMatchers.is;
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.isBridge;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * <p>
+ * A plugin that memoizes the return value of a method with parameters in a bounded cache that is stored in synthetic fields.
+ * As a companion to the {@link CachedReturnPlugin}, which only caches methods without parameters, the return value is
+ * stored by the method's arguments. The cache is a direct-mapped table of a fixed size where an argument that is mapped
+ * to an occupied slot replaces the previous value. A single {@code int} or {@code long} argument is stored in a primitive
+ * array without boxing. A single argument of another type is used as a key directly, multiple arguments are combined as a
+ * {@link List}. Keys are compared by their {@link Object#equals(Object)} method.
+ * </p>
+ * <p>
+ * The cache of a static method is stored in a static field. The cache of a non-static method is stored in an instance field,
+ * unless the cache is {@link Enhance#shared()}. By default, the cache is thread-safe: every entry is stored as an immutable
+ * map such that a key is always published together with its value and concurrent access can at worst cause a value to be
+ * computed repeatedly. If {@link Enhance#threadSafe()} is disabled, keys and values are stored in separate arrays and
+ * primitive keys are not boxed. Such a cache must only be used from a single thread, as a concurrent reader might observe
+ * a key together with the value of another key. A {@code null} return value is never cached. This plugin does not need
+ * to be closed.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class MemoizationPlugin extends Plugin.ForElementMatcher implements Plugin.Factory {
+
+    /**
+     * An infix between a field and the random suffix.
+     */
+    private static final String NAME_INFIX = "_";
+
+    /**
+     * The suffix of a field that stores the keys of a cache.
+     */
+    private static final String KEYS_SUFFIX = "_keys";
+
+    /**
+     * The name of the local variable that stores a cache key between enter and exit advice.
+     */
+    private static final String KEY = "key";
+
+    /**
+     * The maximum size of a cache, the largest power of two that can be represented as an array length.
+     */
+    private static final int MAXIMUM_SIZE = 1 << 30;
+
+    /**
+     * A description of the {@link Enhance#size()} method.
+     */
+    private static final MethodDescription.InDefinedShape ENHANCE_SIZE;
+
+    /**
+     * A description of the {@link Enhance#shared()} method.
+     */
+    private static final MethodDescription.InDefinedShape ENHANCE_SHARED;
+
+    /**
+     * A description of the {@link Enhance#threadSafe()} method.
+     */
+    private static final MethodDescription.InDefinedShape ENHANCE_THREAD_SAFE;
+
+    /*
+     * Resolves the annotation properties.
+     */
+    static {
+        MethodList<MethodDescription.InDefinedShape> methods = TypeDescription.ForLoadedType.of(Enhance.class).getDeclaredMethods();
+        ENHANCE_SIZE = methods.filter(named("size")).getOnly();
+        ENHANCE_SHARED = methods.filter(named("shared")).getOnly();
+        ENHANCE_THREAD_SAFE = methods.filter(named("threadSafe")).getOnly();
+    }
+
+    /**
+     * A random string to use for avoid field name collisions.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final RandomString randomString;
+
+    /**
+     * Creates a plugin for memoizing method return values.
+     */
+    public MemoizationPlugin() {
+        super(declaresMethod(isAnnotatedWith(Enhance.class)));
+        randomString = new RandomString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Plugin make() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressFBWarnings(value = "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE", justification = "Annotation presence is required by matcher.")
+    public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+        for (MethodDescription.InDefinedShape methodDescription : typeDescription.getDeclaredMethods()
+                .filter(not(isBridge()).<MethodDescription>and(isAnnotatedWith(Enhance.class)))) {
+            if (methodDescription.isAbstract()) {
+                throw new IllegalStateException("Cannot memoize the value of an abstract method: " + methodDescription);
+            } else if (methodDescription.getParameters().isEmpty()) {
+                throw new IllegalStateException("Cannot memoize the value of a method without parameters, use the cached return plugin: " + methodDescription);
+            } else if (methodDescription.getReturnType().represents(void.class)) {
+                throw new IllegalStateException("Cannot memoize void result for " + methodDescription);
+            }
+            AnnotationDescription annotation = methodDescription.getDeclaredAnnotations().ofType(Enhance.class);
+            int size = annotation.getValue(ENHANCE_SIZE).resolve(Integer.class);
+            if (size < 1) {
+                throw new IllegalStateException("Cache size must be positive for " + methodDescription);
+            } else if (size > MAXIMUM_SIZE) {
+                throw new IllegalStateException("Cache size must not exceed " + MAXIMUM_SIZE + " for " + methodDescription);
+            }
+            size = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+            boolean threadSafe = annotation.getValue(ENHANCE_THREAD_SAFE).resolve(Boolean.class);
+            Ownership ownership = methodDescription.isStatic() || annotation.getValue(ENHANCE_SHARED).resolve(Boolean.class)
+                    ? Ownership.STATIC
+                    : Ownership.MEMBER;
+            String name = methodDescription.getName() + NAME_INFIX + randomString.nextString();
+            KeyResolver keyResolver = threadSafe ? KeyResolver.THREAD_SAFE : KeyResolver.of(methodDescription);
+            builder = builder.defineField(name, Object[].class, ownership, ownership == Ownership.STATIC
+                    ? FieldPersistence.PLAIN
+                    : FieldPersistence.TRANSIENT, Visibility.PRIVATE, SyntheticState.SYNTHETIC);
+            if (keyResolver.getKeys() != null) {
+                builder = builder.defineField(name + KEYS_SUFFIX, keyResolver.getKeys(), ownership, ownership == Ownership.STATIC
+                        ? FieldPersistence.PLAIN
+                        : FieldPersistence.TRANSIENT, Visibility.PRIVATE, SyntheticState.SYNTHETIC);
+            }
+            builder = builder.visit(Advice.withCustomMapping()
+                    .bind(CacheValues.class, new CachedReturnPlugin.CacheFieldOffsetMapping(name))
+                    .bind(CacheKeys.class, new CachedReturnPlugin.CacheFieldOffsetMapping(name + KEYS_SUFFIX))
+                    .bind(CacheKey.class, (Advice.OffsetMapping) KeyOffsetMapping.INSTANCE)
+                    .bind(CacheSize.class, size)
+                    .to(keyResolver.getAdvice())
+                    .on(is(methodDescription)));
+        }
+        return builder;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close() {
+        /* do nothing */
+    }
+
+    /**
+     * Indicates methods that should be memoized, i.e. where the return value is stored by the method's arguments in a
+     * bounded cache. For this to be possible, the method should compute its return value only from its arguments, and
+     * from the instance if the cache is not shared, and the returned value should not be altered.
+     */
+    @Documented
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Enhance {
+
+        /**
+         * The maximum number of memoized values. The size is rounded up to the next power of two and must not exceed {@code 2^30}.
+         *
+         * @return The maximum number of memoized values.
+         */
+        int size() default 64;
+
+        /**
+         * Determines if the cache of a non-static method should be stored in a static field and be shared among all instances.
+         * This is only correct if the method's return value does not depend on the instance.
+         *
+         * @return {@code true} if the cache of a non-static method should be shared among all instances.
+         */
+        boolean shared() default false;
+
+        /**
+         * Determines if the cache should be safe for concurrent use. Thread-safe caches do not use primitive keys and allocate an
+         * entry for every memoized value. A cache that is not thread-safe avoids this allocation but must only ever be accessed
+         * by a single thread, as a concurrent reader might otherwise receive the value of another key.
+         *
+         * @return {@code true} if the cache should be safe for concurrent use.
+         */
+        boolean threadSafe() default true;
+    }
+
+    /**
+     * Indicates the field that stores the memoized values.
+     */
+    @Target(ElementType.PARAMETER)
+    @Retention(RetentionPolicy.RUNTIME)
+    protected @interface CacheValues {
+        /* empty */
+    }
+
+    /**
+     * Indicates the field that stores the keys of the memoized values.
+     */
+    @Target(ElementType.PARAMETER)
+    @Retention(RetentionPolicy.RUNTIME)
+    protected @interface CacheKeys {
+        /* empty */
+    }
+
+    /**
+     * Indicates the key that represents the instrumented method's arguments.
+     */
+    @Target(ElementType.PARAMETER)
+    @Retention(RetentionPolicy.RUNTIME)
+    protected @interface CacheKey {
+        /* empty */
+    }
+
+    /**
+     * Indicates the size of the cache.
+     */
+    @Target(ElementType.PARAMETER)
+    @Retention(RetentionPolicy.RUNTIME)
+    protected @interface CacheSize {
+        /* empty */
+    }
+
+    /**
+     * A resolver for the advice that memoizes a method's return value.
+     */
+    protected enum KeyResolver {
+
+        /**
+         * A resolver for a single {@code int} argument.
+         */
+        INTEGER(int[].class, IntegerKeyAdvice.class),
+
+        /**
+         * A resolver for a single {@code long} argument.
+         */
+        LONG(long[].class, LongKeyAdvice.class),
+
+        /**
+         * A resolver for any other arguments.
+         */
+        REFERENCE(Object[].class, ReferenceKeyAdvice.class),
+
+        /**
+         * A resolver for a thread-safe cache.
+         */
+        THREAD_SAFE(null, ThreadSafeAdvice.class);
+
+        /**
+         * The type of the field that stores the keys or {@code null} if the keys are stored together with the values.
+         */
+        @MaybeNull
+        private final Class<?> keys;
+
+        /**
+         * The advice class to apply.
+         */
+        private final Class<?> advice;
+
+        /**
+         * Creates a new key resolver.
+         *
+         * @param keys   The type of the field that stores the keys or {@code null} if the keys are stored together with the values.
+         * @param advice The advice class to apply.
+         */
+        KeyResolver(@MaybeNull Class<?> keys, Class<?> advice) {
+            this.keys = keys;
+            this.advice = advice;
+        }
+
+        /**
+         * Resolves a key resolver for a method that is not memoized in a thread-safe manner.
+         *
+         * @param methodDescription The memoized method.
+         * @return An appropriate key resolver.
+         */
+        protected static KeyResolver of(MethodDescription methodDescription) {
+            if (methodDescription.getParameters().size() == 1) {
+                if (methodDescription.getParameters().getOnly().getType().represents(int.class)) {
+                    return INTEGER;
+                } else if (methodDescription.getParameters().getOnly().getType().represents(long.class)) {
+                    return LONG;
+                }
+            }
+            return REFERENCE;
+        }
+
+        /**
+         * Returns the type of the field that stores the keys or {@code null} if the keys are stored together with the values.
+         *
+         * @return The type of the field that stores the keys or {@code null} if the keys are stored together with the values.
+         */
+        @MaybeNull
+        protected Class<?> getKeys() {
+            return keys;
+        }
+
+        /**
+         * Returns the advice class to apply.
+         *
+         * @return The advice class to apply.
+         */
+        protected Class<?> getAdvice() {
+            return advice;
+        }
+    }
+
+    /**
+     * An offset mapping that represents the instrumented method's arguments as a single key. A single argument is
+     * represented by itself or by its wrapper type, multiple arguments are represented as a {@link List}.
+     */
+    protected enum KeyOffsetMapping implements Advice.OffsetMapping {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public Target resolve(TypeDescription instrumentedType,
+                              MethodDescription instrumentedMethod,
+                              Assigner assigner,
+                              Advice.ArgumentHandler argumentHandler,
+                              Sort sort) {
+            List<StackManipulation> reads = new ArrayList<StackManipulation>(instrumentedMethod.getParameters().size());
+            for (ParameterDescription parameterDescription : instrumentedMethod.getParameters()) {
+                StackManipulation assignment = assigner.assign(parameterDescription.getType(), TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class), Assigner.Typing.STATIC);
+                if (!assignment.isValid()) {
+                    throw new IllegalStateException("Cannot assign " + parameterDescription + " to " + Object.class.getName());
+                }
+                reads.add(new StackManipulation.Compound(
+                        MethodVariableAccess.of(parameterDescription.getType()).loadFrom(argumentHandler.argument(parameterDescription.getOffset())),
+                        assignment));
+            }
+            try {
+                return new Target.ForStackManipulation(reads.size() == 1
+                        ? reads.get(0)
+                        : new StackManipulation.Compound(ArrayFactory.forType(TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class)).withValues(reads),
+                        MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(Arrays.class.getMethod("asList", Object[].class)))));
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalStateException("Cannot resolve " + Arrays.class.getName() + "#asList", exception);
+            }
+        }
+    }
+
+    /**
+     * Advice for memoizing a method with a single {@code int} argument in a cache that is not thread-safe. The advice is
+     * inlined into the memoized method and must only reference types of the Java class library.
+     */
+    protected static class IntegerKeyAdvice {
+
+        /**
+         * A constructor to prohibit the instantiation of this class.
+         */
+        private IntegerKeyAdvice() {
+            throw new UnsupportedOperationException("This class is merely an advice template and should not be instantiated");
+        }
+
+        /**
+         * The enter advice.
+         *
+         * @param key    The method's argument.
+         * @param keys   The cached keys.
+         * @param values The cached values.
+         * @return The memoized value or {@code null} if no value is memoized.
+         */
+        @MaybeNull
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+        protected static Object enter(@Advice.Argument(0) int key, @CacheKeys int[] keys, @CacheValues Object[] values) {
+            if (values == null) {
+                return null;
+            }
+            int index = (key ^ key >>> 16) & (values.length - 1);
+            return keys[index] == key ? values[index] : null;
+        }
+
+        /**
+         * The exit advice.
+         *
+         * @param key      The method's argument.
+         * @param cached   The memoized value or {@code null} if no value is memoized.
+         * @param returned The returned value.
+         * @param keys     The cached keys.
+         * @param values   The cached values.
+         * @param size     The size of the cache.
+         */
+        @Advice.OnMethodExit
+        @SuppressFBWarnings(value = {"UC_USELESS_OBJECT", "IP_PARAMETER_IS_DEAD_BUT_OVERWRITTEN"}, justification = "Advice method serves as a template.")
+        protected static void exit(@Advice.Argument(0) int key,
+                                   @MaybeNull @Advice.Enter Object cached,
+                                   @MaybeNull @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object returned,
+                                   @CacheKeys int[] keys,
+                                   @CacheValues Object[] values,
+                                   @CacheSize int size) {
+            if (cached != null) {
+                returned = cached;
+            } else if (returned != null) {
+                if (values == null) {
+                    keys = new int[size];
+                    values = new Object[size];
+                }
+                int index = (key ^ key >>> 16) & (size - 1);
+                keys[index] = key;
+                values[index] = returned;
+            }
+        }
+    }
+
+    /**
+     * Advice for memoizing a method with a single {@code long} argument in a cache that is not thread-safe. The advice is
+     * inlined into the memoized method and must only reference types of the Java class library.
+     */
+    protected static class LongKeyAdvice {
+
+        /**
+         * A constructor to prohibit the instantiation of this class.
+         */
+        private LongKeyAdvice() {
+            throw new UnsupportedOperationException("This class is merely an advice template and should not be instantiated");
+        }
+
+        /**
+         * The enter advice.
+         *
+         * @param key    The method's argument.
+         * @param keys   The cached keys.
+         * @param values The cached values.
+         * @return The memoized value or {@code null} if no value is memoized.
+         */
+        @MaybeNull
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+        protected static Object enter(@Advice.Argument(0) long key, @CacheKeys long[] keys, @CacheValues Object[] values) {
+            if (values == null) {
+                return null;
+            }
+            int hash = (int) (key ^ key >>> 32);
+            int index = (hash ^ hash >>> 16) & (values.length - 1);
+            return keys[index] == key ? values[index] : null;
+        }
+
+        /**
+         * The exit advice.
+         *
+         * @param key      The method's argument.
+         * @param cached   The memoized value or {@code null} if no value is memoized.
+         * @param returned The returned value.
+         * @param keys     The cached keys.
+         * @param values   The cached values.
+         * @param size     The size of the cache.
+         */
+        @Advice.OnMethodExit
+        @SuppressFBWarnings(value = {"UC_USELESS_OBJECT", "IP_PARAMETER_IS_DEAD_BUT_OVERWRITTEN"}, justification = "Advice method serves as a template.")
+        protected static void exit(@Advice.Argument(0) long key,
+                                   @MaybeNull @Advice.Enter Object cached,
+                                   @MaybeNull @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object returned,
+                                   @CacheKeys long[] keys,
+                                   @CacheValues Object[] values,
+                                   @CacheSize int size) {
+            if (cached != null) {
+                returned = cached;
+            } else if (returned != null) {
+                if (values == null) {
+                    keys = new long[size];
+                    values = new Object[size];
+                }
+                int hash = (int) (key ^ key >>> 32);
+                int index = (hash ^ hash >>> 16) & (size - 1);
+                keys[index] = key;
+                values[index] = returned;
+            }
+        }
+    }
+
+    /**
+     * Advice for memoizing a method by a reference key in a cache that is not thread-safe. The advice is inlined into the
+     * memoized method and must only reference types of the Java class library.
+     */
+    protected static class ReferenceKeyAdvice {
+
+        /**
+         * A constructor to prohibit the instantiation of this class.
+         */
+        private ReferenceKeyAdvice() {
+            throw new UnsupportedOperationException("This class is merely an advice template and should not be instantiated");
+        }
+
+        /**
+         * The enter advice.
+         *
+         * @param argument The key that represents the method's arguments.
+         * @param key      The local variable to store the key.
+         * @param keys     The cached keys.
+         * @param values   The cached values.
+         * @return The memoized value or {@code null} if no value is memoized.
+         */
+        @MaybeNull
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+        @SuppressFBWarnings(value = "IP_PARAMETER_IS_DEAD_BUT_OVERWRITTEN", justification = "Advice method serves as a template.")
+        protected static Object enter(@MaybeNull @CacheKey Object argument,
+                                      @MaybeNull @Advice.Local(KEY) Object key,
+                                      @CacheKeys Object[] keys,
+                                      @CacheValues Object[] values) {
+            key = argument;
+            if (values == null) {
+                return null;
+            }
+            int hash = argument == null ? 0 : argument.hashCode();
+            int index = (hash ^ hash >>> 16) & (values.length - 1);
+            Object value = values[index];
+            return value != null && (argument == null ? keys[index] == null : argument.equals(keys[index])) ? value : null;
+        }
+
+        /**
+         * The exit advice.
+         *
+         * @param key      The key that represents the method's arguments.
+         * @param cached   The memoized value or {@code null} if no value is memoized.
+         * @param returned The returned value.
+         * @param keys     The cached keys.
+         * @param values   The cached values.
+         * @param size     The size of the cache.
+         */
+        @Advice.OnMethodExit
+        @SuppressFBWarnings(value = {"UC_USELESS_OBJECT", "IP_PARAMETER_IS_DEAD_BUT_OVERWRITTEN"}, justification = "Advice method serves as a template.")
+        protected static void exit(@MaybeNull @Advice.Local(KEY) Object key,
+                                   @MaybeNull @Advice.Enter Object cached,
+                                   @MaybeNull @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object returned,
+                                   @CacheKeys Object[] keys,
+                                   @CacheValues Object[] values,
+                                   @CacheSize int size) {
+            if (cached != null) {
+                returned = cached;
+            } else if (returned != null) {
+                if (values == null) {
+                    keys = new Object[size];
+                    values = new Object[size];
+                }
+                int hash = key == null ? 0 : key.hashCode();
+                int index = (hash ^ hash >>> 16) & (size - 1);
+                keys[index] = key;
+                values[index] = returned;
+            }
+        }
+    }
+
+    /**
+     * Advice for memoizing a method in a thread-safe manner. Every slot of the cache stores an immutable map with a single
+     * entry such that a key and its value are always published together. The advice is inlined into the memoized method
+     * and must only reference types of the Java class library.
+     */
+    protected static class ThreadSafeAdvice {
+
+        /**
+         * A constructor to prohibit the instantiation of this class.
+         */
+        private ThreadSafeAdvice() {
+            throw new UnsupportedOperationException("This class is merely an advice template and should not be instantiated");
+        }
+
+        /**
+         * The enter advice.
+         *
+         * @param argument The key that represents the method's arguments.
+         * @param key      The local variable to store the key.
+         * @param values   The cached entries.
+         * @return The memoized value or {@code null} if no value is memoized.
+         */
+        @MaybeNull
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+        @SuppressFBWarnings(value = "IP_PARAMETER_IS_DEAD_BUT_OVERWRITTEN", justification = "Advice method serves as a template.")
+        protected static Object enter(@MaybeNull @CacheKey Object argument,
+                                      @MaybeNull @Advice.Local(KEY) Object key,
+                                      @CacheValues Object[] values) {
+            key = argument;
+            Object[] entries = values;
+            if (entries == null) {
+                return null;
+            }
+            int hash = argument == null ? 0 : argument.hashCode();
+            Map<?, ?> entry = (Map<?, ?>) entries[(hash ^ hash >>> 16) & (entries.length - 1)];
+            return entry == null ? null : entry.get(argument);
+        }
+
+        /**
+         * The exit advice.
+         *
+         * @param key      The key that represents the method's arguments.
+         * @param cached   The memoized value or {@code null} if no value is memoized.
+         * @param returned The returned value.
+         * @param values   The cached entries.
+         * @param size     The size of the cache.
+         */
+        @Advice.OnMethodExit
+        @SuppressFBWarnings(value = {"UC_USELESS_OBJECT", "IP_PARAMETER_IS_DEAD_BUT_OVERWRITTEN"}, justification = "Advice method serves as a template.")
+        protected static void exit(@MaybeNull @Advice.Local(KEY) Object key,
+                                   @MaybeNull @Advice.Enter Object cached,
+                                   @MaybeNull @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object returned,
+                                   @CacheValues Object[] values,
+                                   @CacheSize int size) {
+            if (cached != null) {
+                returned = cached;
+            } else if (returned != null) {
+                Object[] entries = values;
+                if (entries == null) {
+                    entries = new Object[size];
+                    values = entries;
+                }
+                int hash = key == null ? 0 : key.hashCode();
+                entries[(hash ^ hash >>> 16) & (size - 1)] = Collections.singletonMap(key, returned);
+            }
+        }
+    }
+}
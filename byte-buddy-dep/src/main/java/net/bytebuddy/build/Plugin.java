@@ -64,6 +64,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -77,6 +78,7 @@ import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
@@ -1128,6 +1130,57 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             TypePool.ClassLoading.ofPlatformLoader());
                 }
             }
+
+            /**
+             * A pool strategy that resolves type descriptions lazily and that retains a bounded number of type descriptions.
+             * This avoids that the type pool grows without bounds when a large number of types is processed.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Bounded implements PoolStrategy {
+
+                /**
+                 * This strategy's reader mode.
+                 */
+                private final TypePool.Default.ReaderMode readerMode;
+
+                /**
+                 * The maximum number of type descriptions to retain.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * Creates a bounded pool strategy that uses a fast reader mode.
+                 *
+                 * @param maximumSize The maximum number of type descriptions to retain.
+                 */
+                public Bounded(int maximumSize) {
+                    this(TypePool.Default.ReaderMode.FAST, maximumSize);
+                }
+
+                /**
+                 * Creates a bounded pool strategy.
+                 *
+                 * @param readerMode  This strategy's reader mode.
+                 * @param maximumSize The maximum number of type descriptions to retain.
+                 */
+                public Bounded(TypePool.Default.ReaderMode readerMode, int maximumSize) {
+                    if (maximumSize < 1) {
+                        throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                    }
+                    this.readerMode = readerMode;
+                    this.maximumSize = maximumSize;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool typePool(ClassFileLocator classFileLocator) {
+                    return new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Bounded(maximumSize),
+                            classFileLocator,
+                            readerMode,
+                            TypePool.ClassLoading.ofPlatformLoader());
+                }
+            }
         }
 
         /**
@@ -4548,6 +4601,323 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     }
                 }
             }
+
+            /**
+             * <p>
+             * A dispatcher that pipelines the transformation of types: while the plugin engine continues to read elements from its
+             * source, previously accepted elements are transformed on the supplied executor and written to the target sink in the
+             * order in which they were accepted, independently of the order of their completion. This keeps the produced target
+             * reproducible.
+             * </p>
+             * <p>
+             * The number of elements that are transformed but not yet written is bounded by a given capacity. If this capacity is
+             * exceeded, the dispatcher blocks the reading thread until the oldest transformation is completed and written, such
+             * that neither the transformation nor the reading stage can outrun the writing stage.
+             * </p>
+             */
+            class ForPipelinedTransformation implements Dispatcher {
+
+                /**
+                 * The executor to delegate any work to.
+                 */
+                private final Executor executor;
+
+                /**
+                 * The target sink.
+                 */
+                private final Target.Sink sink;
+
+                /**
+                 * A list of all types that are transformed.
+                 */
+                private final List<TypeDescription> transformed;
+
+                /**
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 */
+                private final Map<TypeDescription, List<Throwable>> failed;
+
+                /**
+                 * A list of type names that could not be resolved.
+                 */
+                private final List<String> unresolved;
+
+                /**
+                 * The maximum number of transformations that are not yet written to the sink.
+                 */
+                private final int capacity;
+
+                /**
+                 * The preprocessings of deferred work in the order of their acceptance.
+                 */
+                private final List<Future<Callable<Materializable>>> preprocessings;
+
+                /**
+                 * The transformations that are not yet written to the sink in the order of their acceptance.
+                 */
+                private final LinkedList<Future<? extends Materializable>> materializers;
+
+                /**
+                 * Creates a new dispatcher that pipelines transformations.
+                 *
+                 * @param executor    The executor to delegate any work to.
+                 * @param capacity    The maximum number of transformations that are not yet written to the sink.
+                 * @param sink        The target sink.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 */
+                protected ForPipelinedTransformation(Executor executor,
+                                                     int capacity,
+                                                     Target.Sink sink,
+                                                     List<TypeDescription> transformed,
+                                                     Map<TypeDescription, List<Throwable>> failed,
+                                                     List<String> unresolved) {
+                    this.executor = executor;
+                    this.capacity = capacity;
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    preprocessings = new ArrayList<Future<Callable<Materializable>>>();
+                    materializers = new LinkedList<Future<? extends Materializable>>();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @SuppressWarnings("unchecked")
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
+                    if (eager) {
+                        while (materializers.size() >= capacity) {
+                            materialize();
+                        }
+                        materializers.addLast(submit(new ForParallelTransformation.EagerWork(work)));
+                    } else {
+                        preprocessings.add(submit((Callable<Callable<Materializable>>) work));
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void complete() throws IOException {
+                    while (!materializers.isEmpty()) {
+                        materialize();
+                    }
+                    List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(this.preprocessings.size());
+                    for (Future<Callable<Materializable>> future : this.preprocessings) {
+                        preprocessings.add(resolve(future));
+                    }
+                    this.preprocessings.clear();
+                    for (Callable<Materializable> preprocessing : preprocessings) {
+                        while (materializers.size() >= capacity) {
+                            materialize();
+                        }
+                        materializers.addLast(submit(preprocessing));
+                    }
+                    while (!materializers.isEmpty()) {
+                        materialize();
+                    }
+                }
+
+                /**
+                 * Submits a callable to this dispatcher's executor.
+                 *
+                 * @param callable The callable to submit.
+                 * @param <T>      The type of the callable's result.
+                 * @return A future representing the callable's result.
+                 */
+                private <T> Future<T> submit(Callable<T> callable) {
+                    FutureTask<T> future = new FutureTask<T>(callable);
+                    executor.execute(future);
+                    return future;
+                }
+
+                /**
+                 * Awaits the oldest transformation and writes its result to the sink.
+                 *
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void materialize() throws IOException {
+                    resolve(materializers.getFirst()).materialize(sink, transformed, failed, unresolved);
+                    materializers.removeFirst();
+                }
+
+                /**
+                 * Awaits the result of a future and unwraps any exception that occurred during its computation.
+                 *
+                 * @param future The future to resolve.
+                 * @param <T>    The type of the future's result.
+                 * @return The future's result.
+                 * @throws IOException If the computation yielded an I/O exception.
+                 */
+                private static <T> T resolve(Future<T> future) throws IOException {
+                    try {
+                        return future.get();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException(cause);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    for (Future<?> future : preprocessings) {
+                        future.cancel(true);
+                    }
+                    for (Future<?> future : materializers) {
+                        future.cancel(true);
+                    }
+                }
+
+                /**
+                 * A pipelined dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class WithThrowawayExecutorService extends ForPipelinedTransformation {
+
+                    /**
+                     * The executor service to delegate any work to.
+                     */
+                    private final ExecutorService executorService;
+
+                    /**
+                     * Creates a new dispatcher that pipelines transformations and that closes the supplies executor service.
+                     *
+                     * @param executorService The executor service to delegate any work to.
+                     * @param capacity        The maximum number of transformations that are not yet written to the sink.
+                     * @param sink            The target sink.
+                     * @param transformed     A list of all types that are transformed.
+                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                     * @param unresolved      A list of type names that could not be resolved.
+                     */
+                    protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           int capacity,
+                                                           Target.Sink sink,
+                                                           List<TypeDescription> transformed,
+                                                           Map<TypeDescription, List<Throwable>> failed,
+                                                           List<String> unresolved) {
+                        super(executorService, capacity, sink, transformed, failed, unresolved);
+                        this.executorService = executorService;
+                    }
+
+                    @Override
+                    public void close() {
+                        try {
+                            super.close();
+                        } finally {
+                            executorService.shutdown();
+                        }
+                    }
+
+                    /**
+                     * A factory for a pipelined executor service that creates a new executor service on each plugin engine application.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    public static class Factory implements Dispatcher.Factory {
+
+                        /**
+                         * The amount of threads to create in the throw-away executor service.
+                         */
+                        private final int threads;
+
+                        /**
+                         * The maximum number of transformations that are not yet written to the sink.
+                         */
+                        private final int capacity;
+
+                        /**
+                         * Creates a new factory with a capacity of twice the amount of threads.
+                         *
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         */
+                        public Factory(int threads) {
+                            this(threads, threads * 2);
+                        }
+
+                        /**
+                         * Creates a new factory.
+                         *
+                         * @param threads  The amount of threads to create in the throw-away executor service.
+                         * @param capacity The maximum number of transformations that are not yet written to the sink.
+                         */
+                        public Factory(int threads, int capacity) {
+                            if (threads < 1) {
+                                throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                            } else if (capacity < 1) {
+                                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+                            }
+                            this.threads = threads;
+                            this.capacity = capacity;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), capacity, sink, transformed, failed, unresolved);
+                        }
+                    }
+                }
+
+                /**
+                 * A factory for a dispatcher that uses a given executor for pipelined dispatching.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Factory implements Dispatcher.Factory {
+
+                    /**
+                     * The executor to use.
+                     */
+                    private final Executor executor;
+
+                    /**
+                     * The maximum number of transformations that are not yet written to the sink.
+                     */
+                    private final int capacity;
+
+                    /**
+                     * Creates a new dispatcher factory for pipelined dispatching using the supplied executor.
+                     *
+                     * @param executor The executor to use.
+                     * @param capacity The maximum number of transformations that are not yet written to the sink.
+                     */
+                    public Factory(Executor executor, int capacity) {
+                        if (capacity < 1) {
+                            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+                        }
+                        this.executor = executor;
+                        this.capacity = capacity;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription, List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForPipelinedTransformation(executor, capacity, sink, transformed, failed, unresolved);
+                    }
+                }
+            }
         }
 
         /**
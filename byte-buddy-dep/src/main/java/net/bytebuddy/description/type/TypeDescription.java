@@ -48,6 +48,9 @@ import org.objectweb.asm.signature.SignatureWriter;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
@@ -69,6 +72,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -8800,15 +8804,46 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
          */
         private static final Dispatcher DISPATCHER = doPrivileged(JavaDispatcher.of(Dispatcher.class));
 
+        /**
+         * <p>
+         * A property that enables a cache of type descriptions for loaded types if set to a positive number which determines the maximum
+         * number of cached descriptions. Cached descriptions resolve their declared fields and methods only once such that repeated
+         * lookups of the same type do not require reflection.
+         * </p>
+         * <p>
+         * <b>Important</b>: Cached descriptions are referenced weakly such that a description is only reused while it is referenced
+         * elsewhere. This way, the cache never retains a type or its class loader.
+         * </p>
+         */
+        public static final String CACHE_PROPERTY = "net.bytebuddy.cache.loaded";
+
         /**
          * A cache of type descriptions for commonly used types to avoid unnecessary allocations.
          */
         private static final Map<Class<?>, TypeDescription> TYPE_CACHE;
 
+        /**
+         * A cache of resolved type descriptions or {@code null} if no such cache is enabled.
+         */
+        @MaybeNull
+        private static final Cache CACHE;
+
         /*
-         * Initializes the type cache.
+         * Initializes the type caches.
          */
         static {
+            int size;
+            try {
+                String value = doPrivileged(new GetSystemPropertyAction(CACHE_PROPERTY));
+                size = value == null
+                        ? 0
+                        : Integer.parseInt(value);
+            } catch (Exception ignored) {
+                size = 0;
+            }
+            CACHE = size > 0
+                    ? new Cache(size)
+                    : null;
             TYPE_CACHE = new HashMap<Class<?>, TypeDescription>();
             TYPE_CACHE.put(TargetType.class, new ForLoadedType(TargetType.class));
             TYPE_CACHE.put(Class.class, new ForLoadedType(Class.class));
@@ -8886,9 +8921,12 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
          */
         public static TypeDescription of(Class<?> type) {
             TypeDescription typeDescription = TYPE_CACHE.get(type);
-            return typeDescription == null
+            if (typeDescription != null) {
+                return typeDescription;
+            }
+            return CACHE == null
                     ? new ForLoadedType(type)
-                    : typeDescription;
+                    : CACHE.find(type);
         }
 
         @Override
@@ -9355,6 +9393,220 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
             @MaybeNull
             Object[] getRecordComponents(Class<?> type);
         }
+
+        /**
+         * A bounded cache of resolved type descriptions for loaded types. Both types and their descriptions are referenced weakly such
+         * that a cached description never retains its type, as the description itself references the type. A description is therefore
+         * only reused as long as it is referenced elsewhere. If the cache exceeds its maximum size, the least recently used entry is evicted.
+         */
+        protected static class Cache extends ReferenceQueue<Class<?>> {
+
+            /**
+             * A mapping of weakly referenced types to their weakly referenced descriptions in the order of their last use.
+             */
+            private final Store types;
+
+            /**
+             * Creates a new cache.
+             *
+             * @param size The maximum number of cached type descriptions.
+             */
+            protected Cache(int size) {
+                types = new Store(size);
+            }
+
+            /**
+             * Resolves a cached type description or creates and caches a new type description if no such description is cached.
+             *
+             * @param type The type to resolve.
+             * @return A description of the supplied type.
+             */
+            @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Cross-comparison is intended.")
+            protected synchronized TypeDescription find(Class<?> type) {
+                expungeStaleEntries();
+                WeakReference<TypeDescription> reference = types.get(new LookupKey(type));
+                TypeDescription typeDescription = reference == null
+                        ? null
+                        : reference.get();
+                if (typeDescription == null) {
+                    typeDescription = new Resolved(type);
+                    types.put(new StorageKey(type, this), new WeakReference<TypeDescription>(typeDescription));
+                }
+                return typeDescription;
+            }
+
+            /**
+             * Returns the number of cached type descriptions.
+             *
+             * @return The number of cached type descriptions.
+             */
+            protected synchronized int size() {
+                return types.size();
+            }
+
+            /**
+             * Removes any entries of types that were garbage collected.
+             */
+            protected synchronized void expungeStaleEntries() {
+                Reference<?> reference;
+                while ((reference = poll()) != null) {
+                    types.remove(reference);
+                }
+            }
+
+            /**
+             * A mapping of weakly referenced types to their weakly referenced descriptions that evicts the least recently used
+             * entry once it exceeds its maximum size.
+             */
+            protected static class Store extends LinkedHashMap<StorageKey, WeakReference<TypeDescription>> {
+
+                /**
+                 * The class's serial version UID.
+                 */
+                private static final long serialVersionUID = 1L;
+
+                /**
+                 * The maximum number of cached type descriptions.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * Creates a new store.
+                 *
+                 * @param maximumSize The maximum number of cached type descriptions.
+                 */
+                protected Store(int maximumSize) {
+                    super(16, 0.75f, true);
+                    this.maximumSize = maximumSize;
+                }
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<StorageKey, WeakReference<TypeDescription>> eldest) {
+                    return size() > maximumSize;
+                }
+            }
+
+            /**
+             * A key for looking up a type in the cache without creating a weak reference.
+             */
+            protected static class LookupKey {
+
+                /**
+                 * The represented type.
+                 */
+                private final Class<?> type;
+
+                /**
+                 * The type's identity hash code.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new lookup key.
+                 *
+                 * @param type The represented type.
+                 */
+                protected LookupKey(Class<?> type) {
+                    this.type = type;
+                    hashCode = System.identityHashCode(type);
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                public boolean equals(@MaybeNull Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other instanceof LookupKey) {
+                        return type == ((LookupKey) other).type;
+                    } else if (other instanceof StorageKey) {
+                        StorageKey storageKey = (StorageKey) other;
+                        return hashCode == storageKey.hashCode && type == storageKey.get();
+                    } else {
+                        return false;
+                    }
+                }
+            }
+
+            /**
+             * A key for storing a weakly referenced type in the cache.
+             */
+            protected static class StorageKey extends WeakReference<Class<?>> {
+
+                /**
+                 * The type's identity hash code.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new storage key.
+                 *
+                 * @param type           The represented type.
+                 * @param referenceQueue The reference queue to notify upon a garbage collection.
+                 */
+                protected StorageKey(Class<?> type, ReferenceQueue<? super Class<?>> referenceQueue) {
+                    super(type, referenceQueue);
+                    hashCode = System.identityHashCode(type);
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                public boolean equals(@MaybeNull Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other instanceof LookupKey) {
+                        LookupKey lookupKey = (LookupKey) other;
+                        return hashCode == lookupKey.hashCode && get() == lookupKey.type;
+                    } else if (other instanceof StorageKey) {
+                        StorageKey storageKey = (StorageKey) other;
+                        return hashCode == storageKey.hashCode && get() == storageKey.get();
+                    } else {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        /**
+         * A type description for a loaded type that resolves the descriptions of its declared fields and methods only once.
+         */
+        protected static class Resolved extends ForLoadedType {
+
+            /**
+             * The class's serial version UID.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * Creates a new resolved type description.
+             *
+             * @param type The type to be represented by this type description.
+             */
+            protected Resolved(Class<?> type) {
+                super(type);
+            }
+
+            @Override
+            @CachedReturnPlugin.Enhance("declaredFields")
+            public FieldList<FieldDescription.InDefinedShape> getDeclaredFields() {
+                return new FieldList.Explicit<FieldDescription.InDefinedShape>(new ArrayList<FieldDescription.InDefinedShape>(super.getDeclaredFields()));
+            }
+
+            @Override
+            @CachedReturnPlugin.Enhance("declaredMethods")
+            public MethodList<MethodDescription.InDefinedShape> getDeclaredMethods() {
+                return new MethodList.Explicit<MethodDescription.InDefinedShape>(new ArrayList<MethodDescription.InDefinedShape>(super.getDeclaredMethods()));
+            }
+        }
     }
 
     /**
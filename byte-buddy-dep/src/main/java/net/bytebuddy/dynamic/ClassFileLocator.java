@@ -31,11 +31,16 @@ import net.bytebuddy.utility.dispatcher.JavaDispatcher;
 import net.bytebuddy.utility.nullability.AlwaysNull;
 import net.bytebuddy.utility.nullability.MaybeNull;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
@@ -44,6 +49,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
@@ -55,14 +66,21 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -1028,6 +1046,324 @@ public interface ClassFileLocator extends Closeable {
         }
     }
 
+    /**
+     * <p>
+     * A class file locator that locates classes within a Java <i>jar</i> file by mapping the file into memory. Upon creation,
+     * the jar file's central directory is read once to index all contained class files such that any lookup does not require
+     * to scan the file again. Class files that are stored without compression are copied directly from the mapped file,
+     * compressed class files are inflated into an array of their known size using pooled {@link Inflater}s.
+     * </p>
+     * <p>
+     * <b>Important</b>: This class file locator does not support jar files that require the <i>ZIP64</i> format, for example
+     * if they exceed a size of 2 GB, and it does not validate signatures or checksums of the contained class files.
+     * </p>
+     */
+    class ForMappedJarFile extends MultiReleaseAware {
+
+        /**
+         * The signature of the end of a zip file's central directory.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+        /**
+         * The signature of a central directory's file header.
+         */
+        private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+
+        /**
+         * The signature of a local file header.
+         */
+        private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+        /**
+         * The minimal size of the end of a zip file's central directory.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+        /**
+         * The maximal length of a zip file's comment.
+         */
+        private static final int MAXIMUM_COMMENT_LENGTH = 0xFFFF;
+
+        /**
+         * The size of a central directory's file header, excluding variable length fields.
+         */
+        private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+        /**
+         * The size of a local file header, excluding variable length fields.
+         */
+        private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+        /**
+         * The compression method of an uncompressed entry.
+         */
+        private static final int STORED = 0;
+
+        /**
+         * The compression method of an entry that is compressed by the deflate algorithm.
+         */
+        private static final int DEFLATED = 8;
+
+        /**
+         * The encoding of entry names.
+         */
+        private static final String ENCODING = "UTF-8";
+
+        /**
+         * The mapped jar file in little-endian order. The buffer's position must not be altered.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * A mapping of entry names to their index entries.
+         */
+        private final Map<String, Entry> entries;
+
+        /**
+         * A pool of inflaters that are currently not in use.
+         */
+        private final Queue<Inflater> inflaters;
+
+        /**
+         * {@code true} if this class file locator was closed such that inflaters are ended instead of being pooled.
+         */
+        private volatile boolean closed;
+
+        /**
+         * Creates a new class file locator for a mapped jar file.
+         *
+         * @param version Contains the existing multi-release jar folders that are available for the
+         *                current JVM version in decreasing order.
+         * @param buffer  The mapped jar file in little-endian order.
+         * @param entries A mapping of entry names to their index entries.
+         */
+        protected ForMappedJarFile(int[] version, ByteBuffer buffer, Map<String, Entry> entries) {
+            super(version);
+            this.buffer = buffer;
+            this.entries = entries;
+            inflaters = new ConcurrentLinkedQueue<Inflater>();
+        }
+
+        /**
+         * Creates a new class file locator for the given jar file by mapping it into memory. Multi-release jars are not considered.
+         *
+         * @param file The jar file to read from.
+         * @return A class file locator for the jar file.
+         * @throws IOException If an I/O exception is thrown or if the file is not a supported jar file.
+         */
+        public static ClassFileLocator of(File file) throws IOException {
+            return of(file, ClassFileVersion.JAVA_V8);
+        }
+
+        /**
+         * Creates a new class file locator for the given jar file by mapping it into memory. Multi-release jar files
+         * are resolved as if executed on a JVM of the supplied version.
+         *
+         * @param file             The jar file to read from.
+         * @param classFileVersion The class file version to consider when resolving class files in multi-release jars.
+         * @return A class file locator for the jar file.
+         * @throws IOException If an I/O exception is thrown or if the file is not a supported jar file.
+         */
+        public static ClassFileLocator of(File file, ClassFileVersion classFileVersion) throws IOException {
+            ByteBuffer buffer;
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                FileChannel fileChannel = randomAccessFile.getChannel();
+                if (fileChannel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Cannot map jar file that exceeds 2 GB: " + file);
+                }
+                buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            } finally {
+                randomAccessFile.close();
+            }
+            int end = buffer.capacity() - END_OF_CENTRAL_DIRECTORY_SIZE, minimum = Math.max(0, end - MAXIMUM_COMMENT_LENGTH);
+            while (end >= minimum && buffer.getInt(end) != END_OF_CENTRAL_DIRECTORY) {
+                end--;
+            }
+            if (end < minimum) {
+                throw new IOException("Not a jar file: " + file);
+            }
+            int count = buffer.getShort(end + 10) & 0xFFFF, position = buffer.getInt(end + 16);
+            if (count == 0xFFFF || position == -1) {
+                throw new IOException("Jar files in ZIP64 format are not supported: " + file);
+            }
+            Map<String, Entry> entries = new HashMap<String, Entry>();
+            for (int index = 0; index < count; index++) {
+                if (position < 0 || position + CENTRAL_DIRECTORY_HEADER_SIZE > buffer.capacity() || buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                    throw new IOException("Corrupt central directory in " + file);
+                }
+                int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+                byte[] name = new byte[nameLength];
+                ByteBuffer duplicate = buffer.duplicate();
+                duplicate.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+                duplicate.get(name);
+                String path = new String(name, ENCODING);
+                if (path.endsWith(CLASS_FILE_EXTENSION) || path.equals(JarFile.MANIFEST_NAME)) {
+                    entries.put(path, new Entry(buffer.getShort(position + 10) & 0xFFFF,
+                            buffer.getInt(position + 20),
+                            buffer.getInt(position + 24),
+                            buffer.getInt(position + 42)));
+                }
+                position += CENTRAL_DIRECTORY_HEADER_SIZE
+                        + nameLength
+                        + (buffer.getShort(position + 30) & 0xFFFF)
+                        + (buffer.getShort(position + 32) & 0xFFFF);
+            }
+            ForMappedJarFile classFileLocator = new ForMappedJarFile(NO_MULTI_RELEASE, buffer, entries);
+            if (classFileVersion.getJavaVersion() < 9) {
+                return classFileLocator;
+            }
+            byte[] binaryRepresentation = classFileLocator.doLocate(JarFile.MANIFEST_NAME);
+            if (binaryRepresentation == null || !Boolean.parseBoolean(new Manifest(new ByteArrayInputStream(binaryRepresentation))
+                    .getMainAttributes()
+                    .getValue(MultiReleaseAware.MULTI_RELEASE_ATTRIBUTE))) {
+                return classFileLocator;
+            }
+            SortedSet<Integer> versions = new TreeSet<Integer>();
+            for (String path : entries.keySet()) {
+                if (path.endsWith(CLASS_FILE_EXTENSION) && path.startsWith(META_INF_VERSIONS)) {
+                    try {
+                        int candidate = Integer.parseInt(path.substring(META_INF_VERSIONS.length(), path.indexOf('/', META_INF_VERSIONS.length())));
+                        if (candidate > 7 && candidate <= classFileVersion.getJavaVersion()) {
+                            versions.add(candidate);
+                        }
+                    } catch (NumberFormatException ignored) {
+                        /* do nothing */
+                    }
+                }
+            }
+            int[] version = new int[versions.size()];
+            Iterator<Integer> iterator = versions.iterator();
+            for (int index = 0; index < versions.size(); index++) {
+                version[versions.size() - index - 1] = iterator.next();
+            }
+            return new ForMappedJarFile(version, buffer, entries);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @MaybeNull
+        @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "Null value indicates failed lookup.")
+        protected byte[] doLocate(String path) throws IOException {
+            Entry entry = entries.get(path);
+            if (entry == null) {
+                return null;
+            } else if (entry.offset < 0
+                    || entry.offset + LOCAL_FILE_HEADER_SIZE > buffer.capacity()
+                    || buffer.getInt(entry.offset) != LOCAL_FILE_HEADER) {
+                throw new IOException("Corrupt local file header for " + path);
+            } else if (entry.size < 0 || entry.compressedSize < 0) {
+                throw new IOException("Jar file entries in ZIP64 format are not supported: " + path);
+            }
+            int position = entry.offset
+                    + LOCAL_FILE_HEADER_SIZE
+                    + (this.buffer.getShort(entry.offset + 26) & 0xFFFF)
+                    + (this.buffer.getShort(entry.offset + 28) & 0xFFFF);
+            if ((long) position + (entry.method == STORED ? entry.size : entry.compressedSize) > this.buffer.capacity()) {
+                throw new IOException("Entry exceeds jar file for " + path);
+            }
+            ByteBuffer buffer = this.buffer.duplicate();
+            buffer.position(position);
+            byte[] binaryRepresentation = new byte[entry.size];
+            switch (entry.method) {
+                case STORED:
+                    buffer.get(binaryRepresentation);
+                    return binaryRepresentation;
+                case DEFLATED:
+                    byte[] compressed = new byte[entry.compressedSize + 1];
+                    buffer.get(compressed, 0, entry.compressedSize);
+                    Inflater inflater = inflaters.poll();
+                    if (inflater == null) {
+                        inflater = new Inflater(true);
+                    }
+                    try {
+                        inflater.setInput(compressed);
+                        int length = 0;
+                        while (length < binaryRepresentation.length) {
+                            int inflated = inflater.inflate(binaryRepresentation, length, binaryRepresentation.length - length);
+                            if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                                throw new IOException("Unexpected end of compressed data for " + path);
+                            }
+                            length += inflated;
+                        }
+                    } catch (DataFormatException exception) {
+                        throw new IOException("Corrupt compressed data for " + path + ": " + exception.getMessage());
+                    } finally {
+                        inflater.reset();
+                        inflaters.offer(inflater);
+                        if (closed) {
+                            end();
+                        }
+                    }
+                    return binaryRepresentation;
+                default:
+                    throw new IOException("Unsupported compression method " + entry.method + " for " + path);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            closed = true;
+            end();
+        }
+
+        /**
+         * Ends all pooled inflaters. An inflater that is in use while this locator is closed is ended once it is returned to the pool.
+         */
+        private void end() {
+            Inflater inflater;
+            while ((inflater = inflaters.poll()) != null) {
+                inflater.end();
+            }
+        }
+
+        /**
+         * An entry of a jar file's central directory.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class Entry {
+
+            /**
+             * The compression method of the entry.
+             */
+            private final int method;
+
+            /**
+             * The compressed size of the entry.
+             */
+            private final int compressedSize;
+
+            /**
+             * The uncompressed size of the entry.
+             */
+            private final int size;
+
+            /**
+             * The offset of the entry's local file header.
+             */
+            private final int offset;
+
+            /**
+             * Creates a new entry.
+             *
+             * @param method         The compression method of the entry.
+             * @param compressedSize The compressed size of the entry.
+             * @param size           The uncompressed size of the entry.
+             * @param offset         The offset of the entry's local file header.
+             */
+            protected Entry(int method, int compressedSize, int size, int offset) {
+                this.method = method;
+                this.compressedSize = compressedSize;
+                this.size = size;
+                this.offset = offset;
+            }
+        }
+    }
+
     /**
      * A class file locator that locates classes within a Java <i>jmod</i> file. This class file locator should not be used
      * for reading modular jar files for which {@link ForJarFile} is appropriate.
@@ -2161,4 +2497,302 @@ public interface ClassFileLocator extends Closeable {
             }
         }
     }
+
+    /**
+     * <p>
+     * A class file locator that persists the class files that are located by a delegate into a single file that is
+     * read at once upon subsequent use. This way, a class file locator that needs to scan a large class path, such
+     * as for a {@link net.bytebuddy.pool.TypePool} that is used during an agent's startup, does not need to query its
+     * delegate again for any type that was already located in a previous run, including types that could not be located.
+     * The cache file is written when this class file locator is closed or when {@link WithPersistentCache#persist()} is
+     * invoked explicitly.
+     * </p>
+     * <p>
+     * <b>Important</b>: The cache file is not validated against the delegate. If the located class files might change,
+     * the cache file should be keyed by a fingerprint of its sources, as offered by
+     * {@link WithPersistentCache#of(ClassFileLocator, File, Collection)}.
+     * </p>
+     * <p>
+     * The cache file is not memory-mapped such that it can be replaced on any platform while it is in use. Types with a
+     * name that exceeds 65535 bytes in its UTF-8 encoding cannot be represented in a class file and are never persisted.
+     * </p>
+     */
+    class WithPersistentCache implements ClassFileLocator {
+
+        /**
+         * The magic number that introduces a cache file, including a format version.
+         */
+        private static final int MAGIC = 0xCAFEB001;
+
+        /**
+         * The length that is stored for a type that could not be located.
+         */
+        private static final int UNRESOLVED = -1;
+
+        /**
+         * A marker for a type that could not be located.
+         */
+        private static final byte[] ILLEGAL = new byte[0];
+
+        /**
+         * The maximum length of an encoded type name that can be persisted.
+         */
+        private static final int MAXIMUM_NAME_LENGTH = 0xFFFF;
+
+        /**
+         * The file extension of cache files that are resolved by a fingerprint.
+         */
+        private static final String CACHE_FILE_EXTENSION = ".bbcache";
+
+        /**
+         * The encoding that is used for type names.
+         */
+        private static final String ENCODING = "UTF-8";
+
+        /**
+         * The class file locator to query for types that are not yet contained in the cache file.
+         */
+        private final ClassFileLocator delegate;
+
+        /**
+         * The cache file that is used for persisting located class files.
+         */
+        private final File file;
+
+        /**
+         * A buffer that represents the existing cache file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * A mapping of type names to the position of their length within the buffer.
+         */
+        private final Map<String, Integer> index;
+
+        /**
+         * Class files that were located by the delegate but that are not contained in the cache file.
+         */
+        private final ConcurrentMap<String, byte[]> located;
+
+        /**
+         * {@code true} if this class file locator located class files that were not yet persisted.
+         */
+        private final AtomicBoolean dirty;
+
+        /**
+         * Creates a new class file locator with a persistent cache.
+         *
+         * @param delegate The class file locator to query for types that are not yet contained in the cache file.
+         * @param file     The cache file that is used for persisting located class files.
+         * @param buffer   A buffer that represents the existing cache file.
+         * @param index    A mapping of type names to the position of their length within the buffer.
+         */
+        protected WithPersistentCache(ClassFileLocator delegate, File file, ByteBuffer buffer, Map<String, Integer> index) {
+            this.delegate = delegate;
+            this.file = file;
+            this.buffer = buffer;
+            this.index = index;
+            located = new ConcurrentHashMap<String, byte[]>();
+            dirty = new AtomicBoolean();
+        }
+
+        /**
+         * Creates a class file locator with a persistent cache where the cache file is stored in the given folder and named
+         * by a fingerprint of the supplied class path elements. The fingerprint considers the absolute path, size and time
+         * of the last modification of each element such that a new cache file is used if any element changes. The content of
+         * an element is not considered to avoid reading the entire class path. An element that is replaced by a file of the same
+         * size without altering its time of last modification, for example by a tool that retains time stamps or within the
+         * resolution of the file system's time stamps, therefore yields stale class files. If this cannot be ruled out, a key
+         * that considers the elements' content should be used with {@link WithPersistentCache#of(ClassFileLocator, File)}.
+         *
+         * @param classFileLocator The class file locator to query for types that are not yet contained in the cache file.
+         * @param folder           The folder in which the cache file is stored.
+         * @param classPath        The class path elements, typically jar files, that are represented by the class file locator.
+         * @return A class file locator with a persistent cache.
+         * @throws IOException If the cache file cannot be read.
+         */
+        public static WithPersistentCache of(ClassFileLocator classFileLocator, File folder, Collection<? extends File> classPath) throws IOException {
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException exception) {
+                throw new IllegalStateException("Cannot compute fingerprint of class path", exception);
+            }
+            ByteBuffer fingerprint = ByteBuffer.allocate(16);
+            for (File file : classPath) {
+                messageDigest.update(file.getAbsolutePath().getBytes(ENCODING));
+                fingerprint.clear();
+                fingerprint.putLong(file.length()).putLong(file.lastModified());
+                messageDigest.update(fingerprint.array());
+            }
+            StringBuilder name = new StringBuilder();
+            for (byte value : messageDigest.digest()) {
+                name.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+            }
+            return of(classFileLocator, new File(folder, name.append(CACHE_FILE_EXTENSION).toString()));
+        }
+
+        /**
+         * Creates a class file locator with a persistent cache that is stored in the given file. If the file does not
+         * exist or is not a valid cache file, it is created or replaced once this class file locator is persisted.
+         *
+         * @param classFileLocator The class file locator to query for types that are not yet contained in the cache file.
+         * @param file             The cache file that is used for persisting located class files.
+         * @return A class file locator with a persistent cache.
+         * @throws IOException If the cache file cannot be read.
+         */
+        public static WithPersistentCache of(ClassFileLocator classFileLocator, File file) throws IOException {
+            if (!file.isFile()) {
+                return new WithPersistentCache(classFileLocator, file, ByteBuffer.allocate(0), Collections.<String, Integer>emptyMap());
+            }
+            ByteBuffer buffer;
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                FileChannel fileChannel = randomAccessFile.getChannel();
+                long size = fileChannel.size();
+                if (size > Integer.MAX_VALUE) {
+                    return new WithPersistentCache(classFileLocator, file, ByteBuffer.allocate(0), Collections.<String, Integer>emptyMap());
+                }
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && fileChannel.read(buffer) != -1) {
+                    /* do nothing */
+                }
+                buffer.flip();
+            } finally {
+                randomAccessFile.close();
+            }
+            Map<String, Integer> index = new HashMap<String, Integer>();
+            try {
+                if (buffer.getInt() == MAGIC) {
+                    int count = buffer.getInt();
+                    for (int entry = 0; entry < count; entry++) {
+                        byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                        buffer.get(name);
+                        int position = buffer.position(), length = buffer.getInt();
+                        if (length < UNRESOLVED || length > buffer.remaining()) {
+                            break; // Corrupt length, the remaining entries cannot be located.
+                        }
+                        index.put(new String(name, ENCODING), position);
+                        if (length > 0) {
+                            buffer.position(buffer.position() + length);
+                        }
+                    }
+                }
+            } catch (BufferUnderflowException ignored) {
+                index.clear();
+            } catch (IllegalArgumentException ignored) {
+                index.clear();
+            }
+            return new WithPersistentCache(classFileLocator, file, buffer, index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            Integer position = index.get(name);
+            if (position != null) {
+                ByteBuffer buffer = this.buffer.duplicate();
+                buffer.position(position);
+                int length = buffer.getInt();
+                if (length == UNRESOLVED) {
+                    return new Resolution.Illegal(name);
+                }
+                byte[] binaryRepresentation = new byte[length];
+                buffer.get(binaryRepresentation);
+                return new Resolution.Explicit(binaryRepresentation);
+            }
+            byte[] binaryRepresentation = located.get(name);
+            if (binaryRepresentation == null) {
+                Resolution resolution = delegate.locate(name);
+                binaryRepresentation = resolution.isResolved()
+                        ? resolution.resolve()
+                        : ILLEGAL;
+                byte[] previous = located.putIfAbsent(name, binaryRepresentation);
+                if (previous == null) {
+                    dirty.set(true);
+                } else {
+                    binaryRepresentation = previous;
+                }
+            }
+            return binaryRepresentation == ILLEGAL
+                    ? new Resolution.Illegal(name)
+                    : new Resolution.Explicit(binaryRepresentation);
+        }
+
+        /**
+         * Writes all class files that were previously contained in the cache file, together with all class files that were
+         * located by the delegate since, to the cache file. If no new class files were located, the cache file is not altered.
+         * Types with a name that exceeds {@link WithPersistentCache#MAXIMUM_NAME_LENGTH} bytes in its encoding are not persisted.
+         *
+         * @throws IOException If the cache file cannot be written.
+         */
+        public void persist() throws IOException {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            Map<String, byte[]> located = new HashMap<String, byte[]>();
+            for (Map.Entry<String, byte[]> entry : this.located.entrySet()) {
+                if (!index.containsKey(entry.getKey()) && entry.getKey().getBytes(ENCODING).length <= MAXIMUM_NAME_LENGTH) {
+                    located.put(entry.getKey(), entry.getValue());
+                }
+            }
+            File temporary = new File(file.getPath() + ".tmp");
+            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+            try {
+                outputStream.writeInt(MAGIC);
+                outputStream.writeInt(index.size() + located.size());
+                for (Map.Entry<String, Integer> entry : index.entrySet()) {
+                    ByteBuffer buffer = this.buffer.duplicate();
+                    buffer.position(entry.getValue());
+                    int length = buffer.getInt();
+                    byte[] binaryRepresentation = new byte[Math.max(length, 0)];
+                    buffer.get(binaryRepresentation);
+                    write(outputStream, entry.getKey(), length == UNRESOLVED ? ILLEGAL : binaryRepresentation);
+                }
+                for (Map.Entry<String, byte[]> entry : located.entrySet()) {
+                    write(outputStream, entry.getKey(), entry.getValue());
+                }
+            } finally {
+                outputStream.close();
+            }
+            if (file.exists() && !file.delete() || !temporary.renameTo(file)) {
+                if (!temporary.delete()) {
+                    temporary.deleteOnExit();
+                }
+                throw new IOException("Could not replace cache file " + file);
+            }
+        }
+
+        /**
+         * Writes a single entry to the cache file.
+         *
+         * @param outputStream         The output stream to write to.
+         * @param name                 The name of the type which must not exceed {@link WithPersistentCache#MAXIMUM_NAME_LENGTH} bytes in its encoding.
+         * @param binaryRepresentation The binary representation of the type or {@link WithPersistentCache#ILLEGAL} if the type could not be located.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private static void write(DataOutputStream outputStream, String name, byte[] binaryRepresentation) throws IOException {
+            byte[] encoded = name.getBytes(ENCODING);
+            outputStream.writeShort(encoded.length);
+            outputStream.write(encoded);
+            if (binaryRepresentation == ILLEGAL) {
+                outputStream.writeInt(UNRESOLVED);
+            } else {
+                outputStream.writeInt(binaryRepresentation.length);
+                outputStream.write(binaryRepresentation);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() throws IOException {
+            try {
+                persist();
+            } finally {
+                delegate.close();
+            }
+        }
+    }
 }
@@ -21,6 +21,7 @@ import net.bytebuddy.utility.nullability.MaybeNull;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -59,7 +60,9 @@ public class Nexus extends WeakReference<ClassLoader> {
     /**
      * A map of keys identifying a loaded type by its name and class loader mapping their
      * potential {@link net.bytebuddy.implementation.LoadedTypeInitializer} where the class
-     * loader of these initializers is however irrelevant.
+     * loader of these initializers is however irrelevant. If the initializer was registered
+     * together with its resolved {@code onLoad} method, the value is an array containing the
+     * initializer and the method.
      */
     private static final ConcurrentMap<Nexus, Object> TYPE_INITIALIZERS = new ConcurrentHashMap<Nexus, Object>();
 
@@ -137,7 +140,10 @@ public class Nexus extends WeakReference<ClassLoader> {
     @SuppressWarnings("unused")
     public static void initialize(Class<?> type, int identification) throws Exception {
         Object typeInitializer = TYPE_INITIALIZERS.remove(new Nexus(type, identification));
-        if (typeInitializer != null) {
+        if (typeInitializer instanceof Object[]) {
+            Object[] resolved = (Object[]) typeInitializer;
+            ((Method) resolved[1]).invoke(resolved[0], type);
+        } else if (typeInitializer != null) {
             Class.forName("net.bytebuddy.implementation.LoadedTypeInitializer",
                     true,
                     typeInitializer.getClass().getClassLoader()).getMethod("onLoad", Class.class).invoke(typeInitializer, type);
@@ -168,6 +174,38 @@ public class Nexus extends WeakReference<ClassLoader> {
         TYPE_INITIALIZERS.put(new Nexus(name, classLoader, referenceQueue, identification), typeInitializer);
     }
 
+    /**
+     * <p>
+     * Registers a new loaded type initializer together with its resolved {@code onLoad} method. Doing so avoids a reflective lookup of
+     * the initializer's method when the registered type is initialized.
+     * </p>
+     * <p>
+     * <b>Important</b>: This method must never be called directly but only by using a {@link NexusAccessor} which enforces to access this class
+     * for the system class loader to assure a VM global singleton. This avoids a duplication of the class if this nexus is loaded by different class
+     * loaders. For this reason, the last parameters must not use a Byte Buddy specific type as those types can be loaded by different class loaders,
+     * too. Any access of the instance is done using Java reflection instead.
+     * </p>
+     *
+     * @param name            The name of the type for the loaded type initializer.
+     * @param classLoader     The class loader of the type for the loaded type initializer.
+     * @param referenceQueue  The reference queue to notify upon the class loader's collection which will be enqueued a reference which can be
+     *                        handed to {@link Nexus#clean(Reference)} or {@code null} if no reference queue should be notified.
+     * @param identification  An identification for the initializer to run.
+     * @param typeInitializer The type initializer to register. The initializer must be an instance
+     *                        of {@link net.bytebuddy.implementation.LoadedTypeInitializer} where
+     *                        it does however not matter which class loader loaded this latter type.
+     * @param onLoad          The {@code onLoad} method of the {@link net.bytebuddy.implementation.LoadedTypeInitializer} type that
+     *                        the type initializer implements.
+     */
+    public static void register(String name,
+                                @MaybeNull ClassLoader classLoader,
+                                @MaybeNull ReferenceQueue<? super ClassLoader> referenceQueue,
+                                int identification,
+                                Object typeInitializer,
+                                Method onLoad) {
+        TYPE_INITIALIZERS.put(new Nexus(name, classLoader, referenceQueue, identification), new Object[]{typeInitializer, onLoad});
+    }
+
     /**
      * <p>
      * Cleans any stale entries from this nexus. Entries are considered stale if their class loader was collected before a class was initialized.
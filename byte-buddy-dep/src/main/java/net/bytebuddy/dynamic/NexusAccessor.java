@@ -237,8 +237,7 @@ public class NexusAccessor {
                         nexusType = new ClassInjector.UsingReflection(ClassLoader.getSystemClassLoader(), ClassLoadingStrategy.NO_PROTECTION_DOMAIN)
                                 .inject(Collections.singletonMap(TypeDescription.ForLoadedType.of(Nexus.class), ClassFileLocator.ForClassLoader.read(Nexus.class)))
                                 .get(TypeDescription.ForLoadedType.of(Nexus.class));
-                        return new Dispatcher.Available(nexusType.getMethod("register", String.class, ClassLoader.class, ReferenceQueue.class, int.class, Object.class),
-                                nexusType.getMethod("clean", Reference.class));
+                        return Dispatcher.Available.of(nexusType);
                     } catch (Exception exception) {
                         try {
                             nexusType = ClassLoader.getSystemClassLoader().loadClass(Nexus.class.getName());
@@ -252,9 +251,7 @@ public class NexusAccessor {
                             Class<?> module = Class.forName("java.lang.Module");
                             module.getMethod("addReads", module).invoke(source.unwrap(), target.unwrap());
                         }
-                        return new Dispatcher.Available(
-                                nexusType.getMethod("register", String.class, ClassLoader.class, ReferenceQueue.class, int.class, Object.class),
-                                nexusType.getMethod("clean", Reference.class));
+                        return Dispatcher.Available.of(nexusType);
                     } catch (Exception exception) {
                         return new Dispatcher.Unavailable(exception.toString());
                     }
@@ -278,6 +275,14 @@ public class NexusAccessor {
              */
             private final Method clean;
 
+            /**
+             * The {@link LoadedTypeInitializer#onLoad(Class)} method to register alongside a loaded type initializer or {@code null}
+             * if the nexus does not support the registration of resolved initializers.
+             */
+            @MaybeNull
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.REVERSE_NULLABILITY)
+            private final Method onLoad;
+
             /**
              * Creates a new dispatcher.
              *
@@ -285,8 +290,44 @@ public class NexusAccessor {
              * @param clean    The {@link Nexus#clean(Reference)} method.
              */
             protected Available(Method register, Method clean) {
+                this(register, clean, null);
+            }
+
+            /**
+             * Creates a new dispatcher.
+             *
+             * @param register The {@link Nexus#register(String, ClassLoader, ReferenceQueue, int, Object)} method or
+             *                 the {@link Nexus#register(String, ClassLoader, ReferenceQueue, int, Object, Method)} method
+             *                 if an {@code onLoad} method is supplied.
+             * @param clean    The {@link Nexus#clean(Reference)} method.
+             * @param onLoad   The {@link LoadedTypeInitializer#onLoad(Class)} method to register alongside a loaded type initializer
+             *                 or {@code null} if the nexus does not support the registration of resolved initializers.
+             */
+            protected Available(Method register, Method clean, @MaybeNull Method onLoad) {
                 this.register = register;
                 this.clean = clean;
+                this.onLoad = onLoad;
+            }
+
+            /**
+             * Creates a dispatcher for a {@link Nexus} type. If the nexus supports the registration of resolved initializers, the
+             * {@link LoadedTypeInitializer#onLoad(Class)} method is registered alongside any initializer such that the nexus does not
+             * need to resolve the method upon a type's initialization. A nexus that was injected by a previous version of Byte Buddy
+             * might not support this registration.
+             *
+             * @param nexusType The nexus type.
+             * @return An appropriate dispatcher.
+             * @throws NoSuchMethodException If the nexus type does not declare the expected methods.
+             */
+            protected static Dispatcher of(Class<?> nexusType) throws NoSuchMethodException {
+                Method clean = nexusType.getMethod("clean", Reference.class);
+                try {
+                    return new Available(nexusType.getMethod("register", String.class, ClassLoader.class, ReferenceQueue.class, int.class, Object.class, Method.class),
+                            clean,
+                            LoadedTypeInitializer.class.getMethod("onLoad", Class.class));
+                } catch (NoSuchMethodException ignored) {
+                    return new Available(nexusType.getMethod("register", String.class, ClassLoader.class, ReferenceQueue.class, int.class, Object.class), clean);
+                }
             }
 
             /**
@@ -318,7 +359,11 @@ public class NexusAccessor {
                                  int identification,
                                  LoadedTypeInitializer loadedTypeInitializer) {
                 try {
-                    register.invoke(null, name, classLoader, referenceQueue, identification, loadedTypeInitializer);
+                    if (onLoad == null) {
+                        register.invoke(null, name, classLoader, referenceQueue, identification, loadedTypeInitializer);
+                    } else {
+                        register.invoke(null, name, classLoader, referenceQueue, identification, loadedTypeInitializer, onLoad);
+                    }
                 } catch (IllegalAccessException exception) {
                     throw new IllegalStateException(exception);
                 } catch (InvocationTargetException exception) {
@@ -38,8 +38,10 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLEncoder;
 import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -156,6 +158,11 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
     @MaybeNull
     protected final Object accessControlContext;
 
+    /**
+     * A map of package names to the locks that are held when defining a package.
+     */
+    protected final ConcurrentMap<String, Object> packageLocks;
+
     /**
      * Creates a new class loader for a given definition of classes.
      *
@@ -280,6 +287,7 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
         this.packageDefinitionStrategy = packageDefinitionStrategy;
         this.classFilePostProcessor = classFilePostProcessor;
         accessControlContext = getContext();
+        packageLocks = new ConcurrentHashMap<String, Object>();
     }
 
     /**
@@ -473,6 +481,20 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
                 : new SingletonEnumeration(url);
     }
 
+    /**
+     * Returns the lock that is held when defining a package. Other than a class loader-wide lock, this allows for the concurrent
+     * definition of classes in different packages while avoiding a duplicate definition of the same package.
+     *
+     * @param name The name of the package.
+     * @return The lock to hold when defining the package.
+     */
+    protected Object getPackageLock(String name) {
+        Object lock = new Object(), previous = packageLocks.putIfAbsent(name, lock);
+        return previous == null
+                ? lock
+                : previous;
+    }
+
     /**
      * Returns the package for a given name.
      *
@@ -714,18 +736,20 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
                 String packageName = name.substring(0, packageIndex);
                 PackageDefinitionStrategy.Definition definition = packageDefinitionStrategy.define(ByteArrayClassLoader.this, packageName, name);
                 if (definition.isDefined()) {
-                    Package definedPackage = PACKAGE_LOOKUP_STRATEGY.apply(ByteArrayClassLoader.this, packageName);
-                    if (definedPackage == null) {
-                        definePackage(packageName,
-                                definition.getSpecificationTitle(),
-                                definition.getSpecificationVersion(),
-                                definition.getSpecificationVendor(),
-                                definition.getImplementationTitle(),
-                                definition.getImplementationVersion(),
-                                definition.getImplementationVendor(),
-                                definition.getSealBase());
-                    } else if (!definition.isCompatibleTo(definedPackage)) {
-                        throw new SecurityException("Sealing violation for package " + packageName);
+                    synchronized (getPackageLock(packageName)) {
+                        Package definedPackage = PACKAGE_LOOKUP_STRATEGY.apply(ByteArrayClassLoader.this, packageName);
+                        if (definedPackage == null) {
+                            definePackage(packageName,
+                                    definition.getSpecificationTitle(),
+                                    definition.getSpecificationVersion(),
+                                    definition.getSpecificationVendor(),
+                                    definition.getImplementationTitle(),
+                                    definition.getImplementationVersion(),
+                                    definition.getImplementationVendor(),
+                                    definition.getSealBase());
+                        } else if (!definition.isCompatibleTo(definedPackage)) {
+                            throw new SecurityException("Sealing violation for package " + packageName);
+                        }
                     }
                 }
             }
@@ -1496,6 +1520,153 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
         }
     }
 
+    /**
+     * <p>
+     * A {@link ByteArrayClassLoader} that stores the binary representations of classes that are supplied to its constructor as segments
+     * of a direct {@link ByteBuffer} which serves as an arena for all of these class files. Doing so, class files of classes that are not
+     * yet loaded do not occupy the heap. A class file's segment is dereferenced as soon as its class is defined such that an arena becomes
+     * eligible for garbage collection once all its classes are defined. The arena's native memory is not released eagerly but only once the
+     * garbage collector reclaims the buffer, what might not happen until heap pressure triggers a collection. Class files are never exposed
+     * as resources, similar to the {@link PersistenceHandler#LATENT} persistence handler.
+     * </p>
+     * <p>
+     * Classes that are defined via {@link #defineClasses(Map)} are defined directly from the supplied binary representations without
+     * copying them into an arena, as these class files are already held on the heap by the caller.
+     * </p>
+     * <p>
+     * This class loader is parallel-capable if the current VM supports it. Packages are defined under a lock that is specific to the
+     * defined package such that classes of different packages can be defined concurrently.
+     * </p>
+     */
+    public static class Segmented extends ByteArrayClassLoader {
+
+        /*
+         * Register class loader as parallel capable if the current VM supports it.
+         */
+        static {
+            doRegisterAsParallelCapable();
+        }
+
+        /**
+         * Registers class loader as parallel capable if possible.
+         */
+        @SuppressFBWarnings(value = "DP_DO_INSIDE_DO_PRIVILEGED", justification = "Must be invoked from targeting class loader type.")
+        private static void doRegisterAsParallelCapable() {
+            try {
+                Method method = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+                method.setAccessible(true);
+                method.invoke(null);
+            } catch (Throwable ignored) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * A mapping of type names to the segments that contain their binary representations.
+         */
+        protected final ConcurrentMap<String, ByteBuffer> segments;
+
+        /**
+         * Creates a new segmented class loader.
+         *
+         * @param parent          The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         */
+        public Segmented(@MaybeNull ClassLoader parent, Map<String, byte[]> typeDefinitions) {
+            this(parent, true, typeDefinitions);
+        }
+
+        /**
+         * Creates a new segmented class loader.
+         *
+         * @param parent          The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param sealed          {@code true} if this class loader is sealed.
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         */
+        public Segmented(@MaybeNull ClassLoader parent, boolean sealed, Map<String, byte[]> typeDefinitions) {
+            this(parent, sealed, typeDefinitions, ClassLoadingStrategy.NO_PROTECTION_DOMAIN, PackageDefinitionStrategy.Trivial.INSTANCE);
+        }
+
+        /**
+         * Creates a new segmented class loader.
+         *
+         * @param parent                    The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param sealed                    {@code true} if this class loader is sealed.
+         * @param typeDefinitions           A map of fully qualified class names pointing to their binary representations.
+         * @param protectionDomain          The protection domain to apply where {@code null} references an implicit protection domain.
+         * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+         */
+        public Segmented(@MaybeNull ClassLoader parent,
+                         boolean sealed,
+                         Map<String, byte[]> typeDefinitions,
+                         @MaybeNull ProtectionDomain protectionDomain,
+                         PackageDefinitionStrategy packageDefinitionStrategy) {
+            this(parent, sealed, typeDefinitions, protectionDomain, packageDefinitionStrategy, ClassFilePostProcessor.NoOp.INSTANCE);
+        }
+
+        /**
+         * Creates a new segmented class loader.
+         *
+         * @param parent                    The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param sealed                    {@code true} if this class loader is sealed.
+         * @param typeDefinitions           A map of fully qualified class names pointing to their binary representations.
+         * @param protectionDomain          The protection domain to apply where {@code null} references an implicit protection domain.
+         * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+         * @param classFilePostProcessor    A post processor for class files to apply prior to class definition.
+         */
+        public Segmented(@MaybeNull ClassLoader parent,
+                         boolean sealed,
+                         Map<String, byte[]> typeDefinitions,
+                         @MaybeNull ProtectionDomain protectionDomain,
+                         PackageDefinitionStrategy packageDefinitionStrategy,
+                         ClassFilePostProcessor classFilePostProcessor) {
+            super(parent,
+                    sealed,
+                    Collections.<String, byte[]>emptyMap(),
+                    protectionDomain,
+                    PersistenceHandler.LATENT,
+                    packageDefinitionStrategy,
+                    classFilePostProcessor);
+            segments = new ConcurrentHashMap<String, ByteBuffer>();
+            store(typeDefinitions);
+        }
+
+        /**
+         * Stores the supplied binary representations in a new arena.
+         *
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         */
+        private void store(Map<String, byte[]> typeDefinitions) {
+            int size = 0;
+            for (byte[] binaryRepresentation : typeDefinitions.values()) {
+                size += binaryRepresentation.length;
+            }
+            ByteBuffer arena = ByteBuffer.allocateDirect(size);
+            for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+                int position = arena.position();
+                arena.put(entry.getValue());
+                ByteBuffer segment = arena.duplicate();
+                segment.position(position);
+                segment.limit(position + entry.getValue().length);
+                segments.put(entry.getKey(), segment.slice().asReadOnlyBuffer());
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            ByteBuffer segment = segments.remove(name);
+            if (segment == null) {
+                return super.findClass(name);
+            }
+            byte[] binaryRepresentation = new byte[segment.remaining()];
+            segment.duplicate().get(binaryRepresentation);
+            return doPrivileged(new ClassDefinitionAction(name, classFilePostProcessor.transform(this,
+                    name,
+                    protectionDomain,
+                    binaryRepresentation)), accessControlContext);
+        }
+    }
+
     /**
      * An enumeration without any elements.
      */
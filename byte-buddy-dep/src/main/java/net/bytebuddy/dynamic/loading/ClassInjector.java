@@ -40,12 +40,14 @@ import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.utility.GraalImageCode;
 import net.bytebuddy.utility.JavaModule;
 import net.bytebuddy.utility.JavaType;
+import net.bytebuddy.utility.OpenedClassReader;
 import net.bytebuddy.utility.RandomString;
 import net.bytebuddy.utility.dispatcher.JavaDispatcher;
 import net.bytebuddy.utility.nullability.AlwaysNull;
 import net.bytebuddy.utility.nullability.MaybeNull;
 import net.bytebuddy.utility.nullability.UnknownNull;
 import net.bytebuddy.utility.privilege.GetMethodAction;
+import org.objectweb.asm.ClassReader;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -201,6 +203,67 @@ public interface ClassInjector {
         public Map<String, Class<?>> injectRaw(Map<String, byte[]> types) {
             return injectRaw(types.keySet(), new ClassFileLocator.Simple(types));
         }
+
+        /**
+         * Resolves the binary representations of all supplied types and orders them such that a type's super class and
+         * interfaces precede the type if they are part of the same batch. This way, the target class loader does not need
+         * to locate any super type of the batch while a type is defined what allows for injecting a complete package in
+         * a single pass. A type whose binary representation cannot be resolved retains its position such that the resolution
+         * error is only raised if the type is actually defined. Callers should exclude types that are already loaded
+         * such that their class files are not located without need.
+         *
+         * @param names            The names of the types to resolve, excluding types that are already loaded.
+         * @param classFileLocator The class file locator to use for resolving binary representations.
+         * @return A map of the types' names to their resolutions in the order of definition.
+         * @throws IOException If a type's binary representation cannot be located.
+         */
+        protected static Map<String, ClassFileLocator.Resolution> inDependencyOrder(Set<String> names, ClassFileLocator classFileLocator) throws IOException {
+            Map<String, ClassFileLocator.Resolution> resolutions = new LinkedHashMap<String, ClassFileLocator.Resolution>();
+            for (String name : names) {
+                resolutions.put(name, classFileLocator.locate(name));
+            }
+            Map<String, ClassFileLocator.Resolution> ordered = new LinkedHashMap<String, ClassFileLocator.Resolution>();
+            Set<String> visited = new HashSet<String>();
+            for (String name : names) {
+                inDependencyOrder(name, resolutions, ordered, visited);
+            }
+            return ordered;
+        }
+
+        /**
+         * Adds a type to the ordered resolutions after adding any of its super types that are contained in the batch.
+         *
+         * @param name        The name of the type to add.
+         * @param resolutions The resolutions of all types of the batch.
+         * @param ordered     The resolutions in the order of definition.
+         * @param visited     The names of all types that were already visited.
+         */
+        private static void inDependencyOrder(String name,
+                                              Map<String, ClassFileLocator.Resolution> resolutions,
+                                              Map<String, ClassFileLocator.Resolution> ordered,
+                                              Set<String> visited) {
+            ClassFileLocator.Resolution resolution = resolutions.get(name);
+            if (resolution == null || !visited.add(name)) {
+                return;
+            } else if (resolution.isResolved()) {
+                ClassReader classReader;
+                try {
+                    classReader = OpenedClassReader.of(resolution.resolve());
+                } catch (RuntimeException ignored) {
+                    classReader = null; // Malformed class files are rejected upon their definition.
+                }
+                if (classReader != null) {
+                    String superName = classReader.getSuperName();
+                    if (superName != null) {
+                        inDependencyOrder(superName.replace('/', '.'), resolutions, ordered, visited);
+                    }
+                    for (String interfaceName : classReader.getInterfaces()) {
+                        inDependencyOrder(interfaceName.replace('/', '.'), resolutions, ordered, visited);
+                    }
+                }
+            }
+            ordered.put(name, resolution);
+        }
     }
 
     /**
@@ -318,12 +381,31 @@ public interface ClassInjector {
         public Map<String, Class<?>> injectRaw(Set<String> names, ClassFileLocator classFileLocator) {
             Dispatcher dispatcher = DISPATCHER.initialize();
             Map<String, Class<?>> result = new HashMap<String, Class<?>>();
+            Set<String> unloaded = new LinkedHashSet<String>();
             for (String name : names) {
+                Class<?> type = dispatcher.findClass(classLoader, name);
+                if (type == null) {
+                    unloaded.add(name);
+                } else if (forbidExisting) {
+                    throw new IllegalStateException("Cannot inject already loaded type: " + type);
+                } else {
+                    result.put(name, type);
+                }
+            }
+            Map<String, ClassFileLocator.Resolution> resolutions;
+            try {
+                resolutions = inDependencyOrder(unloaded, classFileLocator);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Could not resolve type descriptions for " + unloaded, exception);
+            }
+            Set<String> packageNames = new HashSet<String>();
+            for (Map.Entry<String, ClassFileLocator.Resolution> entry : resolutions.entrySet()) {
+                String name = entry.getKey();
                 synchronized (dispatcher.getClassLoadingLock(classLoader, name)) {
                     Class<?> type = dispatcher.findClass(classLoader, name);
                     if (type == null) {
                         int packageIndex = name.lastIndexOf('.');
-                        if (packageIndex != -1) {
+                        if (packageIndex != -1 && packageNames.add(name.substring(0, packageIndex))) {
                             String packageName = name.substring(0, packageIndex);
                             PackageDefinitionStrategy.Definition definition = packageDefinitionStrategy.define(classLoader, packageName, name);
                             if (definition.isDefined()) {
@@ -360,11 +442,7 @@ public interface ClassInjector {
                                 }
                             }
                         }
-                        try {
-                            type = dispatcher.defineClass(classLoader, name, classFileLocator.locate(name).resolve(), protectionDomain);
-                        } catch (IOException exception) {
-                            throw new IllegalStateException("Could not resolve type description for " + name, exception);
-                        }
+                        type = dispatcher.defineClass(classLoader, name, entry.getValue().resolve(), protectionDomain);
                     } else if (forbidExisting) {
                         throw new IllegalStateException("Cannot inject already loaded type: " + type);
                     }
@@ -1721,17 +1799,19 @@ public interface ClassInjector {
             if (target == null) {
                 throw new IllegalArgumentException("Cannot inject array or primitive type");
             }
-            Map<String, Class<?>> result = new HashMap<String, Class<?>>();
             for (String name : names) {
                 int index = name.lastIndexOf('.');
                 if (!target.getName().equals(index == -1 ? "" : name.substring(0, index))) {
                     throw new IllegalArgumentException(name + " must be defined in the same package as " + lookup);
                 }
-                try {
-                    result.put(name, METHOD_HANDLES_LOOKUP.defineClass(lookup, classFileLocator.locate(name).resolve()));
-                } catch (Exception exception) {
-                    throw new IllegalStateException(exception);
+            }
+            Map<String, Class<?>> result = new HashMap<String, Class<?>>();
+            try {
+                for (Map.Entry<String, ClassFileLocator.Resolution> entry : inDependencyOrder(names, classFileLocator).entrySet()) {
+                    result.put(entry.getKey(), METHOD_HANDLES_LOOKUP.defineClass(lookup, entry.getValue().resolve()));
                 }
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
             }
             return result;
         }
@@ -1909,28 +1989,37 @@ public interface ClassInjector {
             synchronized (classLoader == null
                     ? BOOTSTRAP_LOADER_LOCK
                     : classLoader) {
+                Set<String> unloaded = new LinkedHashSet<String>();
                 for (String name : names) {
                     try {
                         result.put(name, Class.forName(name, false, classLoader));
                     } catch (ClassNotFoundException ignored) {
+                        unloaded.add(name);
+                    }
+                }
+                Map<String, ClassFileLocator.Resolution> resolutions;
+                try {
+                    resolutions = inDependencyOrder(unloaded, classFileLocator);
+                } catch (IOException exception) {
+                    throw new IllegalStateException("Failed to resolve binary representations of " + unloaded, exception);
+                }
+                for (Map.Entry<String, ClassFileLocator.Resolution> entry : resolutions.entrySet()) {
+                    String name = entry.getKey();
+                    try {
+                        result.put(name, dispatcher.defineClass(classLoader, name, entry.getValue().resolve(), protectionDomain));
+                    } catch (
+                            RuntimeException exception) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
                         try {
-                            result.put(name, dispatcher.defineClass(classLoader, name, classFileLocator.locate(name).resolve(), protectionDomain));
-                        } catch (
-                                RuntimeException exception) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
-                            try {
-                                result.put(name, Class.forName(name, false, classLoader));
-                            } catch (ClassNotFoundException ignored2) {
-                                throw exception;
-                            }
-                        } catch (IOException exception) {
-                            throw new IllegalStateException("Failed to resolve binary representation of " + name, exception);
-                        } catch (
-                                Error error) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
-                            try {
-                                result.put(name, Class.forName(name, false, classLoader));
-                            } catch (ClassNotFoundException ignored2) {
-                                throw error;
-                            }
+                            result.put(name, Class.forName(name, false, classLoader));
+                        } catch (ClassNotFoundException ignored) {
+                            throw exception;
+                        }
+                    } catch (
+                            Error error) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
+                        try {
+                            result.put(name, Class.forName(name, false, classLoader));
+                        } catch (ClassNotFoundException ignored) {
+                            throw error;
                         }
                     }
                 }
@@ -20,6 +20,7 @@ import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -678,7 +679,18 @@ public interface MethodGraph {
              * {@inheritDoc}
              */
             public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
-                Map<TypeDefinition, Key.Store<T>> snapshots = new HashMap<TypeDefinition, Key.Store<T>>();
+                return compile(typeDefinition, viewPoint, new HashMap<TypeDefinition, Key.Store<T>>());
+            }
+
+            /**
+             * Compiles the given type into a method graph.
+             *
+             * @param typeDefinition The type to be compiled.
+             * @param viewPoint      The view point that determines the method's visibility.
+             * @param snapshots      A map containing snapshots of key stores for previously analyzed types.
+             * @return A linked method graph representing the given type.
+             */
+            protected MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint, Map<TypeDefinition, Key.Store<T>> snapshots) {
                 Key.Store<?> rootStore = doAnalyze(typeDefinition, snapshots, isVirtual().and(isVisibleTo(viewPoint)).and(matcher));
                 TypeDescription.Generic superClass = typeDefinition.getSuperClass();
                 List<TypeDescription.Generic> interfaceTypes = typeDefinition.getInterfaces();
@@ -762,6 +774,385 @@ public interface MethodGraph {
                 return store.inject(interfaceStore).registerTopLevel(typeDefinition.getDeclaredMethods().filter(relevanceMatcher), harmonizer);
             }
 
+            /**
+             * <p>
+             * A default method graph compiler that memoizes the analysis of super classes and interfaces between compilations such that
+             * types that share a common hierarchy only require the analysis of the methods that are declared by each type. Memoized
+             * analyses are retained in a bounded cache that evicts the least recently used analysis. The cache is segmented where each
+             * segment is locked independently.
+             * </p>
+             * <p>
+             * Analyses are only reused if a type is compiled from its own view point, where an analysis is specific to the package of
+             * the compiled type as it determines the visibility of package-private methods. Any other compilation is not memoized.
+             * </p>
+             * <p>
+             * <b>Important</b>: Analyses are identified by the generic type they represent. Types are however considered equal if they
+             * share a name. Therefore, this compiler must not be used for compiling types of different class loaders or type pools
+             * if those can define different types of equal names. In such a case, a compiler should be used per class loader.
+             * </p>
+             *
+             * @param <S> The type of the harmonizer token to be used for linking methods of different types.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Memoizing<S> extends Default<S> {
+
+                /**
+                 * The default number of segments.
+                 */
+                private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+                /**
+                 * The maximum number of analyzed super types to retain.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The number of segments of this compiler's cache.
+                 */
+                private final int segmentCount;
+
+                /**
+                 * The segments of this compiler's cache.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final Segment<S>[] segments;
+
+                /**
+                 * Creates a new memoizing method graph compiler with a default number of segments.
+                 *
+                 * @param harmonizer  The harmonizer to be used.
+                 * @param merger      The merger to be used.
+                 * @param visitor     A visitor to apply to all type descriptions before analyzing their methods or resolving super types.
+                 * @param matcher     A matcher to filter methods from the graph.
+                 * @param maximumSize The maximum number of analyzed super types to retain.
+                 */
+                public Memoizing(Harmonizer<S> harmonizer,
+                                 Merger merger,
+                                 TypeDescription.Generic.Visitor<? extends TypeDescription.Generic> visitor,
+                                 ElementMatcher<? super MethodDescription> matcher,
+                                 int maximumSize) {
+                    this(harmonizer, merger, visitor, matcher, maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+                }
+
+                /**
+                 * Creates a new memoizing method graph compiler.
+                 *
+                 * @param harmonizer       The harmonizer to be used.
+                 * @param merger           The merger to be used.
+                 * @param visitor          A visitor to apply to all type descriptions before analyzing their methods or resolving super types.
+                 * @param matcher          A matcher to filter methods from the graph.
+                 * @param maximumSize      The maximum number of analyzed super types to retain.
+                 * @param concurrencyLevel The number of segments that are locked independently.
+                 */
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                public Memoizing(Harmonizer<S> harmonizer,
+                                 Merger merger,
+                                 TypeDescription.Generic.Visitor<? extends TypeDescription.Generic> visitor,
+                                 ElementMatcher<? super MethodDescription> matcher,
+                                 int maximumSize,
+                                 int concurrencyLevel) {
+                    super(harmonizer, merger, visitor, matcher);
+                    if (maximumSize < 1) {
+                        throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                    } else if (concurrencyLevel < 1) {
+                        throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+                    }
+                    this.maximumSize = maximumSize;
+                    segmentCount = Integer.highestOneBit(Math.min(concurrencyLevel, maximumSize));
+                    segments = new Segment[segmentCount];
+                    for (int index = 0; index < segmentCount; index++) {
+                        segments[index] = new Segment<S>(maximumSize / segmentCount + (index < maximumSize % segmentCount ? 1 : 0));
+                    }
+                }
+
+                /**
+                 * Creates a memoizing compiler for a method hierarchy following the rules of the Java programming language.
+                 *
+                 * @param maximumSize The maximum number of analyzed super types to retain.
+                 * @return A memoizing compiler for resolving a method hierarchy following the rules of the Java programming language.
+                 * @see Default#forJavaHierarchy()
+                 */
+                public static Memoizing<Harmonizer.ForJavaMethod.Token> forJavaHierarchy(int maximumSize) {
+                    return new Memoizing<Harmonizer.ForJavaMethod.Token>(Harmonizer.ForJavaMethod.INSTANCE,
+                            Merger.Directional.LEFT,
+                            TypeDescription.Generic.Visitor.Reifying.INITIATING,
+                            any(),
+                            maximumSize);
+                }
+
+                /**
+                 * Creates a memoizing compiler for a method hierarchy following the rules of the Java virtual machine.
+                 *
+                 * @param maximumSize The maximum number of analyzed super types to retain.
+                 * @return A memoizing compiler for resolving a method hierarchy following the rules of the Java virtual machine.
+                 * @see Default#forJVMHierarchy()
+                 */
+                public static Memoizing<Harmonizer.ForJVMMethod.Token> forJVMHierarchy(int maximumSize) {
+                    return new Memoizing<Harmonizer.ForJVMMethod.Token>(Harmonizer.ForJVMMethod.INSTANCE,
+                            Merger.Directional.LEFT,
+                            TypeDescription.Generic.Visitor.Reifying.INITIATING,
+                            any(),
+                            maximumSize);
+                }
+
+                @Override
+                public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                    PackageDescription packageDescription = viewPoint.getPackage();
+                    return packageDescription == null || !typeDefinition.asErasure().equals(viewPoint)
+                            ? super.compile(typeDefinition, viewPoint)
+                            : compile(typeDefinition, viewPoint, new Snapshots<S>(packageDescription.getName(), this));
+                }
+
+                /**
+                 * Resolves the segment for a given key.
+                 *
+                 * @param key The key of the analysis.
+                 * @return The segment that is responsible for the given key.
+                 */
+                private Segment<S> segment(SnapshotKey key) {
+                    int hash = key.hashCode();
+                    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+                }
+
+                /**
+                 * Returns a memoized analysis.
+                 *
+                 * @param key The key of the analysis.
+                 * @return The memoized analysis or {@code null} if no analysis is memoized.
+                 */
+                @MaybeNull
+                protected Key.Store<S> find(SnapshotKey key) {
+                    return segment(key).find(key);
+                }
+
+                /**
+                 * Memoizes an analysis.
+                 *
+                 * @param key   The key of the analysis.
+                 * @param store The analysis to memoize.
+                 */
+                protected void register(SnapshotKey key, Key.Store<S> store) {
+                    segment(key).register(key, store);
+                }
+
+                /**
+                 * Clears all memoized analyses.
+                 */
+                public void clear() {
+                    for (Segment<S> segment : segments) {
+                        segment.reset();
+                    }
+                }
+
+                /**
+                 * Returns the number of analyses that are currently retained by this compiler.
+                 *
+                 * @return The number of analyses that are currently retained by this compiler.
+                 */
+                public int size() {
+                    int size = 0;
+                    for (Segment<S> segment : segments) {
+                        synchronized (segment) {
+                            size += segment.size();
+                        }
+                    }
+                    return size;
+                }
+
+                /**
+                 * Returns the number of analyses that were reused from this compiler's cache.
+                 *
+                 * @return The number of analyses that were reused from this compiler's cache.
+                 */
+                public long getHitCount() {
+                    long count = 0;
+                    for (Segment<S> segment : segments) {
+                        synchronized (segment) {
+                            count += segment.hits;
+                        }
+                    }
+                    return count;
+                }
+
+                /**
+                 * Returns the number of analyses that could not be reused from this compiler's cache.
+                 *
+                 * @return The number of analyses that could not be reused from this compiler's cache.
+                 */
+                public long getMissCount() {
+                    long count = 0;
+                    for (Segment<S> segment : segments) {
+                        synchronized (segment) {
+                            count += segment.misses;
+                        }
+                    }
+                    return count;
+                }
+
+                /**
+                 * A key for a memoized analysis.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class SnapshotKey {
+
+                    /**
+                     * The name of the package of the compiled type.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * The analyzed type.
+                     */
+                    private final TypeDefinition typeDefinition;
+
+                    /**
+                     * Creates a new snapshot key.
+                     *
+                     * @param packageName    The name of the package of the compiled type.
+                     * @param typeDefinition The analyzed type.
+                     */
+                    protected SnapshotKey(String packageName, TypeDefinition typeDefinition) {
+                        this.packageName = packageName;
+                        this.typeDefinition = typeDefinition;
+                    }
+                }
+
+                /**
+                 * A map of snapshots for a single compilation that resolves and registers snapshots from and to a memoizing compiler.
+                 *
+                 * @param <U> The type of the harmonizer token to be used for linking methods of different types.
+                 */
+                @SuppressFBWarnings(value = {"SE_BAD_FIELD", "EQ_DOESNT_OVERRIDE_EQUALS"}, justification = "The map is neither serialized nor compared.")
+                protected static class Snapshots<U> extends HashMap<TypeDefinition, Key.Store<U>> {
+
+                    /**
+                     * The serial version UID.
+                     */
+                    private static final long serialVersionUID = 1L;
+
+                    /**
+                     * The name of the package of the compiled type.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * The memoizing compiler to use.
+                     */
+                    private final Memoizing<U> compiler;
+
+                    /**
+                     * Creates a new map of snapshots.
+                     *
+                     * @param packageName The name of the package of the compiled type.
+                     * @param compiler    The memoizing compiler to use.
+                     */
+                    protected Snapshots(String packageName, Memoizing<U> compiler) {
+                        this.packageName = packageName;
+                        this.compiler = compiler;
+                    }
+
+                    @Override
+                    @MaybeNull
+                    public Key.Store<U> get(Object key) {
+                        Key.Store<U> store = super.get(key);
+                        if (store == null && key instanceof TypeDefinition) {
+                            store = compiler.find(new SnapshotKey(packageName, (TypeDefinition) key));
+                            if (store != null) {
+                                super.put((TypeDefinition) key, store);
+                            }
+                        }
+                        return store;
+                    }
+
+                    @Override
+                    @MaybeNull
+                    public Key.Store<U> put(TypeDefinition key, Key.Store<U> value) {
+                        compiler.register(new SnapshotKey(packageName, key), value);
+                        return super.put(key, value);
+                    }
+                }
+
+                /**
+                 * A segment of a memoizing compiler's cache that retains its analyses in access order.
+                 *
+                 * @param <U> The type of the harmonizer token to be used for linking methods of different types.
+                 */
+                @SuppressFBWarnings(value = {"SE_BAD_FIELD", "EQ_DOESNT_OVERRIDE_EQUALS"}, justification = "The segment is neither serialized nor compared.")
+                protected static class Segment<U> extends LinkedHashMap<SnapshotKey, Key.Store<U>> {
+
+                    /**
+                     * The serial version UID.
+                     */
+                    private static final long serialVersionUID = 1L;
+
+                    /**
+                     * The maximum number of analyses to retain in this segment.
+                     */
+                    private final int maximumSize;
+
+                    /**
+                     * The number of lookups that were answered by this segment.
+                     */
+                    private long hits;
+
+                    /**
+                     * The number of lookups that could not be answered by this segment.
+                     */
+                    private long misses;
+
+                    /**
+                     * Creates a new segment.
+                     *
+                     * @param maximumSize The maximum number of analyses to retain in this segment.
+                     */
+                    protected Segment(int maximumSize) {
+                        super(16, 0.75f, true);
+                        this.maximumSize = maximumSize;
+                    }
+
+                    /**
+                     * Returns a memoized analysis.
+                     *
+                     * @param key The key of the analysis.
+                     * @return The memoized analysis or {@code null} if no analysis is memoized.
+                     */
+                    @MaybeNull
+                    protected synchronized Key.Store<U> find(SnapshotKey key) {
+                        Key.Store<U> store = get(key);
+                        if (store == null) {
+                            misses++;
+                        } else {
+                            hits++;
+                        }
+                        return store;
+                    }
+
+                    /**
+                     * Memoizes an analysis.
+                     *
+                     * @param key   The key of the analysis.
+                     * @param store The analysis to memoize.
+                     */
+                    protected synchronized void register(SnapshotKey key, Key.Store<U> store) {
+                        put(key, store);
+                    }
+
+                    /**
+                     * Removes all analyses and resets the statistics of this segment.
+                     */
+                    protected synchronized void reset() {
+                        clear();
+                        hits = 0;
+                        misses = 0;
+                    }
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<SnapshotKey, Key.Store<U>> eldest) {
+                        return size() > maximumSize;
+                    }
+                }
+            }
+
             /**
              * A harmonizer is responsible for creating a token that identifies a method's relevant attributes for considering
              * two methods of being equal or not.
@@ -15,6 +15,7 @@
  */
 package net.bytebuddy.implementation;
 
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
@@ -24,6 +25,7 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.scaffold.FieldLocator;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.dynamic.scaffold.MethodGraph;
+import net.bytebuddy.implementation.bind.InterceptorRegistry;
 import net.bytebuddy.implementation.bind.MethodDelegationBinder;
 import net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
@@ -32,10 +34,12 @@ import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.TypeCreation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.Invokedynamic;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.utility.CompoundList;
+import net.bytebuddy.utility.JavaConstant;
 import net.bytebuddy.utility.RandomString;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -189,6 +193,11 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
  * intends to bind a interceptor class and its resolution algorithm will not necessarily yield a delegation to the intercepted
  * method.
  * </p>
+ * <p>
+ * If an interceptor is only chosen at runtime, {@link MethodDelegation#toRegistered(Class, String)} binds a method to an
+ * interceptor type at build time but invokes the interceptor that is registered in the {@link InterceptorRegistry} via an
+ * <i>invokedynamic</i> call site that is relinked whenever the registered interceptor changes.
+ * </p>
  *
  * @see MethodCall
  * @see net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder.ParameterBinder.ForFixedValue
@@ -605,6 +614,55 @@ public class MethodDelegation implements Implementation.Composable {
         return withDefaultConfiguration().toMethodReturnOf(name, methodGraphCompiler);
     }
 
+    /**
+     * Delegates any intercepted method to invoke a non-{@code static} method of the interceptor that is registered in the
+     * {@link InterceptorRegistry} for the supplied key. The target method is bound at build time while the interceptor is
+     * resolved and invoked by an <i>invokedynamic</i> call site which is relinked whenever another interceptor is registered.
+     * To be considered a valid delegation target, a method must be visible and accessible to the instrumented type. This
+     * requires a class file version of at least Java 7 and that the {@link InterceptorRegistry} is visible to the
+     * instrumented type.
+     *
+     * @param type The type of the registered interceptors.
+     * @param key  The key of the registered interceptors.
+     * @return A delegation that redirects invocations to a method of the interceptor that is registered for the given key.
+     */
+    public static MethodDelegation toRegistered(Class<?> type, String key) {
+        return withDefaultConfiguration().toRegistered(type, key);
+    }
+
+    /**
+     * Delegates any intercepted method to invoke a non-{@code static} method of the interceptor that is registered in the
+     * {@link InterceptorRegistry} for the supplied key. The target method is bound at build time while the interceptor is
+     * resolved and invoked by an <i>invokedynamic</i> call site which is relinked whenever another interceptor is registered.
+     * To be considered a valid delegation target, a method must be visible and accessible to the instrumented type. This
+     * requires a class file version of at least Java 7 and that the {@link InterceptorRegistry} is visible to the
+     * instrumented type.
+     *
+     * @param typeDefinition The type of the registered interceptors.
+     * @param key            The key of the registered interceptors.
+     * @return A delegation that redirects invocations to a method of the interceptor that is registered for the given key.
+     */
+    public static MethodDelegation toRegistered(TypeDefinition typeDefinition, String key) {
+        return withDefaultConfiguration().toRegistered(typeDefinition, key);
+    }
+
+    /**
+     * Delegates any intercepted method to invoke a non-{@code static} method of the interceptor that is registered in the
+     * {@link InterceptorRegistry} for the supplied key. The target method is bound at build time while the interceptor is
+     * resolved and invoked by an <i>invokedynamic</i> call site which is relinked whenever another interceptor is registered.
+     * To be considered a valid delegation target, a method must be visible and accessible to the instrumented type. This
+     * requires a class file version of at least Java 7 and that the {@link InterceptorRegistry} is visible to the
+     * instrumented type.
+     *
+     * @param typeDefinition      The type of the registered interceptors.
+     * @param key                 The key of the registered interceptors.
+     * @param methodGraphCompiler The method graph compiler to use.
+     * @return A delegation that redirects invocations to a method of the interceptor that is registered for the given key.
+     */
+    public static MethodDelegation toRegistered(TypeDefinition typeDefinition, String key, MethodGraph.Compiler methodGraphCompiler) {
+        return withDefaultConfiguration().toRegistered(typeDefinition, key, methodGraphCompiler);
+    }
+
     /**
      * Creates a configuration builder for a method delegation that is pre-configured with the ambiguity resolvers defined by
      * {@link net.bytebuddy.implementation.bind.MethodDelegationBinder.AmbiguityResolver#DEFAULT} and the parameter binders
@@ -928,6 +986,105 @@ public class MethodDelegation implements Implementation.Composable {
                     return records;
                 }
             }
+
+            /**
+             * A compiled implementation delegate that invokes methods on an interceptor of the {@link InterceptorRegistry}
+             * by an <i>invokedynamic</i> call site.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForRegistry implements Compiled, MethodDelegationBinder.MethodInvoker {
+
+                /**
+                 * The bootstrap method of the {@link InterceptorRegistry}.
+                 */
+                private static final MethodDescription.InDefinedShape BOOTSTRAP = TypeDescription.ForLoadedType.of(InterceptorRegistry.class)
+                        .getDeclaredMethods()
+                        .filter(named(InterceptorRegistry.BOOTSTRAP))
+                        .getOnly();
+
+                /**
+                 * The key of the registered interceptors.
+                 */
+                private final String key;
+
+                /**
+                 * The records to consider for delegation.
+                 */
+                private final List<MethodDelegationBinder.Record> records;
+
+                /**
+                 * Creates a new compiled implementation delegate for a registered interceptor.
+                 *
+                 * @param key     The key of the registered interceptors.
+                 * @param records The records to consider for delegation.
+                 */
+                protected ForRegistry(String key, List<MethodDelegationBinder.Record> records) {
+                    this.key = key;
+                    this.records = records;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public StackManipulation prepare(MethodDescription instrumentedMethod) {
+                    return StackManipulation.Trivial.INSTANCE;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public MethodDelegationBinder.MethodInvoker invoke() {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public List<MethodDelegationBinder.Record> getRecords() {
+                    return records;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public StackManipulation invoke(MethodDescription methodDescription) {
+                    return new Invocation(new Invokedynamic(methodDescription.getInternalName(),
+                            JavaConstant.MethodType.of(methodDescription.getReturnType().asErasure(), methodDescription.getParameters().asTypeList().asErasures()),
+                            JavaConstant.MethodHandle.of(BOOTSTRAP),
+                            Arrays.asList(JavaConstant.Simple.ofLoaded(key), JavaConstant.MethodHandle.of(methodDescription.asDefined()))));
+                }
+
+                /**
+                 * An invocation of a registered interceptor which requires a class file version that supports <i>invokedynamic</i>.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Invocation extends StackManipulation.AbstractBase {
+
+                    /**
+                     * The <i>invokedynamic</i> instruction to apply.
+                     */
+                    private final StackManipulation invokedynamic;
+
+                    /**
+                     * Creates a new invocation of a registered interceptor.
+                     *
+                     * @param invokedynamic The <i>invokedynamic</i> instruction to apply.
+                     */
+                    protected Invocation(StackManipulation invokedynamic) {
+                        this.invokedynamic = invokedynamic;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Size apply(MethodVisitor methodVisitor, Context implementationContext) {
+                        if (implementationContext.getClassFileVersion().isLessThan(ClassFileVersion.JAVA_V7)) {
+                            throw new IllegalStateException("Cannot invoke a registered interceptor from class file version " + implementationContext.getClassFileVersion());
+                        }
+                        return invokedynamic.apply(methodVisitor, implementationContext);
+                    }
+                }
+            }
         }
 
         /**
@@ -1237,6 +1394,85 @@ public class MethodDelegation implements Implementation.Composable {
             }
         }
 
+        /**
+         * An implementation delegate for invoking methods on an interceptor of the {@link InterceptorRegistry}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForRegistry implements ImplementationDelegate {
+
+            /**
+             * The type of the registered interceptors.
+             */
+            private final TypeDescription.Generic type;
+
+            /**
+             * The key of the registered interceptors.
+             */
+            private final String key;
+
+            /**
+             * The method graph compiler to use.
+             */
+            private final MethodGraph.Compiler methodGraphCompiler;
+
+            /**
+             * The parameter binders to use.
+             */
+            private final List<? extends TargetMethodAnnotationDrivenBinder.ParameterBinder<?>> parameterBinders;
+
+            /**
+             * The matcher to use for filtering methods.
+             */
+            private final ElementMatcher<? super MethodDescription> matcher;
+
+            /**
+             * Creates a new implementation delegate for a registered interceptor.
+             *
+             * @param type                The type of the registered interceptors.
+             * @param key                 The key of the registered interceptors.
+             * @param methodGraphCompiler The method graph compiler to use.
+             * @param parameterBinders    The parameter binders to use.
+             * @param matcher             The matcher to use for filtering methods.
+             */
+            protected ForRegistry(TypeDescription.Generic type,
+                                  String key,
+                                  MethodGraph.Compiler methodGraphCompiler,
+                                  List<? extends TargetMethodAnnotationDrivenBinder.ParameterBinder<?>> parameterBinders,
+                                  ElementMatcher<? super MethodDescription> matcher) {
+                this.type = type;
+                this.key = key;
+                this.methodGraphCompiler = methodGraphCompiler;
+                this.parameterBinders = parameterBinders;
+                this.matcher = matcher;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public InstrumentedType prepare(InstrumentedType instrumentedType) {
+                return instrumentedType;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Compiled compile(TypeDescription instrumentedType) {
+                if (!type.asErasure().isVisibleTo(instrumentedType)) {
+                    throw new IllegalStateException(type + " is not visible to " + instrumentedType);
+                }
+                MethodList<?> candidates = methodGraphCompiler.compile(type, instrumentedType)
+                        .listNodes()
+                        .asMethodList()
+                        .filter(matcher);
+                List<MethodDelegationBinder.Record> records = new ArrayList<MethodDelegationBinder.Record>(candidates.size());
+                MethodDelegationBinder methodDelegationBinder = TargetMethodAnnotationDrivenBinder.of(parameterBinders);
+                for (MethodDescription candidate : candidates) {
+                    records.add(methodDelegationBinder.compile(candidate));
+                }
+                return new Compiled.ForRegistry(key, records);
+            }
+        }
+
         /**
          * An implementation delegate for constructing an instance.
          */
@@ -1848,5 +2084,61 @@ public class MethodDelegation implements Implementation.Composable {
                     parameterBinders,
                     matcher), parameterBinders, ambiguityResolver, bindingResolver);
         }
+
+        /**
+         * Delegates any intercepted method to invoke a non-{@code static} method of the interceptor that is registered in the
+         * {@link InterceptorRegistry} for the supplied key. The target method is bound at build time while the interceptor is
+         * resolved and invoked by an <i>invokedynamic</i> call site which is relinked whenever another interceptor is registered.
+         * To be considered a valid delegation target, a method must be visible and accessible to the instrumented type. This
+         * requires a class file version of at least Java 7 and that the {@link InterceptorRegistry} is visible to the
+         * instrumented type.
+         *
+         * @param type The type of the registered interceptors.
+         * @param key  The key of the registered interceptors.
+         * @return A delegation that redirects invocations to a method of the interceptor that is registered for the given key.
+         */
+        public MethodDelegation toRegistered(Class<?> type, String key) {
+            return toRegistered(TypeDescription.ForLoadedType.of(type), key);
+        }
+
+        /**
+         * Delegates any intercepted method to invoke a non-{@code static} method of the interceptor that is registered in the
+         * {@link InterceptorRegistry} for the supplied key. The target method is bound at build time while the interceptor is
+         * resolved and invoked by an <i>invokedynamic</i> call site which is relinked whenever another interceptor is registered.
+         * To be considered a valid delegation target, a method must be visible and accessible to the instrumented type. This
+         * requires a class file version of at least Java 7 and that the {@link InterceptorRegistry} is visible to the
+         * instrumented type.
+         *
+         * @param typeDefinition The type of the registered interceptors.
+         * @param key            The key of the registered interceptors.
+         * @return A delegation that redirects invocations to a method of the interceptor that is registered for the given key.
+         */
+        public MethodDelegation toRegistered(TypeDefinition typeDefinition, String key) {
+            return toRegistered(typeDefinition, key, MethodGraph.Compiler.DEFAULT);
+        }
+
+        /**
+         * Delegates any intercepted method to invoke a non-{@code static} method of the interceptor that is registered in the
+         * {@link InterceptorRegistry} for the supplied key. The target method is bound at build time while the interceptor is
+         * resolved and invoked by an <i>invokedynamic</i> call site which is relinked whenever another interceptor is registered.
+         * To be considered a valid delegation target, a method must be visible and accessible to the instrumented type. This
+         * requires a class file version of at least Java 7 and that the {@link InterceptorRegistry} is visible to the
+         * instrumented type.
+         *
+         * @param typeDefinition      The type of the registered interceptors.
+         * @param key                 The key of the registered interceptors.
+         * @param methodGraphCompiler The method graph compiler to use.
+         * @return A delegation that redirects invocations to a method of the interceptor that is registered for the given key.
+         */
+        public MethodDelegation toRegistered(TypeDefinition typeDefinition, String key, MethodGraph.Compiler methodGraphCompiler) {
+            if (typeDefinition.isPrimitive() || typeDefinition.isArray()) {
+                throw new IllegalArgumentException("Cannot delegate to an interceptor of type " + typeDefinition);
+            }
+            return new MethodDelegation(new ImplementationDelegate.ForRegistry(typeDefinition.asGenericType(),
+                    key,
+                    methodGraphCompiler,
+                    parameterBinders,
+                    matcher), parameterBinders, ambiguityResolver, bindingResolver);
+        }
     }
 }
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.bind;
+
+import net.bytebuddy.build.AccessControllerPlugin;
+import net.bytebuddy.utility.dispatcher.JavaDispatcher;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * A registry for interceptors that are invoked by a {@link net.bytebuddy.implementation.MethodDelegation} that was created by
+ * {@link net.bytebuddy.implementation.MethodDelegation#toRegistered(Class, String)}. Such a delegation invokes its target method
+ * by an <i>invokedynamic</i> call site that is bootstrapped by this registry. Any call site is bound to the interceptor that is
+ * currently registered for the delegation's key. When an interceptor is registered or unregistered, all call sites for this key
+ * are relinked. Rather than guarding every invocation, this allows the JIT compiler to treat the interceptor as a constant such
+ * that an invocation is as cheap as a direct call while replacing an interceptor requires the deoptimization of dependant code.
+ * </p>
+ * <p>
+ * If no interceptor is registered for a key, invoking an intercepted method throws an {@link IllegalStateException}. An
+ * interceptor must be an instance of the type that was used for creating the delegation. Otherwise, a {@link ClassCastException}
+ * is thrown upon its registration if a call site is already linked for its key, or upon linking a call site later.
+ * </p>
+ * <p>
+ * <b>Important</b>: The registry is global to the class loader that loads this class and it must therefore be visible to any
+ * instrumented type that uses a registered delegation. Call sites of instrumented types are only referenced weakly. References
+ * to collected call sites are expunged whenever a call site is bootstrapped or an interceptor is registered or unregistered. A key
+ * without an interceptor and without call sites is removed from the registry.
+ * </p>
+ */
+public class InterceptorRegistry {
+
+    /**
+     * The name of the bootstrap method.
+     */
+    public static final String BOOTSTRAP = "bootstrap";
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodHandles}.
+     */
+    private static final MethodHandles METHOD_HANDLES = doPrivileged(JavaDispatcher.of(MethodHandles.class));
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodHandles$Lookup}.
+     */
+    private static final MethodHandles.Lookup METHOD_HANDLES_LOOKUP = doPrivileged(JavaDispatcher.of(MethodHandles.Lookup.class));
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodType}.
+     */
+    private static final MethodType METHOD_TYPE = doPrivileged(JavaDispatcher.of(MethodType.class));
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodHandle}.
+     */
+    private static final MethodHandle METHOD_HANDLE = doPrivileged(JavaDispatcher.of(MethodHandle.class));
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.VolatileCallSite}.
+     */
+    private static final VolatileCallSite VOLATILE_CALL_SITE = doPrivileged(JavaDispatcher.of(VolatileCallSite.class));
+
+    /**
+     * The registrations of this registry by their key. All access to this map must be synchronized on the map instance.
+     */
+    private static final Map<String, Registration> REGISTRATIONS = new HashMap<String, Registration>();
+
+    /**
+     * A reference queue that is notified of collected call sites. Must only be polled while holding the monitor of
+     * {@link InterceptorRegistry#REGISTRATIONS}.
+     */
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<Object>();
+
+    /**
+     * This class is not supposed to be constructed.
+     */
+    private InterceptorRegistry() {
+        throw new UnsupportedOperationException("This class is a utility class and not supposed to be instantiated");
+    }
+
+    /**
+     * A proxy for {@code java.security.AccessController#doPrivileged} that is activated if available.
+     *
+     * @param action The action to execute from a privileged context.
+     * @param <T>    The type of the action's resolved value.
+     * @return The action's resolved value.
+     */
+    @AccessControllerPlugin.Enhance
+    private static <T> T doPrivileged(PrivilegedAction<T> action) {
+        return action.run();
+    }
+
+    /**
+     * Registers an interceptor for the given key and relinks all call sites that are bound to this key. Any previously
+     * registered interceptor is replaced.
+     *
+     * @param key         The key of the interceptor.
+     * @param interceptor The interceptor to register.
+     * @return The previously registered interceptor or {@code null} if no interceptor was registered.
+     */
+    @MaybeNull
+    public static Object register(String key, Object interceptor) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("Cannot register null as an interceptor for " + key);
+        }
+        return relink(key, interceptor);
+    }
+
+    /**
+     * Unregisters the interceptor for the given key. Any call site that is bound to this key is relinked to throw an
+     * {@link IllegalStateException} upon its invocation.
+     *
+     * @param key The key of the interceptor.
+     * @return The previously registered interceptor or {@code null} if no interceptor was registered.
+     */
+    @MaybeNull
+    public static Object unregister(String key) {
+        return relink(key, null);
+    }
+
+    /**
+     * Returns the interceptor that is currently registered for the given key.
+     *
+     * @param key The key of the interceptor.
+     * @return The currently registered interceptor or {@code null} if no interceptor is registered.
+     */
+    @MaybeNull
+    public static Object getInterceptor(String key) {
+        synchronized (REGISTRATIONS) {
+            Registration registration = REGISTRATIONS.get(key);
+            return registration == null
+                    ? null
+                    : registration.interceptor;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the registry retains a registration for the given key, either for an interceptor or for a call site.
+     *
+     * @param key The key of the interceptor.
+     * @return {@code true} if the registry retains a registration for the given key.
+     */
+    static boolean isRegistered(String key) {
+        synchronized (REGISTRATIONS) {
+            return REGISTRATIONS.containsKey(key);
+        }
+    }
+
+    /**
+     * Returns the references to the call sites that are currently bound to the given key.
+     *
+     * @param key The key of the interceptor.
+     * @return The references to the call sites that are currently bound to the given key.
+     */
+    static List<Reference<?>> getCallSiteReferences(String key) {
+        synchronized (REGISTRATIONS) {
+            Registration registration = REGISTRATIONS.get(key);
+            return registration == null
+                    ? Collections.<Reference<?>>emptyList()
+                    : new ArrayList<Reference<?>>(registration.callSites);
+        }
+    }
+
+    /**
+     * Relinks all call sites of a key to the supplied interceptor. Any target is resolved before any call site is relinked
+     * such that an illegal interceptor does not leave the call sites in an inconsistent state.
+     *
+     * @param key         The key of the interceptor.
+     * @param interceptor The interceptor to register or {@code null} if the interceptor should be unregistered.
+     * @return The previously registered interceptor or {@code null} if no interceptor was registered.
+     */
+    @MaybeNull
+    private static Object relink(String key, @MaybeNull Object interceptor) {
+        synchronized (REGISTRATIONS) {
+            expungeStaleEntries();
+            Registration registration = REGISTRATIONS.get(key);
+            if (registration == null) {
+                if (interceptor == null) {
+                    return null;
+                }
+                registration = new Registration();
+                REGISTRATIONS.put(key, registration);
+            }
+            List<Object> callSites = new ArrayList<Object>(registration.callSites.size()), targets = new ArrayList<Object>(registration.callSites.size());
+            Iterator<CallSiteReference> iterator = registration.callSites.iterator();
+            while (iterator.hasNext()) {
+                CallSiteReference reference = iterator.next();
+                Object callSite = reference.get();
+                if (callSite == null) {
+                    iterator.remove();
+                } else {
+                    callSites.add(callSite);
+                    targets.add(target(key, interceptor, reference.handle, VOLATILE_CALL_SITE.type(callSite)));
+                }
+            }
+            for (int index = 0; index < callSites.size(); index++) {
+                VOLATILE_CALL_SITE.setTarget(callSites.get(index), targets.get(index));
+            }
+            Object previous = registration.interceptor;
+            registration.interceptor = interceptor;
+            if (registration.isEmpty()) {
+                REGISTRATIONS.remove(key);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Removes the references of all collected call sites and any registration that no longer has an interceptor or call sites.
+     * Must only be invoked while holding the monitor of {@link InterceptorRegistry#REGISTRATIONS}.
+     */
+    private static void expungeStaleEntries() {
+        Reference<?> reference;
+        while ((reference = COLLECTED.poll()) != null) {
+            String key = ((CallSiteReference) reference).key;
+            Registration registration = REGISTRATIONS.get(key);
+            if (registration != null && registration.callSites.remove(reference) && registration.isEmpty()) {
+                REGISTRATIONS.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Resolves a call site's target.
+     *
+     * @param key         The key of the interceptor.
+     * @param interceptor The interceptor to bind or {@code null} if no interceptor is registered.
+     * @param handle      The {@code java.lang.invoke.MethodHandle} of the intercepting method.
+     * @param type        The {@code java.lang.invoke.MethodType} of the call site.
+     * @return The {@code java.lang.invoke.MethodHandle} to link the call site to.
+     */
+    private static Object target(String key, @MaybeNull Object interceptor, Object handle, Object type) {
+        if (interceptor == null) {
+            try {
+                return METHOD_HANDLE.asType(METHOD_HANDLES.dropArguments(METHOD_HANDLES.insertArguments(METHOD_HANDLES_LOOKUP.findStatic(METHOD_HANDLES.publicLookup(),
+                        InterceptorRegistry.class,
+                        "unregistered",
+                        METHOD_TYPE.methodType(Object.class, String.class)), 0, new Object[]{key}), 0, METHOD_TYPE.parameterArray(type)), type);
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalStateException("Cannot resolve handle for unregistered interceptor", exception);
+            } catch (IllegalAccessException exception) {
+                throw new IllegalStateException("Cannot access handle for unregistered interceptor", exception);
+            }
+        } else {
+            return METHOD_HANDLE.asType(METHOD_HANDLE.bindTo(handle, interceptor), type);
+        }
+    }
+
+    /**
+     * Bootstraps a call site that invokes the interceptor that is registered for the supplied key. This method must not
+     * use any types of the {@code java.lang.invoke} package in its signature to remain loadable on any VM.
+     *
+     * @param lookup The {@code java.lang.invoke.MethodHandles$Lookup} of the instrumented type.
+     * @param name   The name of the intercepting method.
+     * @param type   The {@code java.lang.invoke.MethodType} of the call site.
+     * @param key    The key of the interceptor.
+     * @param handle The {@code java.lang.invoke.MethodHandle} of the intercepting method.
+     * @return A {@code java.lang.invoke.VolatileCallSite} that is bound to the currently registered interceptor.
+     */
+    public static Object bootstrap(Object lookup, String name, Object type, String key, Object handle) {
+        synchronized (REGISTRATIONS) {
+            expungeStaleEntries();
+            Registration registration = REGISTRATIONS.get(key);
+            if (registration == null) {
+                registration = new Registration();
+                REGISTRATIONS.put(key, registration);
+            }
+            Object callSite = VOLATILE_CALL_SITE.make(target(key, registration.interceptor, handle, type));
+            registration.callSites.add(new CallSiteReference(callSite, key, handle));
+            return callSite;
+        }
+    }
+
+    /**
+     * Invoked by a call site for which no interceptor is registered.
+     *
+     * @param key The key of the interceptor.
+     * @return Never returns a value but always throws an exception.
+     */
+    public static Object unregistered(String key) {
+        throw new IllegalStateException("No interceptor is registered for " + key);
+    }
+
+    /**
+     * A registration of an interceptor and its call sites.
+     */
+    protected static class Registration {
+
+        /**
+         * The currently registered interceptor or {@code null} if no interceptor is registered.
+         */
+        @MaybeNull
+        private Object interceptor;
+
+        /**
+         * The call sites that are bound to this registration.
+         */
+        private final Set<CallSiteReference> callSites = new LinkedHashSet<CallSiteReference>();
+
+        /**
+         * Returns {@code true} if this registration neither has an interceptor nor any call sites.
+         *
+         * @return {@code true} if this registration neither has an interceptor nor any call sites.
+         */
+        protected boolean isEmpty() {
+            return interceptor == null && callSites.isEmpty();
+        }
+    }
+
+    /**
+     * A weak reference to a {@code java.lang.invoke.VolatileCallSite} that retains the method handle of the intercepting method.
+     * The reference is enqueued once its call site is collected such that it can be removed from its registration.
+     */
+    protected static class CallSiteReference extends WeakReference<Object> {
+
+        /**
+         * The key of the interceptor.
+         */
+        private final String key;
+
+        /**
+         * The {@code java.lang.invoke.MethodHandle} of the intercepting method.
+         */
+        private final Object handle;
+
+        /**
+         * Creates a new call site reference.
+         *
+         * @param callSite The referenced {@code java.lang.invoke.VolatileCallSite}.
+         * @param key      The key of the interceptor.
+         * @param handle   The {@code java.lang.invoke.MethodHandle} of the intercepting method.
+         */
+        protected CallSiteReference(Object callSite, String key, Object handle) {
+            super(callSite, COLLECTED);
+            this.key = key;
+            this.handle = handle;
+        }
+    }
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodHandles}.
+     */
+    @JavaDispatcher.Proxied("java.lang.invoke.MethodHandles")
+    protected interface MethodHandles {
+
+        /**
+         * Resolves the public {@code java.lang.invoke.MethodHandles$Lookup}.
+         *
+         * @return The public {@code java.lang.invoke.MethodHandles$Lookup}.
+         */
+        @JavaDispatcher.IsStatic
+        Object publicLookup();
+
+        /**
+         * Binds leading arguments of a method handle to the supplied values.
+         *
+         * @param handle   The {@code java.lang.invoke.MethodHandle} to bind.
+         * @param position The index of the first argument to bind.
+         * @param value    The values to bind.
+         * @return A {@code java.lang.invoke.MethodHandle} with the supplied arguments bound.
+         */
+        @JavaDispatcher.IsStatic
+        Object insertArguments(@JavaDispatcher.Proxied("java.lang.invoke.MethodHandle") Object handle, int position, Object[] value);
+
+        /**
+         * Adds arguments to a method handle that are ignored.
+         *
+         * @param handle   The {@code java.lang.invoke.MethodHandle} to adapt.
+         * @param position The index of the first ignored argument.
+         * @param type     The types of the ignored arguments.
+         * @return A {@code java.lang.invoke.MethodHandle} that ignores the supplied arguments.
+         */
+        @JavaDispatcher.IsStatic
+        Object dropArguments(@JavaDispatcher.Proxied("java.lang.invoke.MethodHandle") Object handle, int position, Class<?>[] type);
+
+        /**
+         * A dispatcher for {@code java.lang.invoke.MethodHandles$Lookup}.
+         */
+        @JavaDispatcher.Proxied("java.lang.invoke.MethodHandles$Lookup")
+        interface Lookup {
+
+            /**
+             * Resolves a method handle for a static method.
+             *
+             * @param value      The {@code java.lang.invoke.MethodHandles$Lookup} to use.
+             * @param type       The type that declares the method.
+             * @param name       The name of the method.
+             * @param methodType The {@code java.lang.invoke.MethodType} of the method.
+             * @return A {@code java.lang.invoke.MethodHandle} for the static method.
+             * @throws NoSuchMethodException  If the method does not exist.
+             * @throws IllegalAccessException If the method is not accessible.
+             */
+            Object findStatic(Object value,
+                              Class<?> type,
+                              String name,
+                              @JavaDispatcher.Proxied("java.lang.invoke.MethodType") Object methodType) throws NoSuchMethodException, IllegalAccessException;
+        }
+    }
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodType}.
+     */
+    @JavaDispatcher.Proxied("java.lang.invoke.MethodType")
+    protected interface MethodType {
+
+        /**
+         * Creates a method type with a single parameter.
+         *
+         * @param returnType    The return type.
+         * @param parameterType The parameter type.
+         * @return An appropriate {@code java.lang.invoke.MethodType}.
+         */
+        @JavaDispatcher.IsStatic
+        Object methodType(Class<?> returnType, Class<?> parameterType);
+
+        /**
+         * Resolves a method type's parameter types.
+         *
+         * @param value The {@code java.lang.invoke.MethodType} to resolve.
+         * @return The method type's parameter types.
+         */
+        Class<?>[] parameterArray(Object value);
+    }
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.MethodHandle}.
+     */
+    @JavaDispatcher.Proxied("java.lang.invoke.MethodHandle")
+    protected interface MethodHandle {
+
+        /**
+         * Binds the first argument of a method handle.
+         *
+         * @param value    The {@code java.lang.invoke.MethodHandle} to bind.
+         * @param argument The argument to bind.
+         * @return A {@code java.lang.invoke.MethodHandle} with the first argument bound.
+         */
+        Object bindTo(Object value, Object argument);
+
+        /**
+         * Adapts a method handle to a given method type.
+         *
+         * @param value The {@code java.lang.invoke.MethodHandle} to adapt.
+         * @param type  The {@code java.lang.invoke.MethodType} to adapt to.
+         * @return A {@code java.lang.invoke.MethodHandle} of the supplied type.
+         */
+        Object asType(Object value, @JavaDispatcher.Proxied("java.lang.invoke.MethodType") Object type);
+    }
+
+    /**
+     * A dispatcher for {@code java.lang.invoke.VolatileCallSite}.
+     */
+    @JavaDispatcher.Proxied("java.lang.invoke.VolatileCallSite")
+    protected interface VolatileCallSite {
+
+        /**
+         * Creates a new volatile call site.
+         *
+         * @param target The {@code java.lang.invoke.MethodHandle} that is the initial target of the call site.
+         * @return A new {@code java.lang.invoke.VolatileCallSite}.
+         */
+        @JavaDispatcher.IsConstructor
+        Object make(@JavaDispatcher.Proxied("java.lang.invoke.MethodHandle") Object target);
+
+        /**
+         * Resolves the type of a call site.
+         *
+         * @param value The {@code java.lang.invoke.VolatileCallSite} to resolve.
+         * @return The call site's {@code java.lang.invoke.MethodType}.
+         */
+        Object type(Object value);
+
+        /**
+         * Sets the target of a call site.
+         *
+         * @param value  The {@code java.lang.invoke.VolatileCallSite} to relink.
+         * @param target The {@code java.lang.invoke.MethodHandle} to link to.
+         */
+        void setTarget(Object value, @JavaDispatcher.Proxied("java.lang.invoke.MethodHandle") Object target);
+    }
+}
@@ -33,6 +33,7 @@ import org.objectweb.asm.MethodVisitor;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -265,6 +266,49 @@ public interface MethodDelegationBinder {
             }
         }
 
+        /**
+         * An anonymous binding of a target method parameter that requires a stack manipulation to be applied after the
+         * target method returns, for example to release a value that was loaded for this parameter. The release is applied
+         * before the method binding's terminating stack manipulation and must not alter the operand stack. It is not
+         * applied if the target method completes exceptionally.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Releasing extends Anonymous {
+
+            /**
+             * The stack manipulation that is applied after the target method returns.
+             */
+            private final StackManipulation release;
+
+            /**
+             * Creates a new, anonymous parameter binding that requires a release.
+             *
+             * @param delegate The stack manipulation that is responsible for loading the parameter value for this
+             *                 target method parameter onto the stack.
+             * @param release  The stack manipulation that is applied after the target method returns.
+             */
+            public Releasing(StackManipulation delegate, StackManipulation release) {
+                super(delegate);
+                this.release = release;
+            }
+
+            /**
+             * Returns the stack manipulation that is applied after the target method returns.
+             *
+             * @return The stack manipulation that is applied after the target method returns.
+             */
+            public StackManipulation getRelease() {
+                return release;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isValid() {
+                return super.isValid() && release.isValid();
+            }
+        }
+
         /**
          * A uniquely identifiable parameter binding for a target method. Such bindings are usually later processed by
          * a {@link net.bytebuddy.implementation.bind.MethodDelegationBinder.AmbiguityResolver}
@@ -426,6 +470,11 @@ public interface MethodDelegationBinder {
              */
             private final List<StackManipulation> parameterStackManipulations;
 
+            /**
+             * The current list of stack manipulations that are applied after the method invocation to release parameter values.
+             */
+            private final List<StackManipulation> releaseStackManipulations;
+
             /**
              * A mapping of identification tokens to the parameter index they were bound for.
              */
@@ -446,6 +495,7 @@ public interface MethodDelegationBinder {
                 this.methodInvoker = methodInvoker;
                 this.candidate = candidate;
                 parameterStackManipulations = new ArrayList<StackManipulation>(candidate.getParameters().size());
+                releaseStackManipulations = new ArrayList<StackManipulation>();
                 registeredTargetIndices = new LinkedHashMap<Object, Integer>();
                 nextParameterIndex = 0;
             }
@@ -459,6 +509,9 @@ public interface MethodDelegationBinder {
              */
             public boolean append(ParameterBinding<?> parameterBinding) {
                 parameterStackManipulations.add(parameterBinding);
+                if (parameterBinding instanceof ParameterBinding.Releasing) {
+                    releaseStackManipulations.add(((ParameterBinding.Releasing) parameterBinding).getRelease());
+                }
                 return registeredTargetIndices.put(parameterBinding.getIdentificationToken(), nextParameterIndex++) == null;
             }
 
@@ -476,6 +529,7 @@ public interface MethodDelegationBinder {
                         registeredTargetIndices,
                         methodInvoker.invoke(candidate),
                         parameterStackManipulations,
+                        releaseStackManipulations,
                         terminatingManipulation);
             }
 
@@ -506,6 +560,11 @@ public interface MethodDelegationBinder {
                  */
                 private final List<StackManipulation> parameterStackManipulations;
 
+                /**
+                 * A list of manipulations that are applied after the method invocation to release parameter values.
+                 */
+                private final List<StackManipulation> releaseStackManipulations;
+
                 /**
                  * The stack manipulation that is applied after the method invocation.
                  */
@@ -527,10 +586,38 @@ public interface MethodDelegationBinder {
                                 StackManipulation methodInvocation,
                                 List<StackManipulation> parameterStackManipulations,
                                 StackManipulation terminatingStackManipulation) {
+                    this(target,
+                            registeredTargetIndices,
+                            methodInvocation,
+                            parameterStackManipulations,
+                            Collections.<StackManipulation>emptyList(),
+                            terminatingStackManipulation);
+                }
+
+                /**
+                 * Creates a new method binding.
+                 *
+                 * @param target                       The target method this binding represents.
+                 * @param registeredTargetIndices      A map of identification tokens to the indices of their binding
+                 *                                     parameters.
+                 * @param methodInvocation             A stack manipulation that represents the actual method invocation.
+                 * @param parameterStackManipulations  A list of manipulations that each represent the loading of a
+                 *                                     parameter value onto the operand stack.
+                 * @param releaseStackManipulations    A list of manipulations that are applied after the method invocation
+                 *                                     to release parameter values.
+                 * @param terminatingStackManipulation The stack manipulation that is applied after the method invocation.
+                 */
+                protected Build(MethodDescription target,
+                                Map<?, Integer> registeredTargetIndices,
+                                StackManipulation methodInvocation,
+                                List<StackManipulation> parameterStackManipulations,
+                                List<StackManipulation> releaseStackManipulations,
+                                StackManipulation terminatingStackManipulation) {
                     this.target = target;
                     this.registeredTargetIndices = new HashMap<Object, Integer>(registeredTargetIndices);
                     this.methodInvocation = methodInvocation;
                     this.parameterStackManipulations = new ArrayList<StackManipulation>(parameterStackManipulations);
+                    this.releaseStackManipulations = new ArrayList<StackManipulation>(releaseStackManipulations);
                     this.terminatingStackManipulation = terminatingStackManipulation;
                 }
 
@@ -543,6 +630,10 @@ public interface MethodDelegationBinder {
                     while (result && assignment.hasNext()) {
                         result = assignment.next().isValid();
                     }
+                    Iterator<StackManipulation> release = releaseStackManipulations.iterator();
+                    while (result && release.hasNext()) {
+                        result = release.next().isValid();
+                    }
                     return result;
                 }
 
@@ -565,9 +656,10 @@ public interface MethodDelegationBinder {
                  * {@inheritDoc}
                  */
                 public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
-                    return new Compound(
-                            CompoundList.of(parameterStackManipulations, Arrays.asList(methodInvocation, terminatingStackManipulation))
-                    ).apply(methodVisitor, implementationContext);
+                    return new Compound(CompoundList.of(
+                            CompoundList.of(parameterStackManipulations, methodInvocation),
+                            CompoundList.of(releaseStackManipulations, terminatingStackManipulation)
+                    )).apply(methodVisitor, implementationContext);
                 }
             }
         }
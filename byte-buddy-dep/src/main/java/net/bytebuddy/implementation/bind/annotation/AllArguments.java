@@ -15,19 +15,39 @@
  */
 package net.bytebuddy.implementation.bind.annotation;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.annotation.AnnotationDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodAccessorFactory;
+import net.bytebuddy.implementation.auxiliary.AuxiliaryType;
 import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.collection.ArrayAccess;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
+import net.bytebuddy.implementation.bytecode.constant.DefaultValue;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
 import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.utility.CompoundList;
+import net.bytebuddy.utility.RandomString;
+import org.objectweb.asm.MethodVisitor;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
@@ -35,9 +55,13 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
 import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 /**
  * <p>
@@ -53,6 +77,10 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
  * which simply skips non-assignable values instead.
  * </p>
  * <p>
+ * By default, a new array is allocated for every invocation of the instrumented method. If the intercepting method
+ * does not retain the array, {@link AllArguments#reuse()} allows to reuse an array per thread and instrumented method.
+ * </p>
+ * <p>
  * <b>Important</b>: Don't confuse this annotation with {@link net.bytebuddy.asm.Advice.AllArguments} or
  * {@link net.bytebuddy.asm.MemberSubstitution.AllArguments}. This annotation should be used with
  * {@link net.bytebuddy.implementation.MethodDelegation} only.
@@ -91,6 +119,30 @@ public @interface AllArguments {
      */
     boolean nullIfEmpty() default false;
 
+    /**
+     * <p>
+     * Determines if the assigned array is reused for any invocation of the instrumented method on the same thread
+     * rather than being allocated for every invocation. Doing so avoids the allocation of an array when intercepting
+     * a method, what is otherwise only avoided if the JIT compiler can prove that the array does not escape.
+     * </p>
+     * <p>
+     * <b>Important</b>: A reused array is only valid for the duration of the intercepting method's invocation and
+     * must neither be retained nor be passed to another thread. A recursive invocation of the instrumented method
+     * on the same thread overwrites the array's values and clears them once it returns. Note that primitive values
+     * are still boxed if the annotated array's component type is a reference type.
+     * </p>
+     * <p>
+     * <b>Important</b>: An array of a reference type is cleared when the intercepting method returns, such that the
+     * array does not keep the arguments of the last invocation reachable. The array is not cleared if the intercepting
+     * method throws an exception. Until the instrumented method is invoked again on this thread, or until the thread
+     * terminates, the arguments of this invocation then remain strongly reachable and can, on pooled threads, keep
+     * their class loaders from being garbage collected. An array of a primitive type is never cleared.
+     * </p>
+     *
+     * @return {@code true} if the assigned array should be reused for invocations on the same thread.
+     */
+    boolean reuse() default false;
+
     /**
      * A directive for how an {@link net.bytebuddy.implementation.bind.annotation.AllArguments}
      * annotation on an array is to be interpreted.
@@ -165,6 +217,11 @@ public @interface AllArguments {
          */
         private static final MethodDescription.InDefinedShape NULL_IF_EMPTY;
 
+        /**
+         * A description of the {@link AllArguments#reuse()} method.
+         */
+        private static final MethodDescription.InDefinedShape REUSE;
+
         /*
          * Resolves annotation properties.
          */
@@ -173,6 +230,7 @@ public @interface AllArguments {
             VALUE = methods.filter(named("value")).getOnly();
             INCLUDE_SELF = methods.filter(named("includeSelf")).getOnly();
             NULL_IF_EMPTY = methods.filter(named("nullIfEmpty")).getOnly();
+            REUSE = methods.filter(named("reuse")).getOnly();
         }
 
         /**
@@ -219,7 +277,234 @@ public @interface AllArguments {
                 }
                 offset += sourceParameter.getStackSize().getSize();
             }
+            if (annotation.getValue(REUSE).resolve(Boolean.class)) {
+                return new MethodDelegationBinder.ParameterBinding.Releasing(new ReusableArray(componentType.asErasure(), source, stackManipulations), componentType.isPrimitive()
+                        ? StackManipulation.Trivial.INSTANCE
+                        : new ReusableArray.Clearing(componentType.asErasure(), source, stackManipulations.size()));
+            }
             return new MethodDelegationBinder.ParameterBinding.Anonymous(ArrayFactory.forType(componentType).withValues(stackManipulations));
         }
+
+        /**
+         * A stack manipulation that loads an array that is reused for any invocation of a source method on the
+         * same thread and that assigns all argument values to this array. The array is stored by a {@link ThreadLocal}
+         * that is held by a cached field of the instrumented type. An array of a reference type is cleared by a
+         * {@link Clearing} after the delegate returns.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class ReusableArray implements StackManipulation {
+
+            /**
+             * The array's component type.
+             */
+            private final TypeDescription componentType;
+
+            /**
+             * The source method for which the array is reused.
+             */
+            private final MethodDescription source;
+
+            /**
+             * The stack manipulations that load the values that are assigned to the array.
+             */
+            private final List<? extends StackManipulation> stackManipulations;
+
+            /**
+             * Creates a new reusable array.
+             *
+             * @param componentType      The array's component type.
+             * @param source             The source method for which the array is reused.
+             * @param stackManipulations The stack manipulations that load the values that are assigned to the array.
+             */
+            protected ReusableArray(TypeDescription componentType, MethodDescription source, List<? extends StackManipulation> stackManipulations) {
+                this.componentType = componentType;
+                this.source = source;
+                this.stackManipulations = stackManipulations;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isValid() {
+                for (StackManipulation stackManipulation : stackManipulations) {
+                    if (!stackManipulation.isValid()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+                TypeDescription holderType = implementationContext.register(new ArrayHolder(componentType, stackManipulations.size()));
+                TypeDescription threadLocal = TypeDescription.ForLoadedType.of(ThreadLocal.class);
+                List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(3 + this.stackManipulations.size() * 4);
+                stackManipulations.add(FieldAccess.forField(implementationContext.cache(new ArrayHolder.Creation(holderType, source), threadLocal)).read());
+                stackManipulations.add(MethodInvocation.invoke(threadLocal.getDeclaredMethods().filter(named("get").and(takesArguments(0))).getOnly()));
+                stackManipulations.add(TypeCasting.to(TypeDescription.ArrayProjection.of(componentType)));
+                ArrayAccess arrayAccess = ArrayAccess.of(componentType);
+                int index = 0;
+                for (StackManipulation stackManipulation : this.stackManipulations) {
+                    stackManipulations.add(Duplication.SINGLE);
+                    stackManipulations.add(IntegerConstant.forValue(index++));
+                    stackManipulations.add(stackManipulation);
+                    stackManipulations.add(arrayAccess.store());
+                }
+                return new Compound(stackManipulations).apply(methodVisitor, implementationContext);
+            }
+
+            /**
+             * A stack manipulation that assigns {@code null} to all elements of a reused array of a reference type such
+             * that the array does not retain the arguments of the last invocation.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Clearing implements StackManipulation {
+
+                /**
+                 * The array's component type.
+                 */
+                private final TypeDescription componentType;
+
+                /**
+                 * The source method for which the array is reused.
+                 */
+                private final MethodDescription source;
+
+                /**
+                 * The array's length.
+                 */
+                private final int length;
+
+                /**
+                 * Creates a new clearing of a reusable array.
+                 *
+                 * @param componentType The array's component type.
+                 * @param source        The source method for which the array is reused.
+                 * @param length        The array's length.
+                 */
+                protected Clearing(TypeDescription componentType, MethodDescription source, int length) {
+                    this.componentType = componentType;
+                    this.source = source;
+                    this.length = length;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isValid() {
+                    return !componentType.isPrimitive();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+                    if (length == 0) {
+                        return Size.ZERO;
+                    }
+                    TypeDescription holderType = implementationContext.register(new ArrayHolder(componentType, length));
+                    TypeDescription threadLocal = TypeDescription.ForLoadedType.of(ThreadLocal.class);
+                    return new Compound(FieldAccess.forField(implementationContext.cache(new ArrayHolder.Creation(holderType, source), threadLocal)).read(),
+                            MethodInvocation.invoke(threadLocal.getDeclaredMethods().filter(named("get").and(takesArguments(0))).getOnly()),
+                            TypeCasting.to(TypeDescription.ArrayProjection.of(TypeDescription.ForLoadedType.of(Object.class))),
+                            NullConstant.INSTANCE,
+                            MethodInvocation.invoke(TypeDescription.ForLoadedType.of(Arrays.class).getDeclaredMethods()
+                                    .filter(named("fill").and(takesArguments(Object[].class, Object.class))).getOnly())).apply(methodVisitor, implementationContext);
+                }
+            }
+        }
+
+        /**
+         * An auxiliary type that extends {@link ThreadLocal} where the initial value of every thread is an array
+         * of a given component type and length.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class ArrayHolder implements AuxiliaryType {
+
+            /**
+             * The array's component type.
+             */
+            private final TypeDescription componentType;
+
+            /**
+             * The array's length.
+             */
+            private final int length;
+
+            /**
+             * Creates a new array holder.
+             *
+             * @param componentType The array's component type.
+             * @param length        The array's length.
+             */
+            protected ArrayHolder(TypeDescription componentType, int length) {
+                this.componentType = componentType;
+                this.length = length;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public String getSuffix() {
+                return RandomString.hashOf(componentType.hashCode()) + RandomString.hashOf(length);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public DynamicType make(String auxiliaryTypeName,
+                                    ClassFileVersion classFileVersion,
+                                    MethodAccessorFactory methodAccessorFactory) {
+                return new ByteBuddy(classFileVersion)
+                        .with(TypeValidation.DISABLED)
+                        .subclass(ThreadLocal.class, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR)
+                        .name(auxiliaryTypeName)
+                        .modifiers(DEFAULT_TYPE_MODIFIER)
+                        .defineMethod("initialValue", Object.class, Visibility.PROTECTED)
+                        .intercept(new Implementation.Simple(ArrayFactory.forType(componentType.asGenericType())
+                                .withValues(Collections.nCopies(length, DefaultValue.of(componentType))), MethodReturn.REFERENCE))
+                        .make();
+            }
+
+            /**
+             * A stack manipulation that creates an instance of an array holder. As the creation is used as the value
+             * of a cached field, the source method is included to yield a separate field for each source method.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Creation extends StackManipulation.AbstractBase {
+
+                /**
+                 * The array holder type.
+                 */
+                private final TypeDescription holderType;
+
+                /**
+                 * The source method for which the array holder is created.
+                 */
+                private final MethodDescription source;
+
+                /**
+                 * Creates a new creation of an array holder.
+                 *
+                 * @param holderType The array holder type.
+                 * @param source     The source method for which the array holder is created.
+                 */
+                protected Creation(TypeDescription holderType, MethodDescription source) {
+                    this.holderType = holderType;
+                    this.source = source;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+                    return new Compound(TypeCreation.of(holderType),
+                            Duplication.SINGLE,
+                            MethodInvocation.invoke(holderType.getDeclaredMethods().filter(isConstructor()).getOnly())).apply(methodVisitor, implementationContext);
+                }
+            }
+        }
     }
 }
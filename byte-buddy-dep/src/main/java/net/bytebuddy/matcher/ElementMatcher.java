@@ -152,6 +152,15 @@ public interface ElementMatcher<T> {
                 return true;
             }
 
+            /**
+             * Returns the element matchers that constitute this conjunction.
+             *
+             * @return The element matchers that constitute this conjunction.
+             */
+            List<ElementMatcher<? super W>> getMatchers() {
+                return matchers;
+            }
+
             @Override
             public String toString() {
                 StringBuilder stringBuilder = new StringBuilder("(");
@@ -221,6 +230,15 @@ public interface ElementMatcher<T> {
                 return false;
             }
 
+            /**
+             * Returns the element matchers that constitute this disjunction.
+             *
+             * @return The element matchers that constitute this disjunction.
+             */
+            List<ElementMatcher<? super W>> getMatchers() {
+                return matchers;
+            }
+
             @Override
             public String toString() {
                 StringBuilder stringBuilder = new StringBuilder("(");
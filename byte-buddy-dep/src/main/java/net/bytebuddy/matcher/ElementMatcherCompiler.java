@@ -0,0 +1,892 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.NamedElement;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * <p>
+ * A compiler that translates a tree of element matchers into a single generated class. Conjunctions, disjunctions,
+ * negations and constant matchers are translated into branching byte code and name and string matchers that compare
+ * against a fixed value are inlined as direct invocations of {@link String} methods. Any other matcher is retained and
+ * invoked from a dedicated call site within the generated code. Doing so, the JIT compiler can observe a monomorphic
+ * call site for every node of the matcher tree instead of a single megamorphic call site within each junction.
+ * </p>
+ * <p>
+ * Matchers can be profiled prior to compilation by applying {@link ElementMatcherCompiler#profile(ElementMatcher)}.
+ * If a profiled matcher is compiled, the children of any conjunction are ordered by their observed likelihood of
+ * not matching and the children of any disjunction are ordered by their observed likelihood of matching such that
+ * evaluation is short-circuited as early as possible. This reordering assumes that all matchers are free of side
+ * effects, what is true for any matcher that is offered by {@link ElementMatchers}.
+ * </p>
+ * <p>
+ * <b>Important</b>: Compiling a matcher requires the definition of a new class what is only beneficial for matchers
+ * that are applied frequently, such as the type matchers of a Java agent.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class ElementMatcherCompiler {
+
+    /**
+     * The name of the field that stores the constants of a compiled matcher.
+     */
+    private static final String CONSTANTS = "constants";
+
+    /**
+     * The index of the local variable that stores a matched element's name.
+     */
+    private static final int NAME = 2;
+
+    /**
+     * The Byte Buddy instance to use for defining compiled matchers.
+     */
+    private final ByteBuddy byteBuddy;
+
+    /**
+     * Creates a new element matcher compiler.
+     */
+    public ElementMatcherCompiler() {
+        this(new ByteBuddy().with(TypeValidation.DISABLED));
+    }
+
+    /**
+     * Creates a new element matcher compiler.
+     *
+     * @param byteBuddy The Byte Buddy instance to use for defining compiled matchers.
+     */
+    public ElementMatcherCompiler(ByteBuddy byteBuddy) {
+        this.byteBuddy = byteBuddy;
+    }
+
+    /**
+     * Wraps any child of a conjunction or disjunction of the supplied matcher to record how often it is invoked
+     * and how often it matches. Compiling the returned matcher applies the collected statistics to order the
+     * evaluation of junctions.
+     *
+     * @param matcher The matcher to profile.
+     * @param <T>     The type of the matched entity.
+     * @return A matcher that is equivalent to the supplied matcher and that records statistics on its evaluation.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ElementMatcher.Junction<T> profile(ElementMatcher<T> matcher) {
+        return new Profiled<T>((ElementMatcher<? super T>) doProfile(matcher));
+    }
+
+    /**
+     * Recursively wraps the children of any junction within a profiling matcher.
+     *
+     * @param matcher The matcher to profile.
+     * @return A matcher that is equivalent to the supplied matcher and that records statistics on its evaluation.
+     */
+    @SuppressWarnings("unchecked")
+    private static ElementMatcher<?> doProfile(ElementMatcher<?> matcher) {
+        if (matcher instanceof Profiled<?>) {
+            return doProfile(((Profiled<?>) matcher).matcher);
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            List<ElementMatcher<? super Object>> matchers = new ArrayList<ElementMatcher<? super Object>>();
+            for (ElementMatcher<?> child : ((ElementMatcher.Junction.Conjunction<?>) matcher).getMatchers()) {
+                matchers.add(new Profiled<Object>((ElementMatcher<? super Object>) doProfile(child)));
+            }
+            return new ElementMatcher.Junction.Conjunction<Object>(matchers);
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            List<ElementMatcher<? super Object>> matchers = new ArrayList<ElementMatcher<? super Object>>();
+            for (ElementMatcher<?> child : ((ElementMatcher.Junction.Disjunction<?>) matcher).getMatchers()) {
+                matchers.add(new Profiled<Object>((ElementMatcher<? super Object>) doProfile(child)));
+            }
+            return new ElementMatcher.Junction.Disjunction<Object>(matchers);
+        } else if (matcher instanceof NegatingMatcher<?>) {
+            return new NegatingMatcher<Object>((ElementMatcher<? super Object>) doProfile(((NegatingMatcher<?>) matcher).getMatcher()));
+        } else {
+            return matcher;
+        }
+    }
+
+    /**
+     * Compiles the supplied matcher into a generated class.
+     *
+     * @param matcher The matcher to compile.
+     * @param <T>     The type of the matched entity.
+     * @return A compiled matcher that is equivalent to the supplied matcher.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ElementMatcher.Junction<T> compile(ElementMatcher<T> matcher) {
+        List<Object> constants = new ArrayList<Object>();
+        Node node = toNode(matcher, constants);
+        try {
+            return (ElementMatcher.Junction<T>) byteBuddy.subclass(ElementMatcher.Junction.AbstractBase.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                    .visit(new AsmVisitorWrapper.ForDeclaredMethods().writerFlags(ClassWriter.COMPUTE_FRAMES))
+                    .defineField(CONSTANTS, Object[].class, Visibility.PRIVATE, FieldManifestation.FINAL)
+                    .defineConstructor(Visibility.PUBLIC)
+                    .withParameters(Object[].class)
+                    .intercept(MethodCall.invoke(ElementMatcher.Junction.AbstractBase.class.getDeclaredConstructor())
+                            .andThen(FieldAccessor.ofField(CONSTANTS).setsArgumentAt(0)))
+                    .method(named("matches").and(takesArguments(1)))
+                    .intercept(new Implementation.Simple(new Appender(node)))
+                    .method(named("toString").and(takesArguments(0)))
+                    .intercept(FixedValue.value("compiled(" + matcher + ")"))
+                    .make()
+                    .load(ElementMatcher.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded()
+                    .getConstructor(Object[].class)
+                    .newInstance(new Object[]{constants.toArray(new Object[0])});
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException("Failed to compile " + matcher, exception);
+        } catch (InstantiationException exception) {
+            throw new IllegalStateException("Failed to compile " + matcher, exception);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException("Failed to compile " + matcher, exception);
+        } catch (InvocationTargetException exception) {
+            throw new IllegalStateException("Failed to compile " + matcher, exception.getTargetException());
+        }
+    }
+
+    /**
+     * Resolves a node for the supplied matcher.
+     *
+     * @param matcher   The matcher to represent.
+     * @param constants A list of constants that is accessible to the compiled matcher.
+     * @return A node that represents the supplied matcher.
+     */
+    private static Node toNode(ElementMatcher<?> matcher, List<Object> constants) {
+        if (matcher instanceof Profiled<?>) {
+            return toNode(((Profiled<?>) matcher).matcher, constants);
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            List<ElementMatcher<?>> matchers = new ArrayList<ElementMatcher<?>>(((ElementMatcher.Junction.Conjunction<?>) matcher).getMatchers());
+            Collections.sort(matchers, Selectivity.CONJUNCTION);
+            List<Node> nodes = new ArrayList<Node>(matchers.size());
+            for (ElementMatcher<?> child : matchers) {
+                nodes.add(toNode(child, constants));
+            }
+            return new Node.Conjunction(nodes);
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            List<ElementMatcher<?>> matchers = new ArrayList<ElementMatcher<?>>(((ElementMatcher.Junction.Disjunction<?>) matcher).getMatchers());
+            Collections.sort(matchers, Selectivity.DISJUNCTION);
+            List<Node> nodes = new ArrayList<Node>(matchers.size());
+            Set<String> names = new HashSet<String>();
+            int index = -1;
+            for (ElementMatcher<?> child : matchers) {
+                String name = toName(child);
+                if (name == null) {
+                    nodes.add(toNode(child, constants));
+                } else if (names.add(name) && index == -1) {
+                    index = nodes.size();
+                    nodes.add(null);
+                }
+            }
+            if (names.size() == 1) {
+                nodes.set(index, new Node.ForStringComparison(true, names.iterator().next(), StringMatcher.Mode.EQUALS_FULLY));
+            } else if (names.size() > 1) {
+                constants.add(names);
+                nodes.set(index, new Node.ForNameSet(constants.size() - 1));
+            }
+            return new Node.Disjunction(nodes);
+        } else if (matcher instanceof NegatingMatcher<?>) {
+            return new Node.Negation(toNode(((NegatingMatcher<?>) matcher).getMatcher(), constants));
+        } else if (matcher instanceof BooleanMatcher<?>) {
+            return ((BooleanMatcher<?>) matcher).matches
+                    ? Node.Constant.MATCHING
+                    : Node.Constant.NON_MATCHING;
+        } else if (matcher instanceof NameMatcher<?>) {
+            ElementMatcher<String> delegate = ((NameMatcher<?>) matcher).getMatcher();
+            if (delegate instanceof StringMatcher && Node.ForStringComparison.isInlinable(((StringMatcher) delegate).getMode())) {
+                return new Node.ForStringComparison(true, ((StringMatcher) delegate).getValue(), ((StringMatcher) delegate).getMode());
+            }
+            constants.add(delegate);
+            return new Node.ForNameDelegation(constants.size() - 1);
+        } else if (matcher instanceof StringMatcher && Node.ForStringComparison.isInlinable(((StringMatcher) matcher).getMode())) {
+            return new Node.ForStringComparison(false, ((StringMatcher) matcher).getValue(), ((StringMatcher) matcher).getMode());
+        } else {
+            constants.add(matcher);
+            return new Node.ForDelegation(constants.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the name that is matched by a matcher if it only matches a name that equals a given value.
+     *
+     * @param matcher The matcher to consider.
+     * @return The name that is matched or {@code null} if the matcher does not only match a fixed name.
+     */
+    @MaybeNull
+    private static String toName(ElementMatcher<?> matcher) {
+        if (matcher instanceof Profiled<?>) {
+            return toName(((Profiled<?>) matcher).matcher);
+        } else if (matcher instanceof NameMatcher<?>
+                && ((NameMatcher<?>) matcher).getMatcher() instanceof StringMatcher
+                && ((StringMatcher) ((NameMatcher<?>) matcher).getMatcher()).getMode() == StringMatcher.Mode.EQUALS_FULLY) {
+            return ((StringMatcher) ((NameMatcher<?>) matcher).getMatcher()).getValue();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * A matcher that records how often its delegate is invoked and how often it matches.
+     *
+     * @param <T> The type of the matched entity.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Profiled<T> extends ElementMatcher.Junction.AbstractBase<T> {
+
+        /**
+         * The profiled matcher.
+         */
+        private final ElementMatcher<? super T> matcher;
+
+        /**
+         * The amount of invocations of the profiled matcher.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final AtomicLong invocations;
+
+        /**
+         * The amount of matches of the profiled matcher.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final AtomicLong matches;
+
+        /**
+         * Creates a new profiled matcher.
+         *
+         * @param matcher The profiled matcher.
+         */
+        protected Profiled(ElementMatcher<? super T> matcher) {
+            this.matcher = matcher;
+            invocations = new AtomicLong();
+            matches = new AtomicLong();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean matches(@MaybeNull T target) {
+            invocations.incrementAndGet();
+            if (matcher.matches(target)) {
+                matches.incrementAndGet();
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        /**
+         * Returns the observed ratio of matches or the supplied default value if this matcher was never invoked.
+         *
+         * @param defaultValue The value to return if this matcher was never invoked.
+         * @return The observed ratio of matches.
+         */
+        protected double getRatio(double defaultValue) {
+            long invocations = this.invocations.get();
+            return invocations == 0L
+                    ? defaultValue
+                    : (double) matches.get() / invocations;
+        }
+
+        @Override
+        public String toString() {
+            return matcher.toString();
+        }
+    }
+
+    /**
+     * A comparator that orders the children of a junction by their observed selectivity. Children that were never
+     * observed are ordered last, retaining their original order.
+     */
+    protected enum Selectivity implements Comparator<ElementMatcher<?>> {
+
+        /**
+         * Orders the children of a conjunction such that matchers that are the least likely to match come first.
+         */
+        CONJUNCTION(false),
+
+        /**
+         * Orders the children of a disjunction such that matchers that are the most likely to match come first.
+         */
+        DISJUNCTION(true);
+
+        /**
+         * {@code true} if children that are likely to match should be ordered first.
+         */
+        private final boolean matching;
+
+        /**
+         * Creates a new selectivity comparator.
+         *
+         * @param matching {@code true} if children that are likely to match should be ordered first.
+         */
+        Selectivity(boolean matching) {
+            this.matching = matching;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int compare(ElementMatcher<?> left, ElementMatcher<?> right) {
+            return Double.compare(toRank(left), toRank(right));
+        }
+
+        /**
+         * Resolves a rank for a matcher where a lower rank implies an earlier evaluation.
+         *
+         * @param matcher The matcher to rank.
+         * @return The rank of the supplied matcher.
+         */
+        private double toRank(ElementMatcher<?> matcher) {
+            if (!(matcher instanceof Profiled<?>)) {
+                return 2d;
+            }
+            double ratio = ((Profiled<?>) matcher).getRatio(-1d);
+            if (ratio < 0d) {
+                return 2d;
+            }
+            return matching
+                    ? 1d - ratio
+                    : ratio;
+        }
+    }
+
+    /**
+     * A node of a compiled matcher's tree that emits the byte code that represents a matcher.
+     */
+    protected interface Node {
+
+        /**
+         * Applies this node by emitting a jump to the supplied label if the matched result equals the given
+         * value. Otherwise, the control flow continues after the emitted code.
+         *
+         * @param methodVisitor The method visitor to write to.
+         * @param owner         The internal name of the compiled matcher's type.
+         * @param label         The label to jump to.
+         * @param jumpIf        The matching result that triggers a jump to the label.
+         */
+        void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf);
+
+        /**
+         * A node that represents a constant result.
+         */
+        enum Constant implements Node {
+
+            /**
+             * A node that always matches.
+             */
+            MATCHING(true),
+
+            /**
+             * A node that never matches.
+             */
+            NON_MATCHING(false);
+
+            /**
+             * The constant matching result.
+             */
+            private final boolean matches;
+
+            /**
+             * Creates a new constant node.
+             *
+             * @param matches The constant matching result.
+             */
+            Constant(boolean matches) {
+                this.matches = matches;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf) {
+                if (matches == jumpIf) {
+                    methodVisitor.visitJumpInsn(Opcodes.GOTO, label);
+                }
+            }
+        }
+
+        /**
+         * A node that represents a conjunction.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Conjunction implements Node {
+
+            /**
+             * The nodes of this conjunction in their evaluation order.
+             */
+            private final List<Node> nodes;
+
+            /**
+             * Creates a new conjunction node.
+             *
+             * @param nodes The nodes of this conjunction in their evaluation order.
+             */
+            protected Conjunction(List<Node> nodes) {
+                this.nodes = nodes;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf) {
+                if (nodes.isEmpty()) {
+                    Constant.MATCHING.apply(methodVisitor, owner, label, jumpIf);
+                } else if (!jumpIf) {
+                    for (Node node : nodes) {
+                        node.apply(methodVisitor, owner, label, false);
+                    }
+                } else {
+                    Label skip = new Label();
+                    for (Node node : nodes.subList(0, nodes.size() - 1)) {
+                        node.apply(methodVisitor, owner, skip, false);
+                    }
+                    nodes.get(nodes.size() - 1).apply(methodVisitor, owner, label, true);
+                    methodVisitor.visitLabel(skip);
+                }
+            }
+        }
+
+        /**
+         * A node that represents a disjunction.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Disjunction implements Node {
+
+            /**
+             * The nodes of this disjunction in their evaluation order.
+             */
+            private final List<Node> nodes;
+
+            /**
+             * Creates a new disjunction node.
+             *
+             * @param nodes The nodes of this disjunction in their evaluation order.
+             */
+            protected Disjunction(List<Node> nodes) {
+                this.nodes = nodes;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf) {
+                if (nodes.isEmpty()) {
+                    Constant.NON_MATCHING.apply(methodVisitor, owner, label, jumpIf);
+                } else if (jumpIf) {
+                    for (Node node : nodes) {
+                        node.apply(methodVisitor, owner, label, true);
+                    }
+                } else {
+                    Label skip = new Label();
+                    for (Node node : nodes.subList(0, nodes.size() - 1)) {
+                        node.apply(methodVisitor, owner, skip, true);
+                    }
+                    nodes.get(nodes.size() - 1).apply(methodVisitor, owner, label, false);
+                    methodVisitor.visitLabel(skip);
+                }
+            }
+        }
+
+        /**
+         * A node that negates another node.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Negation implements Node {
+
+            /**
+             * The negated node.
+             */
+            private final Node node;
+
+            /**
+             * Creates a new negation node.
+             *
+             * @param node The negated node.
+             */
+            protected Negation(Node node) {
+                this.node = node;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf) {
+                node.apply(methodVisitor, owner, label, !jumpIf);
+            }
+        }
+
+        /**
+         * An abstract base implementation of a node that computes a boolean value from a string operand which is
+         * either the matched element's name or the matched element itself. If the matched element is {@code null},
+         * the node does not match. Unless the node {@link #isNullOperand() accepts a null operand}, an element with a
+         * {@code null} name is not matched either, just as by the {@link StringMatcher} or {@link StringSetMatcher}
+         * that the node replaces.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        abstract class ForStringOperand implements Node {
+
+            /**
+             * {@code true} if the matched element's name is the operand, {@code false} if the matched element is
+             * the operand.
+             */
+            protected final boolean name;
+
+            /**
+             * Creates a new node for a string operand.
+             *
+             * @param name {@code true} if the matched element's name is the operand, {@code false} if the matched
+             *             element is the operand.
+             */
+            protected ForStringOperand(boolean name) {
+                this.name = name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf) {
+                Label skip = new Label();
+                if (name) {
+                    Label loaded = new Label();
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, NAME);
+                    methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, loaded);
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    methodVisitor.visitJumpInsn(Opcodes.IFNULL, jumpIf ? skip : label);
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(NamedElement.class));
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE,
+                            Type.getInternalName(NamedElement.class),
+                            "getActualName",
+                            Type.getMethodDescriptor(Type.getType(String.class)),
+                            true);
+                    methodVisitor.visitVarInsn(Opcodes.ASTORE, NAME);
+                    methodVisitor.visitLabel(loaded);
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, NAME);
+                    if (!isNullOperand()) {
+                        Label resolved = new Label();
+                        methodVisitor.visitInsn(Opcodes.DUP);
+                        methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, resolved);
+                        methodVisitor.visitInsn(Opcodes.POP);
+                        methodVisitor.visitJumpInsn(Opcodes.GOTO, jumpIf ? skip : label);
+                        methodVisitor.visitLabel(resolved);
+                    }
+                } else {
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    methodVisitor.visitJumpInsn(Opcodes.IFNULL, jumpIf ? skip : label);
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(String.class));
+                }
+                onOperand(methodVisitor, owner);
+                methodVisitor.visitJumpInsn(jumpIf ? Opcodes.IFNE : Opcodes.IFEQ, label);
+                methodVisitor.visitLabel(skip);
+            }
+
+            /**
+             * Returns {@code true} if a {@code null} name is handed to this node as its operand.
+             *
+             * @return {@code true} if a {@code null} name is handed to this node as its operand.
+             */
+            protected boolean isNullOperand() {
+                return false;
+            }
+
+            /**
+             * Computes a boolean value from the string operand that is found on top of the operand stack.
+             *
+             * @param methodVisitor The method visitor to write to.
+             * @param owner         The internal name of the compiled matcher's type.
+             */
+            protected abstract void onOperand(MethodVisitor methodVisitor, String owner);
+        }
+
+        /**
+         * A node that inlines the comparison of a string operand to a fixed value.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForStringComparison extends ForStringOperand {
+
+            /**
+             * The value to compare to.
+             */
+            private final String value;
+
+            /**
+             * The comparison mode.
+             */
+            private final StringMatcher.Mode mode;
+
+            /**
+             * Creates a new node for a string comparison.
+             *
+             * @param name  {@code true} if the matched element's name is the operand, {@code false} if the matched
+             *              element is the operand.
+             * @param value The value to compare to.
+             * @param mode  The comparison mode.
+             */
+            protected ForStringComparison(boolean name, String value, StringMatcher.Mode mode) {
+                super(name);
+                this.value = value;
+                this.mode = mode;
+            }
+
+            /**
+             * Checks if a comparison mode can be inlined.
+             *
+             * @param mode The comparison mode.
+             * @return {@code true} if the comparison mode can be inlined.
+             */
+            protected static boolean isInlinable(StringMatcher.Mode mode) {
+                switch (mode) {
+                    case EQUALS_FULLY:
+                    case EQUALS_FULLY_IGNORE_CASE:
+                    case STARTS_WITH:
+                    case ENDS_WITH:
+                    case CONTAINS:
+                        return true;
+                    default:
+                        return false;
+                }
+            }
+
+            @Override
+            protected void onOperand(MethodVisitor methodVisitor, String owner) {
+                methodVisitor.visitLdcInsn(value);
+                String method;
+                String descriptor;
+                switch (mode) {
+                    case EQUALS_FULLY:
+                        method = "equals";
+                        descriptor = Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class));
+                        break;
+                    case EQUALS_FULLY_IGNORE_CASE:
+                        method = "equalsIgnoreCase";
+                        descriptor = Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(String.class));
+                        break;
+                    case STARTS_WITH:
+                        method = "startsWith";
+                        descriptor = Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(String.class));
+                        break;
+                    case ENDS_WITH:
+                        method = "endsWith";
+                        descriptor = Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(String.class));
+                        break;
+                    case CONTAINS:
+                        method = "contains";
+                        descriptor = Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(CharSequence.class));
+                        break;
+                    default:
+                        throw new IllegalStateException("Cannot inline string comparison: " + mode);
+                }
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(String.class), method, descriptor, false);
+            }
+        }
+
+        /**
+         * A node that checks if the matched element's name is contained in a set of names.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForNameSet extends ForStringOperand {
+
+            /**
+             * The index of the constant that represents the set of names.
+             */
+            private final int index;
+
+            /**
+             * Creates a new node for a set of names.
+             *
+             * @param index The index of the constant that represents the set of names.
+             */
+            protected ForNameSet(int index) {
+                super(true);
+                this.index = index;
+            }
+
+            @Override
+            protected void onOperand(MethodVisitor methodVisitor, String owner) {
+                loadConstant(methodVisitor, owner, index, Set.class);
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE,
+                        Type.getInternalName(Set.class),
+                        "contains",
+                        Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class)),
+                        true);
+            }
+        }
+
+        /**
+         * A node that delegates to a matcher that is stored as a constant and that is applied to the matched
+         * element's name.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForNameDelegation extends ForStringOperand {
+
+            /**
+             * The index of the constant that represents the matcher.
+             */
+            private final int index;
+
+            /**
+             * Creates a new node for a delegation of the matched element's name.
+             *
+             * @param index The index of the constant that represents the matcher.
+             */
+            protected ForNameDelegation(int index) {
+                super(true);
+                this.index = index;
+            }
+
+            @Override
+            protected boolean isNullOperand() {
+                return true;
+            }
+
+            @Override
+            protected void onOperand(MethodVisitor methodVisitor, String owner) {
+                loadConstant(methodVisitor, owner, index, ElementMatcher.class);
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                invokeMatcher(methodVisitor);
+            }
+        }
+
+        /**
+         * A node that delegates to a matcher that is stored as a constant and that is applied to the matched element.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForDelegation implements Node {
+
+            /**
+             * The index of the constant that represents the matcher.
+             */
+            private final int index;
+
+            /**
+             * Creates a new node for a delegation.
+             *
+             * @param index The index of the constant that represents the matcher.
+             */
+            protected ForDelegation(int index) {
+                this.index = index;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void apply(MethodVisitor methodVisitor, String owner, Label label, boolean jumpIf) {
+                loadConstant(methodVisitor, owner, index, ElementMatcher.class);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                invokeMatcher(methodVisitor);
+                methodVisitor.visitJumpInsn(jumpIf ? Opcodes.IFNE : Opcodes.IFEQ, label);
+            }
+        }
+    }
+
+    /**
+     * Loads a constant of a compiled matcher onto the operand stack.
+     *
+     * @param methodVisitor The method visitor to write to.
+     * @param owner         The internal name of the compiled matcher's type.
+     * @param index         The index of the constant.
+     * @param type          The type of the constant.
+     */
+    private static void loadConstant(MethodVisitor methodVisitor, String owner, int index, Class<?> type) {
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD,
+                owner,
+                CONSTANTS,
+                Type.getDescriptor(Object[].class));
+        methodVisitor.visitLdcInsn(index);
+        methodVisitor.visitInsn(Opcodes.AALOAD);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+    }
+
+    /**
+     * Invokes an element matcher with the matcher and the target on top of the operand stack.
+     *
+     * @param methodVisitor The method visitor to write to.
+     */
+    private static void invokeMatcher(MethodVisitor methodVisitor) {
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE,
+                Type.getInternalName(ElementMatcher.class),
+                "matches",
+                Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class)),
+                true);
+    }
+
+    /**
+     * A byte code appender for a compiled matcher's {@code matches} method.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Appender implements ByteCodeAppender {
+
+        /**
+         * The root node of the compiled matcher.
+         */
+        private final Node node;
+
+        /**
+         * Creates a new appender.
+         *
+         * @param node The root node of the compiled matcher.
+         */
+        protected Appender(Node node) {
+            this.node = node;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+            Label mismatch = new Label();
+            methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+            methodVisitor.visitVarInsn(Opcodes.ASTORE, NAME);
+            node.apply(methodVisitor, implementationContext.getInstrumentedType().getInternalName(), mismatch, false);
+            methodVisitor.visitInsn(Opcodes.ICONST_1);
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            methodVisitor.visitLabel(mismatch);
+            methodVisitor.visitInsn(Opcodes.ICONST_0);
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            return new Size(3, NAME + 1);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * An index of values where each value is guarded by a matcher. For the source code name of an element, as it is matched by a
+ * {@link NameMatcher}, the index resolves all values in their registration order whose matcher might match an element of this
+ * name. If a matcher requires a name to be equal to a given name or to start with a given prefix, as for example any matcher
+ * created by {@link ElementMatchers#named(String)} or {@link ElementMatchers#nameStartsWith(String)}, its value is only resolved
+ * for names that fulfil this requirement. Values of any other matcher are resolved for any name. Names are resolved via a hash
+ * table and a prefix tree such that the cost of resolving a name does not grow with the number of values that are indexed.
+ * </p>
+ * <p>
+ * <b>Important</b>: An index only narrows the values that need to be considered. The matcher of any resolved value must
+ * still be applied.
+ * </p>
+ *
+ * @param <T> The type of the indexed values.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class NameIndex<T> {
+
+    /**
+     * The indexed values in their registration order.
+     */
+    private final List<T> values;
+
+    /**
+     * A mapping of exact names to the indices of the values that they resolve.
+     */
+    private final Map<String, BitSet> names;
+
+    /**
+     * The root of a prefix tree that resolves the indices of values by name prefixes.
+     */
+    private final Node prefixes;
+
+    /**
+     * The indices of all values that are resolved for any name.
+     */
+    private final BitSet unconstrained;
+
+    /**
+     * Creates a new name index.
+     *
+     * @param values        The indexed values in their registration order.
+     * @param names         A mapping of exact names to the indices of the values that they resolve.
+     * @param prefixes      The root of a prefix tree that resolves the indices of values by name prefixes.
+     * @param unconstrained The indices of all values that are resolved for any name.
+     */
+    protected NameIndex(List<T> values, Map<String, BitSet> names, Node prefixes, BitSet unconstrained) {
+        this.values = values;
+        this.names = names;
+        this.prefixes = prefixes;
+        this.unconstrained = unconstrained;
+    }
+
+    /**
+     * Creates a name index where each value is guarded by the matcher at the same index.
+     *
+     * @param values   The values to index in their registration order.
+     * @param matchers The matchers that guard the values.
+     * @param <S>      The type of the indexed values.
+     * @return An appropriate name index.
+     */
+    public static <S> NameIndex<S> of(List<? extends S> values, List<? extends ElementMatcher<?>> matchers) {
+        if (values.size() != matchers.size()) {
+            throw new IllegalArgumentException("Expected " + values.size() + " matchers but found " + matchers.size());
+        }
+        Map<String, BitSet> names = new HashMap<String, BitSet>();
+        Node prefixes = new Node();
+        BitSet unconstrained = new BitSet(values.size());
+        for (int index = 0; index < values.size(); index++) {
+            Constraint constraint = Constraint.of(matchers.get(index));
+            if (constraint == null) {
+                unconstrained.set(index);
+            } else {
+                for (String name : constraint.getNames()) {
+                    BitSet indices = names.get(name);
+                    if (indices == null) {
+                        indices = new BitSet(values.size());
+                        names.put(name, indices);
+                    }
+                    indices.set(index);
+                }
+                for (String prefix : constraint.getPrefixes()) {
+                    prefixes.locate(prefix).set(index);
+                }
+            }
+        }
+        return new NameIndex<S>(new ArrayList<S>(values), names, prefixes, unconstrained);
+    }
+
+    /**
+     * Returns {@code true} if the value of at least one matcher is not resolved for any name.
+     *
+     * @return {@code true} if the value of at least one matcher is not resolved for any name.
+     */
+    public boolean isConstrained() {
+        return unconstrained.cardinality() < values.size();
+    }
+
+    /**
+     * Resolves all values whose matcher might match an element of the given name in their registration order.
+     *
+     * @param name The source code name of the element.
+     * @return All values whose matcher might match an element of the given name.
+     */
+    public List<T> resolve(String name) {
+        if (!isConstrained()) {
+            return values;
+        }
+        BitSet indices = (BitSet) unconstrained.clone();
+        BitSet named = names.get(name);
+        if (named != null) {
+            indices.or(named);
+        }
+        prefixes.resolve(name, indices);
+        if (indices.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> resolved = new ArrayList<T>(indices.cardinality());
+        for (int index = indices.nextSetBit(0); index >= 0; index = indices.nextSetBit(index + 1)) {
+            resolved.add(values.get(index));
+        }
+        return resolved;
+    }
+
+    /**
+     * A node of a prefix tree.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Node {
+
+        /**
+         * The child nodes of this node by their character.
+         */
+        private final Map<Character, Node> children;
+
+        /**
+         * The indices of all values whose prefix ends with this node.
+         */
+        private final BitSet indices;
+
+        /**
+         * Creates a new node.
+         */
+        protected Node() {
+            children = new HashMap<Character, Node>();
+            indices = new BitSet();
+        }
+
+        /**
+         * Locates the indices of the node that represents the given prefix, creating the node if it does not yet exist.
+         *
+         * @param prefix The prefix to locate.
+         * @return The indices of the node that represents the given prefix.
+         */
+        protected BitSet locate(String prefix) {
+            Node node = this;
+            for (int index = 0; index < prefix.length(); index++) {
+                Node child = node.children.get(prefix.charAt(index));
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(prefix.charAt(index), child);
+                }
+                node = child;
+            }
+            return node.indices;
+        }
+
+        /**
+         * Adds the indices of all nodes that represent a prefix of the given name.
+         *
+         * @param name    The name to resolve.
+         * @param indices The indices to add to.
+         */
+        protected void resolve(String name, BitSet indices) {
+            Node node = this;
+            int index = 0;
+            do {
+                indices.or(node.indices);
+                node = index < name.length()
+                        ? node.children.get(name.charAt(index++))
+                        : null;
+            } while (node != null);
+        }
+    }
+
+    /**
+     * A constraint that a matcher imposes onto the name of any matched element.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Constraint {
+
+        /**
+         * The names of which the matched element's name must be one.
+         */
+        private final Set<String> names;
+
+        /**
+         * The prefixes with one of which the matched element's name must start.
+         */
+        private final Set<String> prefixes;
+
+        /**
+         * Creates a new constraint. A name must either be one of the supplied names or start with one of the supplied prefixes.
+         *
+         * @param names    The names of which the matched element's name must be one.
+         * @param prefixes The prefixes with one of which the matched element's name must start.
+         */
+        protected Constraint(Set<String> names, Set<String> prefixes) {
+            this.names = names;
+            this.prefixes = prefixes;
+        }
+
+        /**
+         * Resolves the constraint that a matcher imposes onto the name of any matched element.
+         *
+         * @param matcher The matcher to resolve.
+         * @return The constraint that is imposed by the supplied matcher or {@code null} if the matcher does not constrain names.
+         */
+        @MaybeNull
+        protected static Constraint of(ElementMatcher<?> matcher) {
+            if (matcher instanceof NameMatcher<?>) {
+                ElementMatcher<String> nameMatcher = ((NameMatcher<?>) matcher).getMatcher();
+                if (nameMatcher instanceof StringMatcher && ((StringMatcher) nameMatcher).getMode() == StringMatcher.Mode.EQUALS_FULLY) {
+                    return new Constraint(Collections.singleton(((StringMatcher) nameMatcher).getValue()), Collections.<String>emptySet());
+                } else if (nameMatcher instanceof StringMatcher && ((StringMatcher) nameMatcher).getMode() == StringMatcher.Mode.STARTS_WITH) {
+                    return new Constraint(Collections.<String>emptySet(), Collections.singleton(((StringMatcher) nameMatcher).getValue()));
+                } else if (nameMatcher instanceof StringSetMatcher) {
+                    return new Constraint(((StringSetMatcher) nameMatcher).getValues(), Collections.<String>emptySet());
+                }
+            } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+                Set<String> names = new HashSet<String>(), prefixes = new HashSet<String>();
+                for (ElementMatcher<?> child : ((ElementMatcher.Junction.Disjunction<?>) matcher).getMatchers()) {
+                    Constraint constraint = of(child);
+                    if (constraint == null) {
+                        return null;
+                    }
+                    names.addAll(constraint.names);
+                    prefixes.addAll(constraint.prefixes);
+                }
+                return new Constraint(names, prefixes);
+            } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+                Constraint resolved = null;
+                for (ElementMatcher<?> child : ((ElementMatcher.Junction.Conjunction<?>) matcher).getMatchers()) {
+                    Constraint constraint = of(child);
+                    if (constraint != null && (resolved == null || constraint.size() < resolved.size())) {
+                        resolved = constraint;
+                    }
+                }
+                return resolved;
+            }
+            return null;
+        }
+
+        /**
+         * Returns the names of which the matched element's name must be one.
+         *
+         * @return The names of which the matched element's name must be one.
+         */
+        protected Set<String> getNames() {
+            return names;
+        }
+
+        /**
+         * Returns the prefixes with one of which the matched element's name must start.
+         *
+         * @return The prefixes with one of which the matched element's name must start.
+         */
+        protected Set<String> getPrefixes() {
+            return prefixes;
+        }
+
+        /**
+         * Returns the amount of names and prefixes of this constraint.
+         *
+         * @return The amount of names and prefixes of this constraint.
+         */
+        protected int size() {
+            return names.size() + prefixes.size();
+        }
+    }
+}
@@ -47,6 +47,15 @@ public class NegatingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T>
         return !matcher.matches(target);
     }
 
+    /**
+     * Returns the element matcher to be negated.
+     *
+     * @return The element matcher to be negated.
+     */
+    ElementMatcher<? super T> getMatcher() {
+        return matcher;
+    }
+
     @Override
     public String toString() {
         return "not(" + matcher + ')';
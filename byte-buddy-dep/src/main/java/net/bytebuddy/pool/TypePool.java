@@ -435,6 +435,282 @@ public interface TypePool {
             }
         }
 
+        /**
+         * <p>
+         * A thread-safe cache provider that retains a bounded number of resolutions. The cache is split into segments
+         * which are locked individually such that concurrent lookups of different types rarely contend. If a segment
+         * exceeds its share of the maximum size, its least recently used resolution is evicted.
+         * </p>
+         * <p>
+         * The cache records the number of hits, misses and evictions which can be used for determining an appropriate size.
+         * Pinned resolutions are retained outside of the segments. They are never evicted or cleared and are not reflected
+         * by the cache's statistics.
+         * </p>
+         */
+        class Bounded implements CacheProvider {
+
+            /**
+             * The default number of segments.
+             */
+            private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+            /**
+             * The segments of this cache.
+             */
+            private final Segment[] segments;
+
+            /**
+             * A mapping of type names to resolutions that are retained independently of the segments.
+             */
+            private final Map<String, Resolution> pinned;
+
+            /**
+             * Creates a new bounded cache provider with a default number of segments.
+             *
+             * @param maximumSize The maximum number of resolutions to retain.
+             */
+            public Bounded(int maximumSize) {
+                this(maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+            }
+
+            /**
+             * Creates a new bounded cache provider.
+             *
+             * @param maximumSize      The maximum number of resolutions to retain.
+             * @param concurrencyLevel The number of segments that are locked independently.
+             */
+            public Bounded(int maximumSize, int concurrencyLevel) {
+                this(maximumSize, concurrencyLevel, Collections.<String, Resolution>emptyMap());
+            }
+
+            /**
+             * Creates a new bounded cache provider.
+             *
+             * @param maximumSize      The maximum number of resolutions to retain.
+             * @param concurrencyLevel The number of segments that are locked independently.
+             * @param pinned           A mapping of type names to resolutions that are retained independently of the segments.
+             */
+            protected Bounded(int maximumSize, int concurrencyLevel, Map<String, Resolution> pinned) {
+                if (maximumSize < 1) {
+                    throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                } else if (concurrencyLevel < 1) {
+                    throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+                }
+                int size = Integer.highestOneBit(Math.min(concurrencyLevel, maximumSize));
+                segments = new Segment[size];
+                for (int index = 0; index < size; index++) {
+                    segments[index] = new Segment(maximumSize / size + (index < maximumSize % size ? 1 : 0));
+                }
+                this.pinned = pinned;
+            }
+
+            /**
+             * Returns a bounded cache provider where the {@link Object} type is pinned such that it is never evicted.
+             *
+             * @param maximumSize The maximum number of resolutions to retain, not including the {@link Object} type.
+             * @return A bounded cache provider where the {@link Object} type is pinned.
+             */
+            public static CacheProvider withObjectType(int maximumSize) {
+                return new Bounded(maximumSize,
+                        DEFAULT_CONCURRENCY_LEVEL,
+                        Collections.<String, Resolution>singletonMap(Object.class.getName(), new Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class))));
+            }
+
+            /**
+             * Resolves the segment for a given type name.
+             *
+             * @param name The name of the type.
+             * @return The segment that is responsible for the given type name.
+             */
+            private Segment segment(String name) {
+                int hash = name.hashCode();
+                return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Resolution find(String name) {
+                Resolution resolution = pinned.get(name);
+                return resolution == null
+                        ? segment(name).find(name)
+                        : resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                Resolution cached = pinned.get(name);
+                return cached == null
+                        ? segment(name).register(name, resolution)
+                        : cached;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                for (Segment segment : segments) {
+                    segment.reset();
+                }
+            }
+
+            /**
+             * Returns the number of resolutions that are currently retained by this cache.
+             *
+             * @return The number of resolutions that are currently retained by this cache.
+             */
+            public int size() {
+                int size = 0;
+                for (Segment segment : segments) {
+                    synchronized (segment) {
+                        size += segment.size();
+                    }
+                }
+                return size;
+            }
+
+            /**
+             * Returns the number of lookups that were answered by this cache.
+             *
+             * @return The number of lookups that were answered by this cache.
+             */
+            public long getHitCount() {
+                long count = 0;
+                for (Segment segment : segments) {
+                    synchronized (segment) {
+                        count += segment.hits;
+                    }
+                }
+                return count;
+            }
+
+            /**
+             * Returns the number of lookups that could not be answered by this cache.
+             *
+             * @return The number of lookups that could not be answered by this cache.
+             */
+            public long getMissCount() {
+                long count = 0;
+                for (Segment segment : segments) {
+                    synchronized (segment) {
+                        count += segment.misses;
+                    }
+                }
+                return count;
+            }
+
+            /**
+             * Returns the number of resolutions that were evicted from this cache as a result of exceeding its maximum size.
+             *
+             * @return The number of resolutions that were evicted from this cache.
+             */
+            public long getEvictionCount() {
+                long count = 0;
+                for (Segment segment : segments) {
+                    synchronized (segment) {
+                        count += segment.evictions;
+                    }
+                }
+                return count;
+            }
+
+            /**
+             * A segment of a bounded cache that retains its resolutions in access order.
+             */
+            @SuppressFBWarnings(value = {"SE_BAD_FIELD", "EQ_DOESNT_OVERRIDE_EQUALS"}, justification = "The segment is neither serialized nor compared.")
+            protected static class Segment extends LinkedHashMap<String, Resolution> {
+
+                /**
+                 * The serial version UID.
+                 */
+                private static final long serialVersionUID = 1L;
+
+                /**
+                 * The maximum number of resolutions to retain in this segment.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The number of lookups that were answered by this segment.
+                 */
+                private long hits;
+
+                /**
+                 * The number of lookups that could not be answered by this segment.
+                 */
+                private long misses;
+
+                /**
+                 * The number of resolutions that were evicted from this segment.
+                 */
+                private long evictions;
+
+                /**
+                 * Creates a new segment.
+                 *
+                 * @param maximumSize The maximum number of resolutions to retain in this segment.
+                 */
+                protected Segment(int maximumSize) {
+                    super(16, 0.75f, true);
+                    this.maximumSize = maximumSize;
+                }
+
+                /**
+                 * Attempts to find a resolution in this segment.
+                 *
+                 * @param name The name of the type to describe.
+                 * @return A resolution of the type or {@code null} if no such resolution is retained.
+                 */
+                @MaybeNull
+                protected synchronized Resolution find(String name) {
+                    Resolution resolution = get(name);
+                    if (resolution == null) {
+                        misses++;
+                    } else {
+                        hits++;
+                    }
+                    return resolution;
+                }
+
+                /**
+                 * Registers a resolution in this segment unless a resolution is already retained.
+                 *
+                 * @param name       The name of the type that is to be registered.
+                 * @param resolution The resolution to register.
+                 * @return The resolution that is retained by this segment.
+                 */
+                protected synchronized Resolution register(String name, Resolution resolution) {
+                    Resolution cached = get(name);
+                    if (cached == null) {
+                        put(name, resolution);
+                        return resolution;
+                    } else {
+                        return cached;
+                    }
+                }
+
+                /**
+                 * Removes all resolutions of this segment.
+                 */
+                protected synchronized void reset() {
+                    clear();
+                }
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Resolution> eldest) {
+                    if (size() > maximumSize) {
+                        evictions++;
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+            }
+        }
+
         /**
          * A cache provider wrapper that avoids caching illegal resolutions so that future lookups can be reattempted.
          */
@@ -830,12 +1106,24 @@ public interface TypePool {
     @HashCodeAndEqualsPlugin.Enhance
     class Default extends AbstractBase.Hierarchical {
 
+        /**
+         * Indicates that a visited field should be ignored.
+         */
+        @AlwaysNull
+        private static final FieldVisitor IGNORE_FIELD = null;
+
         /**
          * Indicates that a visited method should be ignored.
          */
         @AlwaysNull
         private static final MethodVisitor IGNORE_METHOD = null;
 
+        /**
+         * Indicates that a visited record component should be ignored.
+         */
+        @AlwaysNull
+        private static final RecordComponentVisitor IGNORE_RECORD_COMPONENT = null;
+
         /**
          * The locator to query for finding binary data of a type.
          */
@@ -1209,9 +1497,9 @@ public interface TypePool {
 
             @Override
             protected TypeDescription doParse(AsmClassReader classReader) {
-                return lazinessMode == LazinessMode.EXTENDED
-                        ? new ExtendedLazyTypeDescription(classReader)
-                        : super.doParse(classReader);
+                return lazinessMode == LazinessMode.NAME
+                        ? super.doParse(classReader)
+                        : new ExtendedLazyTypeDescription(classReader);
             }
 
             @Override
@@ -1247,7 +1535,16 @@ public interface TypePool {
                  * Resolves the name lazily, and does not parse the entire class file as long as only the non-generic
                  * names of super class and interfaces, as well as class flags are read.
                  */
-                EXTENDED
+                EXTENDED,
+
+                /**
+                 * Resolves the name lazily, and does not parse the entire class file as long as only the non-generic
+                 * names of super class and interfaces, class flags or the type's declared annotations are read. The
+                 * declared annotations are read by only parsing the class file's header and attributes, without
+                 * processing any of the type's fields, methods or record components. The class file is parsed fully
+                 * once any other property is read.
+                 */
+                HEADER
             }
 
             /**
@@ -1318,6 +1615,30 @@ public interface TypePool {
                 }
             }
 
+            /**
+             * A type extractor that only processes a class file's header and attributes but skips all members of a type.
+             */
+            protected class HeaderExtractor extends TypeExtractor {
+
+                @Override
+                @MaybeNull
+                public FieldVisitor visitField(int modifiers, String internalName, String descriptor, @MaybeNull String genericSignature, @MaybeNull Object value) {
+                    return IGNORE_FIELD;
+                }
+
+                @Override
+                @MaybeNull
+                public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, @MaybeNull String genericSignature, @MaybeNull String[] exceptionName) {
+                    return IGNORE_METHOD;
+                }
+
+                @Override
+                @MaybeNull
+                public RecordComponentVisitor visitRecordComponent(String name, String descriptor, @MaybeNull String signature) {
+                    return IGNORE_RECORD_COMPONENT;
+                }
+            }
+
             /**
              * Represents a type description where the class file is only fully parsed if a complex property is resolved.
              */
@@ -1375,6 +1696,11 @@ public interface TypePool {
                     return delegate.getInterfaces();
                 }
 
+                @Override
+                public AnnotationList getDeclaredAnnotations() {
+                    return delegate.getDeclaredAnnotations();
+                }
+
                 @Override
                 protected TypeDescription delegate() {
                     ResolvedDelegate delegate = this.delegate.resolve();
@@ -1416,6 +1742,13 @@ public interface TypePool {
                      */
                     protected abstract TypeList.Generic getInterfaces();
 
+                    /**
+                     * Returns the declared annotations of the represented class.
+                     *
+                     * @return The declared annotations of the represented class.
+                     */
+                    protected abstract AnnotationList getDeclaredAnnotations();
+
                     /**
                      * Returns a resolved version of this delegate.
                      *
@@ -1434,6 +1767,12 @@ public interface TypePool {
                      */
                     private final AsmClassReader classReader;
 
+                    /**
+                     * A type description that only represents the class file's header or {@code null} if the header was not yet parsed.
+                     */
+                    @MaybeNull
+                    private TypeDescription header;
+
                     /**
                      * Creates an unresolved delegated.
                      *
@@ -1467,6 +1806,18 @@ public interface TypePool {
                         return new LazyInterfaceList(classReader.getInterfaceInternalNames());
                     }
 
+                    @Override
+                    protected AnnotationList getDeclaredAnnotations() {
+                        if (lazinessMode != LazinessMode.HEADER) {
+                            return delegate().getDeclaredAnnotations();
+                        } else if (header == null) {
+                            HeaderExtractor headerExtractor = new HeaderExtractor();
+                            classReader.accept(headerExtractor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                            header = headerExtractor.toTypeDescription();
+                        }
+                        return header.getDeclaredAnnotations();
+                    }
+
                     @Override
                     protected ResolvedDelegate resolve() {
                         return new ResolvedDelegate(WithLazyResolution.super.doParse(classReader));
@@ -1522,6 +1873,11 @@ public interface TypePool {
                         return typeDescription.getInterfaces();
                     }
 
+                    @Override
+                    protected AnnotationList getDeclaredAnnotations() {
+                        return typeDescription.getDeclaredAnnotations();
+                    }
+
                     @Override
                     protected ResolvedDelegate resolve() {
                         return this;
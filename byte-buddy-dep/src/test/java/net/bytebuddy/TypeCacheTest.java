@@ -6,7 +6,14 @@ import org.junit.Test;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -199,6 +206,139 @@ public class TypeCacheTest {
         typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), new Object(), callable, new Object());
     }
 
+    @Test
+    public void testCacheConcurrentWeak() throws Exception {
+        TypeCache<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>(TypeCache.Sort.WEAK);
+        Object key = new Object();
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), nullValue(Class.class));
+        assertThat(typeCache.insert(ClassLoader.getSystemClassLoader(), key, Void.class), is((Object) Void.class));
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), is((Object) Void.class));
+        assertThat(typeCache.find(mock(ClassLoader.class), key), nullValue(Class.class));
+        typeCache.clear();
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), nullValue(Class.class));
+    }
+
+    @Test
+    public void testCacheConcurrentStrong() throws Exception {
+        TypeCache<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>(TypeCache.Sort.STRONG);
+        Object key = new Object();
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), nullValue(Class.class));
+        assertThat(typeCache.insert(ClassLoader.getSystemClassLoader(), key, Void.class), is((Object) Void.class));
+        assertThat(typeCache.insert(ClassLoader.getSystemClassLoader(), key, Object.class), is((Object) Void.class));
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), is((Object) Void.class));
+        assertThat(typeCache.find(mock(ClassLoader.class), key), nullValue(Class.class));
+        typeCache.clear();
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), nullValue(Class.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConcurrentFindOrInsertStatistics() throws Exception {
+        TypeCache.WithConcurrentComputation<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>();
+        Object key = new Object();
+        Callable<Class<?>> callable = mock(Callable.class);
+        when(callable.call()).thenReturn((Class) Void.class);
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, callable, new Object()), is((Object) Void.class));
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, callable), is((Object) Void.class));
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, callable, TypeCache.Sort.WEAK), is((Object) Void.class));
+        verify(callable).call();
+        verifyNoMoreInteractions(callable);
+        assertThat(typeCache.size(), is(1));
+        assertThat(typeCache.getHitCount(), is(2L));
+        assertThat(typeCache.getMissCount(), is(1L));
+        typeCache.resetStatistics();
+        assertThat(typeCache.getHitCount(), is(0L));
+        assertThat(typeCache.getMissCount(), is(0L));
+    }
+
+    @Test
+    public void testConcurrentFindOrInsertCreatesOnce() throws Exception {
+        final TypeCache.WithConcurrentComputation<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>();
+        final Object key = new Object();
+        final AtomicInteger creations = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>();
+            futures.add(executorService.submit(new Callable<Class<?>>() {
+                public Class<?> call() {
+                    return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, new Callable<Class<?>>() {
+                        public Class<?> call() throws Exception {
+                            creations.incrementAndGet();
+                            started.countDown();
+                            release.await();
+                            return Void.class;
+                        }
+                    });
+                }
+            }));
+            started.await();
+            for (int index = 0; index < 3; index++) {
+                futures.add(executorService.submit(new Callable<Class<?>>() {
+                    public Class<?> call() {
+                        return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, new Callable<Class<?>>() {
+                            public Class<?> call() {
+                                creations.incrementAndGet();
+                                return Object.class;
+                            }
+                        });
+                    }
+                }));
+            }
+            assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), new Object(), new Callable<Class<?>>() {
+                public Class<?> call() {
+                    return String.class;
+                }
+            }), is((Object) String.class));
+            release.countDown();
+            for (Future<Class<?>> future : futures) {
+                assertThat(future.get(), is((Object) Void.class));
+            }
+            assertThat(creations.get(), is(1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testConcurrentCreationException() throws Exception {
+        TypeCache<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>();
+        Callable<Class<?>> callable = mock(Callable.class);
+        when(callable.call()).thenThrow(RuntimeException.class);
+        typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), new Object(), callable);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConcurrentCreationExceptionIsNotCached() throws Exception {
+        TypeCache<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>();
+        Object key = new Object();
+        Callable<Class<?>> callable = mock(Callable.class);
+        when(callable.call()).thenThrow(RuntimeException.class).thenReturn((Class) Void.class);
+        try {
+            typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, callable);
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, callable), is((Object) Void.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentCircularCreation() throws Exception {
+        final TypeCache<Object> typeCache = new TypeCache.WithConcurrentComputation<Object>();
+        final Object key = new Object();
+        typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, new Callable<Class<?>>() {
+            public Class<?> call() {
+                return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, new Callable<Class<?>>() {
+                    public Class<?> call() {
+                        return Void.class;
+                    }
+                });
+            }
+        });
+    }
+
     @Test
     public void testSimpleKeyProperties() {
         assertThat(new TypeCache.SimpleKey(Object.class).hashCode(), is(new TypeCache.SimpleKey(Object.class).hashCode()));
@@ -211,5 +351,6 @@ public class TypeCacheTest {
     public void testDefaultStrongReferences() {
         assertThat(new TypeCache<Object>().sort, is(TypeCache.Sort.STRONG));
         assertThat(new TypeCache.WithInlineExpunction<Object>().sort, is(TypeCache.Sort.STRONG));
+        assertThat(new TypeCache.WithConcurrentComputation<Object>().sort, is(TypeCache.Sort.STRONG));
     }
 }
@@ -37,8 +37,11 @@ import java.security.ProtectionDomain;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static net.bytebuddy.matcher.ElementMatchers.none;
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
@@ -189,6 +192,31 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransformationsAreIndexedByName() throws Exception {
+        ElementMatcher<TypeDescription> elementMatcher = mock(ElementMatcher.class);
+        AgentBuilder.Transformer other = mock(AgentBuilder.Transformer.class);
+        ResettableClassFileTransformer classFileTransformer = (ResettableClassFileTransformer) new AgentBuilder.Default(byteBuddy)
+                .ignore(none())
+                .type(ElementMatchers.<TypeDescription>named(FOO).and(elementMatcher)).transform(other)
+                .type(ElementMatchers.<TypeDescription>nameStartsWith(REDEFINED.getPackage().getName())).transform(transformer)
+                .type(ElementMatchers.<TypeDescription>named(REDEFINED.getName()).or(elementMatcher)).transform(other)
+                .makeRaw();
+        when(elementMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED))).thenReturn(false);
+        Iterator<AgentBuilder.Transformer> iterator = classFileTransformer.iterator(TypeDescription.ForLoadedType.of(REDEFINED),
+                REDEFINED.getClassLoader(),
+                JavaModule.ofType(REDEFINED),
+                null,
+                REDEFINED.getProtectionDomain());
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(transformer));
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(other));
+        assertThat(iterator.hasNext(), is(false));
+        verifyNoMoreInteractions(elementMatcher);
+    }
+
     @Test
     public void testSuccessfulWithoutExistingClassConjunction() throws Exception {
         when(dynamicType.getBytes()).thenReturn(BAZ);
@@ -1228,6 +1256,131 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testSuccessfulWithRedefinitionPrecomputed() throws Exception {
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
+                .thenReturn(true);
+        when(instrumentation.isModifiableClass(REDEFINED)).thenReturn(true);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        final ClassFileTransformer[] registered = new ClassFileTransformer[1];
+        final byte[][] transformed = new byte[1][];
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                registered[0] = invocation.getArgument(0);
+                return null;
+            }
+        }).when(instrumentation).addTransformer(any(ClassFileTransformer.class));
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ClassDefinition classDefinition = invocation.getArgument(0);
+                transformed[0] = transform(registered[0],
+                        JavaModule.ofType(REDEFINED),
+                        REDEFINED.getClassLoader(),
+                        REDEFINED.getName().replace('.', '/'),
+                        classDefinition.getDefinitionClass(),
+                        REDEFINED.getProtectionDomain(),
+                        classDefinition.getDefinitionClassFile());
+                return null;
+            }
+        }).when(instrumentation).redefineClasses(any(ClassDefinition.class));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                    .with(initializationStrategy)
+                    .with(AgentBuilder.RedefinitionStrategy.REDEFINITION)
+                    .with(new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(executorService))
+                    .with(poolStrategy)
+                    .with(typeStrategy)
+                    .with(installationListener)
+                    .with(listener)
+                    .disableNativeMethodPrefix()
+                    .ignore(none())
+                    .type(typeMatcher).transform(transformer)
+                    .installOn(instrumentation);
+            assertThat(registered[0], sameInstance((ClassFileTransformer) classFileTransformer));
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(transformed[0], is(BAZ));
+        verify(listener).onDiscovery(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verify(listener).onTransformation(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true, dynamicType);
+        verify(listener).onComplete(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verifyNoMoreInteractions(listener);
+        verify(typeMatcher, times(2)).matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain());
+        verifyNoMoreInteractions(typeMatcher);
+        verify(transformer).transform(builder, TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED.getProtectionDomain());
+        verifyNoMoreInteractions(transformer);
+    }
+
+    @Test
+    public void testSuccessfulWithRedefinitionPrecomputedNestedClassLoad() throws Exception {
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
+                .thenReturn(true);
+        when(instrumentation.isModifiableClass(REDEFINED)).thenReturn(true);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        final ClassFileTransformer[] registered = new ClassFileTransformer[1];
+        final byte[][] transformed = new byte[2][];
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                registered[0] = invocation.getArgument(0);
+                return null;
+            }
+        }).when(instrumentation).addTransformer(any(ClassFileTransformer.class));
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ClassDefinition classDefinition = invocation.getArgument(0);
+                transformed[0] = transform(registered[0],
+                        JavaModule.ofType(REDEFINED),
+                        REDEFINED.getClassLoader(),
+                        REDEFINED.getName().replace('.', '/'),
+                        classDefinition.getDefinitionClass(),
+                        REDEFINED.getProtectionDomain(),
+                        classDefinition.getDefinitionClassFile());
+                return null;
+            }
+        }).when(instrumentation).redefineClasses(any(ClassDefinition.class));
+        when(transformer.transform(builder, TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED.getProtectionDomain()))
+                .then(new Answer<DynamicType.Builder<?>>() {
+                    public DynamicType.Builder<?> answer(InvocationOnMock invocation) throws Throwable {
+                        transformed[1] = transform(registered[0],
+                                JavaModule.ofType(OTHER),
+                                OTHER.getClassLoader(),
+                                OTHER.getName().replace('.', '/'),
+                                null,
+                                OTHER.getProtectionDomain(),
+                                QUX);
+                        return builder;
+                    }
+                });
+        ExecutorService executorService = mock(ExecutorService.class);
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                Thread thread = new Thread(invocation.<Runnable>getArgument(0));
+                thread.start();
+                thread.join();
+                return null;
+            }
+        }).when(executorService).execute(any(Runnable.class));
+        new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(AgentBuilder.RedefinitionStrategy.REDEFINITION)
+                .with(new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(executorService))
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .with(installationListener)
+                .with(listener)
+                .disableNativeMethodPrefix()
+                .ignore(none())
+                .type(typeMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transformed[0], is(BAZ));
+        assertThat(transformed[1], nullValue(byte[].class));
+        verify(typeMatcher, times(2)).matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain());
+        verifyNoMoreInteractions(typeMatcher);
+        verify(transformer).transform(builder, TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED.getProtectionDomain());
+        verifyNoMoreInteractions(transformer);
+    }
+
     @Test
     public void testSuccessfulWithRedefinitionMatchedFallback() throws Exception {
         when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
@@ -2358,6 +2511,7 @@ public class AgentBuilderDefaultTest {
     public void testInactiveExecutingTransformerReturnsNullValue() throws Exception {
         assertThat(new AgentBuilder.Default.ExecutingTransformer(byteBuddy,
                 listener,
+                AgentBuilder.PhaseListener.NoOp.INSTANCE,
                 poolStrategy,
                 typeStrategy,
                 locationStrategy,
@@ -2371,6 +2525,7 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
+                AgentBuilder.Prefilter.NoOp.INSTANCE,
                 mock(AgentBuilder.RedefinitionStrategy.ResubmissionEnforcer.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
                 new AgentBuilder.CircularityLock.Default()).transform(mock(ClassLoader.class),
@@ -2392,6 +2547,7 @@ public class AgentBuilderDefaultTest {
     public void testExecutingTransformerDoesNotRecurse() throws Exception {
         final AgentBuilder.Default.ExecutingTransformer executingTransformer = new AgentBuilder.Default.ExecutingTransformer(byteBuddy,
                 listener,
+                AgentBuilder.PhaseListener.NoOp.INSTANCE,
                 poolStrategy,
                 typeStrategy,
                 locationStrategy,
@@ -2405,6 +2561,7 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
+                AgentBuilder.Prefilter.NoOp.INSTANCE,
                 mock(AgentBuilder.RedefinitionStrategy.ResubmissionEnforcer.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
                 new AgentBuilder.Default.CircularityLock.Default());
@@ -2433,6 +2590,7 @@ public class AgentBuilderDefaultTest {
     public void testExecutingTransformerDoesNotRecurseWithModules() throws Exception {
         final AgentBuilder.Default.ExecutingTransformer executingTransformer = new AgentBuilder.Default.ExecutingTransformer(byteBuddy,
                 listener,
+                AgentBuilder.PhaseListener.NoOp.INSTANCE,
                 poolStrategy,
                 typeStrategy,
                 locationStrategy,
@@ -2446,6 +2604,7 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
+                AgentBuilder.Prefilter.NoOp.INSTANCE,
                 mock(AgentBuilder.RedefinitionStrategy.ResubmissionEnforcer.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
                 new AgentBuilder.CircularityLock.Default());
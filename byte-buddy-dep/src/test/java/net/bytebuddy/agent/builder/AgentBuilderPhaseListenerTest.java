@@ -0,0 +1,147 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.junit.Test;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.Map;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class AgentBuilderPhaseListenerTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testNoOp() throws Exception {
+        AgentBuilder.PhaseListener.NoOp.INSTANCE.onPhase(AgentBuilder.PhaseListener.Phase.TYPE_CREATION, FOO, null, null, false, 42L);
+    }
+
+    @Test
+    public void testCompound() throws Exception {
+        AgentBuilder.PhaseListener first = mock(AgentBuilder.PhaseListener.class), second = mock(AgentBuilder.PhaseListener.class);
+        new AgentBuilder.PhaseListener.Compound(first, new AgentBuilder.PhaseListener.Compound(second), AgentBuilder.PhaseListener.NoOp.INSTANCE)
+                .onPhase(AgentBuilder.PhaseListener.Phase.TYPE_CREATION, FOO, null, null, true, 42L);
+        verify(first).onPhase(AgentBuilder.PhaseListener.Phase.TYPE_CREATION, FOO, null, null, true, 42L);
+        verifyNoMoreInteractions(first);
+        verify(second).onPhase(AgentBuilder.PhaseListener.Phase.TYPE_CREATION, FOO, null, null, true, 42L);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testCompoundEmpty() throws Exception {
+        assertThat(new AgentBuilder.PhaseListener.Compound(AgentBuilder.PhaseListener.NoOp.INSTANCE, new AgentBuilder.PhaseListener.Compound()).isEmpty(), is(true));
+        assertThat(new AgentBuilder.PhaseListener.Compound(mock(AgentBuilder.PhaseListener.class)).isEmpty(), is(false));
+    }
+
+    @Test
+    public void testRecording() throws Exception {
+        AgentBuilder.PhaseListener.Recording recording = new AgentBuilder.PhaseListener.Recording();
+        recording.onPhase(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING, FOO, null, null, false, 0L);
+        recording.onPhase(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING, FOO, null, null, false, 3L);
+        recording.onPhase(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING, FOO, null, null, false, 100L);
+        recording.onPhase(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING, FOO, null, null, false, Long.MAX_VALUE - 103L);
+        AgentBuilder.PhaseListener.Recording.Snapshot snapshot = recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING);
+        assertThat(snapshot.getCount(), is(4L));
+        assertThat(snapshot.getTotal(), is(Long.MAX_VALUE));
+        assertThat(snapshot.getMaximum(), is(Long.MAX_VALUE - 103L));
+        assertThat(snapshot.getMean(), is((double) Long.MAX_VALUE / 4));
+        assertThat(snapshot.getPercentile(0d), is(1L));
+        assertThat(snapshot.getPercentile(25d), is(1L));
+        assertThat(snapshot.getPercentile(50d), is(4L));
+        assertThat(snapshot.getPercentile(75d), is(128L));
+        assertThat(snapshot.getPercentile(100d), is(Long.MAX_VALUE - 103L));
+        long[] buckets = snapshot.getBuckets();
+        assertThat(buckets[0], is(1L));
+        assertThat(buckets[2], is(1L));
+        assertThat(buckets[7], is(1L));
+        assertThat(buckets[63], is(1L));
+        Map<AgentBuilder.PhaseListener.Phase, AgentBuilder.PhaseListener.Recording.Snapshot> snapshots = recording.snapshot();
+        assertThat(snapshots.size(), is(AgentBuilder.PhaseListener.Phase.values().length));
+        assertThat(snapshots.get(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING).getCount(), is(4L));
+        assertThat(snapshots.get(AgentBuilder.PhaseListener.Phase.TYPE_CREATION).getCount(), is(0L));
+        assertThat(snapshots.get(AgentBuilder.PhaseListener.Phase.TYPE_CREATION).getMean(), is(0d));
+        assertThat(snapshots.get(AgentBuilder.PhaseListener.Phase.TYPE_CREATION).getPercentile(50d), is(0L));
+        recording.reset();
+        snapshot = recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING);
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getTotal(), is(0L));
+        assertThat(snapshot.getMaximum(), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordingIllegalPercentile() throws Exception {
+        new AgentBuilder.PhaseListener.Recording().snapshot(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING).getPercentile(101d);
+    }
+
+    @Test
+    public void testTransformationRecordsAllPhases() throws Exception {
+        AgentBuilder.PhaseListener.Recording recording = new AgentBuilder.PhaseListener.Recording();
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .with(recording)
+                .disableClassFormatChanges()
+                .ignore(none())
+                .type(named(Foo.class.getName()))
+                .transform(new AgentBuilder.Transformer() {
+                    public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder,
+                                                            TypeDescription typeDescription,
+                                                            @MaybeNull ClassLoader classLoader,
+                                                            @MaybeNull JavaModule module,
+                                                            @MaybeNull ProtectionDomain protectionDomain) {
+                        return builder;
+                    }
+                })
+                .makeRaw();
+        assertThat(classFileTransformer.transform(Foo.class.getClassLoader(),
+                Foo.class.getName().replace('.', '/'),
+                null,
+                Foo.class.getProtectionDomain(),
+                ClassFileLocator.ForClassLoader.read(Foo.class)), notNullValue(byte[].class));
+        for (AgentBuilder.PhaseListener.Phase phase : AgentBuilder.PhaseListener.Phase.values()) {
+            assertThat(recording.snapshot(phase).getCount(), is(1L));
+        }
+    }
+
+    @Test
+    public void testIgnoredTypeRecordsMatchingPhases() throws Exception {
+        AgentBuilder.PhaseListener.Recording recording = new AgentBuilder.PhaseListener.Recording();
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .with(recording)
+                .disableClassFormatChanges()
+                .ignore(none())
+                .type(none())
+                .transform(mock(AgentBuilder.Transformer.class))
+                .makeRaw();
+        assertThat(classFileTransformer.transform(Foo.class.getClassLoader(),
+                Foo.class.getName().replace('.', '/'),
+                null,
+                Foo.class.getProtectionDomain(),
+                ClassFileLocator.ForClassLoader.read(Foo.class)), nullValue(byte[].class));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_RESOLUTION).getCount(), is(1L));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.IGNORE_MATCHING).getCount(), is(1L));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_MATCHING).getCount(), is(1L));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.TRANSFORMER_APPLICATION).getCount(), is(0L));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_CREATION).getCount(), is(0L));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_REGISTRATION).getCount(), is(0L));
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+}
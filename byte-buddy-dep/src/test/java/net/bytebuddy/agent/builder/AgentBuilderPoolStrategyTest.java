@@ -51,4 +51,14 @@ public class AgentBuilderPoolStrategyTest {
     public void testExtendedLoadingTypePool() throws Exception {
         assertThat(AgentBuilder.PoolStrategy.ClassLoading.EXTENDED.typePool(classFileLocator, classLoader), notNullValue(TypePool.class));
     }
+
+    @Test
+    public void testFastHeaderFirstTypePool() throws Exception {
+        assertThat(AgentBuilder.PoolStrategy.HeaderFirst.FAST.typePool(classFileLocator, classLoader), notNullValue(TypePool.class));
+    }
+
+    @Test
+    public void testExtendedHeaderFirstTypePool() throws Exception {
+        assertThat(AgentBuilder.PoolStrategy.HeaderFirst.EXTENDED.typePool(classFileLocator, classLoader), notNullValue(TypePool.class));
+    }
 }
@@ -0,0 +1,152 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.instrument.ClassFileTransformer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderPrefilterTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final byte[] BINARY_REPRESENTATION = new byte[0];
+
+    @Test
+    public void testNoOp() throws Exception {
+        assertThat(AgentBuilder.Prefilter.NoOp.INSTANCE.isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(true));
+    }
+
+    @Test
+    public void testNamePrefixes() throws Exception {
+        AgentBuilder.Prefilter prefilter = new AgentBuilder.Prefilter.ForNamePrefixes("foo.bar.", "foo.baz", "qux.", "foo.bar.qux.");
+        assertThat(prefilter.isCandidate("foo.bar.Sample", null, null, null, BINARY_REPRESENTATION), is(true));
+        assertThat(prefilter.isCandidate("foo.bar.qux.Sample", null, null, null, BINARY_REPRESENTATION), is(true));
+        assertThat(prefilter.isCandidate("foo.baz", null, null, null, BINARY_REPRESENTATION), is(true));
+        assertThat(prefilter.isCandidate("foo.bazSample", null, null, null, BINARY_REPRESENTATION), is(true));
+        assertThat(prefilter.isCandidate("qux.Sample", null, null, null, BINARY_REPRESENTATION), is(true));
+        assertThat(prefilter.isCandidate("foo.ba", null, null, null, BINARY_REPRESENTATION), is(false));
+        assertThat(prefilter.isCandidate("foo.qux.Sample", null, null, null, BINARY_REPRESENTATION), is(false));
+        assertThat(prefilter.isCandidate("Sample", null, null, null, BINARY_REPRESENTATION), is(false));
+        assertThat(prefilter.isCandidate("", null, null, null, BINARY_REPRESENTATION), is(false));
+    }
+
+    @Test
+    public void testNamePrefixesEmpty() throws Exception {
+        assertThat(new AgentBuilder.Prefilter.ForNamePrefixes().isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(false));
+        assertThat(new AgentBuilder.Prefilter.ForNamePrefixes("").isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(true));
+    }
+
+    @Test
+    public void testDeclaredAnnotations() throws Exception {
+        AgentBuilder.Prefilter prefilter = new AgentBuilder.Prefilter.ForDeclaredAnnotations(Marker.class);
+        assertThat(prefilter.isCandidate(AnnotatedType.class.getName(), null, null, null, ClassFileLocator.ForClassLoader.read(AnnotatedType.class)), is(true));
+        assertThat(prefilter.isCandidate(AnnotatedMethod.class.getName(), null, null, null, ClassFileLocator.ForClassLoader.read(AnnotatedMethod.class)), is(true));
+        assertThat(prefilter.isCandidate(Plain.class.getName(), null, null, null, ClassFileLocator.ForClassLoader.read(Plain.class)), is(false));
+        assertThat(prefilter.isCandidate(Object.class.getName(), null, null, null, ClassFileLocator.ForClassLoader.read(Object.class)), is(false));
+    }
+
+    @Test
+    public void testDeclaredAnnotationsEquality() throws Exception {
+        AgentBuilder.Prefilter prefilter = new AgentBuilder.Prefilter.ForDeclaredAnnotations(Marker.class);
+        assertThat(prefilter, is((AgentBuilder.Prefilter) new AgentBuilder.Prefilter.ForDeclaredAnnotations(Marker.class)));
+        assertThat(prefilter.hashCode(), is(new AgentBuilder.Prefilter.ForDeclaredAnnotations(Marker.class).hashCode()));
+        assertThat(prefilter, not((AgentBuilder.Prefilter) new AgentBuilder.Prefilter.ForDeclaredAnnotations(Retention.class)));
+    }
+
+    @Test
+    public void testDeclaredAnnotationsIllegalClassFile() throws Exception {
+        AgentBuilder.Prefilter prefilter = new AgentBuilder.Prefilter.ForDeclaredAnnotations(Marker.class);
+        assertThat(prefilter.isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(true));
+        assertThat(prefilter.isCandidate(FOO, null, null, null, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}), is(true));
+        assertThat(prefilter.isCandidate(FOO, null, null, null, new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 49, 0, 3, 99}), is(true));
+        assertThat(prefilter.isCandidate(FOO, null, null, null, new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 49, 0, 3}), is(true));
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        AgentBuilder.Prefilter first = mock(AgentBuilder.Prefilter.class), second = mock(AgentBuilder.Prefilter.class);
+        when(first.isCandidate(FOO, null, null, null, BINARY_REPRESENTATION)).thenReturn(true);
+        when(second.isCandidate(FOO, null, null, null, BINARY_REPRESENTATION)).thenReturn(false);
+        assertThat(new AgentBuilder.Prefilter.Conjunction(first, AgentBuilder.Prefilter.NoOp.INSTANCE, new AgentBuilder.Prefilter.Conjunction(second))
+                .isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(false));
+        verify(first).isCandidate(FOO, null, null, null, BINARY_REPRESENTATION);
+        verifyNoMoreInteractions(first);
+        verify(second).isCandidate(FOO, null, null, null, BINARY_REPRESENTATION);
+        verifyNoMoreInteractions(second);
+        assertThat(new AgentBuilder.Prefilter.Conjunction().isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(true));
+    }
+
+    @Test
+    public void testDisjunction() throws Exception {
+        AgentBuilder.Prefilter first = mock(AgentBuilder.Prefilter.class), second = mock(AgentBuilder.Prefilter.class);
+        when(first.isCandidate(FOO, null, null, null, BINARY_REPRESENTATION)).thenReturn(false);
+        when(second.isCandidate(FOO, null, null, null, BINARY_REPRESENTATION)).thenReturn(true);
+        assertThat(new AgentBuilder.Prefilter.Disjunction(first, new AgentBuilder.Prefilter.Disjunction(second))
+                .isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(true));
+        verify(first).isCandidate(FOO, null, null, null, BINARY_REPRESENTATION);
+        verifyNoMoreInteractions(first);
+        verify(second).isCandidate(FOO, null, null, null, BINARY_REPRESENTATION);
+        verifyNoMoreInteractions(second);
+        assertThat(new AgentBuilder.Prefilter.Disjunction().isCandidate(FOO, null, null, null, BINARY_REPRESENTATION), is(false));
+    }
+
+    @Test
+    public void testRejectedTypeIsNotDiscovered() throws Exception {
+        AgentBuilder.Listener listener = mock(AgentBuilder.Listener.class);
+        AgentBuilder.RawMatcher rawMatcher = mock(AgentBuilder.RawMatcher.class);
+        AgentBuilder.PhaseListener.Recording recording = new AgentBuilder.PhaseListener.Recording();
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .with(listener)
+                .with(recording)
+                .with(new AgentBuilder.Prefilter.ForNamePrefixes(BAR))
+                .ignore(rawMatcher)
+                .type(rawMatcher)
+                .transform(mock(AgentBuilder.Transformer.class))
+                .makeRaw();
+        assertThat(classFileTransformer.transform(Plain.class.getClassLoader(),
+                Plain.class.getName().replace('.', '/'),
+                null,
+                Plain.class.getProtectionDomain(),
+                ClassFileLocator.ForClassLoader.read(Plain.class)), nullValue(byte[].class));
+        verifyNoMoreInteractions(listener);
+        verifyNoMoreInteractions(rawMatcher);
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.PREFILTERING).getCount(), is(1L));
+        assertThat(recording.snapshot(AgentBuilder.PhaseListener.Phase.TYPE_RESOLUTION).getCount(), is(0L));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marker {
+        /* empty */
+    }
+
+    @Marker
+    public static class AnnotatedType {
+        /* empty */
+    }
+
+    public static class AnnotatedMethod {
+
+        @Marker
+        public void foo() {
+            /* empty */
+        }
+    }
+
+    public static class Plain {
+
+        public void foo() {
+            /* empty */
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.CoreMatchers.is;
@@ -332,4 +333,68 @@ public class AgentBuilderRedefinitionStrategyBatchAllocatorTest {
     public void testPartitioningIllegalArgument() throws Exception {
         AgentBuilder.RedefinitionStrategy.BatchAllocator.Partitioning.of(0);
     }
+
+    @Test
+    public void testForTimeBudgetEmpty() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator batchAllocator = AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget.of(1, TimeUnit.SECONDS);
+        assertThat(batchAllocator.batch(Collections.<Class<?>>emptyList()).iterator().hasNext(), is(false));
+    }
+
+    @Test
+    public void testForTimeBudgetInitialSize() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator batchAllocator = AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget.of(1, TimeUnit.SECONDS, 2, 1, 10);
+        Iterator<? extends List<Class<?>>> iterator = batchAllocator.batch(Arrays.<Class<?>>asList(Object.class, Void.class, String.class)).iterator();
+        assertThat(iterator.next(), is(Arrays.<Class<?>>asList(Object.class, Void.class)));
+        assertThat(iterator.next(), is(Collections.<Class<?>>singletonList(String.class)));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void testForTimeBudgetAdaptsToMeasurement() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget batchAllocator = AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget.of(100, TimeUnit.NANOSECONDS, 2, 1, 10);
+        Iterator<? extends List<Class<?>>> iterator = batchAllocator.batch(Arrays.<Class<?>>asList(Object.class, Void.class, String.class, Integer.class, Long.class)).iterator();
+        assertThat(iterator.next(), is(Arrays.<Class<?>>asList(Object.class, Void.class)));
+        batchAllocator.onMeasurement(2, 100L);
+        assertThat(batchAllocator.getSize(), is(2));
+        assertThat(batchAllocator.getEstimate(TimeUnit.NANOSECONDS), is(50L));
+        batchAllocator.onMeasurement(2, 20L);
+        assertThat(batchAllocator.getSize(), is(3));
+        assertThat(iterator.next(), is(Arrays.<Class<?>>asList(String.class, Integer.class, Long.class)));
+        assertThat(iterator.hasNext(), is(false));
+        batchAllocator.onMeasurement(3, 3000L);
+        assertThat(batchAllocator.getSize(), is(1));
+        batchAllocator.onMeasurement(1, 0L);
+        batchAllocator.onMeasurement(1, 0L);
+        batchAllocator.onMeasurement(1, 0L);
+        batchAllocator.onMeasurement(1, 0L);
+        batchAllocator.onMeasurement(1, 0L);
+        batchAllocator.onMeasurement(1, 0L);
+        batchAllocator.onMeasurement(1, 0L);
+        assertThat(batchAllocator.getSize(), is(10));
+    }
+
+    @Test
+    public void testForTimeBudgetListenerMeasures() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget batchAllocator = AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget.of(1, TimeUnit.NANOSECONDS, 2, 1, 10);
+        AgentBuilder.RedefinitionStrategy.Listener listener = batchAllocator.getListener();
+        List<Class<?>> types = Arrays.<Class<?>>asList(Object.class, Void.class, String.class);
+        Iterator<? extends List<Class<?>>> iterator = batchAllocator.batch(types).iterator();
+        List<Class<?>> batch = iterator.next();
+        listener.onBatch(0, batch, types);
+        Thread.sleep(1);
+        assertThat(iterator.next(), is(Collections.<Class<?>>singletonList(String.class)));
+        assertThat(batchAllocator.getSize(), is(1));
+        assertThat(batchAllocator.getEstimate(TimeUnit.NANOSECONDS) > 0L, is(true));
+        listener.onComplete(1, types, Collections.<List<Class<?>>, Throwable>emptyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForTimeBudgetIllegalBudget() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget.of(0, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForTimeBudgetIllegalInitial() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTimeBudget.of(1, TimeUnit.SECONDS, 11, 1, 10);
+    }
 }
@@ -0,0 +1,143 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderRedefinitionStrategyPrecomputationTest {
+
+    private static final byte[] FOO = new byte[]{1, 2, 3}, BAR = new byte[]{4, 5, 6}, QUX = new byte[]{7, 8, 9};
+
+    private static final List<Class<?>> TYPES = Arrays.<Class<?>>asList(Object.class, String.class, Integer.class);
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private AgentBuilder.RedefinitionStrategy.Precomputation.Target target;
+
+    @Mock
+    private AgentBuilder.LocationStrategy locationStrategy;
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+
+    @Before
+    public void setUp() throws Exception {
+        when(locationStrategy.classFileLocator(Mockito.<ClassLoader>any(), Mockito.<JavaModule>any())).thenReturn(classFileLocator);
+        when(classFileLocator.locate(Object.class.getName())).thenReturn(new ClassFileLocator.Resolution.Explicit(FOO));
+        when(classFileLocator.locate(String.class.getName())).thenReturn(new ClassFileLocator.Resolution.Explicit(BAR));
+        when(classFileLocator.locate(Integer.class.getName())).thenReturn(new ClassFileLocator.Resolution.Explicit(QUX));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        AgentBuilder.RedefinitionStrategy.Precomputation.Handler handler = AgentBuilder.RedefinitionStrategy.Precomputation.Disabled.INSTANCE
+                .make(target)
+                .make(locationStrategy, TYPES);
+        assertThat(handler.resolve(Object.class), is(FOO));
+        assertThat(handler.resolve(String.class), is(BAR));
+        handler.complete();
+        verifyNoMoreInteractions(target);
+    }
+
+    @Test
+    public void testLookahead() throws Exception {
+        ExecutorService executorService = mock(ExecutorService.class);
+        AgentBuilder.RedefinitionStrategy.Precomputation.Handler handler = new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(executorService, 1)
+                .make(target)
+                .make(locationStrategy, TYPES);
+        assertThat(handler.resolve(Object.class), is(FOO));
+        verify(executorService, times(2)).execute(any(Runnable.class));
+        verify(target).precompute(Object.class, FOO);
+        assertThat(handler.resolve(String.class), is(BAR));
+        verify(executorService, times(3)).execute(any(Runnable.class));
+        verify(target).precompute(String.class, BAR);
+        handler.complete();
+        verify(target).discard(Object.class);
+        verify(target).discard(String.class);
+        verify(target).discard(Integer.class);
+        verifyNoMoreInteractions(target);
+    }
+
+    @Test
+    public void testPrecomputationOnExecutor() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            AgentBuilder.RedefinitionStrategy.Precomputation.Handler handler = new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(executorService)
+                    .make(target)
+                    .make(locationStrategy, TYPES);
+            assertThat(handler.resolve(Object.class), is(FOO));
+            assertThat(handler.resolve(String.class), is(BAR));
+            assertThat(handler.resolve(Integer.class), is(QUX));
+            handler.complete();
+        } finally {
+            executorService.shutdown();
+        }
+        verify(target).precompute(Object.class, FOO);
+        verify(target).precompute(String.class, BAR);
+        verify(target).precompute(Integer.class, QUX);
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        AgentBuilder.RedefinitionStrategy.Precomputation.Handler handler = new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(executorService)
+                .make(target)
+                .make(locationStrategy, TYPES);
+        assertThat(handler.resolve(String.class), is(BAR));
+        verify(target).precompute(String.class, BAR);
+        handler.complete();
+        verify(target).discard(Object.class);
+        verify(target).discard(String.class);
+        verify(target).discard(Integer.class);
+        verifyNoMoreInteractions(target);
+    }
+
+    @Test
+    public void testUnscheduledType() throws Exception {
+        AgentBuilder.RedefinitionStrategy.Precomputation.Handler handler = new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(mock(ExecutorService.class))
+                .make(target)
+                .make(locationStrategy, Collections.<Class<?>>emptyList());
+        assertThat(handler.resolve(Object.class), is(FOO));
+        handler.complete();
+        verifyNoMoreInteractions(target);
+    }
+
+    @Test(expected = IOException.class)
+    public void testLocationFailure() throws Exception {
+        when(classFileLocator.locate(Object.class.getName())).thenThrow(new IOException());
+        new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(mock(ExecutorService.class))
+                .make(target)
+                .make(locationStrategy, TYPES)
+                .resolve(Object.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLookahead() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.Precomputation.ForExecutorService(mock(ExecutorService.class), 0);
+    }
+}
@@ -24,7 +24,9 @@ import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -32,7 +34,12 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -875,6 +882,119 @@ public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
         verify(scheduledExecutorService).isShutdown();
     }
 
+    @Test
+    public void testSchedulerAdaptiveIsAlive() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        assertThat(new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService, 1L, 4L, TimeUnit.SECONDS).isAlive(), is(true));
+        verify(scheduledExecutorService).isShutdown();
+    }
+
+    @Test
+    public void testSchedulerAdaptiveBackOff() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job job = mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution execution = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution)
+                new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService, 1L, 4L, TimeUnit.SECONDS).schedule(job);
+        verify(scheduledExecutorService).schedule(execution, TimeUnit.SECONDS.toNanos(1L), TimeUnit.NANOSECONDS);
+        execution.run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(2L));
+        execution.run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(4L));
+        execution.run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(4L));
+        verify(scheduledExecutorService, times(2)).schedule(execution, TimeUnit.SECONDS.toNanos(4L), TimeUnit.NANOSECONDS);
+        verify(job, never()).run();
+    }
+
+    @Test
+    public void testSchedulerAdaptiveResubmission() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job job = mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive scheduler = new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService,
+                1L,
+                4L,
+                TimeUnit.SECONDS);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution execution = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution) scheduler.schedule(job);
+        execution.run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(2L));
+        when(job.getQueueDepth()).thenReturn(3, 0);
+        execution.run();
+        verify(job).run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(1L));
+        assertThat(scheduler.getQueueDepth(), is(0));
+        assertThat(scheduler.getResubmissions(), is(1L));
+        assertThat(scheduler.getLatency(TimeUnit.NANOSECONDS) > 0L, is(true));
+        assertThat(scheduler.getMaximumLatency(TimeUnit.NANOSECONDS), is(scheduler.getLatency(TimeUnit.NANOSECONDS)));
+    }
+
+    @Test
+    public void testSchedulerAdaptiveBurst() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job job = mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution execution = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution)
+                new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService, 1L, 4L, TimeUnit.SECONDS, 1L).schedule(job);
+        execution.run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(2L));
+        when(job.getDiscoveries()).thenReturn(1000000L);
+        execution.run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(1L));
+        verify(job, never()).run();
+    }
+
+    @Test
+    public void testSchedulerAdaptiveNonJob() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        Runnable runnable = mock(Runnable.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution execution = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution)
+                new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService, 1L, 4L, TimeUnit.SECONDS).schedule(runnable);
+        execution.run();
+        verify(runnable).run();
+        assertThat(execution.getDelay(TimeUnit.SECONDS), is(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSchedulerAdaptiveCancel() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        when(scheduledExecutorService.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenReturn((ScheduledFuture) future);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job job = mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job.class);
+        when(job.getQueueDepth()).thenReturn(1);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution execution = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution)
+                new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService, 1L, 4L, TimeUnit.SECONDS).schedule(job);
+        execution.cancel();
+        verify(future).cancel(true);
+        execution.run();
+        verify(job, never()).run();
+        verify(scheduledExecutorService).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testSchedulerAdaptiveRejected() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job job = mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Job.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution execution = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive.Execution)
+                new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(scheduledExecutorService, 1L, 4L, TimeUnit.SECONDS).schedule(job);
+        doThrow(new RejectedExecutionException()).when(scheduledExecutorService).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        execution.run();
+        verify(scheduledExecutorService, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchedulerAdaptiveIllegalMinimum() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(mock(ScheduledExecutorService.class), 0L, 4L, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchedulerAdaptiveIllegalMaximum() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(mock(ScheduledExecutorService.class), 2L, 1L, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchedulerAdaptiveIllegalBurstRate() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Adaptive(mock(ScheduledExecutorService.class), 1L, 4L, TimeUnit.SECONDS, 0L);
+    }
+
     private static class Foo {
         /* empty */
     }
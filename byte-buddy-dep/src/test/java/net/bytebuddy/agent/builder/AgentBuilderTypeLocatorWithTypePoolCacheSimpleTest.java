@@ -12,7 +12,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 
@@ -49,4 +52,20 @@ public class AgentBuilderTypeLocatorWithTypePoolCacheSimpleTest {
         assertThat(poolStrategy.typePool(classFileLocator, null), hasPrototype(poolStrategy.typePool(classFileLocator, null)));
         assertThat(poolStrategy.typePool(classFileLocator, null), not(hasPrototype(poolStrategy.typePool(classFileLocator, second))));
     }
+
+    @Test
+    public void testBoundedImplementation() throws Exception {
+        ConcurrentMap<ClassLoader, TypePool.CacheProvider> cacheProviders = new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>();
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(42, cacheProviders);
+        assertThat(poolStrategy.typePool(classFileLocator, first), hasPrototype(poolStrategy.typePool(classFileLocator, first)));
+        poolStrategy.typePool(classFileLocator, second);
+        assertThat(cacheProviders.get(first), instanceOf(TypePool.CacheProvider.Bounded.class));
+        assertThat(cacheProviders.get(first), not(sameInstance(cacheProviders.get(second))));
+        assertThat(cacheProviders.get(first).find(Object.class.getName()).resolve().represents(Object.class), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() throws Exception {
+        new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(0, new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>());
+    }
 }
@@ -0,0 +1,314 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CachedReturnPluginThreadSafeTest {
+
+    private static final String FOO = "foo", BAR = "bar", COUNT = "count";
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @Test
+    public void testReferenceFieldUpdater() throws Exception {
+        Class<?> type = make(ReferenceSample.class, ClassFileLocator.ForClassLoader.of(ReferenceSample.class.getClassLoader()));
+        assertThat(type.getDeclaredFields().length, is(2));
+        assertPublished(type);
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(9)
+    public void testReferenceVarHandle() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(ReferenceSample.class);
+        binaryRepresentation[6] = 0;
+        binaryRepresentation[7] = (byte) ClassFileVersion.JAVA_V9.getMajorVersion();
+        Class<?> type = make(ReferenceSample.class, ClassFileLocator.Simple.of(ReferenceSample.class.getName(), binaryRepresentation));
+        boolean varHandle = false;
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                varHandle |= Class.forName("java.lang.invoke.VarHandle").isInstance(field.get(null));
+            }
+        }
+        assertThat(varHandle, is(true));
+        assertPublished(type);
+    }
+
+    @Test
+    public void testPrimitive() throws Exception {
+        Class<?> type = make(PrimitiveSample.class, ClassFileLocator.ForClassLoader.of(PrimitiveSample.class.getClassLoader()));
+        Field cache = null;
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isSynthetic()) {
+                cache = field;
+            }
+        }
+        assertThat(Modifier.isVolatile(cache.getModifiers()), is(true));
+        Object instance = type.getConstructor().newInstance();
+        assertThat(type.getMethod(FOO).invoke(instance), is((Object) 42));
+        assertThat(type.getMethod(FOO).invoke(instance), is((Object) 42));
+        Field count = type.getDeclaredField(COUNT);
+        count.setAccessible(true);
+        assertThat(count.get(instance), is((Object) 1));
+    }
+
+    @Test
+    public void testStatic() throws Exception {
+        DynamicType.Unloaded<?> dynamicType = new CachedReturnPlugin().apply(new ByteBuddy().redefine(StaticSample.class),
+                        TypeDescription.ForLoadedType.of(StaticSample.class),
+                        ClassFileLocator.ForClassLoader.of(StaticSample.class.getClassLoader()))
+                .make();
+        assertThat(dynamicType.getAuxiliaryTypes().size(), is(0));
+        Class<?> type = dynamicType.load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(type.getDeclaredFields().length, is(1));
+        final Method method = type.getMethod(FOO);
+        List<Callable<Object>> callables = new ArrayList<Callable<Object>>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        for (int index = 0; index < 8; index++) {
+            callables.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    latch.await();
+                    return method.invoke(null);
+                }
+            });
+        }
+        List<Object> values = invokeAll(callables, latch);
+        for (Object value : values) {
+            assertThat(value, sameInstance(values.get(0)));
+        }
+        assertThat(method.invoke(null), sameInstance(values.get(0)));
+    }
+
+    @Test
+    public void testStaticPrimitive() throws Exception {
+        Class<?> type = make(StaticPrimitiveSample.class, ClassFileLocator.ForClassLoader.of(StaticPrimitiveSample.class.getClassLoader()));
+        Field cache = null;
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isSynthetic()) {
+                cache = field;
+            }
+        }
+        assertThat(Modifier.isStatic(cache.getModifiers()), is(true));
+        assertThat(Modifier.isVolatile(cache.getModifiers()), is(true));
+        assertThat(type.getMethod(FOO).invoke(null), is((Object) 42));
+        assertThat(type.getMethod(FOO).invoke(null), is((Object) 42));
+        Field count = type.getDeclaredField(COUNT);
+        count.setAccessible(true);
+        assertThat(count.get(null), is((Object) 1));
+    }
+
+    @Test
+    public void testStaticException() throws Exception {
+        Class<?> type = make(StaticExceptionSample.class, ClassFileLocator.ForClassLoader.of(StaticExceptionSample.class.getClassLoader()));
+        Method method = type.getMethod(FOO);
+        try {
+            method.invoke(null);
+            fail();
+        } catch (InvocationTargetException exception) {
+            assertThat(exception.getTargetException(), instanceOf(IllegalStateException.class));
+        }
+        Object value = method.invoke(null);
+        assertThat(value, notNullValue(Object.class));
+        assertThat(method.invoke(null), sameInstance(value));
+        Field count = type.getDeclaredField(COUNT);
+        count.setAccessible(true);
+        assertThat(count.get(null), is((Object) 2));
+    }
+
+    @Test
+    public void testStaticInitializer() throws Exception {
+        Class<?> type = make(StaticInitializerSample.class, ClassFileLocator.ForClassLoader.of(StaticInitializerSample.class.getClassLoader()));
+        Field field = type.getDeclaredField(BAR);
+        field.setAccessible(true);
+        assertThat(type.getMethod(FOO).invoke(null), sameInstance(field.get(null)));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testStaticOfInterface() throws Exception {
+        DynamicType.Unloaded<?> sample = new ByteBuddy(ClassFileVersion.JAVA_V8)
+                .makeInterface()
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC, Ownership.STATIC)
+                .intercept(MethodCall.construct(Object.class.getConstructor()))
+                .annotateMethod(AnnotationDescription.Builder.ofType(CachedReturnPlugin.Enhance.class)
+                        .define("threadSafe", true)
+                        .build())
+                .make();
+        ClassFileLocator classFileLocator = ClassFileLocator.Simple.of(sample.getTypeDescription().getName(), sample.getBytes());
+        DynamicType.Unloaded<?> dynamicType = new CachedReturnPlugin().apply(new ByteBuddy().redefine(sample.getTypeDescription(), classFileLocator),
+                        sample.getTypeDescription(),
+                        classFileLocator)
+                .make();
+        assertThat(dynamicType.getAuxiliaryTypes().size(), is(0));
+        Class<?> type = dynamicType.load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        Object value = type.getMethod(FOO).invoke(null);
+        assertThat(value, notNullValue(Object.class));
+        assertThat(type.getMethod(FOO).invoke(null), sameInstance(value));
+    }
+
+    @Test
+    public void testPrivateStatic() throws Exception {
+        Class<?> type = make(PrivateStaticSample.class, ClassFileLocator.ForClassLoader.of(PrivateStaticSample.class.getClassLoader()));
+        Object value = type.getMethod(BAR).invoke(null);
+        assertThat(value, notNullValue(Object.class));
+        assertThat(type.getMethod(BAR).invoke(null), sameInstance(value));
+    }
+
+    @Test
+    public void testPublicationResolver() {
+        assertThat(CachedReturnPlugin.PublicationResolver.of(ClassFileVersion.JAVA_V8), is(CachedReturnPlugin.PublicationResolver.FIELD_UPDATER));
+        assertThat(CachedReturnPlugin.PublicationResolver.of(ClassFileVersion.JAVA_V9), is(CachedReturnPlugin.PublicationResolver.VAR_HANDLE));
+    }
+
+    private static Class<?> make(Class<?> type, ClassFileLocator classFileLocator) {
+        return new CachedReturnPlugin().apply(new ByteBuddy().redefine(TypeDescription.ForLoadedType.of(type), classFileLocator),
+                        TypeDescription.ForLoadedType.of(type),
+                        classFileLocator)
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    private static void assertPublished(Class<?> type) throws Exception {
+        final Object instance = type.getConstructor().newInstance();
+        final Method method = type.getMethod(FOO);
+        List<Callable<Object>> callables = new ArrayList<Callable<Object>>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        for (int index = 0; index < 8; index++) {
+            callables.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    latch.await();
+                    return method.invoke(instance);
+                }
+            });
+        }
+        List<Object> values = invokeAll(callables, latch);
+        for (Object value : values) {
+            assertThat(value, sameInstance(values.get(0)));
+        }
+        assertThat(method.invoke(instance), sameInstance(values.get(0)));
+    }
+
+    private static List<Object> invokeAll(List<Callable<Object>> callables, CountDownLatch latch) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(callables.size());
+        try {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>();
+            for (Callable<Object> callable : callables) {
+                futures.add(executorService.submit(callable));
+            }
+            latch.countDown();
+            List<Object> values = new ArrayList<Object>();
+            for (Future<Object> future : futures) {
+                values.add(future.get());
+            }
+            return values;
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    public static class ReferenceSample {
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        public Object foo() {
+            return new Object();
+        }
+    }
+
+    public static class PrimitiveSample {
+
+        private int count;
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        public int foo() {
+            count++;
+            return 42;
+        }
+    }
+
+    public static class StaticSample {
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        public static Object foo() {
+            return new Object();
+        }
+    }
+
+    public static class StaticPrimitiveSample {
+
+        private static int count;
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        public static int foo() {
+            count++;
+            return 42;
+        }
+    }
+
+    public static class StaticExceptionSample {
+
+        private static int count;
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        public static Object foo() {
+            if (count++ == 0) {
+                throw new IllegalStateException();
+            }
+            return new Object();
+        }
+    }
+
+    public static class StaticInitializerSample {
+
+        private static final Object bar = foo();
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        public static Object foo() {
+            return new Object();
+        }
+    }
+
+    public static class PrivateStaticSample {
+
+        @CachedReturnPlugin.Enhance(threadSafe = true)
+        private static Object foo() {
+            return new Object();
+        }
+
+        public static Object bar() {
+            return foo();
+        }
+    }
+}
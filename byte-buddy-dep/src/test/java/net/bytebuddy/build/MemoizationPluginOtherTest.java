@@ -0,0 +1,155 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MemoizationPluginOtherTest {
+
+    @Test
+    public void testEviction() throws Exception {
+        Class<?> transformed = new MemoizationPlugin().apply(new ByteBuddy().redefine(EvictingCache.class),
+                        TypeDescription.ForLoadedType.of(EvictingCache.class),
+                        ClassFileLocator.ForClassLoader.of(EvictingCache.class.getClassLoader()))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Method method = transformed.getMethod("foo", int.class);
+        Field count = transformed.getDeclaredField("count");
+        count.setAccessible(true);
+        Object instance = transformed.getConstructor().newInstance();
+        assertThat(method.invoke(instance, 1), is((Object) "1"));
+        assertThat(method.invoke(instance, 1), is((Object) "1"));
+        assertThat(count.get(instance), is((Object) 1));
+        assertThat(method.invoke(instance, 2), is((Object) "2"));
+        assertThat(method.invoke(instance, 1), is((Object) "1"));
+        assertThat(count.get(instance), is((Object) 3));
+    }
+
+    @Test
+    public void testNullNotMemoized() throws Exception {
+        Class<?> transformed = new MemoizationPlugin().apply(new ByteBuddy().redefine(NullCache.class),
+                        TypeDescription.ForLoadedType.of(NullCache.class),
+                        ClassFileLocator.ForClassLoader.of(NullCache.class.getClassLoader()))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Method method = transformed.getMethod("foo", Object.class);
+        Field count = transformed.getDeclaredField("count");
+        count.setAccessible(true);
+        Object instance = transformed.getConstructor().newInstance();
+        assertThat(method.invoke(instance, "foo"), is((Object) null));
+        assertThat(method.invoke(instance, "foo"), is((Object) null));
+        assertThat(count.get(instance), is((Object) 2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCacheVoid() {
+        new MemoizationPlugin().apply(new ByteBuddy().redefine(VoidCache.class),
+                TypeDescription.ForLoadedType.of(VoidCache.class),
+                ClassFileLocator.ForClassLoader.of(VoidCache.class.getClassLoader()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAbstractMethod() {
+        new MemoizationPlugin().apply(new ByteBuddy().redefine(AbstractCache.class),
+                TypeDescription.ForLoadedType.of(AbstractCache.class),
+                ClassFileLocator.ForClassLoader.of(AbstractCache.class.getClassLoader()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoParameterMethod() {
+        new MemoizationPlugin().apply(new ByteBuddy().redefine(NoParameterCache.class),
+                TypeDescription.ForLoadedType.of(NoParameterCache.class),
+                ClassFileLocator.ForClassLoader.of(NoParameterCache.class.getClassLoader()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalSize() {
+        new MemoizationPlugin().apply(new ByteBuddy().redefine(IllegalSizeCache.class),
+                TypeDescription.ForLoadedType.of(IllegalSizeCache.class),
+                ClassFileLocator.ForClassLoader.of(IllegalSizeCache.class.getClassLoader()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExcessiveSize() {
+        new MemoizationPlugin().apply(new ByteBuddy().redefine(ExcessiveSizeCache.class),
+                TypeDescription.ForLoadedType.of(ExcessiveSizeCache.class),
+                ClassFileLocator.ForClassLoader.of(ExcessiveSizeCache.class.getClassLoader()));
+    }
+
+    @Test
+    public void testKeyResolver() {
+        assertThat(MemoizationPlugin.KeyResolver.of(TypeDescription.ForLoadedType.of(EvictingCache.class).getDeclaredMethods()
+                .filter(named("foo")).getOnly()), is(MemoizationPlugin.KeyResolver.INTEGER));
+    }
+
+    public static class EvictingCache {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(size = 1)
+        public String foo(int value) {
+            count++;
+            return String.valueOf(value);
+        }
+    }
+
+    public static class NullCache {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance
+        public Object foo(Object value) {
+            count++;
+            return null;
+        }
+    }
+
+    private static class VoidCache {
+
+        @MemoizationPlugin.Enhance
+        private void foo(Void argument) {
+            /* do nothing */
+        }
+    }
+
+    private abstract static class AbstractCache {
+
+        @MemoizationPlugin.Enhance
+        protected abstract Object foo(Void argument);
+    }
+
+    private static class NoParameterCache {
+
+        @MemoizationPlugin.Enhance
+        private Object foo() {
+            return null;
+        }
+    }
+
+    private static class IllegalSizeCache {
+
+        @MemoizationPlugin.Enhance(size = 0)
+        private Object foo(Void argument) {
+            return null;
+        }
+    }
+
+    private static class ExcessiveSizeCache {
+
+        @MemoizationPlugin.Enhance(size = (1 << 30) + 1)
+        private Object foo(Void argument) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Parameterized.class)
+public class MemoizationPluginTest {
+
+    private static final String FOO = "foo", BAR = "bar", COUNT = "count";
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {IntegerSample.class, new Object[]{1}, new Object[]{2}, 2L, 3},
+                {LongSample.class, new Object[]{1L}, new Object[]{2L}, "1", 3},
+                {ReferenceSample.class, new Object[]{FOO}, new Object[]{BAR}, FOO + FOO, 3},
+                {NullReferenceSample.class, new Object[]{null}, new Object[]{BAR}, 0, 3},
+                {BooleanSample.class, new Object[]{true}, new Object[]{false}, false, 3},
+                {CompositeSample.class, new Object[]{FOO, 1}, new Object[]{FOO, 2}, FOO + 1, 3},
+                {StaticSample.class, new Object[]{1}, new Object[]{2}, 1, 3},
+                {SharedSample.class, new Object[]{FOO}, new Object[]{BAR}, FOO, 3},
+                {ThreadSafeSample.class, new Object[]{1}, new Object[]{2}, 1, 2},
+                {ThreadSafeCompositeSample.class, new Object[]{FOO, 1L}, new Object[]{FOO, 2L}, FOO + 1L, 2},
+                {ThreadSafeNullSample.class, new Object[]{null}, new Object[]{BAR}, FOO, 2}
+        });
+    }
+
+    private final Class<?> type;
+
+    private final Object[] first, second;
+
+    private final Object value;
+
+    private final int fields;
+
+    public MemoizationPluginTest(Class<?> type, Object[] first, Object[] second, Object value, int fields) {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+        this.value = value;
+        this.fields = fields;
+    }
+
+    private Plugin plugin;
+
+    @Before
+    public void setUp() throws Exception {
+        plugin = new MemoizationPlugin();
+    }
+
+    @Test
+    public void testMatches() throws Exception {
+        assertThat(plugin.matches(TypeDescription.ForLoadedType.of(type)), is(true));
+    }
+
+    @Test
+    public void testMemoizedValue() throws Exception {
+        Class<?> transformed = plugin.apply(new ByteBuddy().redefine(type), TypeDescription.ForLoadedType.of(type), ClassFileLocator.ForClassLoader.of(type.getClassLoader()))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(transformed.getDeclaredFields().length, is(fields));
+        Method method = null;
+        for (Method candidate : transformed.getDeclaredMethods()) {
+            if (candidate.getName().equals(FOO)) {
+                method = candidate;
+            }
+        }
+        Field count = transformed.getDeclaredField(COUNT);
+        count.setAccessible(true);
+        Object instance = transformed.getConstructor().newInstance();
+        assertThat(method.invoke(instance, first), is(value));
+        assertThat(method.invoke(instance, first), is(value));
+        assertThat(count.get(instance), is((Object) 1));
+        method.invoke(instance, second);
+        assertThat(count.get(instance), is((Object) 2));
+        assertThat(method.invoke(instance, first), is(value));
+        assertThat(count.get(instance), is((Object) 2));
+    }
+
+    public static class IntegerSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public long foo(int value) {
+            count++;
+            return value * 2L;
+        }
+    }
+
+    public static class LongSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public String foo(long value) {
+            count++;
+            return String.valueOf(value);
+        }
+    }
+
+    public static class ReferenceSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public String foo(String value) {
+            count++;
+            return value + value;
+        }
+    }
+
+    public static class NullReferenceSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public int foo(String value) {
+            count++;
+            return value == null ? 0 : value.length();
+        }
+    }
+
+    public static class BooleanSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public boolean foo(boolean value) {
+            count++;
+            return !value;
+        }
+    }
+
+    public static class CompositeSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public String foo(String value, int suffix) {
+            count++;
+            return value + suffix;
+        }
+    }
+
+    public static class StaticSample {
+
+        private static int count;
+
+        @MemoizationPlugin.Enhance(threadSafe = false)
+        public static Integer foo(int value) {
+            count++;
+            return value;
+        }
+    }
+
+    public static class SharedSample {
+
+        private static int count;
+
+        @MemoizationPlugin.Enhance(shared = true, threadSafe = false)
+        public String foo(String value) {
+            count++;
+            return value;
+        }
+    }
+
+    public static class ThreadSafeSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance
+        public int foo(int value) {
+            count++;
+            return value;
+        }
+    }
+
+    public static class ThreadSafeCompositeSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance
+        public String foo(String value, long suffix) {
+            count++;
+            return value + suffix;
+        }
+    }
+
+    public static class ThreadSafeNullSample {
+
+        private int count;
+
+        @MemoizationPlugin.Enhance
+        public String foo(String value) {
+            count++;
+            return FOO;
+        }
+    }
+}
@@ -57,8 +57,10 @@ public class PluginEngineDefaultTest {
         return Arrays.asList(new Object[][]{
                 {Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE, true},
                 {new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(1), true},
+                {new Plugin.Engine.Dispatcher.ForPipelinedTransformation.WithThrowawayExecutorService.Factory(2, 1), true},
                 {Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE, false},
-                {new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(1), false}
+                {new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(1), false},
+                {new Plugin.Engine.Dispatcher.ForPipelinedTransformation.WithThrowawayExecutorService.Factory(2, 1), false}
         });
     }
 
@@ -5,6 +5,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -23,6 +24,9 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -192,4 +196,94 @@ public class PluginEngineDispatcherForSerialTransformationTest {
         assertThat(processing, is(true));
         verifyNoMoreInteractions(materializable);
     }
+
+    @Test
+    public void testEagerPipelinedTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 1, sink, transformed, failed, unresolved);
+        dispatcher.accept(work, true);
+        assertThat(preprocessing, is(true));
+        assertThat(processing, is(true));
+        verifyNoMoreInteractions(materializable);
+        dispatcher.accept(work, true);
+        verify(materializable).materialize(sink, transformed, failed, unresolved);
+        dispatcher.complete();
+        verify(materializable, times(2)).materialize(sink, transformed, failed, unresolved);
+        verifyNoMoreInteractions(materializable);
+    }
+
+    @Test
+    public void testDeferredPipelinedTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 1, sink, transformed, failed, unresolved);
+        dispatcher.accept(work, false);
+        assertThat(preprocessing, is(true));
+        assertThat(processing, is(false));
+        dispatcher.complete();
+        assertThat(processing, is(true));
+        verify(materializable).materialize(sink, transformed, failed, unresolved);
+        verifyNoMoreInteractions(materializable);
+    }
+
+    @Test
+    public void testPipelinedTransformationOrder() throws Exception {
+        final List<Runnable> runnables = new ArrayList<Runnable>();
+        Executor executor = new Executor() {
+            public void execute(Runnable runnable) {
+                runnables.add(runnable);
+            }
+        };
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 2, sink, transformed, failed, unresolved);
+        final Plugin.Engine.Dispatcher.Materializable first = mock(Plugin.Engine.Dispatcher.Materializable.class), second = mock(Plugin.Engine.Dispatcher.Materializable.class);
+        dispatcher.accept(new Callable<Callable<Plugin.Engine.Dispatcher.Materializable>>() {
+            public Callable<Plugin.Engine.Dispatcher.Materializable> call() {
+                return new Callable<Plugin.Engine.Dispatcher.Materializable>() {
+                    public Plugin.Engine.Dispatcher.Materializable call() {
+                        return first;
+                    }
+                };
+            }
+        }, true);
+        dispatcher.accept(new Callable<Callable<Plugin.Engine.Dispatcher.Materializable>>() {
+            public Callable<Plugin.Engine.Dispatcher.Materializable> call() {
+                return new Callable<Plugin.Engine.Dispatcher.Materializable>() {
+                    public Plugin.Engine.Dispatcher.Materializable call() {
+                        return second;
+                    }
+                };
+            }
+        }, true);
+        assertThat(runnables.size(), is(2));
+        runnables.get(1).run();
+        runnables.get(0).run();
+        dispatcher.complete();
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(second).materialize(sink, transformed, failed, unresolved);
+    }
+
+    @Test
+    public void testPipelinedTransformationProcessingException() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 1, sink, transformed, failed, unresolved);
+        processingError = true;
+        dispatcher.accept(work, false);
+        assertThat(preprocessing, is(true));
+        assertThat(processing, is(false));
+        try {
+            dispatcher.complete();
+            fail();
+        } catch (Exception exception) {
+            assertThat(exception, instanceOf(IllegalStateException.class));
+        }
+        assertThat(processing, is(true));
+        verifyNoMoreInteractions(materializable);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPipelinedTransformationIllegalCapacity() throws Exception {
+        new Plugin.Engine.Dispatcher.ForPipelinedTransformation.Factory(executor, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPipelinedTransformationIllegalThreads() throws Exception {
+        new Plugin.Engine.Dispatcher.ForPipelinedTransformation.WithThrowawayExecutorService.Factory(0);
+    }
 }
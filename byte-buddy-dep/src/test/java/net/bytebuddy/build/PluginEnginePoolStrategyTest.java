@@ -54,4 +54,18 @@ public class PluginEnginePoolStrategyTest {
                         TypePool.Default.ReaderMode.EXTENDED,
                         TypePool.ClassLoading.ofPlatformLoader())));
     }
+
+    @Test
+    public void testBounded() {
+        assertThat(new Plugin.Engine.PoolStrategy.Bounded(TypePool.Default.ReaderMode.EXTENDED, 42).typePool(classFileLocator),
+                hasPrototype((TypePool) new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Bounded(42),
+                        classFileLocator,
+                        TypePool.Default.ReaderMode.EXTENDED,
+                        TypePool.ClassLoading.ofPlatformLoader())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() {
+        new Plugin.Engine.PoolStrategy.Bounded(0);
+    }
 }
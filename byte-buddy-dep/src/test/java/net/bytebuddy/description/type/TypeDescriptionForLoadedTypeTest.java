@@ -1,5 +1,6 @@
 package net.bytebuddy.description.type;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
@@ -9,10 +10,15 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypeDescriptionForLoadedTypeTest extends AbstractTypeDescriptionTest {
@@ -146,4 +152,64 @@ public class TypeDescriptionForLoadedTypeTest extends AbstractTypeDescriptionTes
     public static class Bar {
         /* empty */
     }
+
+    @Test
+    public void testCacheResolvesSameDescription() throws Exception {
+        TypeDescription.ForLoadedType.Cache cache = new TypeDescription.ForLoadedType.Cache(2);
+        TypeDescription typeDescription = cache.find(TypeDescriptionForLoadedTypeTest.class);
+        assertThat(typeDescription, instanceOf(TypeDescription.ForLoadedType.Resolved.class));
+        assertThat(typeDescription, is(TypeDescription.ForLoadedType.of(TypeDescriptionForLoadedTypeTest.class)));
+        assertThat(cache.find(TypeDescriptionForLoadedTypeTest.class), sameInstance(typeDescription));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void testCacheResolvesMembersOnce() throws Exception {
+        TypeDescription typeDescription = new TypeDescription.ForLoadedType.Cache(1).find(TypeDescriptionForLoadedTypeTest.class);
+        assertThat(typeDescription.getDeclaredMethods().get(0), sameInstance(typeDescription.getDeclaredMethods().get(0)));
+        assertThat(typeDescription.getDeclaredFields().get(0), sameInstance(typeDescription.getDeclaredFields().get(0)));
+        assertThat(TypeDescription.ForLoadedType.of(TypeDescriptionForLoadedTypeTest.class).getDeclaredMethods().get(0),
+                not(sameInstance(TypeDescription.ForLoadedType.of(TypeDescriptionForLoadedTypeTest.class).getDeclaredMethods().get(0))));
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+        TypeDescription.ForLoadedType.Cache cache = new TypeDescription.ForLoadedType.Cache(2);
+        cache.find(Void.class);
+        cache.find(Runnable.class);
+        cache.find(Thread.class);
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() throws Exception {
+        TypeDescription.ForLoadedType.Cache cache = new TypeDescription.ForLoadedType.Cache(2);
+        TypeDescription first = cache.find(Void.class), second = cache.find(Runnable.class);
+        assertThat(cache.find(Void.class), sameInstance(first));
+        TypeDescription third = cache.find(Thread.class);
+        assertThat(cache.size(), is(2));
+        assertThat(cache.find(Void.class), sameInstance(first));
+        assertThat(cache.find(Thread.class), sameInstance(third));
+        assertThat(cache.find(Runnable.class), not(sameInstance(second)));
+    }
+
+    @Test
+    public void testCacheDoesNotRetainType() throws Exception {
+        TypeDescription.ForLoadedType.Cache cache = new TypeDescription.ForLoadedType.Cache(2);
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .make()
+                .load(null, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        WeakReference<Class<?>> reference = new WeakReference<Class<?>>(type);
+        assertThat(cache.find(type).represents(type), is(true));
+        type = null;
+        for (int attempt = 0; attempt < 10 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(50L);
+        }
+        assertThat(reference.get(), nullValue(Class.class));
+        cache.expungeStaleEntries();
+        assertThat(cache.size(), is(0));
+    }
 }
@@ -0,0 +1,218 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassVisitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.util.Enumeration;
+import java.util.Queue;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForMappedJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int VALUE = 42;
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile();
+    }
+
+    @Test
+    public void testSuccessfulLocation() throws Exception {
+        byte[] stored = new byte[]{VALUE, VALUE * 2}, deflated = new byte[1024];
+        for (int index = 0; index < deflated.length; index++) {
+            deflated[index] = (byte) (index % 7);
+        }
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+            JarEntry jarEntry = new JarEntry(FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION);
+            jarEntry.setMethod(JarEntry.STORED);
+            jarEntry.setSize(stored.length);
+            CRC32 crc32 = new CRC32();
+            crc32.update(stored);
+            jarEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(jarEntry);
+            jarOutputStream.write(stored);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + QUX + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(deflated);
+            jarOutputStream.closeEntry();
+            jarOutputStream.close();
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            for (int index = 0; index < 2; index++) {
+                assertThat(classFileLocator.locate(FOO + "." + BAR).isResolved(), is(true));
+                assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(stored));
+                assertThat(classFileLocator.locate(FOO + "." + QUX).isResolved(), is(true));
+                assertThat(classFileLocator.locate(FOO + "." + QUX).resolve(), is(deflated));
+            }
+            assertThat(classFileLocator.locate(BAR + "." + FOO).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testEquivalentToJarFile() throws Exception {
+        File file = new File(ClassVisitor.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        JarFile jarFile = new JarFile(file);
+        try {
+            ClassFileLocator expected = new ClassFileLocator.ForJarFile(jarFile);
+            Enumeration<JarEntry> enumeration = jarFile.entries();
+            while (enumeration.hasMoreElements()) {
+                String name = enumeration.nextElement().getName();
+                if (name.endsWith(ClassFileLocator.CLASS_FILE_EXTENSION) && !name.startsWith("META-INF")) {
+                    String typeName = name.substring(0, name.length() - ClassFileLocator.CLASS_FILE_EXTENSION.length()).replace('/', '.');
+                    assertThat(classFileLocator.locate(typeName).resolve(), is(expected.locate(typeName).resolve()));
+                }
+            }
+        } finally {
+            jarFile.close();
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(9)
+    public void testMultiReleaseLocation() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Multi-Release", "true");
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest);
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(ClassFileLocator.META_INF_VERSIONS + "9/" + FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(VALUE * 2);
+            jarOutputStream.closeEntry();
+            jarOutputStream.close();
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file, ClassFileVersion.JAVA_V9);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE * 2}));
+        } finally {
+            classFileLocator.close();
+        }
+        classFileLocator = ClassFileLocator.ForMappedJarFile.of(file, ClassFileVersion.JAVA_V8);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE}));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInflaterInUseIsEndedAfterClose() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(new byte[]{VALUE, VALUE, VALUE});
+            jarOutputStream.closeEntry();
+            jarOutputStream.close();
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        Field field = ClassFileLocator.ForMappedJarFile.class.getDeclaredField("inflaters");
+        field.setAccessible(true);
+        Queue<Inflater> inflaters = (Queue<Inflater>) field.get(classFileLocator);
+        assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE, VALUE, VALUE}));
+        assertThat(inflaters.size(), is(1));
+        classFileLocator.close();
+        assertThat(inflaters.isEmpty(), is(true));
+        assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE, VALUE, VALUE}));
+        assertThat(inflaters.isEmpty(), is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegativeSize() throws Exception {
+        byte[] stored = new byte[]{VALUE};
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+        JarEntry jarEntry = new JarEntry(FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION);
+        jarEntry.setMethod(JarEntry.STORED);
+        jarEntry.setSize(stored.length);
+        CRC32 crc32 = new CRC32();
+        crc32.update(stored);
+        jarEntry.setCrc(crc32.getValue());
+        jarOutputStream.putNextEntry(jarEntry);
+        jarOutputStream.write(stored);
+        jarOutputStream.closeEntry();
+        jarOutputStream.close();
+        byte[] binaryRepresentation = outputStream.toByteArray();
+        int position = 0;
+        while (binaryRepresentation[position] != 'P'
+                || binaryRepresentation[position + 1] != 'K'
+                || binaryRepresentation[position + 2] != 1
+                || binaryRepresentation[position + 3] != 2) {
+            position++;
+        }
+        for (int index = 0; index < 4; index++) {
+            binaryRepresentation[position + 24 + index] = (byte) 0xFF;
+        }
+        OutputStream fileOutputStream = new FileOutputStream(file);
+        try {
+            fileOutputStream.write(binaryRepresentation);
+        } finally {
+            fileOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            classFileLocator.locate(FOO + "." + BAR);
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNoJarFile() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[100]);
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator.ForMappedJarFile.of(file);
+    }
+}
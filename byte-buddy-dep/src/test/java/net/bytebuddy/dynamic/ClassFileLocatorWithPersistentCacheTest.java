@@ -0,0 +1,180 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class ClassFileLocatorWithPersistentCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private ClassFileLocator classFileLocator, other;
+
+    @Test
+    public void testLocationIsPersisted() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), FOO);
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1, 2, 3}));
+        when(classFileLocator.locate(BAR)).thenReturn(new ClassFileLocator.Resolution.Illegal(BAR));
+        ClassFileLocator cached = ClassFileLocator.WithPersistentCache.of(classFileLocator, file);
+        assertThat(cached.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        assertThat(cached.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        assertThat(cached.locate(BAR).isResolved(), is(false));
+        cached.close();
+        verify(classFileLocator).locate(FOO);
+        verify(classFileLocator).locate(BAR);
+        verify(classFileLocator).close();
+        verifyNoMoreInteractions(classFileLocator);
+        assertThat(file.isFile(), is(true));
+        when(other.locate(QUX)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{4}));
+        ClassFileLocator reloaded = ClassFileLocator.WithPersistentCache.of(other, file);
+        assertThat(reloaded.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        assertThat(reloaded.locate(BAR).isResolved(), is(false));
+        assertThat(reloaded.locate(QUX).resolve(), is(new byte[]{4}));
+        reloaded.close();
+        verify(other).locate(QUX);
+        verify(other).close();
+        verifyNoMoreInteractions(other);
+        ClassFileLocator merged = ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE, file);
+        assertThat(merged.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        assertThat(merged.locate(QUX).resolve(), is(new byte[]{4}));
+        merged.close();
+    }
+
+    @Test
+    public void testNoPersistenceWithoutLocation() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), FOO);
+        ClassFileLocator.WithPersistentCache.of(classFileLocator, file).close();
+        assertThat(file.exists(), is(false));
+    }
+
+    @Test
+    public void testInvalidCacheFileIsIgnored() throws Exception {
+        File file = temporaryFolder.newFile();
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3, 4, 5});
+        } finally {
+            outputStream.close();
+        }
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1}));
+        ClassFileLocator cached = ClassFileLocator.WithPersistentCache.of(classFileLocator, file);
+        assertThat(cached.locate(FOO).resolve(), is(new byte[]{1}));
+        cached.close();
+        assertThat(ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE, file).locate(FOO).resolve(), is(new byte[]{1}));
+    }
+
+    @Test
+    public void testCorruptLengthIsCacheMiss() throws Exception {
+        File file = temporaryFolder.newFile();
+        DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.writeInt(0xCAFEB001);
+            outputStream.writeInt(3);
+            outputStream.writeUTF(FOO);
+            outputStream.writeInt(1);
+            outputStream.write(1);
+            outputStream.writeUTF(BAR);
+            outputStream.writeInt(-2);
+            outputStream.writeUTF(QUX);
+            outputStream.writeInt(1);
+            outputStream.write(3);
+        } finally {
+            outputStream.close();
+        }
+        when(classFileLocator.locate(BAR)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{2}));
+        when(classFileLocator.locate(QUX)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{4}));
+        ClassFileLocator cached = ClassFileLocator.WithPersistentCache.of(classFileLocator, file);
+        assertThat(cached.locate(FOO).resolve(), is(new byte[]{1}));
+        assertThat(cached.locate(BAR).resolve(), is(new byte[]{2}));
+        assertThat(cached.locate(QUX).resolve(), is(new byte[]{4}));
+        cached.close();
+        verify(classFileLocator).locate(BAR);
+        verify(classFileLocator).locate(QUX);
+        verify(classFileLocator).close();
+        verifyNoMoreInteractions(classFileLocator);
+        ClassFileLocator reloaded = ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE, file);
+        assertThat(reloaded.locate(FOO).resolve(), is(new byte[]{1}));
+        assertThat(reloaded.locate(BAR).resolve(), is(new byte[]{2}));
+        assertThat(reloaded.locate(QUX).resolve(), is(new byte[]{4}));
+    }
+
+    @Test
+    public void testPersistWhileInUse() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), FOO);
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1}));
+        when(classFileLocator.locate(BAR)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{2}));
+        ClassFileLocator.WithPersistentCache initial = ClassFileLocator.WithPersistentCache.of(classFileLocator, file);
+        assertThat(initial.locate(FOO).resolve(), is(new byte[]{1}));
+        initial.persist();
+        ClassFileLocator.WithPersistentCache cached = ClassFileLocator.WithPersistentCache.of(classFileLocator, file);
+        assertThat(cached.locate(BAR).resolve(), is(new byte[]{2}));
+        cached.persist();
+        assertThat(cached.locate(FOO).resolve(), is(new byte[]{1}));
+        ClassFileLocator reloaded = ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE, file);
+        assertThat(reloaded.locate(FOO).resolve(), is(new byte[]{1}));
+        assertThat(reloaded.locate(BAR).resolve(), is(new byte[]{2}));
+    }
+
+    @Test
+    public void testExcessiveNameIsNotPersisted() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), FOO);
+        StringBuilder name = new StringBuilder();
+        while (name.length() <= 0xFFFF) {
+            name.append(QUX);
+        }
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1}));
+        when(classFileLocator.locate(name.toString())).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{2}));
+        ClassFileLocator cached = ClassFileLocator.WithPersistentCache.of(classFileLocator, file);
+        assertThat(cached.locate(FOO).resolve(), is(new byte[]{1}));
+        assertThat(cached.locate(name.toString()).resolve(), is(new byte[]{2}));
+        cached.close();
+        ClassFileLocator reloaded = ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE, file);
+        assertThat(reloaded.locate(FOO).resolve(), is(new byte[]{1}));
+        assertThat(reloaded.locate(name.toString()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        File jar = temporaryFolder.newFile();
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1}));
+        ClassFileLocator.WithPersistentCache.of(classFileLocator, temporaryFolder.getRoot(), Collections.singletonList(jar)).locate(FOO);
+        ClassFileLocator cached = ClassFileLocator.WithPersistentCache.of(classFileLocator, temporaryFolder.getRoot(), Collections.singletonList(jar));
+        assertThat(cached.locate(FOO).isResolved(), is(true));
+        cached.close();
+        assertThat(ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE,
+                temporaryFolder.getRoot(),
+                Collections.singletonList(jar)).locate(FOO).isResolved(), is(true));
+        OutputStream outputStream = new FileOutputStream(jar);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        assertThat(ClassFileLocator.WithPersistentCache.of(ClassFileLocator.NoOp.INSTANCE,
+                temporaryFolder.getRoot(),
+                Collections.singletonList(jar)).locate(FOO).isResolved(), is(not(true)));
+    }
+}
@@ -22,6 +22,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class NexusTest {
@@ -120,7 +121,8 @@ public class NexusTest {
             Constructor<Nexus> constructor = Nexus.class.getDeclaredConstructor(String.class, ClassLoader.class, ReferenceQueue.class, int.class);
             constructor.setAccessible(true);
             Object value = ((Map<?, ?>) actualInitializers.get(null)).remove(constructor.newInstance(FOO, qux, null, BAR));
-            assertThat(value, is((Object) loadedTypeInitializer));
+            assertThat(((Object[]) value)[0], is((Object) loadedTypeInitializer));
+            assertThat(((Object[]) value)[1], is((Object) LoadedTypeInitializer.class.getMethod("onLoad", Class.class)));
         }
     }
 
@@ -155,7 +157,8 @@ public class NexusTest {
             Constructor<Nexus> constructor = Nexus.class.getDeclaredConstructor(String.class, ClassLoader.class, ReferenceQueue.class, int.class);
             constructor.setAccessible(true);
             Object value = ((Map<?, ?>) actualInitializers.get(null)).remove(constructor.newInstance(FOO, qux, null, BAR));
-            assertThat(value, is((Object) loadedTypeInitializer));
+            assertThat(((Object[]) value)[0], is((Object) loadedTypeInitializer));
+            assertThat(((Object[]) value)[1], is((Object) LoadedTypeInitializer.class.getMethod("onLoad", Class.class)));
         }
     }
 
@@ -207,4 +210,30 @@ public class NexusTest {
                 is(constructor.newInstance(FOO, classLoader, null, BAR).hashCode()));
 
     }
+
+    @Test
+    public void testNexusInitialize() throws Exception {
+        Nexus.register(Foo.class.getName(), Foo.class.getClassLoader(), null, BAR, loadedTypeInitializer);
+        Nexus.initialize(Foo.class, BAR);
+        verify(loadedTypeInitializer).onLoad(Foo.class);
+    }
+
+    @Test
+    public void testNexusInitializeResolved() throws Exception {
+        Nexus.register(Foo.class.getName(), Foo.class.getClassLoader(), null, BAR, loadedTypeInitializer, LoadedTypeInitializer.class.getMethod("onLoad", Class.class));
+        Nexus.initialize(Foo.class, BAR);
+        verify(loadedTypeInitializer).onLoad(Foo.class);
+    }
+
+    @Test
+    public void testNexusAccessorRegistersResolvedInitializer() throws Exception {
+        when(loadedTypeInitializer.isAlive()).thenReturn(true);
+        new NexusAccessor().register(Foo.class.getName(), Foo.class.getClassLoader(), BAR, loadedTypeInitializer);
+        ClassLoader.getSystemClassLoader().loadClass(Nexus.class.getName()).getMethod("initialize", Class.class, int.class).invoke(null, Foo.class, BAR);
+        verify(loadedTypeInitializer).onLoad(Foo.class);
+    }
+
+    private static class Foo {
+        /* empty */
+    }
 }
@@ -94,7 +94,7 @@ public class TypeResolutionStrategyTest {
             Constructor<Nexus> constructor = Nexus.class.getDeclaredConstructor(String.class, ClassLoader.class, ReferenceQueue.class, int.class);
             constructor.setAccessible(true);
             Object value = ((Map<?, ?>) initializers.get(null)).remove(constructor.newInstance(Foo.class.getName(), Foo.class.getClassLoader(), null, identification));
-            assertThat(value, CoreMatchers.is((Object) loadedTypeInitializer));
+            assertThat(((Object[]) value)[0], CoreMatchers.is((Object) loadedTypeInitializer));
         }
     }
 
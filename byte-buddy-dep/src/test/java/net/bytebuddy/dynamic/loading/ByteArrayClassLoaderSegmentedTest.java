@@ -0,0 +1,109 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.hamcrest.CoreMatchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteArrayClassLoaderSegmentedTest {
+
+    private ByteArrayClassLoader.Segmented classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new ByteArrayClassLoader.Segmented(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                false,
+                ClassFileLocator.ForClassLoader.readToNames(Foo.class, Bar.class));
+    }
+
+    @Test
+    public void testLoading() throws Exception {
+        assertThat(classLoader.segments.size(), is(2));
+        Class<?> type = classLoader.loadClass(Foo.class.getName());
+        assertThat(type.getClassLoader(), is((ClassLoader) classLoader));
+        assertEquals(classLoader.loadClass(Foo.class.getName()), type);
+        assertThat(type, not(CoreMatchers.<Class<?>>is(Foo.class)));
+        assertThat(type.getPackage().getName(), is(Foo.class.getPackage().getName()));
+        assertThat(classLoader.segments.size(), is(1));
+        assertThat(classLoader.segments.containsKey(Foo.class.getName()), is(false));
+    }
+
+    @Test
+    public void testNoResource() throws Exception {
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION), nullValue());
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testNotFound() throws Exception {
+        classLoader.loadClass(Foo.class.getName() + "$Qux");
+    }
+
+    @Test
+    public void testDefineClasses() throws Exception {
+        ByteArrayClassLoader.Segmented classLoader = new ByteArrayClassLoader.Segmented(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                false,
+                Collections.<String, byte[]>emptyMap());
+        Map<String, Class<?>> types = classLoader.defineClasses(ClassFileLocator.ForClassLoader.readToNames(Foo.class, Bar.class));
+        assertThat(types.size(), is(2));
+        assertThat(types.get(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
+        assertThat(types.get(Bar.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
+        assertThat(classLoader.segments.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDefineClassesAfterConstruction() throws Exception {
+        Map<String, Class<?>> types = classLoader.defineClasses(ClassFileLocator.ForClassLoader.readToNames(Qux.class));
+        assertThat(types.get(Qux.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
+        assertThat(classLoader.segments.size(), is(2));
+        assertThat(classLoader.typeDefinitions.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testConcurrentPackageDefinition() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Class<?>> foo = executorService.submit(new Loading(Foo.class.getName())), bar = executorService.submit(new Loading(Bar.class.getName()));
+            assertThat(foo.get().getPackage(), is(bar.get().getPackage()));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private class Loading implements Callable<Class<?>> {
+
+        private final String name;
+
+        private Loading(String name) {
+            this.name = name;
+        }
+
+        public Class<?> call() throws Exception {
+            return classLoader.loadClass(name);
+        }
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Qux {
+        /* empty */
+    }
+}
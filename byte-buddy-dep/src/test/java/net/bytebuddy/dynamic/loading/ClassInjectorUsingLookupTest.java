@@ -14,6 +14,8 @@ import org.junit.rules.MethodRule;
 
 import java.lang.reflect.Constructor;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -77,6 +79,33 @@ public class ClassInjectorUsingLookupTest {
                 .get(dynamicType.getTypeDescription()).getName(), is("net.bytebuddy.test.Bar"));
     }
 
+    @Test
+    @JavaVersionRule.Enforce(9)
+    public void testLookupInjectionInDependencyOrder() throws Exception {
+        DynamicType base = new ByteBuddy()
+                .subclass(Object.class)
+                .name("net.bytebuddy.test.Base")
+                .make();
+        DynamicType contract = new ByteBuddy()
+                .makeInterface()
+                .name("net.bytebuddy.test.Contract")
+                .make();
+        DynamicType sub = new ByteBuddy()
+                .subclass(base.getTypeDescription())
+                .implement(contract.getTypeDescription())
+                .name("net.bytebuddy.test.Sub")
+                .make();
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(sub.getTypeDescription().getName(), sub.getBytes());
+        types.put(contract.getTypeDescription().getName(), contract.getBytes());
+        types.put(base.getTypeDescription().getName(), base.getBytes());
+        Map<String, Class<?>> loaded = ClassInjector.UsingLookup.of(type.getMethod("lookup").invoke(null)).injectRaw(types);
+        assertThat(loaded.size(), is(3));
+        assertThat(loaded.get("net.bytebuddy.test.Sub").getSuperclass(), is((Object) loaded.get("net.bytebuddy.test.Base")));
+        assertThat(loaded.get("net.bytebuddy.test.Sub").getInterfaces()[0], is((Object) loaded.get("net.bytebuddy.test.Contract")));
+        assertThat(loaded.get("net.bytebuddy.test.Sub").getClassLoader(), is(type.getClassLoader()));
+    }
+
     @Test
     @JavaVersionRule.Enforce(9)
     public void testSubclassUsingLookup() throws Exception {
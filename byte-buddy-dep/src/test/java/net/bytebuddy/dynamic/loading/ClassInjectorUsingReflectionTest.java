@@ -24,6 +24,8 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.is;
@@ -32,6 +34,8 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 public class ClassInjectorUsingReflectionTest {
 
@@ -227,6 +231,38 @@ public class ClassInjectorUsingReflectionTest {
         assertThat(type.getDeclaredMethod(BAR, String.class).invoke(type.getDeclaredConstructor().newInstance(), FOO), is((Object) BAR));
     }
 
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testInjectionInDependencyOrder() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Sub.class.getName(), ClassFileLocator.ForClassLoader.read(Sub.class));
+        types.put(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class));
+        types.put(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class));
+        Map<String, Class<?>> loaded = new ClassInjector.UsingReflection(classLoader).injectRaw(types);
+        assertThat(loaded.size(), is(3));
+        assertThat(loaded.get(Sub.class.getName()).getClassLoader(), is(classLoader));
+        assertThat(loaded.get(Sub.class.getName()).getSuperclass(), is((Object) loaded.get(Bar.class.getName())));
+        assertThat(loaded.get(Sub.class.getName()).getInterfaces()[0], is((Object) loaded.get(Qux.class.getName())));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testInjectionLoadedTypeNotLocated() throws Exception {
+        Class<?> type = new ClassInjector.UsingReflection(classLoader).injectRaw(Collections.singletonMap(Foo.class.getName(),
+                ClassFileLocator.ForClassLoader.read(Foo.class))).get(Foo.class.getName());
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        when(classFileLocator.locate(Foo.class.getName())).thenThrow(new IOException());
+        assertThat(new ClassInjector.UsingReflection(classLoader).injectRaw(Collections.singleton(Foo.class.getName()), classFileLocator)
+                .get(Foo.class.getName()), is((Object) type));
+        verifyNoMoreInteractions(classFileLocator);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testInjectionUnresolvable() throws Exception {
+        new ClassInjector.UsingReflection(classLoader).injectRaw(Collections.singleton(FOO), ClassFileLocator.NoOp.INSTANCE);
+    }
+
     @Test
     @ClassReflectionInjectionAvailableRule.Enforce
     public void testAvailability() throws Exception {
@@ -283,6 +319,14 @@ public class ClassInjectorUsingReflectionTest {
         }
     }
 
+    public interface Qux {
+        /* empty */
+    }
+
+    public static class Sub extends Bar implements Qux {
+        /* empty */
+    }
+
     public static class Interceptor {
 
         @RuntimeType
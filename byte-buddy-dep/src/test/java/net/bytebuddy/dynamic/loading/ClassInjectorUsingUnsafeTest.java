@@ -8,16 +8,21 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 
+import java.io.IOException;
 import java.lang.instrument.Instrumentation;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 public class ClassInjectorUsingUnsafeTest {
 
@@ -50,6 +55,29 @@ public class ClassInjectorUsingUnsafeTest {
         assertThat(Class.forName(Foo.class.getName(), false, classLoader).getName(), is(Foo.class.getName()));
     }
 
+    @Test
+    @ClassUnsafeInjectionAvailableRule.Enforce
+    public void testUnsafeInjectionLoadedTypeNotLocated() throws Exception {
+        Class<?> type = new ClassInjector.UsingUnsafe(classLoader).injectRaw(Collections.singletonMap(Foo.class.getName(),
+                ClassFileLocator.ForClassLoader.read(Foo.class))).get(Foo.class.getName());
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        when(classFileLocator.locate(Foo.class.getName())).thenThrow(new IOException());
+        assertThat(new ClassInjector.UsingUnsafe(classLoader).injectRaw(Collections.singleton(Foo.class.getName()), classFileLocator)
+                .get(Foo.class.getName()), is((Object) type));
+        verifyNoMoreInteractions(classFileLocator);
+    }
+
+    @Test
+    @ClassUnsafeInjectionAvailableRule.Enforce
+    public void testUnsafeInjectionInDependencyOrder() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class));
+        types.put(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        Map<String, Class<?>> loaded = new ClassInjector.UsingUnsafe(classLoader).injectRaw(types);
+        assertThat(loaded.get(Bar.class.getName()).getSuperclass(), is((Object) loaded.get(Foo.class.getName())));
+        assertThat(loaded.get(Foo.class.getName()).getClassLoader(), is(classLoader));
+    }
+
     @Test
     @ClassUnsafeInjectionAvailableRule.Enforce
     public void testAvailability() throws Exception {
@@ -74,4 +102,8 @@ public class ClassInjectorUsingUnsafeTest {
     private static class Foo {
         /* empty */
     }
+
+    private static class Bar extends Foo {
+        /* empty */
+    }
 }
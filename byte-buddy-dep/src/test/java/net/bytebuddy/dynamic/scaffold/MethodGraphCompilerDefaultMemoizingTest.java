@@ -0,0 +1,180 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodGraphCompilerDefaultMemoizingTest {
+
+    private static final List<Class<?>> TYPES = Arrays.<Class<?>>asList(Object.class,
+            String.class,
+            ArrayList.class,
+            LinkedList.class,
+            AbstractList.class,
+            HashMap.class,
+            TreeMap.class,
+            ConcurrentHashMap.class,
+            Base.class,
+            Sub.class,
+            GenericSub.class);
+
+    @Test
+    public void testJavaHierarchyIsEquivalent() throws Exception {
+        assertEquivalent(MethodGraph.Compiler.Default.forJavaHierarchy(), MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100));
+    }
+
+    @Test
+    public void testJVMHierarchyIsEquivalent() throws Exception {
+        assertEquivalent(MethodGraph.Compiler.Default.forJVMHierarchy(), MethodGraph.Compiler.Default.Memoizing.forJVMHierarchy(100));
+    }
+
+    @Test
+    public void testSmallCacheIsEquivalent() throws Exception {
+        assertEquivalent(MethodGraph.Compiler.Default.forJavaHierarchy(), MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(1));
+    }
+
+    private static void assertEquivalent(MethodGraph.Compiler compiler, MethodGraph.Compiler.Default.Memoizing<?> memoizing) {
+        for (int iteration = 0; iteration < 2; iteration++) {
+            for (Class<?> type : TYPES) {
+                MethodGraph.Linked expected = compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(type));
+                MethodGraph.Linked actual = memoizing.compile((TypeDefinition) TypeDescription.ForLoadedType.of(type));
+                assertEquivalent(actual, expected);
+                assertEquivalent(actual.getSuperClassGraph(), expected.getSuperClassGraph());
+                for (TypeDescription.Generic interfaceType : TypeDescription.ForLoadedType.of(type).getInterfaces()) {
+                    assertEquivalent(actual.getInterfaceGraph(interfaceType.asErasure()), expected.getInterfaceGraph(interfaceType.asErasure()));
+                }
+            }
+        }
+        assertThat(memoizing.getHitCount(), not(is(0L)));
+    }
+
+    private static void assertEquivalent(MethodGraph actual, MethodGraph expected) {
+        assertThat(actual.listNodes().size(), is(expected.listNodes().size()));
+        for (MethodGraph.Node node : expected.listNodes()) {
+            MethodGraph.Node other = actual.locate(node.getRepresentative().asSignatureToken());
+            assertThat(other.getSort(), is(node.getSort()));
+            assertThat(other.getRepresentative(), is(node.getRepresentative()));
+            assertThat(other.getMethodTypes(), is(node.getMethodTypes()));
+            assertThat(other.getVisibility(), is(node.getVisibility()));
+        }
+    }
+
+    @Test
+    public void testSuperTypeAnalysisIsReused() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100);
+        compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sub.class));
+        long misses = compiler.getMissCount(), hits = compiler.getHitCount();
+        assertThat(compiler.size(), not(is(0)));
+        compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(OtherSub.class));
+        assertThat(compiler.getMissCount(), is(misses));
+        assertThat(compiler.getHitCount(), is(hits + 1));
+        compiler.clear();
+        assertThat(compiler.size(), is(0));
+        assertThat(compiler.getHitCount(), is(0L));
+        assertThat(compiler.getMissCount(), is(0L));
+    }
+
+    @Test
+    public void testAnalysisIsSpecificToPackage() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100);
+        MethodDescription.SignatureToken token = TypeDescription.ForLoadedType.of(Base.class).getDeclaredMethods().filter(named("bar")).getOnly().asSignatureToken();
+        assertThat(compiler.compile((TypeDefinition) InstrumentedType.Default.of(Base.class.getPackage().getName() + ".Foo",
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Base.class),
+                Opcodes.ACC_PUBLIC)).locate(token).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(compiler.compile((TypeDefinition) InstrumentedType.Default.of("other.Foo",
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Base.class),
+                Opcodes.ACC_PUBLIC)).locate(token).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+    }
+
+    @Test
+    public void testForeignViewPointIsNotMemoized() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100);
+        compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sub.class), TypeDescription.ForLoadedType.of(Object.class));
+        assertThat(compiler.size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximumSize() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(0);
+    }
+
+    @Test
+    public void testEquality() throws Exception {
+        assertThat(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100), is(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100)));
+        assertThat(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100).hashCode(), is(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100).hashCode()));
+        assertThat(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100), not(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(200)));
+        assertThat(MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100), not(new MethodGraph.Compiler.Default.Memoizing<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(
+                MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                TypeDescription.Generic.Visitor.Reifying.INITIATING,
+                any(),
+                100,
+                1)));
+    }
+
+    @Test
+    public void testMemoizedGraphIsNotNull() throws Exception {
+        MethodGraph.Linked methodGraph = MethodGraph.Compiler.Default.Memoizing.forJavaHierarchy(100).compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sub.class));
+        assertThat(methodGraph.locate(TypeDescription.ForLoadedType.of(Base.class).getDeclaredMethods().filter(named("foo")).getOnly().asSignatureToken()).getRepresentative(),
+                not(nullValue(MethodDescription.class)));
+    }
+
+    public static class Base {
+
+        public void foo() {
+            /* empty */
+        }
+
+        void bar() {
+            /* empty */
+        }
+    }
+
+    public static class Sub extends Base {
+
+        @Override
+        public void foo() {
+            /* empty */
+        }
+    }
+
+    public static class OtherSub extends Base {
+
+        public void qux() {
+            /* empty */
+        }
+    }
+
+    public static class GenericBase<T> {
+
+        public T foo(T value) {
+            return value;
+        }
+    }
+
+    public static class GenericSub extends GenericBase<String> {
+
+        @Override
+        public String foo(String value) {
+            return value;
+        }
+    }
+}
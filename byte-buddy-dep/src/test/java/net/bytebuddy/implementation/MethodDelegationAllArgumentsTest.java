@@ -6,11 +6,18 @@ import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
 import org.junit.Test;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
 import static net.bytebuddy.matcher.ElementMatchers.isToString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
 public class MethodDelegationAllArgumentsTest {
 
@@ -86,6 +93,116 @@ public class MethodDelegationAllArgumentsTest {
         assertThat(instance.toString(), nullValue(String.class));
     }
 
+    @Test
+    public void testReuse() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(ReuseRecording.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Qux instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        Object[] first = (Object[]) instance.foo(QUX, BAZ);
+        assertThat(((Object[]) first[1]).length, is(2));
+        assertThat(((Object[]) first[1])[0], is((Object) QUX));
+        assertThat(((Object[]) first[1])[1], is((Object) BAZ));
+        Object[] second = (Object[]) instance.foo(BAZ, QUX);
+        assertThat(second[0], sameInstance(first[0]));
+        assertThat(((Object[]) second[1])[0], is((Object) BAZ));
+        assertThat(((Object[]) second[1])[1], is((Object) QUX));
+    }
+
+    @Test
+    public void testReuseClearedAfterReturn() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(Reuse.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Qux instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        Object[] array = (Object[]) instance.foo(QUX, BAZ);
+        assertThat(array.length, is(2));
+        assertThat(array[0], nullValue(Object.class));
+        assertThat(array[1], nullValue(Object.class));
+    }
+
+    @Test
+    public void testReuseNotClearedAfterException() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(ReuseThrowing.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Qux instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        try {
+            instance.foo(QUX, BAZ);
+            fail();
+        } catch (ReuseThrowing.Exception exception) {
+            assertThat(exception.array[0], is((Object) QUX));
+            assertThat(exception.array[1], is((Object) BAZ));
+        }
+    }
+
+    @Test
+    public void testReusePrimitive() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(ReusePrimitive.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        int[] first = (int[]) instance.foo(FOO, BAR);
+        assertThat(first.length, is(2));
+        assertThat(first[0], is(FOO));
+        assertThat(first[1], is(BAR));
+        int[] second = (int[]) instance.foo(BAR, FOO);
+        assertThat(second, sameInstance(first));
+        assertThat(second[0], is(BAR));
+        assertThat(second[1], is(FOO));
+    }
+
+    @Test
+    public void testReuseSeparateForMethods() throws Exception {
+        DynamicType.Loaded<Baz> loaded = new ByteBuddy()
+                .subclass(Baz.class)
+                .method(isDeclaredBy(Baz.class))
+                .intercept(MethodDelegation.to(Reuse.class))
+                .make()
+                .load(Baz.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Baz instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        Object first = instance.foo(QUX, BAZ), second = instance.bar(QUX, BAZ);
+        assertThat(second, not(sameInstance(first)));
+        assertThat(instance.foo(QUX, BAZ), sameInstance(first));
+        assertThat(instance.bar(QUX, BAZ), sameInstance(second));
+    }
+
+    @Test
+    public void testReuseSeparateForThreads() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(ReuseRecording.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        final Qux instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        Object[] recording = (Object[]) instance.foo(QUX, BAZ);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Object[] other = (Object[]) executorService.submit(new Callable<Object>() {
+                public Object call() {
+                    return instance.foo(BAZ, QUX);
+                }
+            }).get();
+            assertThat(other[0], not(sameInstance(recording[0])));
+            assertThat(((Object[]) other[1])[0], is((Object) BAZ));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     public static class Foo {
 
         public Object foo(int i1, Integer i2) {
@@ -140,6 +257,56 @@ public class MethodDelegationAllArgumentsTest {
         }
     }
 
+    public static class Baz {
+
+        public Object foo(Object o, String s) {
+            return null;
+        }
+
+        public Object bar(Object o, String s) {
+            return null;
+        }
+    }
+
+    public static class Reuse {
+
+        public static Object intercept(@AllArguments(reuse = true) Object[] args) {
+            return args;
+        }
+    }
+
+    public static class ReuseRecording {
+
+        public static Object intercept(@AllArguments(reuse = true) Object[] args) {
+            return new Object[]{args, args.clone()};
+        }
+    }
+
+    public static class ReuseThrowing {
+
+        public static Object intercept(@AllArguments(reuse = true) Object[] args) {
+            throw new Exception(args);
+        }
+
+        public static class Exception extends RuntimeException {
+
+            private static final long serialVersionUID = 1L;
+
+            private final Object[] array;
+
+            public Exception(Object[] array) {
+                this.array = array;
+            }
+        }
+    }
+
+    public static class ReusePrimitive {
+
+        public static Object intercept(@AllArguments(reuse = true) int[] args) {
+            return args;
+        }
+    }
+
     public static class NoArguments {
 
         public static String intercept(@AllArguments(nullIfEmpty = true) Object[] args) {
@@ -0,0 +1,187 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.InterceptorRegistry;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MethodDelegationRegistryTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final String KEY = MethodDelegationRegistryTest.class.getName();
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @After
+    public void tearDown() throws Exception {
+        InterceptorRegistry.unregister(KEY);
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testRegisteredInterceptor() throws Exception {
+        Foo instance = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, KEY))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        Interceptor first = new SimpleInterceptor(FOO), second = new SimpleInterceptor(BAR);
+        assertThat(InterceptorRegistry.register(KEY, first), nullValue(Object.class));
+        assertThat(instance.foo(QUX), is(FOO + QUX));
+        assertThat(instance.bar(42), is(42 + FOO.length()));
+        assertThat(InterceptorRegistry.register(KEY, second), is((Object) first));
+        assertThat(instance.foo(QUX), is(BAR + QUX));
+        assertThat(instance.bar(42), is(42 + BAR.length()));
+        assertThat(InterceptorRegistry.getInterceptor(KEY), is((Object) second));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testInterceptorRegisteredBeforeLinkage() throws Exception {
+        Interceptor interceptor = new SimpleInterceptor(FOO);
+        InterceptorRegistry.register(KEY, interceptor);
+        Foo instance = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, KEY))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        assertThat(instance.foo(QUX), is(FOO + QUX));
+        assertThat(InterceptorRegistry.unregister(KEY), sameInstance((Object) interceptor));
+        try {
+            instance.foo(QUX);
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testUnregisteredInterceptor() throws Exception {
+        Foo instance = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, KEY))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        try {
+            instance.foo(QUX);
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        try {
+            instance.bar(42);
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        InterceptorRegistry.register(KEY, new SimpleInterceptor(FOO));
+        assertThat(instance.foo(QUX), is(FOO + QUX));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testIllegalInterceptorRetainsPrevious() throws Exception {
+        Foo instance = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, KEY))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+        Interceptor interceptor = new SimpleInterceptor(FOO);
+        InterceptorRegistry.register(KEY, interceptor);
+        assertThat(instance.foo(QUX), is(FOO + QUX));
+        try {
+            InterceptorRegistry.register(KEY, new Object());
+            fail();
+        } catch (ClassCastException ignored) {
+            /* expected */
+        }
+        assertThat(instance.foo(QUX), is(FOO + QUX));
+        assertThat(InterceptorRegistry.getInterceptor(KEY), is((Object) interceptor));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullInterceptor() throws Exception {
+        InterceptorRegistry.register(KEY, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrimitiveInterceptorType() throws Exception {
+        MethodDelegation.toRegistered(int.class, KEY);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLegacyClassFileVersion() throws Exception {
+        new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, KEY))
+                .make();
+    }
+
+    public static class Foo {
+
+        public String foo(String value) {
+            return null;
+        }
+
+        public int bar(int value) {
+            return 0;
+        }
+    }
+
+    public interface Interceptor {
+
+        String intercept(@Argument(0) String value);
+
+        int intercept(@Argument(0) int value);
+    }
+
+    public static class SimpleInterceptor implements Interceptor {
+
+        private final String prefix;
+
+        public SimpleInterceptor(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String intercept(String value) {
+            return prefix + value;
+        }
+
+        public int intercept(int value) {
+            return value + prefix.length();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package net.bytebuddy.implementation.bind;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.ref.Reference;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class InterceptorRegistryTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final String KEY = InterceptorRegistryTest.class.getName();
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @After
+    public void tearDown() throws Exception {
+        InterceptorRegistry.unregister(KEY + BAR);
+        InterceptorRegistry.unregister(KEY + QUX);
+        InterceptorRegistry.unregister(KEY + BAZ);
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testCallSiteIsRegistered() throws Exception {
+        Foo instance = make(KEY + BAR);
+        assertThat(InterceptorRegistry.isRegistered(KEY + BAR), is(false));
+        try {
+            instance.foo(FOO);
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        assertThat(InterceptorRegistry.isRegistered(KEY + BAR), is(true));
+        assertThat(InterceptorRegistry.getCallSiteReferences(KEY + BAR).size(), is(1));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testCollectedCallSiteIsExpunged() throws Exception {
+        Foo instance = make(KEY + QUX);
+        try {
+            instance.foo(FOO);
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        List<Reference<?>> references = InterceptorRegistry.getCallSiteReferences(KEY + QUX);
+        assertThat(references.size(), is(1));
+        assertThat(references.get(0).enqueue(), is(true));
+        assertThat(InterceptorRegistry.isRegistered(KEY + QUX), is(true));
+        InterceptorRegistry.unregister(KEY);
+        assertThat(InterceptorRegistry.isRegistered(KEY + QUX), is(false));
+        assertThat(InterceptorRegistry.getCallSiteReferences(KEY + QUX).isEmpty(), is(true));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testCollectedCallSiteRetainsInterceptor() throws Exception {
+        Foo instance = make(KEY + BAZ);
+        Interceptor interceptor = new Interceptor();
+        InterceptorRegistry.register(KEY + BAZ, interceptor);
+        assertThat(instance.foo(FOO), is(FOO + FOO));
+        List<Reference<?>> references = InterceptorRegistry.getCallSiteReferences(KEY + BAZ);
+        assertThat(references.size(), is(1));
+        assertThat(references.get(0).enqueue(), is(true));
+        InterceptorRegistry.unregister(KEY);
+        assertThat(InterceptorRegistry.isRegistered(KEY + BAZ), is(true));
+        assertThat(InterceptorRegistry.getCallSiteReferences(KEY + BAZ).isEmpty(), is(true));
+        assertThat(InterceptorRegistry.getInterceptor(KEY + BAZ), is((Object) interceptor));
+    }
+
+    private static Foo make(String key) throws Exception {
+        return new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.toRegistered(Interceptor.class, key))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+    }
+
+    public static class Foo {
+
+        public String foo(String value) {
+            return null;
+        }
+    }
+
+    public static class Interceptor {
+
+        public String intercept(@Argument(0) String value) {
+            return FOO + value;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.objectweb.asm.MethodVisitor;
@@ -20,6 +21,7 @@ import org.objectweb.asm.MethodVisitor;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -55,6 +57,9 @@ public class MethodBindingBuilderTest {
     @Mock(answer = Answers.RETURNS_MOCKS)
     private StackManipulation legalStackManipulation, illegalStackManipulation;
 
+    @Mock(answer = Answers.RETURNS_MOCKS)
+    private StackManipulation parameterStackManipulation, invocationStackManipulation, releaseStackManipulation, terminatingStackManipulation;
+
     @Mock
     private Implementation.Context implementationContext;
 
@@ -74,6 +79,10 @@ public class MethodBindingBuilderTest {
         when(returnType.getStackSize()).thenReturn(StackSize.ZERO);
         when(legalStackManipulation.isValid()).thenReturn(true);
         when(illegalStackManipulation.isValid()).thenReturn(false);
+        when(parameterStackManipulation.isValid()).thenReturn(true);
+        when(invocationStackManipulation.isValid()).thenReturn(true);
+        when(releaseStackManipulation.isValid()).thenReturn(true);
+        when(terminatingStackManipulation.isValid()).thenReturn(true);
     }
 
     @After
@@ -129,6 +138,32 @@ public class MethodBindingBuilderTest {
         verifyNoMoreInteractions(methodVisitor);
     }
 
+    @Test
+    public void testReleasingParameterBinding() throws Exception {
+        when(methodInvoker.invoke(any(MethodDescription.class))).thenReturn(invocationStackManipulation);
+        when(methodParameterList.size()).thenReturn(1);
+        MethodDelegationBinder.MethodBinding.Builder builder = new MethodDelegationBinder.MethodBinding.Builder(methodInvoker, methodDescription);
+        assertThat(builder.append(new MethodDelegationBinder.ParameterBinding.Releasing(parameterStackManipulation, releaseStackManipulation)), is(true));
+        MethodDelegationBinder.MethodBinding methodBinding = builder.build(terminatingStackManipulation);
+        assertThat(methodBinding.isValid(), is(true));
+        methodBinding.apply(methodVisitor, implementationContext);
+        InOrder inOrder = inOrder(parameterStackManipulation, invocationStackManipulation, releaseStackManipulation, terminatingStackManipulation);
+        inOrder.verify(parameterStackManipulation).apply(methodVisitor, implementationContext);
+        inOrder.verify(invocationStackManipulation).apply(methodVisitor, implementationContext);
+        inOrder.verify(releaseStackManipulation).apply(methodVisitor, implementationContext);
+        inOrder.verify(terminatingStackManipulation).apply(methodVisitor, implementationContext);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testIllegalReleasingParameterBinding() throws Exception {
+        when(methodInvoker.invoke(any(MethodDescription.class))).thenReturn(legalStackManipulation);
+        when(methodParameterList.size()).thenReturn(1);
+        MethodDelegationBinder.MethodBinding.Builder builder = new MethodDelegationBinder.MethodBinding.Builder(methodInvoker, methodDescription);
+        assertThat(builder.append(new MethodDelegationBinder.ParameterBinding.Releasing(legalStackManipulation, illegalStackManipulation)), is(true));
+        assertThat(builder.build(legalStackManipulation).isValid(), is(false));
+    }
+
     @Test
     public void testUniqueIdentification() throws Exception {
         when(methodInvoker.invoke(any(MethodDescription.class))).thenReturn(legalStackManipulation);
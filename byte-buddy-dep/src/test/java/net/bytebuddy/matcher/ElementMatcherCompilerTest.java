@@ -0,0 +1,161 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class ElementMatcherCompilerTest {
+
+    private static final List<TypeDescription> TYPES = Arrays.asList(TypeDescription.ForLoadedType.of(Object.class),
+            TypeDescription.ForLoadedType.of(String.class),
+            TypeDescription.ForLoadedType.of(Integer.class),
+            TypeDescription.ForLoadedType.of(ArrayList.class),
+            TypeDescription.ForLoadedType.of(Serializable.class),
+            TypeDescription.ForLoadedType.of(ElementMatcherCompilerTest.class));
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private ElementMatcher<Object> first, second;
+
+    @SuppressWarnings("unchecked")
+    private static List<ElementMatcher<TypeDescription>> matchers() {
+        return Arrays.<ElementMatcher<TypeDescription>>asList(named("java.lang.String"),
+                namedIgnoreCase("JAVA.LANG.OBJECT"),
+                nameStartsWith("java.util."),
+                nameEndsWith("Test"),
+                nameContains("lang"),
+                nameStartsWithIgnoreCase("JAVA."),
+                nameMatches(".*Integer"),
+                named("java.lang.String").or(named("java.lang.Integer")).or(named("java.lang.Object")),
+                nameStartsWith("java.").and(not(named("java.lang.String"))),
+                not(nameStartsWith("java.")).or(isInterface()),
+                isInterface().and(nameContains("Serial")),
+                any(),
+                none(),
+                none().or(any()).and(not(none())),
+                new ElementMatcher.Junction.Conjunction<TypeDescription>(),
+                new ElementMatcher.Junction.Disjunction<TypeDescription>(),
+                isSubTypeOf(Serializable.class).and(nameStartsWith("java.lang")).or(isInterface()));
+    }
+
+    @Test
+    public void testCompiledMatcherIsEquivalent() throws Exception {
+        ElementMatcherCompiler compiler = new ElementMatcherCompiler();
+        for (ElementMatcher<TypeDescription> matcher : matchers()) {
+            ElementMatcher<TypeDescription> compiled = compiler.compile(matcher);
+            for (TypeDescription typeDescription : TYPES) {
+                assertThat(matcher + " for " + typeDescription, compiled.matches(typeDescription), is(matcher.matches(typeDescription)));
+            }
+            assertThat(compiled.matches(null), is(matcher.matches(null)));
+            assertThat(compiled.toString(), is("compiled(" + matcher + ")"));
+        }
+    }
+
+    @Test
+    public void testCompiledMatcherIsEquivalentForNullValues() throws Exception {
+        ElementMatcherCompiler compiler = new ElementMatcherCompiler();
+        TypeDescription typeDescription = mock(TypeDescription.class);
+        List<ElementMatcher<TypeDescription>> matchers = new ArrayList<ElementMatcher<TypeDescription>>(matchers());
+        matchers.add(new NameMatcher<TypeDescription>(new NullMatcher<String>()));
+        for (ElementMatcher<TypeDescription> matcher : matchers) {
+            for (ElementMatcher<TypeDescription> candidate : Arrays.<ElementMatcher<TypeDescription>>asList(matcher, not(matcher))) {
+                ElementMatcher<TypeDescription> compiled = compiler.compile(candidate);
+                assertThat(candidate + " for null", compiled.matches(null), is(candidate.matches(null)));
+                assertThat(candidate + " for null name", compiled.matches(typeDescription), is(candidate.matches(typeDescription)));
+            }
+        }
+    }
+
+    @Test
+    public void testProfiledMatcherIsEquivalent() throws Exception {
+        ElementMatcherCompiler compiler = new ElementMatcherCompiler();
+        for (ElementMatcher<TypeDescription> matcher : matchers()) {
+            ElementMatcher<TypeDescription> profiled = ElementMatcherCompiler.profile(matcher);
+            for (TypeDescription typeDescription : TYPES) {
+                assertThat(profiled.matches(typeDescription), is(matcher.matches(typeDescription)));
+            }
+            ElementMatcher<TypeDescription> compiled = compiler.compile(profiled);
+            for (TypeDescription typeDescription : TYPES) {
+                assertThat(matcher + " for " + typeDescription, compiled.matches(typeDescription), is(matcher.matches(typeDescription)));
+            }
+        }
+    }
+
+    @Test
+    public void testStringMatcherOnTarget() throws Exception {
+        ElementMatcher<String> compiled = new ElementMatcherCompiler().compile(new StringMatcher("foo", StringMatcher.Mode.STARTS_WITH)
+                .or(new StringMatcher("bar", StringMatcher.Mode.ENDS_WITH_IGNORE_CASE)));
+        assertThat(compiled.matches("foobar"), is(true));
+        assertThat(compiled.matches("quxBAR"), is(true));
+        assertThat(compiled.matches("qux"), is(false));
+        assertThat(compiled.matches(null), is(false));
+    }
+
+    @Test
+    public void testCompiledMatcherIsJunction() throws Exception {
+        ElementMatcher.Junction<TypeDescription> compiled = new ElementMatcherCompiler().compile(ElementMatchers.<TypeDescription>named("java.lang.Object"));
+        assertThat(compiled.or(named("java.lang.String")).matches(TypeDescription.ForLoadedType.of(String.class)), is(true));
+        assertThat(compiled.and(isInterface()).matches(TypeDescription.ForLoadedType.of(Object.class)), is(false));
+    }
+
+    @Test
+    public void testConjunctionIsOrderedBySelectivity() throws Exception {
+        Object target = new Object();
+        when(first.matches(target)).thenReturn(true);
+        when(second.matches(target)).thenReturn(false);
+        ElementMatcher<Object> profiled = ElementMatcherCompiler.profile(new ElementMatcher.Junction.Conjunction<Object>(first, second));
+        for (int index = 0; index < 10; index++) {
+            assertThat(profiled.matches(target), is(false));
+        }
+        ElementMatcher<Object> compiled = new ElementMatcherCompiler().compile(profiled);
+        assertThat(compiled.matches(target), is(false));
+        verify(first, times(10)).matches(target);
+        verify(second, times(11)).matches(target);
+        verifyNoMoreInteractions(first, second);
+    }
+
+    @Test
+    public void testDisjunctionIsOrderedBySelectivity() throws Exception {
+        Object target = new Object();
+        when(first.matches(target)).thenReturn(false);
+        when(second.matches(target)).thenReturn(true);
+        ElementMatcher<Object> profiled = ElementMatcherCompiler.profile(new ElementMatcher.Junction.Disjunction<Object>(first, second));
+        for (int index = 0; index < 10; index++) {
+            assertThat(profiled.matches(target), is(true));
+        }
+        ElementMatcher<Object> compiled = new ElementMatcherCompiler().compile(profiled);
+        assertThat(compiled.matches(target), is(true));
+        verify(first, times(10)).matches(target);
+        verify(second, times(11)).matches(target);
+        verifyNoMoreInteractions(first, second);
+    }
+
+    @Test
+    public void testUnprofiledJunctionRetainsOrder() throws Exception {
+        Object target = new Object();
+        when(first.matches(target)).thenReturn(false);
+        ElementMatcher<Object> compiled = new ElementMatcherCompiler().compile(new ElementMatcher.Junction.Conjunction<Object>(first, second));
+        assertThat(compiled.matches(target), is(false));
+        verify(first).matches(target);
+        verifyNoMoreInteractions(first, second);
+    }
+}
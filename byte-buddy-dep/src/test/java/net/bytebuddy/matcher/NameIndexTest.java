@@ -0,0 +1,78 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NameIndexTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    @Test
+    public void testExactName() throws Exception {
+        NameIndex<String> index = NameIndex.of(Arrays.asList(FOO, BAR), Arrays.asList(named("a.Foo"), named("a.Bar")));
+        assertThat(index.isConstrained(), is(true));
+        assertThat(index.resolve("a.Foo"), is(Collections.singletonList(FOO)));
+        assertThat(index.resolve("a.Bar"), is(Collections.singletonList(BAR)));
+        assertThat(index.resolve("a.Qux"), is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void testPrefix() throws Exception {
+        NameIndex<String> index = NameIndex.of(Arrays.asList(FOO, BAR, QUX), Arrays.asList(nameStartsWith("a."), nameStartsWith("a.b."), nameStartsWith("")));
+        assertThat(index.resolve("a.b.Foo"), is(Arrays.asList(FOO, BAR, QUX)));
+        assertThat(index.resolve("a.Foo"), is(Arrays.asList(FOO, QUX)));
+        assertThat(index.resolve("b.Foo"), is(Collections.singletonList(QUX)));
+        assertThat(index.resolve("a"), is(Collections.singletonList(QUX)));
+    }
+
+    @Test
+    public void testUnconstrainedRetainsOrder() throws Exception {
+        NameIndex<String> index = NameIndex.of(Arrays.asList(FOO, BAR, QUX, BAZ), Arrays.asList(named("a.Foo"),
+                isInterface(),
+                nameStartsWith("a.").or(named("b.Foo")),
+                nameEndsWith("Foo")));
+        assertThat(index.resolve("a.Foo"), is(Arrays.asList(FOO, BAR, QUX, BAZ)));
+        assertThat(index.resolve("b.Foo"), is(Arrays.asList(BAR, QUX, BAZ)));
+        assertThat(index.resolve("c.Foo"), is(Arrays.asList(BAR, BAZ)));
+    }
+
+    @Test
+    public void testUnconstrained() throws Exception {
+        NameIndex<String> index = NameIndex.of(Arrays.asList(FOO, BAR), Arrays.asList(any(), nameContains("Foo")));
+        assertThat(index.isConstrained(), is(false));
+        assertThat(index.resolve("a.Bar"), is(Arrays.asList(FOO, BAR)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testJunctions() throws Exception {
+        NameIndex<String> index = NameIndex.of(Arrays.asList(FOO, BAR, QUX, BAZ), Arrays.asList(isInterface().and(named("a.Foo")),
+                named("a.Foo").or(isInterface()),
+                namedOneOf("a.Foo", "a.Bar"),
+                not(named("a.Foo"))));
+        assertThat(index.resolve("a.Foo"), is(Arrays.asList(FOO, BAR, QUX, BAZ)));
+        assertThat(index.resolve("a.Bar"), is(Arrays.asList(BAR, QUX, BAZ)));
+        assertThat(index.resolve("a.Qux"), is(Arrays.asList(BAR, BAZ)));
+    }
+
+    @Test
+    public void testResolvedValuesAreSuperset() throws Exception {
+        ElementMatcher.Junction<TypeDescription> matcher = nameStartsWith("java.lang.").and(not(named("java.lang.String")));
+        NameIndex<ElementMatcher<TypeDescription>> index = NameIndex.of(Collections.singletonList(matcher), Collections.singletonList(matcher));
+        assertThat(index.resolve(String.class.getName()), is(Collections.<ElementMatcher<TypeDescription>>singletonList(matcher)));
+        assertThat(index.resolve(Object.class.getName()), is(Collections.<ElementMatcher<TypeDescription>>singletonList(matcher)));
+        assertThat(index.resolve(Arrays.class.getName()).isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        NameIndex.of(Collections.singletonList(FOO), Collections.<ElementMatcher<?>>emptyList());
+    }
+}
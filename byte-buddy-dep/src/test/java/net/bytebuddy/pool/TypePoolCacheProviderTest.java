@@ -11,6 +11,7 @@ import org.mockito.junit.MockitoJUnit;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -21,7 +22,7 @@ import static org.mockito.Mockito.when;
 
 public class TypePoolCacheProviderTest {
 
-    private static final String FOO = "foo", BAR = "bar";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public MethodRule mockitoRule = MockitoJUnit.rule().silent();
@@ -109,4 +110,71 @@ public class TypePoolCacheProviderTest {
         verify(matched).clear();
         verify(unmatched).clear();
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(1, 1);
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(bounded.register(BAR, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(BAR), sameInstance(resolution));
+        assertThat(bounded.size(), is(1));
+        assertThat(bounded.getHitCount(), is(2L));
+        assertThat(bounded.getMissCount(), is(2L));
+        assertThat(bounded.getEvictionCount(), is(1L));
+        bounded.clear();
+        assertThat(bounded.size(), is(0));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testBoundedLeastRecentlyUsed() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2, 1);
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class), other = mock(TypePool.Resolution.class);
+        bounded.register(FOO, this.resolution);
+        bounded.register(BAR, resolution);
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        bounded.register(QUX, other);
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(QUX), sameInstance(other));
+    }
+
+    @Test
+    public void testBoundedSegments() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(100);
+        for (int index = 0; index < 1000; index++) {
+            bounded.register(FOO + index, resolution);
+        }
+        assertThat(bounded.size() <= 100, is(true));
+        assertThat(bounded.getEvictionCount(), is(1000L - bounded.size()));
+    }
+
+    @Test
+    public void testBoundedWithObjectType() throws Exception {
+        TypePool.CacheProvider cacheProvider = TypePool.CacheProvider.Bounded.withObjectType(1);
+        TypePool.Resolution resolution = cacheProvider.find(Object.class.getName());
+        assertThat(resolution.resolve(), is(TypeDescription.ForLoadedType.of(Object.class)));
+        for (int index = 0; index < 100; index++) {
+            cacheProvider.register(FOO + index, this.resolution);
+        }
+        assertThat(cacheProvider.find(Object.class.getName()), sameInstance(resolution));
+        assertThat(cacheProvider.register(Object.class.getName(), this.resolution), sameInstance(resolution));
+        cacheProvider.clear();
+        assertThat(cacheProvider.find(Object.class.getName()), sameInstance(resolution));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() throws Exception {
+        new TypePool.CacheProvider.Bounded(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalConcurrencyLevel() throws Exception {
+        new TypePool.CacheProvider.Bounded(1, 0);
+    }
 }
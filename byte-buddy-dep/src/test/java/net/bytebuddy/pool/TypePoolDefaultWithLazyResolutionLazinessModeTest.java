@@ -0,0 +1,110 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.utility.AsmClassReader;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultWithLazyResolutionLazinessModeTest {
+
+    @Test
+    public void testClassFileMembersAreNotParsedForDeclaredAnnotations() throws Exception {
+        List<Integer> recorded = new ArrayList<Integer>();
+        TypeDescription typeDescription = new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.of(AnnotatedType.class.getClassLoader()),
+                TypePool.Default.ReaderMode.EXTENDED,
+                new RecordingClassReaderFactory(recorded),
+                TypePool.Default.WithLazyResolution.LazinessMode.HEADER).describe(AnnotatedType.class.getName()).resolve();
+        assertThat(typeDescription.getDeclaredAnnotations().isAnnotationPresent(SampleAnnotation.class), is(true));
+        assertThat(typeDescription.getDeclaredAnnotations().size(), is(1));
+        assertThat(recorded, is(Collections.singletonList(ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES)));
+        assertThat(typeDescription.getDeclaredAnnotations().size(), is(1));
+        assertThat(recorded.size(), is(1));
+        assertThat(typeDescription.getDeclaredFields().size(), is(1));
+        assertThat(recorded.size(), is(2));
+        assertThat(typeDescription.getDeclaredAnnotations().isAnnotationPresent(SampleAnnotation.class), is(true));
+        assertThat(recorded.size(), is(2));
+    }
+
+    @Test
+    public void testClassFileMembersAreParsedForDeclaredAnnotationsExtended() throws Exception {
+        List<Integer> recorded = new ArrayList<Integer>();
+        TypeDescription typeDescription = new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.of(AnnotatedType.class.getClassLoader()),
+                TypePool.Default.ReaderMode.EXTENDED,
+                new RecordingClassReaderFactory(recorded),
+                TypePool.Default.WithLazyResolution.LazinessMode.EXTENDED).describe(AnnotatedType.class.getName()).resolve();
+        assertThat(typeDescription.getDeclaredAnnotations().isAnnotationPresent(SampleAnnotation.class), is(true));
+        assertThat(recorded.size(), is(1));
+        assertThat(typeDescription.getDeclaredFields().size(), is(1));
+        assertThat(recorded.size(), is(1));
+    }
+
+    private static class RecordingClassReaderFactory implements AsmClassReader.Factory {
+
+        private final List<Integer> recorded;
+
+        private RecordingClassReaderFactory(List<Integer> recorded) {
+            this.recorded = recorded;
+        }
+
+        public AsmClassReader make(byte[] binaryRepresentation) {
+            return make(Default.IMPLICIT.make(binaryRepresentation));
+        }
+
+        public AsmClassReader make(byte[] binaryRepresentation, boolean experimental) {
+            return make(Default.IMPLICIT.make(binaryRepresentation, experimental));
+        }
+
+        private AsmClassReader make(final AsmClassReader delegate) {
+            return new AsmClassReader() {
+                public <T> T unwrap(Class<T> type) {
+                    return delegate.unwrap(type);
+                }
+
+                public int getModifiers() {
+                    return delegate.getModifiers();
+                }
+
+                public String getInternalName() {
+                    return delegate.getInternalName();
+                }
+
+                public String getSuperClassInternalName() {
+                    return delegate.getSuperClassInternalName();
+                }
+
+                public List<String> getInterfaceInternalNames() {
+                    return delegate.getInterfaceInternalNames();
+                }
+
+                public void accept(ClassVisitor classVisitor, int flags) {
+                    recorded.add(flags);
+                    delegate.accept(classVisitor, flags);
+                }
+            };
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface SampleAnnotation {
+        /* empty */
+    }
+
+    @SampleAnnotation
+    private static class AnnotatedType {
+
+        Object foo;
+    }
+}
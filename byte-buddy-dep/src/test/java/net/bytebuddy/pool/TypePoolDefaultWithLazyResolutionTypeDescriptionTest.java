@@ -41,7 +41,8 @@ public class TypePoolDefaultWithLazyResolutionTypeDescriptionTest extends Abstra
     public static Collection<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {TypePool.Default.WithLazyResolution.LazinessMode.NAME},
-                {TypePool.Default.WithLazyResolution.LazinessMode.EXTENDED}
+                {TypePool.Default.WithLazyResolution.LazinessMode.EXTENDED},
+                {TypePool.Default.WithLazyResolution.LazinessMode.HEADER}
         });
     }
 